@@ -0,0 +1,194 @@
+// src/main/java/com/prpcena/library/analytics/CirculationAnalytics.java
+package com.prpcena.library.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.CirculationListener;
+
+/**
+ * Bounded-memory circulation statistics, fed by borrow and return events:
+ * borrow and return counts, per-ISBN borrow estimates, the most borrowed
+ * ISBNs and the number of distinct active members, over any range of recent
+ * days.
+ * <p>
+ * Each day has its own bucket holding a {@link CountMinSketch} and
+ * {@link HeavyHitters} of borrowed ISBNs and a {@link HyperLogLog} of members
+ * who borrowed or returned. Buckets live in a ring of {@code retentionDays}
+ * slots, reused as days roll over, so memory does not grow with history. A
+ * range query merges the buckets it covers; events older than the retention
+ * window are dropped.
+ * <p>
+ * Register it with
+ * {@link com.prpcena.library.service.LibraryServiceImpl#addCirculationListener}
+ * and seed it with {@link #recordAll} for existing history. Thread-safe.
+ */
+public class CirculationAnalytics implements CirculationListener {
+    private static final Logger logger = LoggerFactory.getLogger(CirculationAnalytics.class);
+    private static final int SKETCH_WIDTH = 1024;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int HEAVY_HITTER_CAPACITY = 64;
+
+    private final int retentionDays;
+    private final DayBucket[] buckets;
+
+    /**
+     * @param retentionDays How many days of statistics to keep, e.g. 62 for two calendar months.
+     */
+    public CirculationAnalytics(int retentionDays) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("Retention must be at least one day.");
+        }
+        this.retentionDays = retentionDays;
+        this.buckets = new DayBucket[retentionDays];
+    }
+
+    @Override
+    public void onBorrowed(Transaction loan) {
+        recordBorrow(loan);
+    }
+
+    @Override
+    public void onReturned(Transaction loan) {
+        recordReturn(loan);
+    }
+
+    /**
+     * Records existing history, e.g. at startup. Borrows and returns older
+     * than the retention window are skipped.
+     *
+     * @param transactions Borrow transactions, open or returned.
+     */
+    public void recordAll(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            recordBorrow(transaction);
+            if (transaction.getReturnDateTime() != null) {
+                recordReturn(transaction);
+            }
+        }
+        logger.info("Recorded {} transactions into circulation analytics", transactions.size());
+    }
+
+    private synchronized void recordBorrow(Transaction loan) {
+        DayBucket bucket = bucketFor(loan.getTransactionDateTime().toLocalDate());
+        if (bucket != null) {
+            bucket.borrows++;
+            bucket.borrowedIsbns.add(loan.getBookIsbn(), 1);
+            bucket.topIsbns.add(loan.getBookIsbn(), 1);
+            bucket.activeMembers.add(loan.getMemberId());
+        }
+    }
+
+    private synchronized void recordReturn(Transaction loan) {
+        if (loan.getReturnDateTime() == null) {
+            return;
+        }
+        DayBucket bucket = bucketFor(loan.getReturnDateTime().toLocalDate());
+        if (bucket != null) {
+            bucket.returns++;
+            bucket.activeMembers.add(loan.getMemberId());
+        }
+    }
+
+    /**
+     * @return The estimated number of times the book was borrowed in the range; never an underestimate.
+     */
+    public synchronized long estimateBorrows(String isbn, LocalDate from, LocalDate to) {
+        long total = 0;
+        for (DayBucket bucket : bucketsIn(from, to)) {
+            total += bucket.borrowedIsbns.estimate(isbn);
+        }
+        return total;
+    }
+
+    /**
+     * @param k The number of ISBNs wanted.
+     * @return Up to k of the most borrowed ISBNs in the range, with estimated counts, most borrowed first.
+     */
+    public synchronized List<HeavyHitters.Entry> topBorrowed(LocalDate from, LocalDate to, int k) {
+        HeavyHitters merged = new HeavyHitters(HEAVY_HITTER_CAPACITY);
+        for (DayBucket bucket : bucketsIn(from, to)) {
+            merged.merge(bucket.topIsbns);
+        }
+        return merged.top(k);
+    }
+
+    /**
+     * @return The estimated number of distinct members who borrowed or returned a book in the range.
+     */
+    public synchronized long countActiveMembers(LocalDate from, LocalDate to) {
+        HyperLogLog merged = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        for (DayBucket bucket : bucketsIn(from, to)) {
+            merged.merge(bucket.activeMembers);
+        }
+        return merged.estimate();
+    }
+
+    /**
+     * @return The exact number of borrows in the range.
+     */
+    public synchronized long countBorrows(LocalDate from, LocalDate to) {
+        return bucketsIn(from, to).stream().mapToLong(bucket -> bucket.borrows).sum();
+    }
+
+    /**
+     * @return The exact number of returns in the range.
+     */
+    public synchronized long countReturns(LocalDate from, LocalDate to) {
+        return bucketsIn(from, to).stream().mapToLong(bucket -> bucket.returns).sum();
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    // Must be called while synchronized; null if the day has already left the window
+    private DayBucket bucketFor(LocalDate date) {
+        long day = date.toEpochDay();
+        int slot = (int) Math.floorMod(day, (long) retentionDays);
+        DayBucket bucket = buckets[slot];
+        if (bucket != null && bucket.day > day) {
+            return null; // The slot was reused by a later day
+        }
+        if (bucket == null || bucket.day < day) {
+            bucket = new DayBucket(day);
+            buckets[slot] = bucket;
+        }
+        return bucket;
+    }
+
+    // Must be called while synchronized
+    private List<DayBucket> bucketsIn(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "Start date cannot be null.");
+        Objects.requireNonNull(to, "End date cannot be null.");
+        List<DayBucket> inRange = new ArrayList<>();
+        long first = Math.max(from.toEpochDay(), to.toEpochDay() - retentionDays + 1);
+        for (long day = first; day <= to.toEpochDay(); day++) {
+            DayBucket bucket = buckets[(int) Math.floorMod(day, (long) retentionDays)];
+            if (bucket != null && bucket.day == day) {
+                inRange.add(bucket);
+            }
+        }
+        return inRange;
+    }
+
+    private static final class DayBucket {
+        private final long day; // Epoch day
+        private long borrows;
+        private long returns;
+        private final CountMinSketch borrowedIsbns = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+        private final HeavyHitters topIsbns = new HeavyHitters(HEAVY_HITTER_CAPACITY);
+        private final HyperLogLog activeMembers = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+
+        private DayBucket(long day) {
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+// src/main/java/com/prpcena/library/analytics/CirculationRollups.java
+package com.prpcena.library.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.CirculationListener;
+
+/**
+ * Exact daily borrow and return counts per genre, pre-aggregated so that the
+ * count for any date range costs O(log days) array reads instead of a scan of
+ * the transaction history.
+ * <p>
+ * Each genre and event kind has a series of levels held in {@code long}
+ * arrays: level 0 counts single days from the origin, level 1 pairs of days,
+ * level k blocks of 2^k days. Recording an event adds to one block per level;
+ * a range query walks up from both ends of the range, taking whole blocks
+ * wherever they fit. Arrays double as days pass.
+ * <p>
+ * Register it with
+ * {@link com.prpcena.library.service.LibraryServiceImpl#addCirculationListener}
+ * and seed it with {@link #recordAll} for existing history. Thread-safe.
+ */
+public class CirculationRollups implements CirculationListener {
+    private static final Logger logger = LoggerFactory.getLogger(CirculationRollups.class);
+    private static final int INITIAL_DAYS = 512;
+
+    public enum Kind {
+        BORROW,
+        RETURN
+    }
+
+    /**
+     * How {@link #exportCsv} groups days.
+     */
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    private final long originDay;
+    private final Function<String, String> genreOfIsbn;
+    private final Map<String, Series[]> seriesByGenre = new LinkedHashMap<>(); // Indexed by Kind ordinal
+    private final Series[] totals = newSeriesPair();
+    private long ignoredEvents;
+
+    /**
+     * @param origin      The first day counted; earlier events are ignored.
+     * @param genreOfIsbn Maps a book's ISBN to its genre, e.g. through the book repository.
+     */
+    public CirculationRollups(LocalDate origin, Function<String, String> genreOfIsbn) {
+        this.originDay = Objects.requireNonNull(origin, "Origin cannot be null.").toEpochDay();
+        this.genreOfIsbn = Objects.requireNonNull(genreOfIsbn, "Genre lookup cannot be null.");
+    }
+
+    @Override
+    public void onBorrowed(Transaction loan) {
+        record(Kind.BORROW, loan.getBookIsbn(), loan.getTransactionDateTime().toLocalDate());
+    }
+
+    @Override
+    public void onReturned(Transaction loan) {
+        if (loan.getReturnDateTime() != null) {
+            record(Kind.RETURN, loan.getBookIsbn(), loan.getReturnDateTime().toLocalDate());
+        }
+    }
+
+    /**
+     * Records existing history, e.g. at startup.
+     *
+     * @param transactions Borrow transactions, open or returned.
+     */
+    public void recordAll(Collection<Transaction> transactions) {
+        Map<String, String> genres = new HashMap<>(); // One lookup per ISBN rather than per transaction
+        for (Transaction transaction : transactions) {
+            String genre = genres.computeIfAbsent(transaction.getBookIsbn(), this::genreOf);
+            record(Kind.BORROW, genre, transaction.getTransactionDateTime().toLocalDate().toEpochDay());
+            if (transaction.getReturnDateTime() != null) {
+                record(Kind.RETURN, genre, transaction.getReturnDateTime().toLocalDate().toEpochDay());
+            }
+        }
+        logger.info("Rolled up {} transactions across {} genres", transactions.size(), genres.size());
+    }
+
+    private void record(Kind kind, String isbn, LocalDate date) {
+        record(kind, genreOf(isbn), date.toEpochDay());
+    }
+
+    private synchronized void record(Kind kind, String genre, long epochDay) {
+        int day = (int) (epochDay - originDay);
+        if (day < 0) {
+            ignoredEvents++;
+            return;
+        }
+        seriesByGenre.computeIfAbsent(genre, g -> newSeriesPair())[kind.ordinal()].add(day);
+        totals[kind.ordinal()].add(day);
+    }
+
+    /**
+     * Counts events in a date range, both ends inclusive.
+     *
+     * @param kind  Borrows or returns.
+     * @param genre The genre to count, or null for all genres.
+     * @return The exact count.
+     */
+    public synchronized long count(Kind kind, String genre, LocalDate from, LocalDate to) {
+        Series[] series = genre == null ? totals : seriesByGenre.get(genre);
+        return series == null ? 0 : series[kind.ordinal()].sum(dayOf(from), dayOf(to));
+    }
+
+    /**
+     * Counts events in a date range for every genre seen so far.
+     *
+     * @return Genre to count, in the order genres were first seen, including genres with a count of 0.
+     */
+    public synchronized Map<String, Long> countByGenre(Kind kind, LocalDate from, LocalDate to) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long first = dayOf(from);
+        long last = dayOf(to);
+        seriesByGenre.forEach((genre, series) -> counts.put(genre, series[kind.ordinal()].sum(first, last)));
+        return counts;
+    }
+
+    /**
+     * @return The genres seen so far, in the order they were first seen.
+     */
+    public synchronized List<String> getGenres() {
+        return new ArrayList<>(seriesByGenre.keySet());
+    }
+
+    /**
+     * @return The number of events ignored because they happened before the origin.
+     */
+    public synchronized long getIgnoredEventCount() {
+        return ignoredEvents;
+    }
+
+    /**
+     * Writes borrow and return counts per period and genre as CSV. Each
+     * period is answered from the rollups, so the cost depends on the number
+     * of periods and genres, not on the number of transactions.
+     *
+     * @param out         Where to write; not closed.
+     * @param from        The first day of the range.
+     * @param to          The last day of the range.
+     * @param granularity How to group days; weeks start on Monday.
+     * @return The number of rows written, not counting the header.
+     * @throws IOException if writing fails.
+     */
+    public int exportCsv(Writer out, LocalDate from, LocalDate to, Granularity granularity) throws IOException {
+        Objects.requireNonNull(granularity, "Granularity cannot be null.");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end of the range cannot be before its start.");
+        }
+        StringBuilder lines = new StringBuilder("period_start,period_end,genre,borrows,returns\n");
+        int rows = 0;
+        synchronized (this) {
+            for (LocalDate start = from; !start.isAfter(to); ) {
+                LocalDate end = periodEnd(start, granularity);
+                if (end.isAfter(to)) {
+                    end = to;
+                }
+                for (Map.Entry<String, Series[]> entry : seriesByGenre.entrySet()) {
+                    long borrows = entry.getValue()[Kind.BORROW.ordinal()].sum(dayOf(start), dayOf(end));
+                    long returns = entry.getValue()[Kind.RETURN.ordinal()].sum(dayOf(start), dayOf(end));
+                    if (borrows != 0 || returns != 0) {
+                        lines.append(start).append(',').append(end).append(',')
+                                .append(csvField(entry.getKey())).append(',')
+                                .append(borrows).append(',').append(returns).append('\n');
+                        rows++;
+                    }
+                }
+                start = end.plusDays(1);
+            }
+        }
+        out.write(lines.toString());
+        logger.info("Exported {} circulation rollup rows from {} to {} by {}", rows, from, to, granularity);
+        return rows;
+    }
+
+    private static LocalDate periodEnd(LocalDate start, Granularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case MONTH:
+                return start.with(TemporalAdjusters.lastDayOfMonth());
+            default:
+                return start;
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String genreOf(String isbn) {
+        String genre = genreOfIsbn.apply(isbn);
+        return genre == null || genre.trim().isEmpty() ? "Unknown" : genre.trim();
+    }
+
+    private long dayOf(LocalDate date) {
+        return Objects.requireNonNull(date, "Date cannot be null.").toEpochDay() - originDay;
+    }
+
+    private static Series[] newSeriesPair() {
+        return new Series[] { new Series(), new Series() };
+    }
+
+    /**
+     * Daily counts with every power-of-two block of days pre-summed.
+     */
+    private static final class Series {
+        private long[][] levels = new long[Integer.numberOfTrailingZeros(INITIAL_DAYS) + 1][];
+
+        private Series() {
+            for (int level = 0; level < levels.length; level++) {
+                levels[level] = new long[INITIAL_DAYS >> level];
+            }
+        }
+
+        private void add(int day) {
+            while (day >= levels[0].length) {
+                grow();
+            }
+            for (int level = 0; level < levels.length; level++) {
+                levels[level][day >> level]++;
+            }
+        }
+
+        // Sums days [first, last]; days outside the recorded span count as 0
+        private long sum(long first, long last) {
+            first = Math.max(first, 0);
+            last = Math.min(last, levels[0].length - 1L);
+            if (first > last) {
+                return 0;
+            }
+            long total = 0;
+            int lo = (int) first;
+            int hi = (int) last + 1; // Exclusive
+            for (int level = 0; lo < hi; level++) {
+                if ((lo & 1) == 1) {
+                    total += levels[level][lo++];
+                }
+                if ((hi & 1) == 1) {
+                    total += levels[level][--hi];
+                }
+                lo >>= 1;
+                hi >>= 1;
+            } // The top level is a single block, so the range is used up by then
+            return total;
+        }
+
+        // Doubles the span and adds a level on top holding the two halves' sums
+        private void grow() {
+            int days = levels[0].length * 2;
+            long[][] grown = Arrays.copyOf(levels, levels.length + 1);
+            for (int level = 0; level < levels.length; level++) {
+                grown[level] = Arrays.copyOf(levels[level], days >> level);
+            }
+            long[] top = levels[levels.length - 1];
+            grown[levels.length] = new long[] { top[0] };
+            levels = grown;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+// src/main/java/com/prpcena/library/analytics/CountMinSketch.java
+package com.prpcena.library.analytics;
+
+/**
+ * Approximate per-key counts in fixed memory. An estimate is never below the
+ * true count and, with {@code depth} rows of {@code width} counters, exceeds
+ * it by more than {@code 2N/width} with probability at most {@code 2^-depth},
+ * where N is the total added. Sketches of the same shape can be merged.
+ * <p>
+ * Not thread-safe; callers must synchronize.
+ */
+public final class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final int[] counters; // depth rows of width counters
+    private long total;
+
+    /**
+     * @param width The counters per row; rounded up to a power of two.
+     * @param depth The number of rows, each with its own hash.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive.");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded == width ? width : rounded << 1; // Rows are indexed with a mask
+        this.depth = depth;
+        this.counters = new int[this.width * depth];
+    }
+
+    public void add(String key, int count) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + (h1 + row * h2 & width - 1)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * @return An upper-biased estimate of the key's count.
+     */
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + (h1 + row * h2 & width - 1)]);
+        }
+        return min;
+    }
+
+    /**
+     * Adds another sketch's counts to this one.
+     *
+     * @throws IllegalArgumentException if the sketches differ in shape.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shapes.");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * @return The sum of all counts added.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/prpcena/library/analytics/Hashing.java
+package com.prpcena.library.analytics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The 64-bit hash shared by the sketches. {@link String#hashCode()} has too
+ * few, and too poorly mixed, bits for HyperLogLog's register selection.
+ */
+final class Hashing {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * FNV-1a over the key's UTF-8 bytes, finished with the SplitMix64 mixer.
+     */
+    static long hash64(String key) {
+        long h = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,125 @@
+// src/main/java/com/prpcena/library/analytics/HeavyHitters.java
+package com.prpcena.library.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the most frequent keys with the Space-Saving algorithm, in at most
+ * {@code capacity} counters. Any key whose true count exceeds N/capacity is
+ * guaranteed to be tracked; a tracked key's count may be overestimated by at
+ * most its {@link Entry#getError() error}.
+ * <p>
+ * Not thread-safe; callers must synchronize.
+ */
+public final class HeavyHitters {
+    private final int capacity;
+    private final Map<String, Entry> entries;
+
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String key, long count) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.count += count;
+        } else if (entries.size() < capacity) {
+            entries.put(key, new Entry(key, count, 0));
+        } else {
+            // Replace the smallest counter; a scan is cheap at the capacities used here
+            Entry smallest = null;
+            for (Entry candidate : entries.values()) {
+                if (smallest == null || candidate.count < smallest.count) {
+                    smallest = candidate;
+                }
+            }
+            entries.remove(smallest.key);
+            entries.put(key, new Entry(key, smallest.count + count, smallest.count));
+        }
+    }
+
+    /**
+     * Adds another tracker's counters to this one, keeping the largest.
+     */
+    public void merge(HeavyHitters other) {
+        for (Entry entry : other.entries.values()) {
+            Entry existing = entries.get(entry.key);
+            if (existing != null) {
+                existing.count += entry.count;
+                existing.error += entry.error;
+            } else {
+                entries.put(entry.key, new Entry(entry.key, entry.count, entry.error));
+            }
+        }
+        if (entries.size() > capacity) {
+            List<Entry> kept = top(capacity);
+            entries.clear();
+            kept.forEach(entry -> entries.put(entry.key, entry));
+        }
+    }
+
+    /**
+     * @param k The number of keys wanted.
+     * @return Up to k tracked keys, most frequent first. The entries are copies.
+     */
+    public List<Entry> top(int k) {
+        List<Entry> sorted = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> sorted.add(new Entry(entry.key, entry.count, entry.error)));
+        sorted.sort(Comparator.comparingLong(Entry::getCount).reversed().thenComparing(Entry::getKey));
+        return sorted.size() > k ? new ArrayList<>(sorted.subList(0, k)) : sorted;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * A tracked key and its estimated count.
+     */
+    public static final class Entry {
+        private final String key;
+        private long count;
+        private long error;
+
+        private Entry(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return The estimated count; never below the true count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The most the count may be overestimated by.
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key='" + key + '\'' +
+                    ", count=" + count +
+                    ", error=" + error +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,80 @@
+// src/main/java/com/prpcena/library/archive/ArchiveSummary.java
+package com.prpcena.library.archive;
+
+/**
+ * What a {@link LibraryArchive} export or import moved.
+ */
+public final class ArchiveSummary {
+    private final long bookCount;
+    private final long memberCount;
+    private final long transactionCount;
+    private final long holdCount;
+    private final long fineEntryCount;
+    private final long blockCount;
+    private final long encodedBytes;
+    private final long archiveBytes;
+
+    public ArchiveSummary(long bookCount, long memberCount, long transactionCount, long holdCount,
+            long fineEntryCount, long blockCount, long encodedBytes, long archiveBytes) {
+        this.bookCount = bookCount;
+        this.memberCount = memberCount;
+        this.transactionCount = transactionCount;
+        this.holdCount = holdCount;
+        this.fineEntryCount = fineEntryCount;
+        this.blockCount = blockCount;
+        this.encodedBytes = encodedBytes;
+        this.archiveBytes = archiveBytes;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    public long getMemberCount() {
+        return memberCount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public long getHoldCount() {
+        return holdCount;
+    }
+
+    public long getFineEntryCount() {
+        return fineEntryCount;
+    }
+
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @return The size of the records before compression.
+     */
+    public long getEncodedBytes() {
+        return encodedBytes;
+    }
+
+    /**
+     * @return The size of the archive file.
+     */
+    public long getArchiveBytes() {
+        return archiveBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveSummary{" +
+                "books=" + bookCount +
+                ", members=" + memberCount +
+                ", transactions=" + transactionCount +
+                ", holds=" + holdCount +
+                ", fineEntries=" + fineEntryCount +
+                ", blocks=" + blockCount +
+                ", encodedBytes=" + encodedBytes +
+                ", archiveBytes=" + archiveBytes +
+                '}';
+    }
+}
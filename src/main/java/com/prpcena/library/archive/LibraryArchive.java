@@ -0,0 +1,492 @@
+// src/main/java/com/prpcena/library/archive/LibraryArchive.java
+package com.prpcena.library.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.codec.ModelDecoder;
+import com.prpcena.library.codec.ModelEncoder;
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.fine.FineLedgerStore;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.HoldRepository;
+import com.prpcena.library.repository.InMemoryHoldRepository;
+import com.prpcena.library.repository.MemberRepository;
+import com.prpcena.library.repository.TransactionRepository;
+import com.prpcena.library.repository.TransactionScope;
+
+/**
+ * Exports a library's books, members, transactions, holds and fine ledger
+ * entries to a single compressed file and imports them again, e.g. to move a
+ * library to another host.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int  magic "LARC"
+ * int  format version
+ * blocks: byte section (1 books, 2 members, 3 transactions, 4 holds, 5 fine ledger entries),
+ *         int record count, int encoded length, int compressed length, int CRC32C of the encoded bytes,
+ *         Deflate-compressed {@link ModelEncoder} records
+ * byte 0, long count per section
+ * </pre>
+ * Format version 1 archives, which have no holds or fine ledger entries and
+ * three counts at the end, can still be imported.
+ * <p>
+ * Each block holds up to {@value #RECORDS_PER_BLOCK} records encoded with
+ * their own dictionary, so blocks are independent: they are encoded and
+ * compressed, or decompressed and decoded, on {@code parallelism} threads
+ * while one thread writes or reads the file in order. At most two blocks per
+ * thread are in flight.
+ * <p>
+ * Exports are written to a temporary file and moved into place, so a failed
+ * export leaves any earlier archive intact. An import checks the whole
+ * archive before it saves the first record, so a damaged archive saves
+ * nothing. When the repositories share a {@link TransactionScope}, the
+ * archive is checked in one pass and saved block by block in one transaction
+ * in a second, keeping memory flat. Without one, every record is held in
+ * memory until the archive is checked, and a repository failing partway
+ * leaves the records saved before it.
+ */
+public class LibraryArchive {
+    private static final Logger logger = LoggerFactory.getLogger(LibraryArchive.class);
+
+    static final int MAGIC = 0x4C415243; // "LARC"
+    static final int FORMAT_VERSION = 2;
+    static final int RECORDS_PER_BLOCK = 8192;
+    static final int MAX_BLOCK_SIZE = 64 << 20;
+    static final byte END = 0;
+    static final byte BOOKS = 1;
+    static final byte MEMBERS = 2;
+    static final byte TRANSACTIONS = 3;
+    static final byte HOLDS = 4;
+    static final byte FINE_ENTRIES = 5;
+
+    private final int parallelism;
+
+    /**
+     * @param parallelism The number of threads compressing or decompressing blocks.
+     */
+    public LibraryArchive(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Writes a snapshot of a library to an archive, replacing the file if it
+     * exists.
+     *
+     * @param snapshot The records, read together so they agree with each other.
+     * @throws IOException if the archive cannot be written.
+     */
+    public ArchiveSummary export(Path file, LibrarySnapshot snapshot) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        ExecutorService executor = newExecutor("archive-export-");
+        Exporter exporter;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp),
+                1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            exporter = new Exporter(out, executor);
+            long[] counts = {
+                    exporter.writeSection(BOOKS, snapshot.getBooks(), ModelEncoder::encode),
+                    exporter.writeSection(MEMBERS, snapshot.getMembers(), ModelEncoder::encode),
+                    exporter.writeSection(TRANSACTIONS, snapshot.getTransactions(), ModelEncoder::encode),
+                    exporter.writeSection(HOLDS, snapshot.getHolds(), ModelEncoder::encode),
+                    exporter.writeSection(FINE_ENTRIES, snapshot.getFineEntries(), ModelEncoder::encode) };
+            exporter.drain(0);
+            out.writeByte(END);
+            for (long count : counts) {
+                out.writeLong(count);
+            }
+            exporter.counts = counts;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ArchiveSummary summary = summarize(exporter.counts, exporter.blockCount, exporter.encodedBytes, file);
+        logger.info("Exported {} to {} on {} threads", summary, file, parallelism);
+        return summary;
+    }
+
+    /**
+     * Saves the books, members and transactions in an archive into the given
+     * repositories; any holds and fine ledger entries are checked but not
+     * saved.
+     *
+     * @throws IOException if the archive cannot be read, or is damaged or incomplete.
+     */
+    public ArchiveSummary importInto(Path file, BookRepository books, MemberRepository members,
+            TransactionRepository transactions) throws IOException {
+        return importInto(file, books, members, transactions, new InMemoryHoldRepository(), entry -> { }, null);
+    }
+
+    /**
+     * Saves everything in an archive into the given repositories, which
+     * should be empty. Nothing is saved unless the whole archive is intact.
+     * <p>
+     * Given a scope, the archive is read twice: once to check every block's
+     * checksum and the counts at the end, keeping no records, then again to
+     * decode and save it block by block in one transaction, so memory use
+     * stays flat. Without one, every record is decoded and held in memory
+     * before the first save.
+     *
+     * @param fineLedger Where the fine ledger entries are appended, in order.
+     * @param scope The transactions shared by the repositories, or null if they share none.
+     * @throws IOException if the archive cannot be read, or is damaged or incomplete.
+     */
+    public ArchiveSummary importInto(Path file, BookRepository books, MemberRepository members,
+            TransactionRepository transactions, HoldRepository holds, FineLedgerStore fineLedger,
+            TransactionScope scope) throws IOException {
+        Targets targets = new Targets(books, members, transactions, holds, fineLedger);
+        ArchiveSummary summary;
+        if (scope != null) {
+            scan(file, null, save -> { });
+            try {
+                summary = scope.atomically(() -> {
+                    try {
+                        return scan(file, targets, Runnable::run); // Saved in archive order, while later blocks decode
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Rolls the saves back
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else {
+            List<Runnable> saves = new ArrayList<>();
+            summary = scan(file, targets, saves::add);
+            saves.forEach(Runnable::run);
+        }
+        logger.info("Imported {} from {} on {} threads", summary, file, parallelism);
+        return summary;
+    }
+
+    // Reads every block in order, decoding it for the targets, or only checking it if they are null, and hands
+    // each block's save (null when only checking) to the consumer; fails if anything is damaged or missing
+    private ArchiveSummary scan(Path file, Targets targets, Consumer<Runnable> onBlock) throws IOException {
+        ExecutorService executor = newExecutor("archive-import-");
+        long[] counts = new long[FINE_ENTRIES];
+        long blockCount = 0;
+        long encodedBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a library archive.");
+            }
+            int formatVersion = in.readInt();
+            if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+                throw new IOException("Unsupported library archive format version: " + formatVersion);
+            }
+            byte lastSection = formatVersion == 1 ? TRANSACTIONS : FINE_ENTRIES;
+            Deque<Future<Runnable>> inFlight = new ArrayDeque<>();
+            while (true) {
+                byte section = in.readByte();
+                if (section == END) {
+                    break;
+                }
+                if (section < BOOKS || section > lastSection) {
+                    throw new IOException("Library archive block " + blockCount + " has unknown section " + section + ".");
+                }
+                int count = in.readInt();
+                int encodedLength = in.readInt();
+                int compressedLength = in.readInt();
+                int checksum = in.readInt();
+                if (count < 0 || encodedLength < 0 || encodedLength > MAX_BLOCK_SIZE || compressedLength < 0
+                        || compressedLength > MAX_BLOCK_SIZE) {
+                    throw new IOException("Library archive block " + blockCount + " has an impossible size.");
+                }
+                byte[] compressed = new byte[compressedLength];
+                in.readFully(compressed);
+                while (inFlight.size() >= 2 * parallelism) {
+                    onBlock.accept(await(inFlight.poll()));
+                }
+                long block = blockCount;
+                inFlight.add(executor.submit(() -> decodeBlock(block, section, count, encodedLength, checksum,
+                        compressed, targets)));
+                counts[section - 1] += count;
+                blockCount++;
+                encodedBytes += encodedLength;
+            }
+            while (!inFlight.isEmpty()) {
+                onBlock.accept(await(inFlight.poll()));
+            }
+            long[] expected = new long[lastSection];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = in.readLong();
+            }
+            if (!Arrays.equals(expected, Arrays.copyOf(counts, lastSection))) {
+                throw new IOException("Library archive holds " + Arrays.toString(Arrays.copyOf(counts, lastSection))
+                        + " records but says " + Arrays.toString(expected) + ".");
+            }
+        } catch (EOFException e) {
+            throw new IOException("Library archive " + file + " is truncated.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return summarize(counts, blockCount, encodedBytes, file);
+    }
+
+    private static ArchiveSummary summarize(long[] counts, long blockCount, long encodedBytes, Path file)
+            throws IOException {
+        return new ArchiveSummary(counts[BOOKS - 1], counts[MEMBERS - 1], counts[TRANSACTIONS - 1],
+                counts[HOLDS - 1], counts[FINE_ENTRIES - 1], blockCount, encodedBytes, Files.size(file));
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+        void write(ModelEncoder encoder, T record, ByteBuffer out);
+    }
+
+    private static final class EncodedBlock {
+        final byte section;
+        final int count;
+        final int encodedLength;
+        final int checksum;
+        final byte[] compressed;
+        final int compressedLength;
+
+        EncodedBlock(byte section, int count, int encodedLength, int checksum, byte[] compressed,
+                int compressedLength) {
+            this.section = section;
+            this.count = count;
+            this.encodedLength = encodedLength;
+            this.checksum = checksum;
+            this.compressed = compressed;
+            this.compressedLength = compressedLength;
+        }
+    }
+
+    // The repositories an import saves into
+    private static final class Targets {
+        final BookRepository books;
+        final MemberRepository members;
+        final TransactionRepository transactions;
+        final HoldRepository holds;
+        final FineLedgerStore fineLedger;
+
+        Targets(BookRepository books, MemberRepository members, TransactionRepository transactions,
+                HoldRepository holds, FineLedgerStore fineLedger) {
+            this.books = books;
+            this.members = members;
+            this.transactions = transactions;
+            this.holds = holds;
+            this.fineLedger = fineLedger;
+        }
+    }
+
+    // Submits blocks for encoding and writes them in order as they complete
+    private final class Exporter {
+        private final DataOutputStream out;
+        private final ExecutorService executor;
+        private final Deque<Future<EncodedBlock>> inFlight = new ArrayDeque<>();
+        long blockCount;
+        long encodedBytes;
+        long[] counts;
+
+        Exporter(DataOutputStream out, ExecutorService executor) {
+            this.out = out;
+            this.executor = executor;
+        }
+
+        <T> long writeSection(byte section, List<T> records, RecordWriter<T> writer) throws IOException {
+            for (int from = 0; from < records.size(); from += RECORDS_PER_BLOCK) {
+                List<T> block = records.subList(from, Math.min(from + RECORDS_PER_BLOCK, records.size()));
+                drain(2 * parallelism - 1);
+                inFlight.add(executor.submit(() -> encodeBlock(section, block, writer)));
+            }
+            return records.size();
+        }
+
+        // Writes completed blocks until at most the given number are in flight
+        void drain(int maxInFlight) throws IOException {
+            while (inFlight.size() > maxInFlight) {
+                EncodedBlock block = await(inFlight.poll());
+                out.writeByte(block.section);
+                out.writeInt(block.count);
+                out.writeInt(block.encodedLength);
+                out.writeInt(block.compressedLength);
+                out.writeInt(block.checksum);
+                out.write(block.compressed, 0, block.compressedLength);
+                blockCount++;
+                encodedBytes += block.encodedLength;
+            }
+        }
+    }
+
+    private static <T> EncodedBlock encodeBlock(byte section, List<T> records, RecordWriter<T> writer) {
+        ModelEncoder encoder = new ModelEncoder();
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * 64 + 256);
+        for (T record : records) {
+            while (true) {
+                try {
+                    writer.write(encoder, record, buffer);
+                    break;
+                } catch (BufferOverflowException e) {
+                    // The encoder undid the record; retry it in a buffer twice the size
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+        }
+        int encodedLength = buffer.position();
+        if (encodedLength > MAX_BLOCK_SIZE) {
+            throw new OperationFailedException("Archive block of " + encodedLength + " bytes is too large.");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, encodedLength);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(buffer.array(), 0, encodedLength);
+            deflater.finish();
+            byte[] compressed = new byte[Math.max(256, encodedLength / 2)];
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+            return new EncodedBlock(section, records.size(), encodedLength, (int) crc.getValue(), compressed,
+                    compressedLength);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Decompresses, checks and decodes a block, returning the save to run in archive order, or null if only checking
+    private static Runnable decodeBlock(long block, byte section, int count, int encodedLength, int checksum,
+            byte[] compressed, Targets targets) throws IOException {
+        byte[] encoded = new byte[encodedLength];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < encodedLength && !inflater.finished()) {
+                int inflated = inflater.inflate(encoded, length, encodedLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != encodedLength) {
+                throw new IOException("Library archive block " + block + " is truncated.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Library archive block " + block + " is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(encoded);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Library archive block " + block + " failed its checksum.");
+        }
+        if (targets == null) {
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(encoded);
+        ModelDecoder decoder = new ModelDecoder();
+        try {
+            switch (section) {
+                case BOOKS:
+                    List<Book> decodedBooks = decodeAll(count, () -> decoder.decodeBook(in));
+                    return () -> targets.books.saveAll(decodedBooks);
+                case MEMBERS:
+                    List<Member> decodedMembers = decodeAll(count, () -> decoder.decodeMember(in));
+                    return () -> targets.members.saveAll(decodedMembers);
+                case TRANSACTIONS:
+                    List<Transaction> decodedTransactions = decodeAll(count, () -> decoder.decodeTransaction(in));
+                    return () -> targets.transactions.saveAll(decodedTransactions);
+                case HOLDS:
+                    List<Hold> decodedHolds = decodeAll(count, () -> decoder.decodeHold(in));
+                    return () -> decodedHolds.forEach(targets.holds::save);
+                default:
+                    List<FineLedgerEntry> decodedEntries = decodeAll(count, () -> decoder.decodeFineEntry(in));
+                    return () -> decodedEntries.forEach(targets.fineLedger::append);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Library archive block " + block + " is corrupt.", e);
+        }
+    }
+
+    private static <T> List<T> decodeAll(int count, Callable<T> decode) {
+        List<T> records = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                records.add(decode.call());
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e); // Decoders throw no checked exceptions
+        }
+        return records;
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an archive block.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private ExecutorService newExecutor(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/prpcena/library/archive/LibrarySnapshot.java
+package com.prpcena.library.archive;
+
+import java.util.List;
+
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+
+/**
+ * Everything a {@link LibraryArchive} holds, read together so the records
+ * agree with each other, e.g. every loan's book and member are present.
+ * Holds are in the order they were placed and each member's fine ledger
+ * entries oldest first, so saving them in order rebuilds the wait-lists and
+ * balances. Immutable.
+ */
+public final class LibrarySnapshot {
+    private final List<Book> books;
+    private final List<Member> members;
+    private final List<Transaction> transactions;
+    private final List<Hold> holds;
+    private final List<FineLedgerEntry> fineEntries;
+
+    public LibrarySnapshot(List<Book> books, List<Member> members, List<Transaction> transactions,
+            List<Hold> holds, List<FineLedgerEntry> fineEntries) {
+        this.books = List.copyOf(books);
+        this.members = List.copyOf(members);
+        this.transactions = List.copyOf(transactions);
+        this.holds = List.copyOf(holds);
+        this.fineEntries = List.copyOf(fineEntries);
+    }
+
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public List<Hold> getHolds() {
+        return holds;
+    }
+
+    public List<FineLedgerEntry> getFineEntries() {
+        return fineEntries;
+    }
+}
@@ -1,44 +1,267 @@
 // src/main/java/com/yourusername/library/cli/MainApp.java
 package com.prpcena.library.cli; // Adjust package name
 
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Scanner; // New
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory; // New
 
+import com.prpcena.library.analytics.CirculationAnalytics;
+import com.prpcena.library.analytics.CirculationRollups;
+import com.prpcena.library.analytics.HeavyHitters;
+import com.prpcena.library.archive.ArchiveSummary;
+import com.prpcena.library.archive.LibraryArchive;
+import com.prpcena.library.dashboard.MemberLoanSummary;
+import com.prpcena.library.dashboard.MemberLoanSummaryView;
+import com.prpcena.library.events.BookAvailabilityProjection;
+import com.prpcena.library.events.EventLog;
+import com.prpcena.library.events.FileEventLog;
+import com.prpcena.library.events.MemberActivityProjection;
+import com.prpcena.library.events.OpenLoansProjection;
+import com.prpcena.library.events.ProjectionRunner;
 import com.prpcena.library.exception.BookNotBorrowedException;
+import com.prpcena.library.exception.BookAlreadyBorrowedException;
 import com.prpcena.library.exception.BookNotFoundException;
+import com.prpcena.library.exception.BorrowingLimitExceededException;
+import com.prpcena.library.exception.HoldNotAllowedException;
+import com.prpcena.library.exception.HoldNotFoundException;
 import com.prpcena.library.exception.MemberNotFoundException;
 import com.prpcena.library.exception.NoCopiesAvailableException;
 import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.fine.FineEngine;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.fine.FineLedgerStore;
+import com.prpcena.library.fine.FinePolicy;
+import com.prpcena.library.limits.BorrowingPolicy;
+import com.prpcena.library.limits.LoanCounters;
 import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.model.Hold;
 import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
 import com.prpcena.library.model.Transaction;
+import com.prpcena.library.notification.FileNotifier;
+import com.prpcena.library.notification.LogNotifier;
+import com.prpcena.library.notification.Notifier;
+import com.prpcena.library.notification.OverdueScheduler;
+import com.prpcena.library.recommend.AlsoBorrowedRecommender;
 import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.HoldRepository;
 import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.InMemoryHoldRepository;
 import com.prpcena.library.repository.InMemoryMemberRepository;
 import com.prpcena.library.repository.InMemoryTransactionRepository;
 import com.prpcena.library.repository.MemberRepository;
 import com.prpcena.library.repository.TransactionRepository;
+import com.prpcena.library.repository.TransactionScope;
+import com.prpcena.library.repository.cache.CachingBookRepository;
+import com.prpcena.library.repository.cache.CachingMemberRepository;
+import com.prpcena.library.repository.jdbc.JdbcBookRepository;
+import com.prpcena.library.repository.jdbc.JdbcConnectionPool;
+import com.prpcena.library.repository.jdbc.JdbcFineLedgerStore;
+import com.prpcena.library.repository.jdbc.JdbcHoldRepository;
+import com.prpcena.library.repository.jdbc.JdbcMemberRepository;
+import com.prpcena.library.repository.jdbc.JdbcTransactionRepository;
+import com.prpcena.library.repository.log.LoggedBookRepository;
+import com.prpcena.library.repository.log.LoggedHoldRepository;
+import com.prpcena.library.repository.log.LoggedMemberRepository;
+import com.prpcena.library.repository.log.LoggedTransactionRepository;
+import com.prpcena.library.repository.log.MutationLog;
+import com.prpcena.library.repository.log.MutationQueue;
+import com.prpcena.library.repository.writebehind.Acknowledgement;
+import com.prpcena.library.repository.writebehind.WriteBehindBookRepository;
+import com.prpcena.library.repository.writebehind.WriteBehindQueue;
+import com.prpcena.library.repository.writebehind.WriteBehindSink;
+import com.prpcena.library.repository.writebehind.WriteBehindTransactionRepository;
+import com.prpcena.library.service.BatchItemResult;
 import com.prpcena.library.service.LibraryService;
 import com.prpcena.library.service.LibraryServiceImpl;
+import com.prpcena.library.service.search.BookSearchCriteria;
+import com.prpcena.library.util.LibraryClock;
 
 public class MainApp {
     private static final Logger logger = LoggerFactory.getLogger(MainApp.class);
+    private static final LibraryClock clock = LibraryClock.systemDefault();
+    private static final int LOOKUP_CACHE_SIZE = 10_000; // Books or members per cache
     private static LibraryService libraryService;
+    private static CirculationAnalytics circulationAnalytics;
+    private static CirculationRollups circulationRollups;
+    private static AlsoBorrowedRecommender recommender;
+    private static ProjectionRunner projections; // Null without an event log
+    private static final BookAvailabilityProjection bookAvailability = new BookAvailabilityProjection();
+    private static final OpenLoansProjection openLoans = new OpenLoansProjection();
+    private static final MemberActivityProjection memberActivity = new MemberActivityProjection();
     private static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
         // Setup: Dependency Injection
-        BookRepository bookRepository = new InMemoryBookRepository();
-        MemberRepository memberRepository = new InMemoryMemberRepository(); // New
-        TransactionRepository transactionRepository = new InMemoryTransactionRepository();
-        libraryService = new LibraryServiceImpl(bookRepository, memberRepository, transactionRepository);
+        // Data is kept in memory unless a database is given with -Dlibrary.db.url=jdbc:h2:./data/library
+        String databaseUrl = System.getProperty("library.db.url");
+        JdbcConnectionPool connectionPool = databaseUrl != null
+                ? new JdbcConnectionPool(databaseUrl, System.getProperty("library.db.user", "sa"),
+                        System.getProperty("library.db.password", ""), 4)
+                : null;
+        // With -Dlibrary.db.writeBehind=true as well, books and loans are served from memory and written in batches
+        boolean writeBehind = connectionPool != null && Boolean.getBoolean("library.db.writeBehind");
+        List<WriteBehindQueue<?, ?>> writeBehindQueues = new ArrayList<>();
+        // Without a database, everything can be kept in memory and logged with -Dlibrary.log.file=./data/library.log
+        String mutationLogFile = connectionPool == null ? System.getProperty("library.log.file") : null;
+        // Books held in memory in either mode can be searched by keyword from -Dlibrary.search.index=./data/search.idx
+        // instead of rebuilding the keyword index on every startup
+        String searchIndexProperty = System.getProperty("library.search.index");
+        Path searchIndexFile = searchIndexProperty != null && (mutationLogFile != null || writeBehind)
+                ? Paths.get(searchIndexProperty)
+                : null;
+        InMemoryBookRepository memoryBooks = new InMemoryBookRepository(searchIndexFile);
+        InMemoryTransactionRepository loggedTransactions = new InMemoryTransactionRepository();
+        InMemoryMemberRepository loggedMembers = new InMemoryMemberRepository();
+        InMemoryHoldRepository loggedHolds = new InMemoryHoldRepository();
+        List<FineLedgerEntry> loggedFineEntries = new ArrayList<>();
+        MutationLog mutationLog = mutationLogFile != null
+                ? openMutationLog(Paths.get(mutationLogFile), memoryBooks, loggedMembers, loggedTransactions,
+                        loggedHolds, loggedFineEntries)
+                : null;
+        // Books and loans are logged in batches, a borrow's or return's copy count and loan in the same record
+        MutationQueue mutationQueue = mutationLog != null
+                ? new MutationQueue(mutationLog, 4096, 256, Duration.ofMillis(20))
+                : null;
+        // Lookups by ISBN and member ID that would each be a database round trip are cached
+        BookRepository bookRepository = mutationLog != null
+                ? new LoggedBookRepository(memoryBooks, mutationQueue)
+                : connectionPool == null ? new InMemoryBookRepository()
+                : writeBehind ? writeBehind(new JdbcBookRepository(connectionPool), memoryBooks, writeBehindQueues)
+                : new CachingBookRepository(new JdbcBookRepository(connectionPool), LOOKUP_CACHE_SIZE,
+                        connectionPool);
+        MemberRepository memberRepository = mutationLog != null
+                ? new LoggedMemberRepository(loggedMembers, mutationLog)
+                : connectionPool != null
+                ? new CachingMemberRepository(new JdbcMemberRepository(connectionPool), LOOKUP_CACHE_SIZE,
+                        connectionPool)
+                : new InMemoryMemberRepository(); // New
+        TransactionRepository transactionRepository = mutationLog != null
+                ? new LoggedTransactionRepository(loggedTransactions, mutationQueue)
+                : connectionPool == null ? new InMemoryTransactionRepository()
+                : writeBehind ? writeBehind(new JdbcTransactionRepository(connectionPool), writeBehindQueues)
+                : new JdbcTransactionRepository(connectionPool);
+        // Holds and fine ledgers are kept wherever the loans are, so balances and wait-lists survive a restart
+        HoldRepository holdRepository;
+        FineLedgerStore fineLedger; // Null if ledgers are only kept in memory
+        List<FineLedgerEntry> fineEntries; // Settled before this start, to restore
+        if (mutationLog != null) {
+            holdRepository = new LoggedHoldRepository(loggedHolds, mutationLog);
+            fineLedger = mutationLog.fineLedgerStore();
+            fineEntries = loggedFineEntries;
+        } else if (connectionPool != null) {
+            holdRepository = new JdbcHoldRepository(connectionPool);
+            JdbcFineLedgerStore jdbcFineLedger = new JdbcFineLedgerStore(connectionPool);
+            fineLedger = jdbcFineLedger;
+            fineEntries = jdbcFineLedger.findAll();
+        } else {
+            holdRepository = new InMemoryHoldRepository();
+            fineLedger = null;
+            fineEntries = new ArrayList<>();
+        }
+        // An archive written by menu option 26 is loaded into an empty library with -Dlibrary.import=./library.larc
+        String importFile = System.getProperty("library.import");
+        if (importFile != null) {
+            // All in one transaction when every repository is on the pool
+            TransactionScope importScope = connectionPool != null && !writeBehind ? connectionPool : null;
+            importLibraryArchive(Paths.get(importFile), bookRepository, memberRepository, transactionRepository,
+                    holdRepository, fineLedger, fineEntries, importScope);
+        }
+        if (searchIndexFile != null) {
+            memoryBooks.openSearchIndex(); // Once every book is loaded, so the file's stamp can be checked
+        }
+        FineEngine fineEngine = new FineEngine(FinePolicy.DEFAULT, clock, fineLedger);
+        fineEngine.restore(fineEntries);
+        fineEngine.trackAll(transactionRepository.findAllOpenBorrowTransactions());
+        LoanCounters loanCounters = new LoanCounters(BorrowingPolicy.DEFAULT, clock);
+        loanCounters.trackAll(transactionRepository.findAllOpenBorrowTransactions());
+        MemberLoanSummaryView loanSummaries = new MemberLoanSummaryView(clock);
+        loanSummaries.refreshAll(transactionRepository.findAll());
+        LibraryServiceImpl libraryServiceImpl = new LibraryServiceImpl(bookRepository, memberRepository,
+                transactionRepository, holdRepository, fineEngine, loanCounters, loanSummaries, clock);
+        if (connectionPool != null && !writeBehind) {
+            // Every repository is on the pool, so a borrow's copy count and loan commit together
+            libraryServiceImpl.setTransactionScope(connectionPool);
+        } else if (mutationQueue != null) {
+            libraryServiceImpl.setTransactionScope(mutationQueue);
+        }
+        libraryService = libraryServiceImpl;
+        // Every change is recorded as an event, kept across restarts, with -Dlibrary.events.file=./data/events.log
+        String eventLogProperty = System.getProperty("library.events.file");
+        FileEventLog eventLog = eventLogProperty != null ? openEventLog(Paths.get(eventLogProperty)) : null;
+        if (eventLog != null) {
+            libraryServiceImpl.setEventLog(eventLog);
+            projections = openProjections(eventLog, Paths.get(eventLogProperty + ".checkpoints"));
+        }
+
+        // Overdue notices go to the log unless a file is given with -Dlibrary.notifications.file=...
+        String notificationFile = System.getProperty("library.notifications.file");
+        Notifier notifier = notificationFile != null ? new FileNotifier(Paths.get(notificationFile)) : new LogNotifier();
+        OverdueScheduler overdueScheduler = new OverdueScheduler(notifier, 3, clock);
+        overdueScheduler.trackAll(transactionRepository.findAllOpenBorrowTransactions());
+        libraryServiceImpl.addCirculationListener(overdueScheduler);
+        overdueScheduler.start();
+        // Set-aside copies not collected within the pickup window pass to the next member, checked hourly
+        ScheduledExecutorService holdExpiry = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        holdExpiry.scheduleWithFixedDelay(() -> {
+            try {
+                int expired = libraryServiceImpl.expireUncollectedHolds();
+                if (expired > 0) {
+                    logger.info("Expired {} uncollected holds", expired);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Hold expiry run failed", e);
+            }
+        }, 0, 1, TimeUnit.HOURS);
+        circulationAnalytics = new CirculationAnalytics(62); // Two calendar months
+        circulationAnalytics.recordAll(transactionRepository.findAll());
+        libraryServiceImpl.addCirculationListener(circulationAnalytics);
+        List<Transaction> history = transactionRepository.findAll();
+        LocalDate rollupOrigin = history.stream()
+                .map(transaction -> transaction.getTransactionDateTime().toLocalDate())
+                .min(LocalDate::compareTo)
+                .orElse(clock.today());
+        circulationRollups = new CirculationRollups(rollupOrigin,
+                isbn -> bookRepository.findByIsbn(isbn).map(Book::getGenre).orElse(null));
+        circulationRollups.recordAll(history);
+        libraryServiceImpl.addCirculationListener(circulationRollups);
+        recommender = new AlsoBorrowedRecommender(20, 50);
+        recommender.recordAll(history);
+        // Loans outlive the books they were for, so books removed before this run are dropped here
+        List<String> borrowedIsbns = history.stream().map(Transaction::getBookIsbn).distinct()
+                .collect(Collectors.toList());
+        Set<String> stillInCatalog = bookRepository.findAllByIsbn(borrowedIsbns).keySet();
+        borrowedIsbns.stream().filter(isbn -> !stillInCatalog.contains(isbn)).forEach(recommender::onBookRemoved);
+        libraryServiceImpl.addCirculationListener(recommender);
         
         logger.info("Library Management System CLI started.");
         boolean running = true;
@@ -95,6 +318,51 @@ public class MainApp {
                 case 12:
                     searchBooksMenuUI();
                     break; // New option
+                case 13:
+                    borrowBooksUI();
+                    break;
+                case 14:
+                    returnBooksUI();
+                    break;
+                case 15:
+                    placeHoldUI();
+                    break;
+                case 16:
+                    cancelHoldUI();
+                    break;
+                case 17:
+                    listHoldsByMemberUI();
+                    break;
+                case 18:
+                    showMemberBalanceUI();
+                    break;
+                case 19:
+                    payFineUI();
+                    break;
+                case 20:
+                    exportFineStatementsUI();
+                    break;
+                case 21:
+                    setMemberTierUI();
+                    break;
+                case 22:
+                    showMemberLoanSummaryUI();
+                    break;
+                case 23:
+                    showCirculationStatsUI();
+                    break;
+                case 24:
+                    exportCirculationRollupsUI();
+                    break;
+                case 25:
+                    showAlsoBorrowedUI();
+                    break;
+                case 26:
+                    exportLibraryArchiveUI();
+                    break;
+                case 27:
+                    showEventLogViewsUI();
+                    break;
                 case 0:
                     running = false;
                     break;
@@ -103,17 +371,143 @@ public class MainApp {
                     logger.warn("Invalid menu choice: {}", choice);
             }
         }
+        overdueScheduler.close();
+        holdExpiry.shutdownNow();
+        if (eventLog != null) {
+            try {
+                projections.catchUp(); // Stores the checkpoints the log was read up to
+                eventLog.close();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Could not close the event log", e);
+            }
+        }
+        if (searchIndexFile != null) {
+            try {
+                memoryBooks.writeSearchIndex(searchIndexFile);
+            } catch (IOException e) {
+                logger.error("Could not write the search index {}", searchIndexFile, e);
+            }
+        }
+        writeBehindQueues.forEach(WriteBehindQueue::close); // Writes out what is queued while the pool is open
+        if (mutationLog != null) {
+            mutationQueue.close(); // Likewise while the log is open
+            try {
+                mutationLog.close();
+            } catch (IOException e) {
+                logger.error("Could not close the mutation log", e);
+            }
+        }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
         System.out.println("Exiting Library Management System. Goodbye!");
         logger.info("Library Management System CLI stopped.");
         scanner.close();
     }
 
+    private static BookRepository writeBehind(BookRepository store, InMemoryBookRepository books,
+            List<WriteBehindQueue<?, ?>> queues) {
+        books.saveAll(store.findAll());
+        return writeBehind(books, WriteBehindSink.of(store), queues);
+    }
+
+    private static BookRepository writeBehind(InMemoryBookRepository books, WriteBehindSink<String, Book> sink,
+            List<WriteBehindQueue<?, ?>> queues) {
+        WriteBehindQueue<String, Book> queue = new WriteBehindQueue<>("books", sink, 4096, 256,
+                Duration.ofMillis(20));
+        queues.add(queue);
+        return new WriteBehindBookRepository(books, queue, Acknowledgement.IN_MEMORY);
+    }
+
+    private static TransactionRepository writeBehind(TransactionRepository store,
+            List<WriteBehindQueue<?, ?>> queues) {
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        transactions.saveAll(store.findAll());
+        return writeBehind(transactions, WriteBehindSink.of(store), queues);
+    }
+
+    private static TransactionRepository writeBehind(InMemoryTransactionRepository transactions,
+            WriteBehindSink<String, Transaction> sink, List<WriteBehindQueue<?, ?>> queues) {
+        WriteBehindQueue<String, Transaction> queue = new WriteBehindQueue<>("transactions", sink, 4096, 256,
+                Duration.ofMillis(20));
+        queues.add(queue);
+        return new WriteBehindTransactionRepository(transactions, queue, Acknowledgement.IN_MEMORY);
+    }
+
+    private static MutationLog openMutationLog(Path file, InMemoryBookRepository books,
+            InMemoryMemberRepository members, InMemoryTransactionRepository transactions,
+            InMemoryHoldRepository holds, List<FineLedgerEntry> fineEntries) {
+        try {
+            MutationLog mutationLog = MutationLog.open(file, books, members, transactions, holds, fineEntries);
+            if (mutationLog.getDiscardedBytes() > 0) {
+                System.out.println("Warning: the end of " + file + " was damaged, probably by a crash; the last "
+                        + mutationLog.getDiscardedBytes() + " bytes were discarded.");
+            }
+            return mutationLog;
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not open the mutation log " + file + ".", e);
+        }
+    }
+
+    private static FileEventLog openEventLog(Path file) {
+        try {
+            return FileEventLog.open(file);
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not open the event log " + file + ".", e);
+        }
+    }
+
+    // The projections are held in memory, so they are rebuilt from the whole log at startup and caught up when read
+    private static ProjectionRunner openProjections(EventLog eventLog, Path checkpointFile) {
+        try {
+            ProjectionRunner runner = new ProjectionRunner(eventLog, Runtime.getRuntime().availableProcessors(),
+                    checkpointFile);
+            runner.register(bookAvailability);
+            runner.register(openLoans);
+            runner.register(memberActivity);
+            runner.rebuild();
+            return runner;
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not read the projection checkpoints " + checkpointFile + ".", e);
+        }
+    }
+
+    // Runs before the fine, limit and dashboard views are seeded, so they see the imported loans and fines
+    private static void importLibraryArchive(Path file, BookRepository books, MemberRepository members,
+            TransactionRepository transactions, HoldRepository holds, FineLedgerStore fineLedger,
+            List<FineLedgerEntry> fineEntries, TransactionScope scope) {
+        if (!books.findAll().isEmpty() || !members.findAll().isEmpty() || !transactions.findAll().isEmpty()
+                || !holds.findAll().isEmpty() || !fineEntries.isEmpty()) {
+            throw new OperationFailedException("Cannot import " + file + " into a library that already has data.");
+        }
+        FineLedgerStore importedFines = entry -> {
+            if (fineLedger != null) {
+                fineLedger.append(entry);
+            }
+            fineEntries.add(entry); // Restored into the fine engine with the rest
+        };
+        try {
+            ArchiveSummary summary = new LibraryArchive(Runtime.getRuntime().availableProcessors())
+                    .importInto(file, books, members, transactions, holds, importedFines, scope);
+            System.out.println("Imported " + summary.getBookCount() + " books, " + summary.getMemberCount()
+                    + " members, " + summary.getTransactionCount() + " transactions, " + summary.getHoldCount()
+                    + " holds and " + summary.getFineEntryCount() + " fine ledger entries from " + file);
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not import the library archive " + file + ".", e);
+        }
+    }
+
 // New UI method for search submenu
     private static void searchBooksMenuUI() {
         System.out.println("\n--- Search Books ---");
         System.out.println("1. Search by Title");
         System.out.println("2. Search by Author");
         System.out.println("3. Search by Genre");
+        System.out.println("4. Browse Catalog Facets");
+        System.out.println("5. Search by Publication Year Range");
+        System.out.println("6. Advanced Search (combine criteria)");
+        System.out.println("7. Search by Author (sounds like)");
+        System.out.println("8. Search by Keywords (title and author)");
         System.out.println("0. Back to Main Menu");
         System.out.print("Enter search type: ");
         String choiceStr = scanner.nextLine();
@@ -126,6 +520,14 @@ public class MainApp {
         }
 
         if (choice == 0) return;
+        if (choice == 4) {
+            printFacets(libraryService.getCatalogFacets());
+            return;
+        }
+        if (choice == 5 || choice == 6) {
+            searchBooksByCriteriaUI(choice == 6);
+            return;
+        }
 
         System.out.print("Enter search query: ");
         String query = scanner.nextLine();
@@ -142,6 +544,12 @@ public class MainApp {
                 case 3:
                     results = libraryService.searchBooksByGenre(query);
                     break;
+                case 7:
+                    results = libraryService.searchBooksByAuthorSound(query);
+                    break;
+                case 8:
+                    results = libraryService.searchBooksByKeywords(query);
+                    break;
                 default:
                     System.out.println("Invalid search type.");
                     return;
@@ -152,6 +560,7 @@ public class MainApp {
             } else {
                 System.out.println("Search results for query '" + query + "':");
                 results.forEach(System.out::println);
+                printFacets(libraryService.getFacetsForResults(results));
             }
         } catch (Exception e) {
             System.out.println("An error occurred during search: " + e.getMessage());
@@ -159,6 +568,54 @@ public class MainApp {
         }
     }
 
+    private static void searchBooksByCriteriaUI(boolean includeTextCriteria) {
+        try {
+            BookSearchCriteria.Builder criteria = BookSearchCriteria.builder();
+            if (includeTextCriteria) {
+                System.out.print("Title contains (blank for any): ");
+                criteria.title(scanner.nextLine());
+                System.out.print("Author contains (blank for any): ");
+                String author = scanner.nextLine();
+                System.out.print("Match author by sound? (y/N): ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                    criteria.authorSoundsLike(author);
+                } else {
+                    criteria.author(author);
+                }
+                System.out.print("Genre contains (blank for any): ");
+                criteria.genre(scanner.nextLine());
+            }
+            System.out.print("Published from year (YYYY, blank for no limit): ");
+            Year from = parseOptionalYear(scanner.nextLine());
+            System.out.print("Published to year (YYYY, blank for no limit): ");
+            Year to = parseOptionalYear(scanner.nextLine());
+            criteria.publishedBetween(from, to);
+
+            List<Book> results = libraryService.searchBooks(criteria.build());
+            if (results.isEmpty()) {
+                System.out.println("No books found matching your criteria.");
+            } else {
+                System.out.println("Search results:");
+                results.forEach(System.out::println);
+                printFacets(libraryService.getFacetsForResults(results));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("Invalid search criteria: " + e.getMessage());
+            logger.warn("Invalid input during searchBooksByCriteriaUI: {}", e.getMessage());
+        }
+    }
+
+    private static Year parseOptionalYear(String input) {
+        return input.trim().isEmpty() ? null : Year.parse(input.trim());
+    }
+
+    private static void printFacets(FacetCounts facets) {
+        System.out.println("Refine by (" + facets.getTotalBooks() + " books):");
+        System.out.println("  Genre:  " + facets.getGenreCounts());
+        System.out.println("  Decade: " + facets.getDecadeCounts());
+        System.out.println("  Author: " + facets.getAuthorCounts());
+    }
+
     private static void printMenu() {
         System.out.println("\nLibrary Menu:");
         System.out.println("--- Book Management ---");
@@ -170,13 +627,29 @@ public class MainApp {
         System.out.println("5. Register Member");
         System.out.println("6. Find Member by ID");
         System.out.println("7. List All Members");
+        System.out.println("21. Change Member Tier");
         System.out.println("--- Library Operations ---");
         System.out.println("8. Borrow Book");
         System.out.println("9. Return Book");
         System.out.println("10. List Member's Borrowed Books");
         System.out.println("11. List All Overdue Books");
+        System.out.println("22. Show Member Loan Summary");
+        System.out.println("23. Show Circulation Statistics (last 30 days)");
+        System.out.println("24. Export Circulation Counts by Genre");
+        System.out.println("13. Borrow Multiple Books");
+        System.out.println("14. Return Multiple Books");
+        System.out.println("15. Place Hold");
+        System.out.println("16. Cancel Hold");
+        System.out.println("17. List Member's Holds");
+        System.out.println("--- Fines ---");
+        System.out.println("18. Show Member Balance");
+        System.out.println("19. Pay Fine");
+        System.out.println("20. Export Fine Statements");
         System.out.println("--- Book Searching ---");
         System.out.println("12. Search Books");
+        System.out.println("25. Members Who Borrowed This Also Borrowed");
+        System.out.println("26. Export Library Archive");
+        System.out.println("27. Show Event Log Views");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -200,6 +673,46 @@ public class MainApp {
         }
     }
 
+    private static void borrowBooksUI() {
+        batchUI(true);
+    }
+
+    private static void returnBooksUI() {
+        batchUI(false);
+    }
+
+    private static void batchUI(boolean borrow) {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            System.out.print("Enter Book ISBNs, separated by commas: ");
+            List<String> isbns = Arrays.stream(scanner.nextLine().split(","))
+                    .map(String::trim)
+                    .filter(isbn -> !isbn.isEmpty())
+                    .collect(Collectors.toList());
+            if (isbns.isEmpty()) {
+                System.out.println("No ISBNs entered.");
+                return;
+            }
+
+            List<BatchItemResult> results = borrow
+                    ? libraryService.borrowBooks(memberId, isbns)
+                    : libraryService.returnBooks(memberId, isbns);
+            long succeeded = results.stream().filter(BatchItemResult::isSuccess).count();
+            System.out.println((borrow ? "Borrowed " : "Returned ") + succeeded + " of " + results.size() + " books:");
+            results.forEach(result -> System.out.println(" - " + result.getIsbn() + ": " + result.getOutcome()
+                    + " - " + result.getMessage()));
+            logger.info("Batch {} via UI for member ID {}: {} of {} succeeded",
+                    borrow ? "borrow" : "return", memberId, succeeded, results.size());
+        } catch (MemberNotFoundException e) {
+            System.out.println("Error: " + e.getMessage());
+            logger.warn("Error during batchUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while processing the books.");
+            logger.error("Unexpected error during batchUI: ", e);
+        }
+    }
+
     private static void listBorrowedBooksByMemberUI() {
         try {
             System.out.print("Enter Member ID to list borrowed books: ");
@@ -215,7 +728,7 @@ public class MainApp {
                     String bookTitle = bookOpt.map(Book::getTitle).orElse("N/A - Book details not found");
                     System.out.println(" - ISBN: " + transaction.getBookIsbn() + ", Title: " + bookTitle +
                                        ", Due: " + transaction.getDueDate() +
-                                       (transaction.isOverdue() ? " (OVERDUE)" : ""));
+                                       (transaction.isOverdue(clock.today()) ? " (OVERDUE)" : ""));
                 });
             }
         } catch (MemberNotFoundException e) {
@@ -226,6 +739,118 @@ public class MainApp {
         }
     }
 
+    private static void showMemberLoanSummaryUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            MemberLoanSummary summary = libraryService.getMemberLoanSummary(memberId);
+            System.out.println("Loan summary for member ID " + memberId + ":");
+            System.out.println(" Books out: " + summary.getCurrentLoans().size()
+                    + ", overdue: " + summary.getOverdueCount()
+                    + ", borrowed in total: " + summary.getHistoryLength());
+            if (summary.getNextDueDate() != null) {
+                System.out.println(" Next due: " + summary.getNextDueDate());
+            }
+            summary.getCurrentLoans().forEach(loan ->
+                    System.out.println(" - ISBN: " + loan.getBookIsbn() + ", Due: " + loan.getDueDate()));
+        } catch (MemberNotFoundException e) {
+            System.out.println("Error: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred.");
+            logger.error("Error in showMemberLoanSummaryUI: ", e);
+        }
+    }
+
+    private static void showCirculationStatsUI() {
+        LocalDate today = clock.today();
+        LocalDate from = today.minusDays(29);
+        System.out.println("\n--- Circulation, " + from + " to " + today + " ---");
+        System.out.println("Borrows: " + circulationAnalytics.countBorrows(from, today)
+                + ", returns: " + circulationAnalytics.countReturns(from, today));
+        System.out.println("Active members: ~" + circulationAnalytics.countActiveMembers(from, today)
+                + " (today: ~" + circulationAnalytics.countActiveMembers(today, today) + ")");
+        List<HeavyHitters.Entry> top = circulationAnalytics.topBorrowed(from, today, 5);
+        if (top.isEmpty()) {
+            System.out.println("No books borrowed in this period.");
+            return;
+        }
+        System.out.println("Most borrowed:");
+        for (HeavyHitters.Entry entry : top) {
+            String title = libraryService.findBookByIsbn(entry.getKey()).map(Book::getTitle).orElse("N/A");
+            System.out.println(" - " + title + " (ISBN: " + entry.getKey() + "): ~" + entry.getCount());
+        }
+    }
+
+    private static void exportCirculationRollupsUI() {
+        try {
+            System.out.print("Enter start date (YYYY-MM-DD): ");
+            LocalDate from = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("Enter end date (YYYY-MM-DD): ");
+            LocalDate to = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("Group by (DAY, WEEK, MONTH): ");
+            CirculationRollups.Granularity granularity =
+                    CirculationRollups.Granularity.valueOf(scanner.nextLine().trim().toUpperCase());
+            System.out.print("Enter file to write the counts to: ");
+            String file = scanner.nextLine().trim();
+            try (Writer out = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+                int rows = circulationRollups.exportCsv(out, from, to, granularity);
+                System.out.println("Wrote " + rows + " rows to " + file);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("Error: Invalid input. " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Error exporting circulation counts: " + e.getMessage());
+            logger.error("Circulation rollup export failed", e);
+        }
+    }
+
+    private static void showAlsoBorrowedUI() {
+        System.out.print("Enter Book ISBN: ");
+        String isbn = scanner.nextLine().trim();
+        List<String> suggestions = recommender.recommend(isbn, 5);
+        if (suggestions.isEmpty()) {
+            System.out.println("No suggestions yet for ISBN " + isbn + ".");
+            return;
+        }
+        System.out.println("Members who borrowed this also borrowed:");
+        for (String suggestion : suggestions) {
+            String title = libraryService.findBookByIsbn(suggestion).map(Book::getTitle).orElse("N/A");
+            System.out.println(" - " + title + " (ISBN: " + suggestion + ")");
+        }
+    }
+
+    private static void showEventLogViewsUI() {
+        if (projections == null) {
+            System.out.println("No event log is kept; start with -Dlibrary.events.file=... to see these views.");
+            return;
+        }
+        int applied = projections.catchUp(); // Applies what was recorded since the last read
+        logger.debug("Caught up the event log views with {} events", applied);
+        System.out.println("Open loans recorded in the event log: " + openLoans.getOpenLoanCount());
+        System.out.print("Enter Book ISBN to check its copies (blank to skip): ");
+        String isbn = scanner.nextLine().trim();
+        if (!isbn.isEmpty()) {
+            OptionalInt copies = bookAvailability.getAvailableCopies(isbn);
+            System.out.println(copies.isPresent()
+                    ? "Available copies of " + isbn + ": " + copies.getAsInt()
+                    : "No book with ISBN " + isbn + " in the event log.");
+        }
+        System.out.print("Enter Member ID to show their activity (blank to skip): ");
+        String memberId = scanner.nextLine().trim();
+        if (!memberId.isEmpty()) {
+            Optional<MemberActivityProjection.MemberActivity> activity = memberActivity.getActivity(memberId);
+            if (activity.isEmpty()) {
+                System.out.println("No activity recorded for member " + memberId + ".");
+            } else {
+                MemberActivityProjection.MemberActivity found = activity.get();
+                System.out.println("Member " + memberId + ": " + found.getOpenLoans() + " open loans, "
+                        + found.getTotalLoans() + " loans in total, " + found.getFinesPaid() + " paid in fines");
+                openLoans.getOpenLoansByMember(memberId).forEach(loan -> System.out.println(
+                        " - ISBN " + loan.getBookIsbn() + ", due " + loan.getDueDate()));
+            }
+        }
+    }
+
     private static void listAllOverdueBooksUI() {
         try {
             List<Transaction> overdueTransactions = libraryService.getAllOverdueBooks();
@@ -339,6 +964,25 @@ public class MainApp {
         }
     }
 
+    private static void setMemberTierUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            System.out.print("Enter new tier " + Arrays.toString(MemberTier.values()) + ": ");
+            MemberTier tier = MemberTier.valueOf(scanner.nextLine().trim().toUpperCase());
+
+            libraryService.setMemberTier(memberId, tier);
+            System.out.println("Member (ID: " + memberId + ") is now " + tier + ".");
+            logger.info("Member ID {} moved to tier {} via UI.", memberId, tier);
+        } catch (MemberNotFoundException e) {
+            System.out.println("Error: " + e.getMessage());
+            logger.warn("Error during setMemberTierUI: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown tier.");
+            logger.warn("Invalid tier entered in setMemberTierUI: {}", e.getMessage());
+        }
+    }
+
     private static void findMemberByIdUI() {
         System.out.print("Enter member ID to find: ");
         String memberId = scanner.nextLine();
@@ -370,11 +1014,20 @@ public class MainApp {
             System.out.print("Enter Book ISBN to borrow: ");
             String bookIsbn = scanner.nextLine();
 
-            libraryService.borrowBook(memberId, bookIsbn);
+            try {
+                libraryService.borrowBook(memberId, bookIsbn);
+            } catch (NoCopiesAvailableException e) {
+                System.out.println(e.getMessage());
+                System.out.print("Place a hold instead? (y/N): ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                    placeHold(memberId, bookIsbn);
+                }
+                return;
+            }
             System.out.println("Book (ISBN: " + bookIsbn + ") successfully borrowed by member (ID: " + memberId + ").");
             logger.info("Book ISBN {} borrowed by member ID {} via UI.", bookIsbn, memberId);
-        } catch (MemberNotFoundException | BookNotFoundException | NoCopiesAvailableException
-                | OperationFailedException e) {
+        } catch (MemberNotFoundException | BookNotFoundException | BookAlreadyBorrowedException
+                | BorrowingLimitExceededException | HoldNotAllowedException | OperationFailedException e) {
             System.out.println("Error borrowing book: " + e.getMessage());
             logger.warn("Error during borrowBookUI: {}", e.getMessage());
         } catch (IllegalArgumentException e) { // For bad input like null IDs/ISBNs if service doesn't catch them first
@@ -385,4 +1038,145 @@ public class MainApp {
             logger.error("Unexpected error during borrowBookUI: ", e);
         }
     }
+
+    // --- Hold UI Methods ---
+    private static void placeHoldUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            System.out.print("Enter Book ISBN to hold: ");
+            String bookIsbn = scanner.nextLine();
+            placeHold(memberId, bookIsbn);
+        } catch (MemberNotFoundException | BookNotFoundException | BookAlreadyBorrowedException
+                | HoldNotAllowedException e) {
+            System.out.println("Error placing hold: " + e.getMessage());
+            logger.warn("Error during placeHoldUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while placing the hold.");
+            logger.error("Unexpected error during placeHoldUI: ", e);
+        }
+    }
+
+    private static void placeHold(String memberId, String bookIsbn) {
+        libraryService.placeHold(memberId, bookIsbn);
+        int position = libraryService.getHoldQueuePosition(memberId, bookIsbn);
+        System.out.println("Hold placed on book (ISBN: " + bookIsbn + "). Position in queue: " + position);
+        logger.info("Hold on book ISBN {} placed by member ID {} via UI.", bookIsbn, memberId);
+    }
+
+    private static void cancelHoldUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            System.out.print("Enter Book ISBN of the hold: ");
+            String bookIsbn = scanner.nextLine();
+
+            libraryService.cancelHold(memberId, bookIsbn);
+            System.out.println("Hold on book (ISBN: " + bookIsbn + ") cancelled.");
+            logger.info("Hold on book ISBN {} cancelled by member ID {} via UI.", bookIsbn, memberId);
+        } catch (HoldNotFoundException e) {
+            System.out.println("Error cancelling hold: " + e.getMessage());
+            logger.warn("Error during cancelHoldUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while cancelling the hold.");
+            logger.error("Unexpected error during cancelHoldUI: ", e);
+        }
+    }
+
+    private static void listHoldsByMemberUI() {
+        try {
+            System.out.print("Enter Member ID to list holds: ");
+            String memberId = scanner.nextLine();
+            List<Hold> holds = libraryService.getHoldsByMember(memberId);
+            if (holds.isEmpty()) {
+                System.out.println("Member ID " + memberId + " has no active holds.");
+                return;
+            }
+            System.out.println("Holds for member ID " + memberId + ":");
+            for (Hold hold : holds) {
+                int position = libraryService.getHoldQueuePosition(memberId, hold.getBookIsbn());
+                String title = libraryService.findBookByIsbn(hold.getBookIsbn()).map(Book::getTitle)
+                        .orElse("Unknown Title (ISBN: " + hold.getBookIsbn() + ")");
+                System.out.println(" - '" + title + "' (ISBN: " + hold.getBookIsbn() + "): "
+                        + (position == 0 ? "READY FOR PICKUP" : "position " + position));
+            }
+        } catch (MemberNotFoundException e) {
+            System.out.println("Error: " + e.getMessage());
+            logger.warn("Error during listHoldsByMemberUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while listing holds.");
+            logger.error("Unexpected error during listHoldsByMemberUI: ", e);
+        }
+    }
+
+    // --- Fine UI Methods ---
+    private static void showMemberBalanceUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            long balance = libraryService.getMemberBalance(memberId);
+            System.out.println("Outstanding balance for member ID " + memberId + ": " + formatAmount(balance));
+        } catch (MemberNotFoundException e) {
+            System.out.println("Error: " + e.getMessage());
+            logger.warn("Error during showMemberBalanceUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while fetching the balance.");
+            logger.error("Unexpected error during showMemberBalanceUI: ", e);
+        }
+    }
+
+    private static void payFineUI() {
+        try {
+            System.out.print("Enter Member ID: ");
+            String memberId = scanner.nextLine();
+            System.out.print("Enter amount paid (e.g. 2.50): ");
+            long amount = new BigDecimal(scanner.nextLine().trim()).movePointRight(2).longValueExact();
+            libraryService.payFine(memberId, amount);
+            System.out.println("Payment recorded. Remaining balance: "
+                    + formatAmount(libraryService.getMemberBalance(memberId)));
+        } catch (MemberNotFoundException | IllegalArgumentException | ArithmeticException e) {
+            System.out.println("Error recording payment: " + e.getMessage());
+            logger.warn("Error during payFineUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while recording the payment.");
+            logger.error("Unexpected error during payFineUI: ", e);
+        }
+    }
+
+    private static void exportFineStatementsUI() {
+        System.out.print("Enter file to write the statements to: ");
+        String file = scanner.nextLine().trim();
+        try (Writer out = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+            int members = libraryService.exportFineStatements(out);
+            System.out.println("Wrote fine statements for " + members + " members to " + file);
+        } catch (IOException | OperationFailedException e) {
+            System.out.println("Error exporting fine statements: " + e.getMessage());
+            logger.warn("Error during exportFineStatementsUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while exporting fine statements.");
+            logger.error("Unexpected error during exportFineStatementsUI: ", e);
+        }
+    }
+
+    private static void exportLibraryArchiveUI() {
+        System.out.print("Enter file to write the archive to: ");
+        String file = scanner.nextLine().trim();
+        try {
+            ArchiveSummary summary = libraryService.exportLibrary(Paths.get(file));
+            System.out.println("Exported " + summary.getBookCount() + " books, " + summary.getMemberCount()
+                    + " members, " + summary.getTransactionCount() + " transactions, " + summary.getHoldCount()
+                    + " holds and " + summary.getFineEntryCount() + " fine ledger entries to " + file + " ("
+                    + summary.getArchiveBytes() + " bytes)");
+        } catch (InvalidPathException | OperationFailedException e) {
+            System.out.println("Error exporting library archive: " + e.getMessage());
+            logger.warn("Error during exportLibraryArchiveUI: {}", e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while exporting the library archive.");
+            logger.error("Unexpected error during exportLibraryArchiveUI: ", e);
+        }
+    }
+
+    private static String formatAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2).toPlainString();
+    }
 }
\ No newline at end of file
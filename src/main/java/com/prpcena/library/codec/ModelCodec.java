@@ -0,0 +1,99 @@
+// src/main/java/com/prpcena/library/codec/ModelCodec.java
+package com.prpcena.library.codec;
+
+/**
+ * The binary format written by {@link ModelEncoder} and read by
+ * {@link ModelDecoder}, for snapshots, logs and replication of model objects.
+ * <p>
+ * Every record starts with one header byte: the record type in the high four
+ * bits and the schema version in the low four. Integers are varints (signed
+ * ones zigzag-encoded), dates are epoch days and date-times epoch seconds plus
+ * nanoseconds. Layout of schema version 1:
+ * <pre>
+ * AUTHOR      header, dict first name, dict last name
+ * BOOK        header, flags (1 = has year), dict ISBN, string title, dict author first name,
+ *             dict author last name, dict genre, [signed year], copies, version
+ * MEMBER      header, dict member ID, string name, string contact info, tier ordinal, version
+ * TRANSACTION header, flags (bits 0-1 type ordinal, 4 = has due date, 8 = returned),
+ *             string transaction ID, dict ISBN, dict member ID, signed epoch second, nanos,
+ *             [signed due date in days after the transaction date],
+ *             [signed return time in seconds after the transaction time, nanos]
+ * EVENT       header, flags (1 = has due date), type ordinal, sequence, signed epoch second, nanos,
+ *             dict member ID, dict ISBN, string transaction ID, string detail, signed amount,
+ *             [signed due date in days after the event date]
+ * HOLD        header, flags (1 = has ready time), string hold ID, dict ISBN, dict member ID,
+ *             status ordinal, signed placed epoch second, nanos,
+ *             [signed ready time in seconds after the placed time, nanos]
+ * FINE_ENTRY  header, flags (1 = has transaction), dict member ID, signed epoch day, type ordinal,
+ *             signed amount, [string transaction ID, dict ISBN]
+ * </pre>
+ * Strings are written as described in {@link StringCodec}. Repeated strings
+ * ("dict" above) go through a dictionary built up as the stream is written:
+ * <pre>
+ * header 0            null
+ * header 2c + 1       the dictionary entry with code c
+ * header 2            a new entry, which takes the next code, then the string
+ * header 4            a string not added because the dictionary is full
+ * </pre>
+ * Records must therefore be decoded in the order they were encoded, by a
+ * decoder that has seen the same stream from its start or last reset.
+ */
+public final class ModelCodec {
+    /** The schema version written; decoders read this and every earlier one. */
+    public static final int SCHEMA_VERSION = 1;
+
+    static final int DICT_NULL = 0;
+    static final int DICT_NEW = 2;
+    static final int DICT_UNSHARED = 4;
+
+    static final int BOOK_HAS_YEAR = 1;
+    static final int TRANSACTION_TYPE_MASK = 3;
+    static final int TRANSACTION_HAS_DUE_DATE = 4;
+    static final int TRANSACTION_RETURNED = 8;
+    static final int EVENT_HAS_DUE_DATE = 1;
+    static final int HOLD_HAS_READY_TIME = 1;
+    static final int FINE_ENTRY_HAS_TRANSACTION = 1;
+
+    /**
+     * The kinds of record, with their tags in the header byte. Tags must never
+     * be reused.
+     */
+    public enum RecordType {
+        AUTHOR(1),
+        BOOK(2),
+        MEMBER(3),
+        TRANSACTION(4),
+        EVENT(5),
+        HOLD(6),
+        FINE_ENTRY(7);
+
+        private static final RecordType[] BY_TAG = new RecordType[16];
+
+        static {
+            for (RecordType type : values()) {
+                BY_TAG[type.tag] = type;
+            }
+        }
+
+        private final int tag;
+
+        RecordType(int tag) {
+            this.tag = tag;
+        }
+
+        byte header() {
+            return (byte) (tag << 4 | SCHEMA_VERSION);
+        }
+
+        static RecordType ofTag(int tag) {
+            RecordType type = BY_TAG[tag & 0xF];
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown record type tag " + tag + ".");
+            }
+            return type;
+        }
+    }
+
+    private ModelCodec() {
+    }
+}
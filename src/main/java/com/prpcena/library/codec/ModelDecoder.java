@@ -0,0 +1,273 @@
+// src/main/java/com/prpcena/library/codec/ModelDecoder.java
+package com.prpcena.library.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.prpcena.library.codec.ModelCodec.RecordType;
+import com.prpcena.library.events.LibraryEvent;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Decodes model objects written by {@link ModelEncoder}, reading records of
+ * any schema version up to {@link ModelCodec#SCHEMA_VERSION}. Apart from the
+ * decoded objects themselves, nothing is allocated per record.
+ * <p>
+ * If the buffer ends partway through a record, its position and the
+ * dictionary are put back as they were and the
+ * {@link BufferUnderflowException} is rethrown, so the caller can read more
+ * and decode the record again. Malformed records raise
+ * {@link IllegalArgumentException}. Not thread-safe; use one decoder per
+ * stream.
+ */
+public final class ModelDecoder {
+    private static final MemberTier[] TIERS = MemberTier.values();
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final LibraryEvent.Type[] EVENT_TYPES = LibraryEvent.Type.values();
+    private static final HoldStatus[] HOLD_STATUSES = HoldStatus.values();
+    private static final FineLedgerEntry.Type[] FINE_ENTRY_TYPES = FineLedgerEntry.Type.values();
+
+    private final List<String> entries = new ArrayList<>();
+    private final StringCodec.Scratch scratch = new StringCodec.Scratch();
+    private int recordStart;
+    private int recordEntries;
+
+    /**
+     * @return The type of the record at the buffer's position, which is not moved.
+     * @throws IllegalArgumentException if the record type or schema version is not supported.
+     */
+    public RecordType peekType(ByteBuffer in) {
+        int header = in.get(in.position()) & 0xFF;
+        checkVersion(header);
+        return RecordType.ofTag(header >>> 4);
+    }
+
+    public Author decodeAuthor(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.AUTHOR);
+            return new Author(readShared(in), readShared(in));
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        }
+    }
+
+    public Book decodeBook(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.BOOK);
+            int flags = in.get();
+            String isbn = readShared(in);
+            String title = StringCodec.read(in, scratch);
+            Author author = new Author(readShared(in), readShared(in));
+            String genre = readShared(in);
+            Year year = (flags & ModelCodec.BOOK_HAS_YEAR) != 0 ? Year.of((int) VarInts.getSignedVarLong(in)) : null;
+            Book book = new Book(title, author, isbn, genre, year, VarInts.getVarInt(in));
+            book.setVersion(VarInts.getVarLong(in));
+            return book;
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        }
+    }
+
+    public Member decodeMember(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.MEMBER);
+            String memberId = readShared(in);
+            String name = StringCodec.read(in, scratch);
+            String contactInfo = StringCodec.read(in, scratch);
+            Member member = new Member(memberId, name, contactInfo, TIERS[VarInts.getVarInt(in)]);
+            member.setVersion(VarInts.getVarLong(in));
+            return member;
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unknown member tier.", e);
+        }
+    }
+
+    public Transaction decodeTransaction(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.TRANSACTION);
+            int flags = in.get();
+            String transactionId = StringCodec.read(in, scratch);
+            String bookIsbn = readShared(in);
+            String memberId = readShared(in);
+            long epochSecond = VarInts.getSignedVarLong(in);
+            LocalDateTime at = LocalDateTime.ofEpochSecond(epochSecond, VarInts.getVarInt(in), ZoneOffset.UTC);
+            LocalDate dueDate = (flags & ModelCodec.TRANSACTION_HAS_DUE_DATE) != 0
+                    ? LocalDate.ofEpochDay(at.toLocalDate().toEpochDay() + VarInts.getSignedVarLong(in))
+                    : null;
+            LocalDateTime returnedAt = null;
+            if ((flags & ModelCodec.TRANSACTION_RETURNED) != 0) {
+                long returnedSecond = epochSecond + VarInts.getSignedVarLong(in);
+                returnedAt = LocalDateTime.ofEpochSecond(returnedSecond, VarInts.getVarInt(in), ZoneOffset.UTC);
+            }
+            return new Transaction(transactionId, bookIsbn, memberId,
+                    TRANSACTION_TYPES[flags & ModelCodec.TRANSACTION_TYPE_MASK], at, dueDate, returnedAt);
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unknown transaction type.", e);
+        }
+    }
+
+    public LibraryEvent decodeEvent(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.EVENT);
+            int flags = in.get();
+            LibraryEvent.Type type = EVENT_TYPES[VarInts.getVarInt(in)];
+            long sequence = VarInts.getVarLong(in);
+            LocalDateTime at = LocalDateTime.ofEpochSecond(VarInts.getSignedVarLong(in), VarInts.getVarInt(in),
+                    ZoneOffset.UTC);
+            String memberId = readShared(in);
+            String bookIsbn = readShared(in);
+            String transactionId = StringCodec.read(in, scratch);
+            String detail = StringCodec.read(in, scratch);
+            long amount = VarInts.getSignedVarLong(in);
+            LocalDate dueDate = (flags & ModelCodec.EVENT_HAS_DUE_DATE) != 0
+                    ? LocalDate.ofEpochDay(at.toLocalDate().toEpochDay() + VarInts.getSignedVarLong(in))
+                    : null;
+            return LibraryEvent.restore(sequence, type, at, memberId, bookIsbn, transactionId, detail, amount,
+                    dueDate);
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unknown event type.", e);
+        }
+    }
+
+    public Hold decodeHold(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.HOLD);
+            int flags = in.get();
+            String holdId = StringCodec.read(in, scratch);
+            String bookIsbn = readShared(in);
+            String memberId = readShared(in);
+            HoldStatus status = HOLD_STATUSES[VarInts.getVarInt(in)];
+            long epochSecond = VarInts.getSignedVarLong(in);
+            LocalDateTime placedAt = LocalDateTime.ofEpochSecond(epochSecond, VarInts.getVarInt(in), ZoneOffset.UTC);
+            LocalDateTime readyAt = null;
+            if ((flags & ModelCodec.HOLD_HAS_READY_TIME) != 0) {
+                long readySecond = epochSecond + VarInts.getSignedVarLong(in);
+                readyAt = LocalDateTime.ofEpochSecond(readySecond, VarInts.getVarInt(in), ZoneOffset.UTC);
+            }
+            return new Hold(holdId, bookIsbn, memberId, placedAt, status, readyAt);
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unknown hold status.", e);
+        }
+    }
+
+    public FineLedgerEntry decodeFineEntry(ByteBuffer in) {
+        begin(in);
+        try {
+            readHeader(in, RecordType.FINE_ENTRY);
+            int flags = in.get();
+            String memberId = readShared(in);
+            LocalDate date = LocalDate.ofEpochDay(VarInts.getSignedVarLong(in));
+            FineLedgerEntry.Type type = FINE_ENTRY_TYPES[VarInts.getVarInt(in)];
+            long amount = VarInts.getSignedVarLong(in);
+            String transactionId = null;
+            String bookIsbn = null;
+            if ((flags & ModelCodec.FINE_ENTRY_HAS_TRANSACTION) != 0) {
+                transactionId = StringCodec.read(in, scratch);
+                bookIsbn = readShared(in);
+            }
+            return new FineLedgerEntry(memberId, date, type, amount, transactionId, bookIsbn);
+        } catch (BufferUnderflowException e) {
+            abort(in);
+            throw e;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unknown fine ledger entry type.", e);
+        }
+    }
+
+    /**
+     * Forgets the dictionary, to start a new stream.
+     */
+    public void reset() {
+        entries.clear();
+    }
+
+    // Version 1 is the only one so far; fields added later are read here when the header's version has them
+    private static int readHeader(ByteBuffer in, RecordType expected) {
+        int header = in.get() & 0xFF;
+        int version = checkVersion(header);
+        RecordType type = RecordType.ofTag(header >>> 4);
+        if (type != expected) {
+            throw new IllegalArgumentException("Expected a " + expected + " record but found " + type + ".");
+        }
+        return version;
+    }
+
+    private static int checkVersion(int header) {
+        int version = header & 0xF;
+        if (version == 0 || version > ModelCodec.SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version " + version + "; this decoder reads up to "
+                    + ModelCodec.SCHEMA_VERSION + ".");
+        }
+        return version;
+    }
+
+    private String readShared(ByteBuffer in) {
+        int header = VarInts.getVarInt(in);
+        if ((header & 1) != 0) {
+            int code = header >>> 1;
+            if (code >= entries.size()) {
+                throw new IllegalArgumentException("Dictionary code " + code + " was never defined.");
+            }
+            return entries.get(code);
+        }
+        switch (header) {
+            case ModelCodec.DICT_NULL:
+                return null;
+            case ModelCodec.DICT_NEW:
+                String value = StringCodec.read(in, scratch);
+                entries.add(value);
+                return value;
+            case ModelCodec.DICT_UNSHARED:
+                return StringCodec.read(in, scratch);
+            default:
+                throw new IllegalArgumentException("Malformed dictionary header " + header + ".");
+        }
+    }
+
+    private void begin(ByteBuffer in) {
+        recordStart = in.position();
+        recordEntries = entries.size();
+    }
+
+    private void abort(ByteBuffer in) {
+        in.position(recordStart);
+        while (entries.size() > recordEntries) {
+            entries.remove(entries.size() - 1);
+        }
+    }
+}
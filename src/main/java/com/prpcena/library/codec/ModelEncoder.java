@@ -0,0 +1,251 @@
+// src/main/java/com/prpcena/library/codec/ModelEncoder.java
+package com.prpcena.library.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.prpcena.library.codec.ModelCodec.RecordType;
+import com.prpcena.library.events.LibraryEvent;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Encodes model objects into caller-supplied buffers in the format described
+ * in {@link ModelCodec}. Nothing is allocated per record apart from
+ * dictionary entries for strings seen for the first time.
+ * <p>
+ * If a record does not fit, the buffer's position and the dictionary are put
+ * back as they were and the {@link BufferOverflowException} is rethrown, so
+ * the caller can drain the buffer and encode the record again. Not
+ * thread-safe; use one encoder per stream.
+ */
+public final class ModelEncoder {
+    /** The default number of distinct dictionary strings per stream. */
+    public static final int DEFAULT_MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private final int maxDictionarySize;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> entries = new ArrayList<>(); // By code, to undo a record that didn't fit
+    private int recordStart;
+    private int recordEntries;
+
+    public ModelEncoder() {
+        this(DEFAULT_MAX_DICTIONARY_SIZE);
+    }
+
+    /**
+     * @param maxDictionarySize How many distinct strings to share before
+     *                          writing further ones in full each time.
+     */
+    public ModelEncoder(int maxDictionarySize) {
+        if (maxDictionarySize < 0) {
+            throw new IllegalArgumentException("Dictionary size cannot be negative.");
+        }
+        this.maxDictionarySize = maxDictionarySize;
+    }
+
+    public void encode(Author author, ByteBuffer out) {
+        begin(out);
+        try {
+            out.put(RecordType.AUTHOR.header());
+            writeShared(out, author.getFirstName());
+            writeShared(out, author.getLastName());
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(Book book, ByteBuffer out) {
+        begin(out);
+        try {
+            out.put(RecordType.BOOK.header());
+            out.put((byte) (book.getPublicationYear() != null ? ModelCodec.BOOK_HAS_YEAR : 0));
+            writeShared(out, book.getIsbn());
+            StringCodec.write(out, book.getTitle());
+            writeShared(out, book.getAuthor().getFirstName());
+            writeShared(out, book.getAuthor().getLastName());
+            writeShared(out, book.getGenre());
+            if (book.getPublicationYear() != null) {
+                VarInts.putSignedVarLong(out, book.getPublicationYear().getValue());
+            }
+            VarInts.putVarInt(out, book.getAvailableCopies());
+            VarInts.putVarLong(out, book.getVersion());
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(Member member, ByteBuffer out) {
+        begin(out);
+        try {
+            out.put(RecordType.MEMBER.header());
+            writeShared(out, member.getMemberId());
+            StringCodec.write(out, member.getName());
+            StringCodec.write(out, member.getContactInfo());
+            VarInts.putVarInt(out, member.getTier().ordinal());
+            VarInts.putVarLong(out, member.getVersion());
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(Transaction transaction, ByteBuffer out) {
+        begin(out);
+        try {
+            LocalDateTime at = transaction.getTransactionDateTime();
+            LocalDate dueDate = transaction.getDueDate();
+            LocalDateTime returnedAt = transaction.getReturnDateTime();
+            int flags = transaction.getType().ordinal()
+                    | (dueDate != null ? ModelCodec.TRANSACTION_HAS_DUE_DATE : 0)
+                    | (returnedAt != null ? ModelCodec.TRANSACTION_RETURNED : 0);
+            out.put(RecordType.TRANSACTION.header());
+            out.put((byte) flags);
+            StringCodec.write(out, transaction.getTransactionId());
+            writeShared(out, transaction.getBookIsbn());
+            writeShared(out, transaction.getMemberId());
+            long epochSecond = at.toEpochSecond(ZoneOffset.UTC);
+            VarInts.putSignedVarLong(out, epochSecond);
+            VarInts.putVarInt(out, at.getNano());
+            // Due and return times are written relative to the borrow, where they are small
+            if (dueDate != null) {
+                VarInts.putSignedVarLong(out, dueDate.toEpochDay() - at.toLocalDate().toEpochDay());
+            }
+            if (returnedAt != null) {
+                VarInts.putSignedVarLong(out, returnedAt.toEpochSecond(ZoneOffset.UTC) - epochSecond);
+                VarInts.putVarInt(out, returnedAt.getNano());
+            }
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(LibraryEvent event, ByteBuffer out) {
+        begin(out);
+        try {
+            LocalDateTime at = event.getOccurredAt();
+            LocalDate dueDate = event.getDueDate();
+            out.put(RecordType.EVENT.header());
+            out.put((byte) (dueDate != null ? ModelCodec.EVENT_HAS_DUE_DATE : 0));
+            VarInts.putVarInt(out, event.getType().ordinal());
+            VarInts.putVarLong(out, event.getSequence());
+            VarInts.putSignedVarLong(out, at.toEpochSecond(ZoneOffset.UTC));
+            VarInts.putVarInt(out, at.getNano());
+            writeShared(out, event.getMemberId());
+            writeShared(out, event.getBookIsbn());
+            StringCodec.write(out, event.getTransactionId());
+            StringCodec.write(out, event.getDetail());
+            VarInts.putSignedVarLong(out, event.getAmount());
+            if (dueDate != null) {
+                VarInts.putSignedVarLong(out, dueDate.toEpochDay() - at.toLocalDate().toEpochDay());
+            }
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(Hold hold, ByteBuffer out) {
+        begin(out);
+        try {
+            LocalDateTime placedAt = hold.getPlacedDateTime();
+            LocalDateTime readyAt = hold.getReadyDateTime();
+            out.put(RecordType.HOLD.header());
+            out.put((byte) (readyAt != null ? ModelCodec.HOLD_HAS_READY_TIME : 0));
+            StringCodec.write(out, hold.getHoldId());
+            writeShared(out, hold.getBookIsbn());
+            writeShared(out, hold.getMemberId());
+            VarInts.putVarInt(out, hold.getStatus().ordinal());
+            long epochSecond = placedAt.toEpochSecond(ZoneOffset.UTC);
+            VarInts.putSignedVarLong(out, epochSecond);
+            VarInts.putVarInt(out, placedAt.getNano());
+            if (readyAt != null) {
+                VarInts.putSignedVarLong(out, readyAt.toEpochSecond(ZoneOffset.UTC) - epochSecond);
+                VarInts.putVarInt(out, readyAt.getNano());
+            }
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    public void encode(FineLedgerEntry entry, ByteBuffer out) {
+        begin(out);
+        try {
+            out.put(RecordType.FINE_ENTRY.header());
+            out.put((byte) (entry.getTransactionId() != null ? ModelCodec.FINE_ENTRY_HAS_TRANSACTION : 0));
+            writeShared(out, entry.getMemberId());
+            VarInts.putSignedVarLong(out, entry.getDate().toEpochDay());
+            VarInts.putVarInt(out, entry.getType().ordinal());
+            VarInts.putSignedVarLong(out, entry.getAmount());
+            if (entry.getTransactionId() != null) {
+                StringCodec.write(out, entry.getTransactionId());
+                writeShared(out, entry.getBookIsbn());
+            }
+        } catch (BufferOverflowException e) {
+            abort(out);
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of strings in the dictionary.
+     */
+    public int getDictionarySize() {
+        return entries.size();
+    }
+
+    /**
+     * Forgets the dictionary, to start a new stream.
+     */
+    public void reset() {
+        codes.clear();
+        entries.clear();
+    }
+
+    private void writeShared(ByteBuffer out, String value) {
+        if (value == null) {
+            VarInts.putVarInt(out, ModelCodec.DICT_NULL);
+            return;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            VarInts.putVarInt(out, code << 1 | 1);
+        } else if (entries.size() < maxDictionarySize) {
+            VarInts.putVarInt(out, ModelCodec.DICT_NEW);
+            StringCodec.write(out, value);
+            codes.put(value, entries.size());
+            entries.add(value);
+        } else {
+            VarInts.putVarInt(out, ModelCodec.DICT_UNSHARED);
+            StringCodec.write(out, value);
+        }
+    }
+
+    private void begin(ByteBuffer out) {
+        recordStart = out.position();
+        recordEntries = entries.size();
+    }
+
+    private void abort(ByteBuffer out) {
+        out.position(recordStart);
+        while (entries.size() > recordEntries) {
+            codes.remove(entries.remove(entries.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+// src/main/java/com/prpcena/library/codec/StringCodec.java
+package com.prpcena.library.codec;
+
+import java.nio.ByteBuffer;
+
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Writes and reads strings as a varint header and a body, with no
+ * intermediate byte arrays.
+ * <pre>
+ * header 0            null
+ * header 1            canonical lower-case UUID, 16 bytes follow
+ * header n + 2        n bytes of UTF-8 follow
+ * </pre>
+ * IDs generated with {@link java.util.UUID#randomUUID()} take 17 bytes rather
+ * than 37. Unpaired surrogates are written as '?', as {@link String#getBytes}
+ * does.
+ */
+final class StringCodec {
+    private static final int NULL = 0;
+    private static final int UUID_FORM = 1;
+    private static final int UTF8_BASE = 2;
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private StringCodec() {
+    }
+
+    static void write(ByteBuffer out, String value) {
+        if (value == null) {
+            VarInts.putVarInt(out, NULL);
+        } else if (isCanonicalUuid(value)) {
+            VarInts.putVarInt(out, UUID_FORM);
+            out.putLong(parseHex(value, 0, 8) << 32 | parseHex(value, 9, 13) << 16 | parseHex(value, 14, 18));
+            out.putLong(parseHex(value, 19, 23) << 48 | parseHex(value, 24, 36));
+        } else {
+            VarInts.putVarInt(out, utf8Length(value) + UTF8_BASE);
+            writeUtf8(out, value);
+        }
+    }
+
+    /**
+     * @param scratch Reused for the characters; grown if too small.
+     * @return The string, or null.
+     */
+    static String read(ByteBuffer in, Scratch scratch) {
+        int header = VarInts.getVarInt(in);
+        if (header == NULL) {
+            return null;
+        }
+        if (header == UUID_FORM) {
+            char[] chars = scratch.chars(UUID_LENGTH);
+            long high = in.getLong();
+            long low = in.getLong();
+            formatHex(chars, 0, high >>> 32, 8);
+            chars[8] = '-';
+            formatHex(chars, 9, high >>> 16, 4);
+            chars[13] = '-';
+            formatHex(chars, 14, high, 4);
+            chars[18] = '-';
+            formatHex(chars, 19, low >>> 48, 4);
+            chars[23] = '-';
+            formatHex(chars, 24, low, 12);
+            return new String(chars, 0, UUID_LENGTH);
+        }
+        return readUtf8(in, header - UTF8_BASE, scratch);
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeUtf8(ByteBuffer out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                out.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static String readUtf8(ByteBuffer in, int length, Scratch scratch) {
+        char[] chars = scratch.chars(length); // UTF-8 never needs more chars than bytes
+        int count = 0;
+        int end = in.position() + length;
+        while (in.position() < end) {
+            int b = in.get() & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) ((b & 0x1F) << 6 | in.get() & 0x3F);
+            } else if (b < 0xF0) {
+                chars[count++] = (char) ((b & 0x0F) << 12 | (in.get() & 0x3F) << 6 | in.get() & 0x3F);
+            } else {
+                int codePoint = (b & 0x07) << 18 | (in.get() & 0x3F) << 12 | (in.get() & 0x3F) << 6 | in.get() & 0x3F;
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        if (in.position() != end) {
+            throw new IllegalArgumentException("Malformed UTF-8 string.");
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            result = result << 4 | (c <= '9' ? c - '0' : c - 'a' + 10);
+        }
+        return result;
+    }
+
+    private static void formatHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * A reusable character buffer, one per decoder.
+     */
+    static final class Scratch {
+        private char[] chars = new char[64];
+
+        char[] chars(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
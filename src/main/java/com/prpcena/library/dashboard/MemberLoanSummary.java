@@ -0,0 +1,107 @@
+// src/main/java/com/prpcena/library/dashboard/MemberLoanSummary.java
+package com.prpcena.library.dashboard;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What a member's dashboard shows: their current loans, the next due date,
+ * how many loans are overdue and how many books they have borrowed in total.
+ * This class is immutable.
+ */
+public final class MemberLoanSummary {
+    private final String memberId;
+    private final List<CurrentLoan> currentLoans;
+    private final int overdueCount;
+    private final int historyLength;
+
+    MemberLoanSummary(String memberId, List<CurrentLoan> currentLoans, int overdueCount, int historyLength) {
+        this.memberId = Objects.requireNonNull(memberId, "Member ID cannot be null");
+        this.currentLoans = List.copyOf(currentLoans);
+        this.overdueCount = overdueCount;
+        this.historyLength = historyLength;
+    }
+
+    /**
+     * @return A summary for a member who has never borrowed a book.
+     */
+    public static MemberLoanSummary empty(String memberId) {
+        return new MemberLoanSummary(memberId, List.of(), 0, 0);
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * @return The member's open loans, earliest due first.
+     */
+    public List<CurrentLoan> getCurrentLoans() {
+        return currentLoans;
+    }
+
+    /**
+     * @return The earliest due date among the open loans, or null if there are none.
+     */
+    public LocalDate getNextDueDate() {
+        return currentLoans.isEmpty() ? null : currentLoans.get(0).getDueDate();
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    /**
+     * @return The number of loans the member has ever taken out, open or returned.
+     */
+    public int getHistoryLength() {
+        return historyLength;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberLoanSummary{" +
+                "memberId='" + memberId + '\'' +
+                ", currentLoans=" + currentLoans +
+                ", overdueCount=" + overdueCount +
+                ", historyLength=" + historyLength +
+                '}';
+    }
+
+    /**
+     * One open loan. This class is immutable.
+     */
+    public static final class CurrentLoan {
+        private final String transactionId;
+        private final String bookIsbn;
+        private final LocalDate dueDate;
+
+        CurrentLoan(String transactionId, String bookIsbn, LocalDate dueDate) {
+            this.transactionId = transactionId;
+            this.bookIsbn = bookIsbn;
+            this.dueDate = dueDate;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public String getBookIsbn() {
+            return bookIsbn;
+        }
+
+        public LocalDate getDueDate() {
+            return dueDate;
+        }
+
+        @Override
+        public String toString() {
+            return "CurrentLoan{" +
+                    "transactionId='" + transactionId + '\'' +
+                    ", bookIsbn='" + bookIsbn + '\'' +
+                    ", dueDate=" + dueDate +
+                    '}';
+        }
+    }
+}
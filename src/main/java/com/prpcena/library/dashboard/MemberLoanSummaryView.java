@@ -0,0 +1,194 @@
+// src/main/java/com/prpcena/library/dashboard/MemberLoanSummaryView.java
+package com.prpcena.library.dashboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+import com.prpcena.library.util.LibraryClock;
+import com.prpcena.library.util.TimingWheel;
+
+/**
+ * A materialized {@link MemberLoanSummary} per member, kept current as loans
+ * are opened and closed, so a member's dashboard is one map lookup.
+ * <p>
+ * Each change rebuilds only that member's summary. Loans becoming overdue are
+ * picked up by a {@link TimingWheel} timer on their first overdue day,
+ * advanced lazily at most once per day, so no lookup compares dates.
+ * Summaries are published to a concurrent map and read without locking.
+ * Thread-safe.
+ */
+public class MemberLoanSummaryView {
+    private static final Logger logger = LoggerFactory.getLogger(MemberLoanSummaryView.class);
+    private static final Comparator<Transaction> BY_DUE_DATE = Comparator.comparing(Transaction::getDueDate,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final LibraryClock clock;
+    private final Map<String, MemberLoans> loansByMember = new HashMap<>();
+    private final Map<String, MemberLoanSummary> summaries = new ConcurrentHashMap<>();
+    private final TimingWheel<String, Transaction> overdueTimers; // Keyed by transaction ID
+    private final ReentrantLock lock = new ReentrantLock(); // Guards everything but the summaries
+    private volatile long advancedToDay;
+
+    public MemberLoanSummaryView(LibraryClock clock) {
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.advancedToDay = clock.today().toEpochDay();
+        this.overdueTimers = new TimingWheel<>(advancedToDay);
+    }
+
+    /**
+     * Adds a newly recorded loan to its member's summary.
+     *
+     * @param loan The borrow transaction.
+     */
+    public void loanOpened(Transaction loan) {
+        lock.lock();
+        try {
+            MemberLoans memberLoans = loansFor(loan.getMemberId());
+            memberLoans.historyLength++;
+            memberLoans.open.put(loan.getTransactionId(), loan);
+            watch(loan);
+            advance(clock.today().toEpochDay());
+            publish(memberLoans);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a returned loan from its member's current loans.
+     *
+     * @param loan The borrow transaction being closed.
+     */
+    public void loanClosed(Transaction loan) {
+        lock.lock();
+        try {
+            MemberLoans memberLoans = loansFor(loan.getMemberId());
+            memberLoans.open.remove(loan.getTransactionId());
+            memberLoans.overdue.remove(loan.getTransactionId());
+            overdueTimers.cancel(loan.getTransactionId());
+            publish(memberLoans);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds every summary from the full transaction history, e.g. at
+     * startup or after a bulk import.
+     *
+     * @param transactions Every transaction; only borrow transactions are counted.
+     */
+    public void refreshAll(Collection<Transaction> transactions) {
+        lock.lock();
+        try {
+            for (MemberLoans memberLoans : loansByMember.values()) {
+                memberLoans.open.keySet().forEach(overdueTimers::cancel);
+            }
+            loansByMember.clear();
+            for (Transaction transaction : transactions) {
+                if (transaction.getType() != TransactionType.BORROW) {
+                    continue;
+                }
+                MemberLoans memberLoans = loansFor(transaction.getMemberId());
+                memberLoans.historyLength++;
+                if (transaction.getReturnDateTime() == null) {
+                    memberLoans.open.put(transaction.getTransactionId(), transaction);
+                    watch(transaction);
+                }
+            }
+            advance(clock.today().toEpochDay());
+            summaries.clear();
+            loansByMember.values().forEach(this::publish);
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Refreshed loan summaries for {} members from {} transactions", summaries.size(),
+                transactions.size());
+    }
+
+    /**
+     * @param memberId The ID of the member.
+     * @return The member's summary, or empty if they have never borrowed a book.
+     */
+    public Optional<MemberLoanSummary> getSummary(String memberId) {
+        advanceIfNewDay();
+        return Optional.ofNullable(summaries.get(memberId));
+    }
+
+    // Must be called with the lock held
+    private MemberLoans loansFor(String memberId) {
+        return loansByMember.computeIfAbsent(memberId, MemberLoans::new);
+    }
+
+    // Must be called with the lock held
+    private void watch(Transaction loan) {
+        if (loan.getDueDate() != null) {
+            // Overdue from the day after the due date, matching Transaction.isOverdue(LocalDate)
+            overdueTimers.schedule(loan.getTransactionId(), loan.getDueDate().toEpochDay() + 1, loan);
+        }
+    }
+
+    private void advanceIfNewDay() {
+        long today = clock.today().toEpochDay();
+        if (today > advancedToDay) {
+            lock.lock();
+            try {
+                advance(today);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Must be called with the lock held
+    private void advance(long today) {
+        Set<MemberLoans> changed = new HashSet<>();
+        for (Transaction loan : overdueTimers.advanceTo(today)) {
+            MemberLoans memberLoans = loansFor(loan.getMemberId());
+            memberLoans.overdue.add(loan.getTransactionId());
+            changed.add(memberLoans);
+        }
+        changed.forEach(this::publish);
+        advancedToDay = Math.max(advancedToDay, today);
+    }
+
+    // Must be called with the lock held
+    private void publish(MemberLoans memberLoans) {
+        List<Transaction> open = new ArrayList<>(memberLoans.open.values());
+        open.sort(BY_DUE_DATE);
+        List<MemberLoanSummary.CurrentLoan> currentLoans = new ArrayList<>(open.size());
+        for (Transaction loan : open) {
+            currentLoans.add(new MemberLoanSummary.CurrentLoan(loan.getTransactionId(), loan.getBookIsbn(),
+                    loan.getDueDate()));
+        }
+        summaries.put(memberLoans.memberId, new MemberLoanSummary(memberLoans.memberId, currentLoans,
+                memberLoans.overdue.size(), memberLoans.historyLength));
+    }
+
+    private static final class MemberLoans {
+        private final String memberId;
+        private final Map<String, Transaction> open = new LinkedHashMap<>(); // Keyed by transaction ID
+        private final Set<String> overdue = new HashSet<>(); // Open loans past their due date
+        private int historyLength;
+
+        private MemberLoans(String memberId) {
+            this.memberId = memberId;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/prpcena/library/events/BookAvailabilityProjection.java
+package com.prpcena.library.events;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Available copies per ISBN, rebuilt from the event log. Partitioned by ISBN.
+ */
+public class BookAvailabilityProjection implements Projection {
+    private final Map<String, Integer> availableCopies = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(LibraryEvent event) {
+        switch (event.getType()) {
+            case BOOK_ADDED:
+            case BOOK_REMOVED:
+            case BOOK_BORROWED:
+            case BOOK_RETURNED:
+            case HOLD_CANCELLED:
+            case HOLD_EXPIRED:
+                return event.getBookIsbn();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void apply(LibraryEvent event) {
+        String isbn = event.getBookIsbn();
+        if (event.getType() == LibraryEvent.Type.BOOK_ADDED) {
+            availableCopies.put(isbn, (int) event.getAmount());
+        } else if (event.getType() == LibraryEvent.Type.BOOK_REMOVED) {
+            availableCopies.remove(isbn);
+        } else if (event.getAmount() != 0) {
+            availableCopies.computeIfPresent(isbn, (key, copies) -> copies + (int) event.getAmount());
+        }
+    }
+
+    @Override
+    public void reset() {
+        availableCopies.clear();
+    }
+
+    /**
+     * @param isbn The ISBN of the book.
+     * @return The book's available copies, or empty if it is not in the catalog.
+     */
+    public OptionalInt getAvailableCopies(String isbn) {
+        Integer copies = availableCopies.get(isbn);
+        return copies == null ? OptionalInt.empty() : OptionalInt.of(copies);
+    }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/prpcena/library/events/EventLog.java
+package com.prpcena.library.events;
+
+import java.util.List;
+
+/**
+ * An append-only, totally ordered log of {@link LibraryEvent}s.
+ */
+public interface EventLog {
+    /**
+     * Appends an event, giving it the next sequence number.
+     *
+     * @param event The unsequenced event.
+     * @return The event as stored, carrying its sequence number.
+     */
+    LibraryEvent append(LibraryEvent event);
+
+    /**
+     * Reads the events after a sequence number, in order.
+     *
+     * @param sequence The last sequence number already seen; 0 to read from the start.
+     * @return The later events. If there are none, an empty list is returned.
+     */
+    List<LibraryEvent> readAfter(long sequence);
+
+    /**
+     * @return The sequence number of the last event appended, 0 if the log is empty.
+     */
+    long getLastSequence();
+}
@@ -0,0 +1,96 @@
+// src/main/java/com/prpcena/library/events/FileEventLog.java
+package com.prpcena.library.events;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.codec.ModelDecoder;
+import com.prpcena.library.codec.ModelEncoder;
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.repository.log.RecordLog;
+
+/**
+ * An {@link EventLog} kept in a {@link RecordLog} file, so events and the
+ * projections rebuilt from them survive a restart.
+ * <p>
+ * Each event is one record holding a {@link ModelEncoder} event record,
+ * forced to disk before {@link #append} returns. {@link #open} replays the
+ * file into memory, where reads are served from; a record torn by a crash is
+ * dropped by the record log, so the log reopens with every event that was
+ * acknowledged. Thread-safe.
+ */
+public final class FileEventLog implements EventLog, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FileEventLog.class);
+
+    private final RecordLog log;
+    private final InMemoryEventLog events; // Every event in the file, in order
+    private final ModelEncoder encoder = new ModelEncoder();
+    private final ByteBuffer record = ByteBuffer.allocate(RecordLog.MAX_RECORD_SIZE);
+
+    private FileEventLog(RecordLog log, InMemoryEventLog events) {
+        this.log = log;
+        this.events = events;
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist, and reads its events.
+     *
+     * @param file The log file.
+     * @throws IOException if the file cannot be read or written, or is not a record log.
+     */
+    public static FileEventLog open(Path file) throws IOException {
+        InMemoryEventLog events = new InMemoryEventLog();
+        ModelDecoder decoder = new ModelDecoder();
+        RecordLog log = RecordLog.open(file, payload -> {
+            decoder.reset();
+            LibraryEvent event = decoder.decodeEvent(payload);
+            if (events.append(event).getSequence() != event.getSequence()) {
+                throw new IllegalArgumentException("Event " + event.getSequence() + " is out of order.");
+            }
+        });
+        logger.info("Read {} events from {}", events.getLastSequence(), file);
+        return new FileEventLog(log, events);
+    }
+
+    /**
+     * Appends an event and forces it to disk.
+     *
+     * @throws OperationFailedException if the event could not be written; it is then not in the log.
+     */
+    @Override
+    public synchronized LibraryEvent append(LibraryEvent event) {
+        Objects.requireNonNull(event, "Event cannot be null.");
+        LibraryEvent sequenced = event.withSequence(events.getLastSequence() + 1);
+        record.clear();
+        encoder.reset(); // Each record decodes on its own
+        encoder.encode(sequenced, record);
+        try {
+            log.append(record.flip());
+            log.sync();
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not write to the event log.", e);
+        }
+        return events.append(sequenced);
+    }
+
+    @Override
+    public List<LibraryEvent> readAfter(long sequence) {
+        return events.readAfter(sequence);
+    }
+
+    @Override
+    public long getLastSequence() {
+        return events.getLastSequence();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
@@ -0,0 +1,51 @@
+// src/main/java/com/prpcena/library/events/InMemoryEventLog.java
+package com.prpcena.library.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An {@link EventLog} held in a list, where an event's sequence number is its
+ * position plus one. Thread-safe.
+ */
+public class InMemoryEventLog implements EventLog {
+    private final List<LibraryEvent> events = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public LibraryEvent append(LibraryEvent event) {
+        Objects.requireNonNull(event, "Event cannot be null.");
+        lock.writeLock().lock();
+        try {
+            LibraryEvent sequenced = event.withSequence(events.size() + 1);
+            events.add(sequenced);
+            return sequenced;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibraryEvent> readAfter(long sequence) {
+        lock.readLock().lock();
+        try {
+            int from = (int) Math.min(Math.max(sequence, 0), events.size());
+            return new ArrayList<>(events.subList(from, events.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getLastSequence() {
+        lock.readLock().lock();
+        try {
+            return events.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+// src/main/java/com/prpcena/library/events/LibraryEvent.java
+package com.prpcena.library.events;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One change to the library's state, as recorded in an {@link EventLog}.
+ * Events are created unsequenced by the factory methods and numbered by the
+ * log when appended. This class is immutable.
+ * <p>
+ * {@code copyChange} is the change to the book's available copies caused by
+ * the event: a borrow of a copy set aside for the borrower's hold, for
+ * example, leaves the count unchanged.
+ */
+public final class LibraryEvent {
+
+    public enum Type { // Stored by ordinal in event logs; add new types at the end
+        BOOK_ADDED,
+        BOOK_REMOVED,
+        MEMBER_REGISTERED,
+        MEMBER_TIER_CHANGED,
+        BOOK_BORROWED,
+        BOOK_RETURNED,
+        HOLD_PLACED,
+        HOLD_CANCELLED,
+        FINE_PAID,
+        HOLD_EXPIRED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final LocalDateTime occurredAt;
+    private final String memberId;
+    private final String bookIsbn;
+    private final String transactionId;
+    private final String detail;
+    private final long amount;
+    private final LocalDate dueDate;
+
+    private LibraryEvent(long sequence, Type type, LocalDateTime occurredAt, String memberId, String bookIsbn,
+            String transactionId, String detail, long amount, LocalDate dueDate) {
+        this.sequence = sequence;
+        this.type = Objects.requireNonNull(type, "Event type cannot be null");
+        this.occurredAt = Objects.requireNonNull(occurredAt, "Event time cannot be null");
+        this.memberId = memberId;
+        this.bookIsbn = bookIsbn;
+        this.transactionId = transactionId;
+        this.detail = detail;
+        this.amount = amount;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * A book was added to the catalog, or replaced an existing book with the same ISBN.
+     */
+    public static LibraryEvent bookAdded(LocalDateTime at, String isbn, String title, int copies) {
+        return new LibraryEvent(0, Type.BOOK_ADDED, at, null, isbn, null, title, copies, null);
+    }
+
+    public static LibraryEvent bookRemoved(LocalDateTime at, String isbn) {
+        return new LibraryEvent(0, Type.BOOK_REMOVED, at, null, isbn, null, null, 0, null);
+    }
+
+    public static LibraryEvent memberRegistered(LocalDateTime at, String memberId, String name) {
+        return new LibraryEvent(0, Type.MEMBER_REGISTERED, at, memberId, null, null, name, 0, null);
+    }
+
+    public static LibraryEvent memberTierChanged(LocalDateTime at, String memberId, String tier) {
+        return new LibraryEvent(0, Type.MEMBER_TIER_CHANGED, at, memberId, null, null, tier, 0, null);
+    }
+
+    public static LibraryEvent bookBorrowed(LocalDateTime at, String transactionId, String memberId, String isbn,
+            LocalDate dueDate, int copyChange) {
+        return new LibraryEvent(0, Type.BOOK_BORROWED, at, memberId, isbn, transactionId, null, copyChange, dueDate);
+    }
+
+    public static LibraryEvent bookReturned(LocalDateTime at, String transactionId, String memberId, String isbn,
+            int copyChange) {
+        return new LibraryEvent(0, Type.BOOK_RETURNED, at, memberId, isbn, transactionId, null, copyChange, null);
+    }
+
+    public static LibraryEvent holdPlaced(LocalDateTime at, String holdId, String memberId, String isbn) {
+        return new LibraryEvent(0, Type.HOLD_PLACED, at, memberId, isbn, null, holdId, 0, null);
+    }
+
+    public static LibraryEvent holdCancelled(LocalDateTime at, String holdId, String memberId, String isbn,
+            int copyChange) {
+        return new LibraryEvent(0, Type.HOLD_CANCELLED, at, memberId, isbn, null, holdId, copyChange, null);
+    }
+
+    public static LibraryEvent holdExpired(LocalDateTime at, String holdId, String memberId, String isbn,
+            int copyChange) {
+        return new LibraryEvent(0, Type.HOLD_EXPIRED, at, memberId, isbn, null, holdId, copyChange, null);
+    }
+
+    public static LibraryEvent finePaid(LocalDateTime at, String memberId, long amount) {
+        return new LibraryEvent(0, Type.FINE_PAID, at, memberId, null, null, null, amount, null);
+    }
+
+    /**
+     * Rebuilds an event read back from storage, e.g. by
+     * {@link com.prpcena.library.codec.ModelDecoder#decodeEvent}.
+     */
+    public static LibraryEvent restore(long sequence, Type type, LocalDateTime at, String memberId, String bookIsbn,
+            String transactionId, String detail, long amount, LocalDate dueDate) {
+        return new LibraryEvent(sequence, type, at, memberId, bookIsbn, transactionId, detail, amount, dueDate);
+    }
+
+    /**
+     * @return A copy of this event carrying the given sequence number.
+     */
+    LibraryEvent withSequence(long sequence) {
+        return new LibraryEvent(sequence, type, occurredAt, memberId, bookIsbn, transactionId, detail, amount, dueDate);
+    }
+
+    /**
+     * @return The event's position in its log, starting at 1; 0 if not appended yet.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getBookIsbn() {
+        return bookIsbn;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * @return The book title, member name, tier or hold ID, depending on the type.
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * @return The copies added, the change in available copies or the amount paid, depending on the type.
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    @Override
+    public String toString() {
+        return "LibraryEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", occurredAt=" + occurredAt +
+                ", memberId='" + memberId + '\'' +
+                ", bookIsbn='" + bookIsbn + '\'' +
+                ", transactionId='" + transactionId + '\'' +
+                ", detail='" + detail + '\'' +
+                ", amount=" + amount +
+                ", dueDate=" + dueDate +
+                '}';
+    }
+}
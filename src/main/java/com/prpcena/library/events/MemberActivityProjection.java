@@ -0,0 +1,132 @@
+// src/main/java/com/prpcena/library/events/MemberActivityProjection.java
+package com.prpcena.library.events;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A summary of each member's activity, rebuilt from the event log.
+ * Partitioned by member ID.
+ */
+public class MemberActivityProjection implements Projection {
+    private final Map<String, MemberActivity> activities = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(LibraryEvent event) {
+        switch (event.getType()) {
+            case MEMBER_REGISTERED:
+            case MEMBER_TIER_CHANGED:
+            case BOOK_BORROWED:
+            case BOOK_RETURNED:
+            case FINE_PAID:
+                return event.getMemberId();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void apply(LibraryEvent event) {
+        activities.compute(event.getMemberId(), (memberId, current) -> {
+            MemberActivity activity = current == null
+                    ? new MemberActivity(memberId, null, null, 0, 0, 0)
+                    : current;
+            switch (event.getType()) {
+                case MEMBER_REGISTERED:
+                    return activity.with(event.getDetail(), activity.tier, activity.openLoans, activity.totalLoans,
+                            activity.finesPaid);
+                case MEMBER_TIER_CHANGED:
+                    return activity.with(activity.name, event.getDetail(), activity.openLoans, activity.totalLoans,
+                            activity.finesPaid);
+                case BOOK_BORROWED:
+                    return activity.with(activity.name, activity.tier, activity.openLoans + 1,
+                            activity.totalLoans + 1, activity.finesPaid);
+                case BOOK_RETURNED:
+                    return activity.with(activity.name, activity.tier, activity.openLoans - 1, activity.totalLoans,
+                            activity.finesPaid);
+                default:
+                    return activity.with(activity.name, activity.tier, activity.openLoans, activity.totalLoans,
+                            activity.finesPaid + event.getAmount());
+            }
+        });
+    }
+
+    @Override
+    public void reset() {
+        activities.clear();
+    }
+
+    /**
+     * @param memberId The ID of the member.
+     * @return The member's activity, or empty if no event mentions them.
+     */
+    public Optional<MemberActivity> getActivity(String memberId) {
+        return Optional.ofNullable(activities.get(memberId));
+    }
+
+    /**
+     * One member's activity. This class is immutable.
+     */
+    public static final class MemberActivity {
+        private final String memberId;
+        private final String name;
+        private final String tier;
+        private final int openLoans;
+        private final int totalLoans;
+        private final long finesPaid;
+
+        private MemberActivity(String memberId, String name, String tier, int openLoans, int totalLoans,
+                long finesPaid) {
+            this.memberId = memberId;
+            this.name = name;
+            this.tier = tier;
+            this.openLoans = openLoans;
+            this.totalLoans = totalLoans;
+            this.finesPaid = finesPaid;
+        }
+
+        private MemberActivity with(String name, String tier, int openLoans, int totalLoans, long finesPaid) {
+            return new MemberActivity(memberId, name, tier, openLoans, totalLoans, finesPaid);
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The tier last set for the member, or null if it was never changed.
+         */
+        public String getTier() {
+            return tier;
+        }
+
+        public int getOpenLoans() {
+            return openLoans;
+        }
+
+        public int getTotalLoans() {
+            return totalLoans;
+        }
+
+        public long getFinesPaid() {
+            return finesPaid;
+        }
+
+        @Override
+        public String toString() {
+            return "MemberActivity{" +
+                    "memberId='" + memberId + '\'' +
+                    ", name='" + name + '\'' +
+                    ", tier='" + tier + '\'' +
+                    ", openLoans=" + openLoans +
+                    ", totalLoans=" + totalLoans +
+                    ", finesPaid=" + finesPaid +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,62 @@
+// src/main/java/com/prpcena/library/events/OpenLoansProjection.java
+package com.prpcena.library.events;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The loans not yet returned, rebuilt from the event log. Each loan is
+ * represented by its {@link LibraryEvent.Type#BOOK_BORROWED} event.
+ * Partitioned by transaction ID.
+ */
+public class OpenLoansProjection implements Projection {
+    private final Map<String, LibraryEvent> openLoans = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(LibraryEvent event) {
+        return event.getType() == LibraryEvent.Type.BOOK_BORROWED || event.getType() == LibraryEvent.Type.BOOK_RETURNED
+                ? event.getTransactionId()
+                : null;
+    }
+
+    @Override
+    public void apply(LibraryEvent event) {
+        if (event.getType() == LibraryEvent.Type.BOOK_BORROWED) {
+            openLoans.put(event.getTransactionId(), event);
+        } else {
+            openLoans.remove(event.getTransactionId());
+        }
+    }
+
+    @Override
+    public void reset() {
+        openLoans.clear();
+    }
+
+    /**
+     * @return The open loans, oldest first.
+     */
+    public List<LibraryEvent> getOpenLoans() {
+        List<LibraryEvent> loans = new ArrayList<>(openLoans.values());
+        loans.sort(Comparator.comparingLong(LibraryEvent::getSequence));
+        return loans;
+    }
+
+    /**
+     * @param memberId The ID of the member.
+     * @return The member's open loans, oldest first.
+     */
+    public List<LibraryEvent> getOpenLoansByMember(String memberId) {
+        return getOpenLoans().stream()
+                .filter(loan -> loan.getMemberId().equals(memberId))
+                .collect(Collectors.toList());
+    }
+
+    public int getOpenLoanCount() {
+        return openLoans.size();
+    }
+}
@@ -0,0 +1,46 @@
+// src/main/java/com/prpcena/library/events/Projection.java
+package com.prpcena.library.events;
+
+/**
+ * A read model built by applying {@link LibraryEvent}s in order.
+ * <p>
+ * Events are partitioned by {@link #partitionKey}: events with the same key
+ * are always applied in log order, but events with different keys may be
+ * applied concurrently during a replay, so {@link #apply} must be safe to
+ * call from several threads for different keys.
+ */
+public interface Projection {
+    /**
+     * @param event An event from the log.
+     * @return The key whose state the event changes, or null if the projection ignores the event.
+     */
+    String partitionKey(LibraryEvent event);
+
+    /**
+     * Applies one event for which {@link #partitionKey} returned a key.
+     *
+     * @param event The event.
+     */
+    void apply(LibraryEvent event);
+
+    /**
+     * Discards all state, ahead of a replay from the start of the log.
+     */
+    void reset();
+
+    /**
+     * @return The name its checkpoint is stored under; must stay the same across restarts.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * @return true if the projection keeps its own state across restarts, so
+     *         it resumes from its stored checkpoint; false to start again
+     *         from the beginning of the log, as projections held in memory must.
+     */
+    default boolean isDurable() {
+        return false;
+    }
+}
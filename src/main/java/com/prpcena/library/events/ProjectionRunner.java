@@ -0,0 +1,241 @@
+// src/main/java/com/prpcena/library/events/ProjectionRunner.java
+package com.prpcena.library.events;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.exception.OperationFailedException;
+
+/**
+ * Keeps {@link Projection}s up to date with an {@link EventLog}.
+ * <p>
+ * Each projection has a checkpoint: the sequence number of the last event it
+ * has applied. {@link #catchUp()} applies only the events after each
+ * checkpoint, so keeping a read model current costs the events since the
+ * last call. {@link #rebuild()} resets every projection and replays the whole
+ * log in parallel: events are split into lanes by partition key, so events
+ * for the same key stay in order within one lane while the lanes run on
+ * separate threads.
+ * <p>
+ * Given a checkpoint file, checkpoints are stored by projection name after
+ * every {@link #catchUp()} and {@link #rebuild()} that moves them, and a
+ * {@link Projection#isDurable() durable} projection registered after a
+ * restart resumes from its stored checkpoint. Projections held in memory
+ * start again from 0.
+ * <p>
+ * A new read model needs no migration: register it and rebuild. Thread-safe.
+ */
+public class ProjectionRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionRunner.class);
+
+    private final EventLog eventLog;
+    private final int parallelism;
+    private final Path checkpointFile; // Null if checkpoints are not stored
+    private final Properties storedCheckpoints = new Properties(); // Projection name -> sequence
+    private final Map<Projection, Long> checkpoints = new LinkedHashMap<>();
+
+    /**
+     * @param eventLog    The log to read.
+     * @param parallelism The number of threads used by {@link #rebuild()}.
+     */
+    public ProjectionRunner(EventLog eventLog, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.eventLog = Objects.requireNonNull(eventLog, "Event log cannot be null.");
+        this.parallelism = parallelism;
+        this.checkpointFile = null;
+    }
+
+    /**
+     * @param eventLog       The log to read.
+     * @param parallelism    The number of threads used by {@link #rebuild()}.
+     * @param checkpointFile Where checkpoints are stored; read now if it exists.
+     * @throws IOException if the checkpoint file exists but cannot be read.
+     */
+    public ProjectionRunner(EventLog eventLog, int parallelism, Path checkpointFile) throws IOException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.eventLog = Objects.requireNonNull(eventLog, "Event log cannot be null.");
+        this.parallelism = parallelism;
+        this.checkpointFile = Objects.requireNonNull(checkpointFile, "Checkpoint file cannot be null.");
+        if (Files.exists(checkpointFile)) {
+            try (Reader in = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+                storedCheckpoints.load(in);
+            }
+        }
+    }
+
+    /**
+     * Adds a projection. A durable projection with a stored checkpoint
+     * resumes from it; any other starts from 0, so the next
+     * {@link #catchUp()} or {@link #rebuild()} brings it up to date from the
+     * start of the log.
+     *
+     * @param projection The projection to keep up to date.
+     */
+    public synchronized void register(Projection projection) {
+        Objects.requireNonNull(projection, "Projection cannot be null.");
+        if (checkpoints.containsKey(projection)) {
+            return;
+        }
+        long checkpoint = 0;
+        String stored = storedCheckpoints.getProperty(projection.getName());
+        if (projection.isDurable() && stored != null) {
+            checkpoint = Long.parseLong(stored);
+            if (checkpoint > eventLog.getLastSequence()) {
+                logger.warn("Checkpoint {} of {} is past the end of the event log; starting it from 0", checkpoint,
+                        projection.getName());
+                projection.reset();
+                checkpoint = 0;
+            }
+        }
+        checkpoints.put(projection, checkpoint);
+    }
+
+    /**
+     * @return The sequence number of the last event the projection has applied.
+     * @throws IllegalArgumentException if the projection is not registered.
+     */
+    public synchronized long getCheckpoint(Projection projection) {
+        Long checkpoint = checkpoints.get(projection);
+        if (checkpoint == null) {
+            throw new IllegalArgumentException("Projection is not registered.");
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Applies the events appended since each projection's checkpoint.
+     *
+     * @return The number of events read from the log.
+     */
+    public synchronized int catchUp() {
+        if (checkpoints.isEmpty()) {
+            return 0;
+        }
+        long from = checkpoints.values().stream().mapToLong(Long::longValue).min().orElse(0);
+        List<LibraryEvent> events = eventLog.readAfter(from);
+        for (Map.Entry<Projection, Long> entry : checkpoints.entrySet()) {
+            Projection projection = entry.getKey();
+            long checkpoint = entry.getValue();
+            for (LibraryEvent event : events) {
+                if (event.getSequence() > checkpoint) {
+                    applyIfRelevant(projection, event);
+                    checkpoint = event.getSequence();
+                }
+            }
+            entry.setValue(checkpoint);
+        }
+        if (!events.isEmpty()) {
+            storeCheckpoints();
+        }
+        return events.size();
+    }
+
+    /**
+     * Resets every projection and replays the whole log in parallel.
+     *
+     * @return The number of events replayed.
+     * @throws OperationFailedException if a projection fails to apply an event; its checkpoint is then 0.
+     */
+    public synchronized int rebuild() {
+        List<LibraryEvent> events = eventLog.readAfter(0);
+        long last = events.isEmpty() ? 0 : events.get(events.size() - 1).getSequence();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "projection-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Map.Entry<Projection, Long> entry : checkpoints.entrySet()) {
+                entry.setValue(0L);
+                replay(entry.getKey(), events, executor);
+                entry.setValue(last);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        storeCheckpoints();
+        logger.info("Rebuilt {} projections from {} events on {} threads", checkpoints.size(), events.size(),
+                parallelism);
+        return events.size();
+    }
+
+    // Written to a temporary file and moved into place, so a crash leaves the old or the new checkpoints
+    private void storeCheckpoints() {
+        if (checkpointFile == null) {
+            return;
+        }
+        checkpoints.forEach((projection, checkpoint) ->
+                storedCheckpoints.setProperty(projection.getName(), Long.toString(checkpoint)));
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                storedCheckpoints.store(out, "Projection checkpoints");
+            }
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not store projection checkpoints in " + checkpointFile, e);
+        }
+    }
+
+    private void replay(Projection projection, List<LibraryEvent> events, ExecutorService executor) {
+        projection.reset();
+        List<List<LibraryEvent>> lanes = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (LibraryEvent event : events) {
+            String key = projection.partitionKey(event);
+            if (key != null) {
+                lanes.get(Math.floorMod(key.hashCode(), parallelism)).add(event);
+            }
+        }
+        List<Future<?>> running = new ArrayList<>(parallelism);
+        for (List<LibraryEvent> lane : lanes) {
+            if (!lane.isEmpty()) {
+                running.add(executor.submit(() -> lane.forEach(projection::apply)));
+            }
+        }
+        try {
+            for (Future<?> lane : running) {
+                lane.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationFailedException("Interrupted while replaying events", e);
+        } catch (ExecutionException e) {
+            throw new OperationFailedException("Failed to replay events into " + projection.getClass().getSimpleName(),
+                    e.getCause());
+        }
+    }
+
+    private static void applyIfRelevant(Projection projection, LibraryEvent event) {
+        if (projection.partitionKey(event) != null) {
+            projection.apply(event);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/prpcena/library/exception/BorrowingLimitExceededException.java
+// Thrown when a member has too many books out, or too many overdue, to borrow another
+package com.prpcena.library.exception;
+
+public class BorrowingLimitExceededException extends RuntimeException {
+    public BorrowingLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/prpcena/library/exception/HoldNotAllowedException.java
+// Thrown when a hold would be pointless, e.g. a copy is on the shelf or the member already holds the book
+package com.prpcena.library.exception;
+
+public class HoldNotAllowedException extends RuntimeException {
+    public HoldNotAllowedException(String message) {
+        super(message);
+    }
+}
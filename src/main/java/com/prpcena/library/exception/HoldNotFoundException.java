@@ -0,0 +1,8 @@
+// src/main/java/com/prpcena/library/exception/HoldNotFoundException.java
+package com.prpcena.library.exception;
+
+public class HoldNotFoundException extends ResourceNotFoundException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/prpcena/library/exception/VersionConflictException.java
+// Thrown when a conditional save finds the entity was changed since it was read
+package com.prpcena.library.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
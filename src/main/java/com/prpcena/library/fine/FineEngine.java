@@ -0,0 +1,358 @@
+// src/main/java/com/prpcena/library/fine/FineEngine.java
+package com.prpcena.library.fine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.LibraryClock;
+import com.prpcena.library.util.TimingWheel;
+
+/**
+ * Keeps each member's fine balance up to date as loans cross their due date,
+ * reach the cap and are returned, so balances never require a transaction scan.
+ * <p>
+ * Every open loan has one timer in a {@link TimingWheel} keyed by epoch day:
+ * first for the day it starts being charged, then for the day it reaches the
+ * per-loan cap. Timers are processed lazily whenever the engine is used, so
+ * the cost is proportional to the loans crossing a boundary since the last
+ * call. Amounts are in the currency's minor unit. Thread-safe.
+ * <p>
+ * Given a {@link FineLedgerStore}, every settled entry is stored before it
+ * counts towards a balance. After a restart the stored entries are
+ * {@linkplain #restore restored} before the open loans are tracked again, and
+ * a loan whose capped fine is already among them is not charged twice.
+ */
+public class FineEngine {
+    private static final Logger logger = LoggerFactory.getLogger(FineEngine.class);
+
+    private enum Phase {
+        START_ACCRUING,
+        REACH_CAP
+    }
+
+    private final FinePolicy policy;
+    private final LibraryClock clock;
+    private final TimingWheel<String, Timer> timers; // Keyed by transaction ID
+    private final Map<String, MemberLedger> ledgers = new LinkedHashMap<>();
+    private final Map<String, Long> cappedLoans = new HashMap<>(); // Open loans already charged the cap
+    private final Map<String, Long> restoredFines = new HashMap<>(); // Restored fines of loans not yet tracked
+    private final FineLedgerStore store; // Null if entries are only kept in memory
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * An engine whose ledgers are only kept in memory.
+     */
+    public FineEngine(FinePolicy policy, LibraryClock clock) {
+        this(policy, clock, null);
+    }
+
+    /**
+     * @param store Where settled entries are stored, or null to keep them only in memory.
+     */
+    public FineEngine(FinePolicy policy, LibraryClock clock, FineLedgerStore store) {
+        this.policy = Objects.requireNonNull(policy, "Fine policy cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.timers = new TimingWheel<>(clock.today().toEpochDay());
+        this.store = store;
+    }
+
+    public FinePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Loads the entries settled before a restart, e.g. read back from the
+     * {@link FineLedgerStore}, without storing them again. Call it before
+     * {@link #trackAll}, so loans already charged the cap are not charged again.
+     *
+     * @param entries The settled entries, oldest first.
+     */
+    public void restore(Collection<FineLedgerEntry> entries) {
+        lock.lock();
+        try {
+            for (FineLedgerEntry entry : entries) {
+                ledgers.computeIfAbsent(entry.getMemberId(), MemberLedger::new).settle(entry);
+                if (entry.getType() == FineLedgerEntry.Type.FINE && entry.getTransactionId() != null) {
+                    restoredFines.put(entry.getTransactionId(), entry.getAmount());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Restored {} fine ledger entries", entries.size());
+    }
+
+    /**
+     * Starts tracking a new open loan.
+     *
+     * @param loan The borrow transaction.
+     */
+    public void loanOpened(Transaction loan) {
+        if (!policy.chargesFines() || loan.getDueDate() == null || loan.getReturnDateTime() != null) {
+            return;
+        }
+        long baseDay = loan.getDueDate().toEpochDay() + policy.getGraceDays();
+        lock.lock();
+        try {
+            // An open loan's fine can only have been settled when it reached the cap
+            Long capped = restoredFines.remove(loan.getTransactionId());
+            if (capped != null) {
+                cappedLoans.put(loan.getTransactionId(), capped);
+                return;
+            }
+            timers.schedule(loan.getTransactionId(), baseDay + 1, new Timer(Phase.START_ACCRUING, loan, baseDay));
+            advance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts tracking existing open loans, e.g. at startup. Loans that are
+     * already overdue are charged for the days since their due date.
+     *
+     * @param openLoans The open borrow transactions.
+     */
+    public void trackAll(Collection<Transaction> openLoans) {
+        openLoans.forEach(this::loanOpened);
+        lock.lock();
+        try {
+            restoredFines.clear(); // The rest were for loans returned before the restart
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Tracking {} open loans for fines", openLoans.size());
+    }
+
+    /**
+     * Stops tracking a returned loan and settles what it owes.
+     *
+     * @param loan The borrow transaction being closed.
+     * @return The total fine charged for the loan, 0 if it was returned on time.
+     */
+    public long loanClosed(Transaction loan) {
+        lock.lock();
+        try {
+            advance();
+            Long capped = cappedLoans.remove(loan.getTransactionId());
+            if (capped != null) {
+                return capped; // Settled when it reached the cap
+            }
+            MemberLedger ledger = ledgers.get(loan.getMemberId());
+            MemberLedger.AccruingLoan accruing = ledger == null ? null : ledger.accruing.get(loan.getTransactionId());
+            if (accruing == null) {
+                timers.cancel(loan.getTransactionId());
+                return 0;
+            }
+            long day = timers.getCurrentTick();
+            long fine = accruing.accruedOn(day);
+            settle(ledger, new FineLedgerEntry(loan.getMemberId(), LocalDate.ofEpochDay(day),
+                    FineLedgerEntry.Type.FINE, fine, loan.getTransactionId(), loan.getBookIsbn()));
+            ledger.stopAccruing(loan.getTransactionId());
+            timers.cancel(loan.getTransactionId());
+            logger.info("Charged fine of {} to member ID {} for late return of book ISBN {}",
+                    fine, loan.getMemberId(), loan.getBookIsbn());
+            return fine;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a member's outstanding balance, including fines still accruing on
+     * overdue loans. O(1) apart from any pending due-date crossings.
+     *
+     * @param memberId The ID of the member.
+     * @return The balance; 0 for members who were never fined.
+     */
+    public long getBalance(String memberId) {
+        lock.lock();
+        try {
+            advance();
+            MemberLedger ledger = ledgers.get(memberId);
+            return ledger == null ? 0 : ledger.balance(timers.getCurrentTick());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a payment against a member's balance.
+     *
+     * @param memberId The ID of the member.
+     * @param amount   The amount paid.
+     * @throws IllegalArgumentException if the amount is not positive or exceeds the balance.
+     */
+    public void recordPayment(String memberId, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive.");
+        }
+        lock.lock();
+        try {
+            advance();
+            MemberLedger ledger = ledgers.get(memberId);
+            long day = timers.getCurrentTick();
+            if (ledger == null || amount > ledger.balance(day)) {
+                throw new IllegalArgumentException("Payment of " + amount + " exceeds the balance of member ID "
+                        + memberId + ".");
+            }
+            settle(ledger, new FineLedgerEntry(memberId, LocalDate.ofEpochDay(day), FineLedgerEntry.Type.PAYMENT,
+                    -amount, null, null));
+            logger.info("Recorded payment of {} from member ID {}", amount, memberId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a member's settled ledger entries, oldest first.
+     *
+     * @param memberId The ID of the member.
+     * @return A copy of the entries; fines still accruing are not included.
+     */
+    public List<FineLedgerEntry> getLedger(String memberId) {
+        lock.lock();
+        try {
+            advance();
+            MemberLedger ledger = ledgers.get(memberId);
+            return ledger == null ? new ArrayList<>() : new ArrayList<>(ledger.entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets every member's settled ledger entries, e.g. to archive them. Each
+     * member's entries are oldest first, which is all {@link #restore} needs.
+     *
+     * @return A copy of the entries, member by member; fines still accruing are not included.
+     */
+    public List<FineLedgerEntry> getAllLedgerEntries() {
+        lock.lock();
+        try {
+            advance();
+            List<FineLedgerEntry> entries = new ArrayList<>();
+            for (MemberLedger ledger : ledgers.values()) {
+                entries.addAll(ledger.entries);
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a CSV statement of every member with a ledger: their settled
+     * entries, the fines still accruing and their balance. Ledgers are copied
+     * and written one member at a time, so the engine stays usable during a
+     * long export.
+     *
+     * @param out Where to write; not closed.
+     * @return The number of members written.
+     * @throws IOException if writing fails.
+     */
+    public int exportStatements(Writer out) throws IOException {
+        List<MemberLedger> members;
+        lock.lock();
+        try {
+            advance();
+            members = new ArrayList<>(ledgers.values());
+        } finally {
+            lock.unlock();
+        }
+        out.write("member_id,date,type,transaction_id,book_isbn,amount\n");
+        StringBuilder lines = new StringBuilder();
+        for (MemberLedger ledger : members) {
+            lines.setLength(0);
+            lock.lock();
+            try {
+                long day = timers.getCurrentTick();
+                String today = LocalDate.ofEpochDay(day).toString();
+                for (FineLedgerEntry entry : ledger.entries) {
+                    appendLine(lines, ledger.memberId, entry.getDate().toString(), entry.getType().name(),
+                            entry.getTransactionId(), entry.getBookIsbn(), entry.getAmount());
+                }
+                for (MemberLedger.AccruingLoan loan : ledger.accruing.values()) {
+                    appendLine(lines, ledger.memberId, today, "ACCRUING", loan.transactionId, loan.bookIsbn,
+                            loan.accruedOn(day));
+                }
+                appendLine(lines, ledger.memberId, today, "BALANCE", null, null, ledger.balance(day));
+            } finally {
+                lock.unlock();
+            }
+            out.write(lines.toString());
+        }
+        logger.info("Exported fine statements for {} members", members.size());
+        return members.size();
+    }
+
+    private static void appendLine(StringBuilder lines, String memberId, String date, String type,
+            String transactionId, String bookIsbn, long amount) {
+        lines.append(memberId).append(',').append(date).append(',').append(type).append(',')
+                .append(transactionId == null ? "" : transactionId).append(',')
+                .append(bookIsbn == null ? "" : bookIsbn).append(',')
+                .append(amount).append('\n');
+    }
+
+    // Must be called with the lock held
+    private void advance() {
+        long today = clock.today().toEpochDay();
+        List<Timer> fired = timers.advanceTo(today);
+        while (!fired.isEmpty()) {
+            for (Timer timer : fired) {
+                fire(timer);
+            }
+            fired = timers.advanceTo(today); // Cap timers that were already due when scheduled
+        }
+    }
+
+    private void fire(Timer timer) {
+        Transaction loan = timer.loan;
+        MemberLedger ledger = ledgers.computeIfAbsent(loan.getMemberId(), MemberLedger::new);
+        if (timer.phase == Phase.START_ACCRUING) {
+            ledger.startAccruing(new MemberLedger.AccruingLoan(loan.getTransactionId(), loan.getBookIsbn(),
+                    policy.getDailyRate(), timer.baseDay));
+            timers.schedule(loan.getTransactionId(), timer.baseDay + policy.daysToCap(),
+                    new Timer(Phase.REACH_CAP, loan, timer.baseDay));
+        } else {
+            settle(ledger, new FineLedgerEntry(loan.getMemberId(),
+                    LocalDate.ofEpochDay(timer.baseDay + policy.daysToCap()), FineLedgerEntry.Type.FINE,
+                    policy.getMaxPerLoan(), loan.getTransactionId(), loan.getBookIsbn()));
+            ledger.stopAccruing(loan.getTransactionId());
+            cappedLoans.put(loan.getTransactionId(), policy.getMaxPerLoan());
+        }
+    }
+
+    // Stores the entry first, so one that could not be stored is not counted
+    private void settle(MemberLedger ledger, FineLedgerEntry entry) {
+        if (store != null) {
+            store.append(entry);
+        }
+        ledger.settle(entry);
+    }
+
+    private static final class Timer {
+        private final Phase phase;
+        private final Transaction loan;
+        private final long baseDay;
+
+        private Timer(Phase phase, Transaction loan, long baseDay) {
+            this.phase = phase;
+            this.loan = loan;
+            this.baseDay = baseDay;
+        }
+    }
+}
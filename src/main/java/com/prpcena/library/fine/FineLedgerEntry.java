@@ -0,0 +1,86 @@
+// src/main/java/com/prpcena/library/fine/FineLedgerEntry.java
+package com.prpcena.library.fine;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One settled line of a member's fine ledger. Fines are positive, payments
+ * negative. This class is immutable.
+ */
+public final class FineLedgerEntry {
+
+    public enum Type {
+        FINE,    // Charged when an overdue loan is returned or reaches the cap
+        PAYMENT
+    }
+
+    private final String memberId;
+    private final LocalDate date;
+    private final Type type;
+    private final long amount;
+    private final String transactionId; // Null for payments
+    private final String bookIsbn;      // Null for payments
+
+    public FineLedgerEntry(String memberId, LocalDate date, Type type, long amount, String transactionId,
+            String bookIsbn) {
+        this.memberId = Objects.requireNonNull(memberId, "Member ID cannot be null");
+        this.date = Objects.requireNonNull(date, "Date cannot be null");
+        this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.amount = amount;
+        this.transactionId = transactionId;
+        this.bookIsbn = bookIsbn;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getBookIsbn() {
+        return bookIsbn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        FineLedgerEntry that = (FineLedgerEntry) o;
+        return amount == that.amount && memberId.equals(that.memberId) && date.equals(that.date) && type == that.type
+                && Objects.equals(transactionId, that.transactionId) && Objects.equals(bookIsbn, that.bookIsbn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, date, type, amount, transactionId, bookIsbn);
+    }
+
+    @Override
+    public String toString() {
+        return "FineLedgerEntry{" +
+                "memberId='" + memberId + '\'' +
+                ", date=" + date +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", transactionId='" + transactionId + '\'' +
+                ", bookIsbn='" + bookIsbn + '\'' +
+                '}';
+    }
+}
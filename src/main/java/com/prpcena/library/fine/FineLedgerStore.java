@@ -0,0 +1,18 @@
+// src/main/java/com/prpcena/library/fine/FineLedgerStore.java
+package com.prpcena.library.fine;
+
+/**
+ * Where a {@link FineEngine} keeps the entries it settles, so balances
+ * survive a restart. Fines still accruing are not stored; they are worked out
+ * again from the open loans.
+ */
+@FunctionalInterface
+public interface FineLedgerStore {
+    /**
+     * Stores a settled entry. It must be durable by the time this returns;
+     * throwing leaves the entry unsettled.
+     *
+     * @param entry The entry, in the order it was settled.
+     */
+    void append(FineLedgerEntry entry);
+}
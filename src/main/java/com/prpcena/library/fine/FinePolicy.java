@@ -0,0 +1,78 @@
+// src/main/java/com/prpcena/library/fine/FinePolicy.java
+package com.prpcena.library.fine;
+
+import java.util.Objects;
+
+/**
+ * How overdue loans are charged. Amounts are in the currency's minor unit
+ * (e.g. cents). This class is immutable.
+ */
+public final class FinePolicy {
+    /** 25 cents per day after the due date, at most 10.00 per loan. */
+    public static final FinePolicy DEFAULT = new FinePolicy(25, 1000, 0);
+
+    private final long dailyRate;
+    private final long maxPerLoan;
+    private final int graceDays;
+
+    /**
+     * @param dailyRate  Charged for each day a loan is overdue; 0 disables fines.
+     * @param maxPerLoan The most a single loan can be charged; 0 disables fines.
+     * @param graceDays  Overdue days that are not charged.
+     */
+    public FinePolicy(long dailyRate, long maxPerLoan, int graceDays) {
+        if (dailyRate < 0 || maxPerLoan < 0 || graceDays < 0) {
+            throw new IllegalArgumentException("Fine rate, cap and grace days cannot be negative.");
+        }
+        this.dailyRate = dailyRate;
+        this.maxPerLoan = maxPerLoan;
+        this.graceDays = graceDays;
+    }
+
+    public long getDailyRate() {
+        return dailyRate;
+    }
+
+    public long getMaxPerLoan() {
+        return maxPerLoan;
+    }
+
+    public int getGraceDays() {
+        return graceDays;
+    }
+
+    boolean chargesFines() {
+        return dailyRate > 0 && maxPerLoan > 0;
+    }
+
+    /**
+     * @return The number of charged days after which a loan reaches the cap.
+     */
+    long daysToCap() {
+        return (maxPerLoan + dailyRate - 1) / dailyRate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        FinePolicy that = (FinePolicy) o;
+        return dailyRate == that.dailyRate && maxPerLoan == that.maxPerLoan && graceDays == that.graceDays;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dailyRate, maxPerLoan, graceDays);
+    }
+
+    @Override
+    public String toString() {
+        return "FinePolicy{" +
+                "dailyRate=" + dailyRate +
+                ", maxPerLoan=" + maxPerLoan +
+                ", graceDays=" + graceDays +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+// src/main/java/com/prpcena/library/fine/MemberLedger.java
+package com.prpcena.library.fine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One member's fines: settled entries plus the loans still accruing.
+ * <p>
+ * An accruing loan owes {@code rate * (day - baseDay)}, so the sum over all of
+ * them is {@code accruingRate * day - accruingBase}. Keeping those two sums up
+ * to date when loans start or stop accruing makes the balance O(1) on any day.
+ * Not thread-safe; guarded by the {@link FineEngine} lock.
+ */
+final class MemberLedger {
+    final String memberId;
+    final List<FineLedgerEntry> entries = new ArrayList<>();
+    final Map<String, AccruingLoan> accruing = new LinkedHashMap<>(); // Transaction ID -> loan
+    long settled;
+    long accruingRate;
+    long accruingBase;
+
+    MemberLedger(String memberId) {
+        this.memberId = memberId;
+    }
+
+    long balance(long day) {
+        return settled + accruingRate * day - accruingBase;
+    }
+
+    void settle(FineLedgerEntry entry) {
+        entries.add(entry);
+        settled += entry.getAmount();
+    }
+
+    void startAccruing(AccruingLoan loan) {
+        accruing.put(loan.transactionId, loan);
+        accruingRate += loan.rate;
+        accruingBase += loan.rate * loan.baseDay;
+    }
+
+    AccruingLoan stopAccruing(String transactionId) {
+        AccruingLoan loan = accruing.remove(transactionId);
+        if (loan != null) {
+            accruingRate -= loan.rate;
+            accruingBase -= loan.rate * loan.baseDay;
+        }
+        return loan;
+    }
+
+    static final class AccruingLoan {
+        final String transactionId;
+        final String bookIsbn;
+        final long rate;
+        final long baseDay; // Last day that is not charged
+
+        AccruingLoan(String transactionId, String bookIsbn, long rate, long baseDay) {
+            this.transactionId = transactionId;
+            this.bookIsbn = bookIsbn;
+            this.rate = rate;
+            this.baseDay = baseDay;
+        }
+
+        long accruedOn(long day) {
+            return rate * (day - baseDay);
+        }
+    }
+}
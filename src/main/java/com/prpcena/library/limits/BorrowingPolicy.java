@@ -0,0 +1,97 @@
+// src/main/java/com/prpcena/library/limits/BorrowingPolicy.java
+package com.prpcena.library.limits;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.prpcena.library.model.MemberTier;
+
+/**
+ * How many books each member tier may have out, and how many of them may be
+ * overdue before borrowing is refused. This class is immutable.
+ */
+public final class BorrowingPolicy {
+    /** Standard members: 5 books, none overdue. Premium: 10 books, 1 overdue. Staff: 20 books, 2 overdue. */
+    public static final BorrowingPolicy DEFAULT = new BorrowingPolicy(Map.of(
+            MemberTier.STANDARD, new TierLimits(5, 0),
+            MemberTier.PREMIUM, new TierLimits(10, 1),
+            MemberTier.STAFF, new TierLimits(20, 2)));
+
+    private final Map<MemberTier, TierLimits> limits;
+
+    /**
+     * @param limits The limits for every tier.
+     */
+    public BorrowingPolicy(Map<MemberTier, TierLimits> limits) {
+        Objects.requireNonNull(limits, "Tier limits cannot be null.");
+        for (MemberTier tier : MemberTier.values()) {
+            if (!limits.containsKey(tier)) {
+                throw new IllegalArgumentException("No borrowing limits given for tier " + tier + ".");
+            }
+        }
+        this.limits = new EnumMap<>(limits);
+    }
+
+    public TierLimits getLimits(MemberTier tier) {
+        return limits.get(tier);
+    }
+
+    @Override
+    public String toString() {
+        return "BorrowingPolicy{" +
+                "limits=" + limits +
+                '}';
+    }
+
+    /**
+     * The limits for one tier. This class is immutable.
+     */
+    public static final class TierLimits {
+        private final int maxOpenLoans;
+        private final int maxOverdueItems;
+
+        /**
+         * @param maxOpenLoans    The most books a member may have out at once.
+         * @param maxOverdueItems The most overdue books a member may have and still borrow.
+         */
+        public TierLimits(int maxOpenLoans, int maxOverdueItems) {
+            if (maxOpenLoans < 0 || maxOverdueItems < 0) {
+                throw new IllegalArgumentException("Borrowing limits cannot be negative.");
+            }
+            this.maxOpenLoans = maxOpenLoans;
+            this.maxOverdueItems = maxOverdueItems;
+        }
+
+        public int getMaxOpenLoans() {
+            return maxOpenLoans;
+        }
+
+        public int getMaxOverdueItems() {
+            return maxOverdueItems;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            TierLimits that = (TierLimits) o;
+            return maxOpenLoans == that.maxOpenLoans && maxOverdueItems == that.maxOverdueItems;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxOpenLoans, maxOverdueItems);
+        }
+
+        @Override
+        public String toString() {
+            return "TierLimits{" +
+                    "maxOpenLoans=" + maxOpenLoans +
+                    ", maxOverdueItems=" + maxOverdueItems +
+                    '}';
+        }
+    }
+}
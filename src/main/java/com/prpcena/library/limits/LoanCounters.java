@@ -0,0 +1,204 @@
+// src/main/java/com/prpcena/library/limits/LoanCounters.java
+package com.prpcena.library.limits;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.exception.BorrowingLimitExceededException;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.LibraryClock;
+import com.prpcena.library.util.TimingWheel;
+
+/**
+ * Keeps per-member counts of open loans and overdue items, and enforces the
+ * {@link BorrowingPolicy} against them without reading transaction history.
+ * <p>
+ * Open-loan counts are reserved with a compare-and-set before a loan is
+ * recorded, so two concurrent borrows by the same member cannot both take
+ * the last slot. Overdue counts are raised by a {@link TimingWheel} timer on
+ * the first overdue day of each loan and lowered when the loan is returned.
+ * The wheel is advanced lazily, at most once per day. Thread-safe.
+ */
+public class LoanCounters {
+    private static final Logger logger = LoggerFactory.getLogger(LoanCounters.class);
+
+    private final BorrowingPolicy policy;
+    private final LibraryClock clock;
+    private final ConcurrentMap<String, MemberCounts> counts = new ConcurrentHashMap<>();
+    private final TimingWheel<String, Transaction> overdueTimers; // Keyed by transaction ID
+    private final Set<String> overdueLoans = new HashSet<>(); // Open loans counted as overdue
+    private final ReentrantLock lock = new ReentrantLock(); // Guards the wheel and overdueLoans
+    private volatile long advancedToDay;
+
+    public LoanCounters(BorrowingPolicy policy, LibraryClock clock) {
+        this.policy = Objects.requireNonNull(policy, "Borrowing policy cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.advancedToDay = clock.today().toEpochDay();
+        this.overdueTimers = new TimingWheel<>(advancedToDay);
+    }
+
+    public BorrowingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Takes one of the member's open-loan slots, ahead of recording a loan.
+     * Must be followed by {@link #loanOpened} once the loan is recorded, or by
+     * {@link #release} if it is not.
+     *
+     * @param member The borrowing member.
+     * @throws BorrowingLimitExceededException if the member has too many books out or overdue.
+     */
+    public void reserve(Member member) {
+        advanceIfNewDay();
+        BorrowingPolicy.TierLimits limits = policy.getLimits(member.getTier());
+        MemberCounts memberCounts = countsFor(member.getMemberId());
+        int overdue = memberCounts.overdue.get();
+        if (overdue > limits.getMaxOverdueItems()) {
+            throw new BorrowingLimitExceededException("Member " + member.getName() + " has " + overdue
+                    + " overdue books; return them before borrowing more.");
+        }
+        int open;
+        do {
+            open = memberCounts.openLoans.get();
+            if (open >= limits.getMaxOpenLoans()) {
+                throw new BorrowingLimitExceededException("Member " + member.getName() + " already has " + open
+                        + " books out, the limit for " + member.getTier() + " members.");
+            }
+        } while (!memberCounts.openLoans.compareAndSet(open, open + 1));
+    }
+
+    /**
+     * Gives back a slot taken with {@link #reserve} for a loan that was not recorded.
+     *
+     * @param memberId The ID of the member.
+     */
+    public void release(String memberId) {
+        countsFor(memberId).openLoans.decrementAndGet();
+    }
+
+    /**
+     * Starts watching a newly recorded loan, whose slot was taken with {@link #reserve}.
+     *
+     * @param loan The borrow transaction.
+     */
+    public void loanOpened(Transaction loan) {
+        lock.lock();
+        try {
+            watch(loan);
+            advance(clock.today().toEpochDay());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts existing open loans, e.g. at startup. Loans that are already
+     * overdue are counted as such.
+     *
+     * @param openLoans The open borrow transactions.
+     */
+    public void trackAll(Collection<Transaction> openLoans) {
+        lock.lock();
+        try {
+            for (Transaction loan : openLoans) {
+                if (loan.getReturnDateTime() == null) {
+                    countsFor(loan.getMemberId()).openLoans.incrementAndGet();
+                    watch(loan);
+                }
+            }
+            advance(clock.today().toEpochDay());
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Counting {} open loans against borrowing limits", openLoans.size());
+    }
+
+    /**
+     * Frees the slot of a returned loan, and its overdue count if it was overdue.
+     *
+     * @param loan The borrow transaction being closed.
+     */
+    public void loanClosed(Transaction loan) {
+        MemberCounts memberCounts = countsFor(loan.getMemberId());
+        lock.lock();
+        try {
+            overdueTimers.cancel(loan.getTransactionId());
+            if (overdueLoans.remove(loan.getTransactionId())) {
+                memberCounts.overdue.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+        memberCounts.openLoans.decrementAndGet();
+    }
+
+    /**
+     * @param memberId The ID of the member.
+     * @return The number of books the member has out.
+     */
+    public int getOpenLoanCount(String memberId) {
+        MemberCounts memberCounts = counts.get(memberId);
+        return memberCounts == null ? 0 : memberCounts.openLoans.get();
+    }
+
+    /**
+     * @param memberId The ID of the member.
+     * @return The number of the member's open loans that are past their due date.
+     */
+    public int getOverdueCount(String memberId) {
+        advanceIfNewDay();
+        MemberCounts memberCounts = counts.get(memberId);
+        return memberCounts == null ? 0 : memberCounts.overdue.get();
+    }
+
+    private MemberCounts countsFor(String memberId) {
+        return counts.computeIfAbsent(memberId, id -> new MemberCounts());
+    }
+
+    // Must be called with the lock held
+    private void watch(Transaction loan) {
+        if (loan.getDueDate() != null) {
+            // Overdue from the day after the due date, matching Transaction.isOverdue(LocalDate)
+            overdueTimers.schedule(loan.getTransactionId(), loan.getDueDate().toEpochDay() + 1, loan);
+        }
+    }
+
+    private void advanceIfNewDay() {
+        long today = clock.today().toEpochDay();
+        if (today > advancedToDay) {
+            lock.lock();
+            try {
+                advance(today);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Must be called with the lock held
+    private void advance(long today) {
+        List<Transaction> becameOverdue = overdueTimers.advanceTo(today);
+        for (Transaction loan : becameOverdue) {
+            overdueLoans.add(loan.getTransactionId());
+            countsFor(loan.getMemberId()).overdue.incrementAndGet();
+        }
+        advancedToDay = Math.max(advancedToDay, today);
+    }
+
+    private static final class MemberCounts {
+        private final AtomicInteger openLoans = new AtomicInteger();
+        private final AtomicInteger overdue = new AtomicInteger();
+    }
+}
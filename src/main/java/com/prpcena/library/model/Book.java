@@ -19,6 +19,7 @@ public final class Book { // Made final
     private int availableCopies; // This field makes the Book object mutable if changed directly.
                                  // Consider if this belongs here or in an inventory management class.
                                  // For now, we'll keep it simple.
+    private long version; // Bumped by the repository on every save; 0 until first saved
 
     public Book(String title, Author author, String isbn, String genre, Year publicationYear, int initialCopies) {
         if (title == null || title.trim().isEmpty()) {
@@ -68,6 +69,27 @@ public final class Book { // Made final
         return availableCopies;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set by repositories when the book is saved.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return A separate instance with the same details, copies and version,
+     *         for read-modify-write updates that should not touch the stored book.
+     */
+    public Book copy() {
+        Book copy = new Book(title, author, isbn, genre, publicationYear, availableCopies);
+        copy.version = version;
+        return copy;
+    }
+
     // Methods to manage copies (these make the Book object mutable regarding
     // copies)
     public void decreaseAvailableCopies() {
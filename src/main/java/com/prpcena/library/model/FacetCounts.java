@@ -0,0 +1,103 @@
+// src/main/java/com/prpcena/library/model/FacetCounts.java
+package com.prpcena.library.model;
+
+import java.time.Year;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Number of books per genre, per publication decade and per author for a set
+ * of books (either the whole catalog or a search result).
+ * This class is immutable; the maps are sorted by key for stable display.
+ */
+public final class FacetCounts {
+    private final Map<String, Integer> genreCounts;
+    private final Map<Integer, Integer> decadeCounts; // Keyed by the first year of the decade, e.g. 1990
+    private final Map<String, Integer> authorCounts; // Keyed by Author.getFullName()
+    private final int totalBooks;
+
+    public FacetCounts(Map<String, Integer> genreCounts, Map<Integer, Integer> decadeCounts,
+            Map<String, Integer> authorCounts, int totalBooks) {
+        this.genreCounts = Collections.unmodifiableMap(new TreeMap<>(Objects.requireNonNull(genreCounts)));
+        this.decadeCounts = Collections.unmodifiableMap(new TreeMap<>(Objects.requireNonNull(decadeCounts)));
+        this.authorCounts = Collections.unmodifiableMap(new TreeMap<>(Objects.requireNonNull(authorCounts)));
+        this.totalBooks = totalBooks;
+    }
+
+    /**
+     * Computes facet counts by grouping the given books directly.
+     * This is the fallback used when no precomputed index is available.
+     *
+     * @param books The books to aggregate.
+     * @return The facet counts for those books.
+     */
+    public static FacetCounts of(Collection<Book> books) {
+        Map<String, Integer> genres = new TreeMap<>();
+        Map<Integer, Integer> decades = new TreeMap<>();
+        Map<String, Integer> authors = new TreeMap<>();
+        for (Book book : books) {
+            if (book.getGenre() != null) {
+                genres.merge(book.getGenre(), 1, Integer::sum);
+            }
+            if (book.getPublicationYear() != null) {
+                decades.merge(decadeOf(book.getPublicationYear()), 1, Integer::sum);
+            }
+            authors.merge(book.getAuthor().getFullName(), 1, Integer::sum);
+        }
+        return new FacetCounts(genres, decades, authors, books.size());
+    }
+
+    /**
+     * Returns the decade a year belongs to, e.g. 1994 -> 1990.
+     */
+    public static int decadeOf(Year year) {
+        return Math.floorDiv(year.getValue(), 10) * 10;
+    }
+
+    public Map<String, Integer> getGenreCounts() {
+        return genreCounts;
+    }
+
+    public Map<Integer, Integer> getDecadeCounts() {
+        return decadeCounts;
+    }
+
+    public Map<String, Integer> getAuthorCounts() {
+        return authorCounts;
+    }
+
+    public int getTotalBooks() {
+        return totalBooks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        FacetCounts that = (FacetCounts) o;
+        return totalBooks == that.totalBooks &&
+                genreCounts.equals(that.genreCounts) &&
+                decadeCounts.equals(that.decadeCounts) &&
+                authorCounts.equals(that.authorCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genreCounts, decadeCounts, authorCounts, totalBooks);
+    }
+
+    @Override
+    public String toString() {
+        return "FacetCounts{" +
+                "totalBooks=" + totalBooks +
+                ", genres=" + genreCounts +
+                ", decades=" + decadeCounts +
+                ", authors=" + authorCounts +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+// src/main/java/com/prpcena/library/model/Hold.java
+package com.prpcena.library.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A member's reservation of a book that had no copies available.
+ * Holds for the same ISBN are served first come, first served.
+ */
+public class Hold {
+    private final String holdId;
+    private final String bookIsbn;
+    private final String memberId;
+    private final LocalDateTime placedDateTime;
+    private HoldStatus status;
+    private LocalDateTime readyDateTime; // When a copy was set aside for the member
+
+    // Constructor for a new hold placed at a time read from the caller's clock
+    public Hold(String bookIsbn, String memberId, LocalDateTime placedDateTime) {
+        this.holdId = UUID.randomUUID().toString();
+        this.bookIsbn = Objects.requireNonNull(bookIsbn, "Book ISBN cannot be null");
+        this.memberId = Objects.requireNonNull(memberId, "Member ID cannot be null");
+        this.placedDateTime = Objects.requireNonNull(placedDateTime, "Placed date-time cannot be null");
+        this.status = HoldStatus.WAITING;
+    }
+
+    // Constructor for loading from persistence
+    public Hold(String holdId, String bookIsbn, String memberId, LocalDateTime placedDateTime, HoldStatus status,
+            LocalDateTime readyDateTime) {
+        this.holdId = Objects.requireNonNull(holdId);
+        this.bookIsbn = Objects.requireNonNull(bookIsbn);
+        this.memberId = Objects.requireNonNull(memberId);
+        this.placedDateTime = Objects.requireNonNull(placedDateTime);
+        this.status = Objects.requireNonNull(status);
+        this.readyDateTime = readyDateTime;
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public String getBookIsbn() {
+        return bookIsbn;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public LocalDateTime getPlacedDateTime() {
+        return placedDateTime;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getReadyDateTime() {
+        return readyDateTime;
+    }
+
+    /**
+     * @return true while the hold is waiting or has a copy set aside.
+     */
+    public boolean isActive() {
+        return status == HoldStatus.WAITING || status == HoldStatus.READY_FOR_PICKUP;
+    }
+
+    public void markReadyForPickup(LocalDateTime readyDateTime) {
+        this.status = HoldStatus.READY_FOR_PICKUP;
+        this.readyDateTime = readyDateTime;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = Objects.requireNonNull(status, "Hold status cannot be null");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        Hold hold = (Hold) o;
+        return Objects.equals(holdId, hold.holdId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(holdId);
+    }
+
+    @Override
+    public String toString() {
+        return "Hold{" +
+                "holdId='" + holdId + '\'' +
+                ", bookIsbn='" + bookIsbn + '\'' +
+                ", memberId='" + memberId + '\'' +
+                ", placedDateTime=" + placedDateTime +
+                ", status=" + status +
+                ", readyDateTime=" + readyDateTime +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/prpcena/library/model/HoldStatus.java
+package com.prpcena.library.model;
+
+public enum HoldStatus {
+    WAITING,          // In the book's wait-list
+    READY_FOR_PICKUP, // A returned copy has been set aside for the member
+    FULFILLED,        // The member borrowed the set-aside copy
+    CANCELLED,
+    EXPIRED           // The set-aside copy was not collected before the pickup deadline
+}
@@ -11,6 +11,8 @@ public class Member {
     private final String memberId; // Immutable unique ID
     private String name;
     private String contactInfo; // e.g., email or phone
+    private MemberTier tier = MemberTier.STANDARD; // Decides the borrowing limits
+    private long version; // Bumped by the repository on every save; 0 until first saved
 
     public Member(String name, String contactInfo) {
         if (name == null || name.trim().isEmpty()) {
@@ -21,6 +23,28 @@ public class Member {
         this.contactInfo = contactInfo;
     }
 
+    // Constructor for loading a stored member, keeping its ID
+    public Member(String memberId, String name, String contactInfo, MemberTier tier) {
+        if (memberId == null || memberId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Member ID cannot be null or empty.");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Member name cannot be null or empty.");
+        }
+        this.memberId = memberId;
+        this.name = name;
+        this.contactInfo = contactInfo;
+        setTier(tier);
+    }
+
+    private Member(Member other) {
+        this.memberId = other.memberId;
+        this.name = other.name;
+        this.contactInfo = other.contactInfo;
+        this.tier = other.tier;
+        this.version = other.version;
+    }
+
     // Getters
     public String getMemberId() {
         return memberId;
@@ -34,6 +58,29 @@ public class Member {
         return contactInfo;
     }
 
+    public MemberTier getTier() {
+        return tier;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set by repositories when the member is saved.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return A separate instance with the same ID, details and version, for
+     *         read-modify-write updates that should not touch the stored member.
+     */
+    public Member copy() {
+        return new Member(this);
+    }
+
     // Setters for mutable fields
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
@@ -46,12 +93,17 @@ public class Member {
         this.contactInfo = contactInfo;
     }
 
+    public void setTier(MemberTier tier) {
+        this.tier = Objects.requireNonNull(tier, "Member tier cannot be null.");
+    }
+
     @Override
     public String toString() {
         return "Member{" +
                 "memberId='" + memberId + '\'' +
                 ", name='" + name + '\'' +
                 ", contactInfo='" + contactInfo + '\'' +
+                ", tier=" + tier +
                 '}';
     }
 
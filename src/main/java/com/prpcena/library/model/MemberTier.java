@@ -0,0 +1,8 @@
+// src/main/java/com/prpcena/library/model/MemberTier.java
+package com.prpcena.library.model;
+
+public enum MemberTier {
+    STANDARD, // Default for newly registered members
+    PREMIUM,
+    STAFF
+}
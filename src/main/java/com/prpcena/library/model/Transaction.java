@@ -15,13 +15,13 @@ public class Transaction {
     private LocalDate dueDate; // Applicable for BORROW transactions
     private LocalDateTime returnDateTime; // Applicable when a BORROW transaction is completed by a RETURN
 
-    // Constructor for a new BORROW transaction
-    public Transaction(String bookIsbn, String memberId, LocalDate dueDate) {
+    // Constructor for a new BORROW transaction made at a time read from the caller's clock
+    public Transaction(String bookIsbn, String memberId, LocalDate dueDate, LocalDateTime borrowedAt) {
         this.transactionId = UUID.randomUUID().toString();
         this.bookIsbn = Objects.requireNonNull(bookIsbn, "Book ISBN cannot be null");
         this.memberId = Objects.requireNonNull(memberId, "Member ID cannot be null");
         this.type = TransactionType.BORROW;
-        this.transactionDateTime = LocalDateTime.now();
+        this.transactionDateTime = Objects.requireNonNull(borrowedAt, "Borrow time cannot be null");
         this.dueDate = Objects.requireNonNull(dueDate, "Due date cannot be null for a borrow transaction");
     }
 
@@ -75,14 +75,26 @@ public class Transaction {
         this.returnDateTime = returnDateTime;
     }
 
-    public boolean isOverdue() {
+    /**
+     * Checks whether the loan is overdue on the given day, read from the
+     * caller's clock.
+     */
+    public boolean isOverdue(LocalDate today) {
         // A book is overdue if it was a BORROW transaction, it hasn't been returned
         // yet,
         // and the current date is past the due date.
         return this.type == TransactionType.BORROW &&
                 this.returnDateTime == null &&
                 this.dueDate != null &&
-                LocalDate.now().isAfter(this.dueDate);
+                today.isAfter(this.dueDate);
+    }
+
+    /**
+     * @return A separate instance with the same details, e.g. a snapshot to
+     *         write later that a subsequent return must not change.
+     */
+    public Transaction copy() {
+        return new Transaction(transactionId, bookIsbn, memberId, type, transactionDateTime, dueDate, returnDateTime);
     }
 
     @Override
@@ -110,7 +122,6 @@ public class Transaction {
                 ", transactionDateTime=" + transactionDateTime +
                 ", dueDate=" + dueDate +
                 ", returnDateTime=" + returnDateTime +
-                ", overdue=" + (dueDate != null ? isOverdue() : "N/A") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+// src/main/java/com/prpcena/library/notification/FileNotifier.java
+package com.prpcena.library.notification;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends notices to a text file, one line each. A whole batch is written
+ * with a single open and flush.
+ */
+public class FileNotifier implements Notifier {
+    private static final Logger logger = LoggerFactory.getLogger(FileNotifier.class);
+    private final Path file;
+
+    public FileNotifier(Path file) {
+        this.file = Objects.requireNonNull(file, "Notification file cannot be null.");
+    }
+
+    @Override
+    public void deliver(List<OverdueNotice> notices) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OverdueNotice notice : notices) {
+                    writer.write(notice.toMessage());
+                    writer.newLine();
+                }
+            }
+            logger.info("Wrote {} overdue notices to {}", notices.size(), file);
+        } catch (IOException e) {
+            throw new NotificationException("Failed to write notices to " + file, e);
+        }
+    }
+}
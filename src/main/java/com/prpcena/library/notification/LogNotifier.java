@@ -0,0 +1,22 @@
+// src/main/java/com/prpcena/library/notification/LogNotifier.java
+package com.prpcena.library.notification;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes notices to the application log; the default sink when running locally.
+ */
+public class LogNotifier implements Notifier {
+    private static final Logger logger = LoggerFactory.getLogger(LogNotifier.class);
+
+    @Override
+    public void deliver(List<OverdueNotice> notices) {
+        logger.info("Delivering {} overdue notices", notices.size());
+        for (OverdueNotice notice : notices) {
+            logger.info("{}", notice.toMessage());
+        }
+    }
+}
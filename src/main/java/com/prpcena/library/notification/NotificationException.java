@@ -0,0 +1,8 @@
+// src/main/java/com/prpcena/library/notification/NotificationException.java
+package com.prpcena.library.notification;
+
+public class NotificationException extends RuntimeException {
+    public NotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
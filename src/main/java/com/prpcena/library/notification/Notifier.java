@@ -0,0 +1,19 @@
+// src/main/java/com/prpcena/library/notification/Notifier.java
+package com.prpcena.library.notification;
+
+import java.util.List;
+
+/**
+ * Delivers overdue notices, e.g. by e-mail, to a file or to the log.
+ */
+public interface Notifier {
+
+    /**
+     * Delivers one batch of notices. Called once per day boundary with all
+     * notices that became due that day.
+     *
+     * @param notices The notices, never empty.
+     * @throws NotificationException if the batch could not be delivered.
+     */
+    void deliver(List<OverdueNotice> notices);
+}
@@ -0,0 +1,88 @@
+// src/main/java/com/prpcena/library/notification/OverdueNotice.java
+package com.prpcena.library.notification;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.prpcena.library.model.Transaction;
+
+/**
+ * A reminder about one loan, raised by {@link OverdueScheduler}.
+ * This class is immutable.
+ */
+public final class OverdueNotice {
+
+    public enum Type {
+        DUE_SOON,
+        OVERDUE
+    }
+
+    private final Type type;
+    private final String transactionId;
+    private final String memberId;
+    private final String bookIsbn;
+    private final LocalDate dueDate;
+
+    public OverdueNotice(Type type, Transaction loan) {
+        this.type = Objects.requireNonNull(type, "Notice type cannot be null");
+        this.transactionId = loan.getTransactionId();
+        this.memberId = loan.getMemberId();
+        this.bookIsbn = loan.getBookIsbn();
+        this.dueDate = loan.getDueDate();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getBookIsbn() {
+        return bookIsbn;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * @return A one-line, human-readable form of the notice.
+     */
+    public String toMessage() {
+        return (type == Type.DUE_SOON ? "Due soon: " : "OVERDUE: ") + "book ISBN " + bookIsbn
+                + " borrowed by member ID " + memberId + (type == Type.DUE_SOON ? " is due " : " was due ")
+                + dueDate + " (transaction " + transactionId + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        OverdueNotice that = (OverdueNotice) o;
+        return type == that.type && Objects.equals(transactionId, that.transactionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, transactionId);
+    }
+
+    @Override
+    public String toString() {
+        return "OverdueNotice{" +
+                "type=" + type +
+                ", transactionId='" + transactionId + '\'' +
+                ", memberId='" + memberId + '\'' +
+                ", bookIsbn='" + bookIsbn + '\'' +
+                ", dueDate=" + dueDate +
+                '}';
+    }
+}
@@ -0,0 +1,196 @@
+// src/main/java/com/prpcena/library/notification/OverdueScheduler.java
+package com.prpcena.library.notification;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.CirculationListener;
+import com.prpcena.library.util.LibraryClock;
+import com.prpcena.library.util.TimingWheel;
+
+/**
+ * Raises due-soon and overdue notices for open loans without scanning them.
+ * <p>
+ * Each loan gets two timers in a {@link TimingWheel} keyed by epoch day: one
+ * {@code dueSoonDays} before its due date and one on the first day it is
+ * overdue. Returning the loan cancels both. Once per day boundary the wheel
+ * is advanced and everything that fired is handed to the {@link Notifier} as
+ * one batch, so the work per day depends on the loans expiring that day.
+ * <p>
+ * Register it with
+ * {@link com.prpcena.library.service.LibraryServiceImpl#addCirculationListener}
+ * and seed it with {@link #trackAll} for loans that already exist.
+ */
+public class OverdueScheduler implements CirculationListener, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OverdueScheduler.class);
+
+    private final Notifier notifier;
+    private final int dueSoonDays;
+    private final LibraryClock clock;
+    private final TimingWheel<TimerKey, OverdueNotice> wheel;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param notifier    Where notice batches are delivered.
+     * @param dueSoonDays How many days before the due date to send a reminder; 0 disables reminders.
+     * @param clock       The clock days are read from; notices for days before its current day fire on the first tick.
+     */
+    public OverdueScheduler(Notifier notifier, int dueSoonDays, LibraryClock clock) {
+        if (dueSoonDays < 0) {
+            throw new IllegalArgumentException("Due-soon days cannot be negative.");
+        }
+        this.notifier = Objects.requireNonNull(notifier, "Notifier cannot be null.");
+        this.dueSoonDays = dueSoonDays;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.wheel = new TimingWheel<>(clock.today().toEpochDay());
+    }
+
+    @Override
+    public void onBorrowed(Transaction loan) {
+        track(loan);
+    }
+
+    @Override
+    public void onReturned(Transaction loan) {
+        synchronized (wheel) {
+            wheel.cancel(new TimerKey(loan.getTransactionId(), OverdueNotice.Type.DUE_SOON));
+            wheel.cancel(new TimerKey(loan.getTransactionId(), OverdueNotice.Type.OVERDUE));
+        }
+    }
+
+    /**
+     * Starts tracking existing open loans, e.g. at startup.
+     *
+     * @param openLoans The open borrow transactions.
+     */
+    public void trackAll(Collection<Transaction> openLoans) {
+        openLoans.forEach(this::track);
+        logger.info("Tracking {} open loans for overdue notices", openLoans.size());
+    }
+
+    private void track(Transaction loan) {
+        if (loan.getDueDate() == null || loan.getReturnDateTime() != null) {
+            return;
+        }
+        long dueDay = loan.getDueDate().toEpochDay();
+        synchronized (wheel) {
+            if (dueSoonDays > 0 && dueDay - dueSoonDays > wheel.getCurrentTick()) {
+                wheel.schedule(new TimerKey(loan.getTransactionId(), OverdueNotice.Type.DUE_SOON),
+                        dueDay - dueSoonDays, new OverdueNotice(OverdueNotice.Type.DUE_SOON, loan));
+            }
+            // Overdue from the day after the due date, matching Transaction.isOverdue(LocalDate)
+            wheel.schedule(new TimerKey(loan.getTransactionId(), OverdueNotice.Type.OVERDUE),
+                    dueDay + 1, new OverdueNotice(OverdueNotice.Type.OVERDUE, loan));
+        }
+    }
+
+    /**
+     * Advances to the given day and delivers the notices that became due, as
+     * one batch. Normally called by the background thread started with
+     * {@link #start()}.
+     *
+     * @param today The current day.
+     * @return The notices that fired.
+     */
+    public List<OverdueNotice> tick(LocalDate today) {
+        List<OverdueNotice> fired;
+        synchronized (wheel) {
+            fired = wheel.advanceTo(today.toEpochDay());
+        }
+        if (!fired.isEmpty()) {
+            try {
+                notifier.deliver(fired);
+            } catch (RuntimeException e) {
+                logger.error("Failed to deliver {} overdue notices for {}", fired.size(), today, e);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * @return The number of pending due-soon and overdue timers.
+     */
+    public int getPendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Starts a daemon thread that ticks once now and then just after each
+     * midnight.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::tickAndReschedule);
+        logger.info("Overdue scheduler started");
+    }
+
+    // Rescheduled each day rather than at a fixed rate so days of 23 or 25 hours don't drift
+    private void tickAndReschedule() {
+        try {
+            tick(clock.today());
+        } catch (RuntimeException e) {
+            logger.error("Overdue scheduler tick failed", e);
+        }
+        LocalDateTime now = clock.now();
+        long delayMillis = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis() + 1;
+        synchronized (this) {
+            if (executor != null) {
+                executor.schedule(this::tickAndReschedule, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            logger.info("Overdue scheduler stopped");
+        }
+    }
+
+    private static final class TimerKey {
+        private final String transactionId;
+        private final OverdueNotice.Type type;
+
+        private TimerKey(String transactionId, OverdueNotice.Type type) {
+            this.transactionId = transactionId;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            TimerKey that = (TimerKey) o;
+            return transactionId.equals(that.transactionId) && type == that.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(transactionId, type);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+// src/main/java/com/prpcena/library/recommend/AlsoBorrowedRecommender.java
+package com.prpcena.library.recommend;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.CirculationListener;
+
+/**
+ * "Members who borrowed this also borrowed" suggestions, from co-occurrence
+ * counts kept up to date as books are borrowed.
+ * <p>
+ * ISBNs are mapped to int surrogates. Each book keeps at most
+ * {@code neighborCapacity} neighbours in parallel int arrays, sorted by
+ * count, so {@link #recommend} just copies the head of the list. When a book
+ * with a full list gains a new neighbour, the weakest neighbour's count is
+ * decayed by one, and the newcomer takes its place once it is down to one
+ * (as in Misra-Gries). Occasional pairs therefore churn through the tail
+ * while frequent pairs keep their place, and memory stays bounded. Each
+ * member's last {@code historyLength} distinct books are remembered, and a
+ * borrow is paired with those only, so an update costs O(historyLength)
+ * rather than O(member's whole history).
+ * <p>
+ * A book removed from the catalog is dropped from every neighbour list and
+ * is not paired again until it is borrowed again, so it is never suggested.
+ * <p>
+ * Register it with
+ * {@link com.prpcena.library.service.LibraryServiceImpl#addCirculationListener}
+ * and seed it with {@link #recordAll}. Thread-safe.
+ */
+public class AlsoBorrowedRecommender implements CirculationListener {
+    private static final Logger logger = LoggerFactory.getLogger(AlsoBorrowedRecommender.class);
+
+    private final int neighborCapacity;
+    private final int historyLength;
+    private final Map<String, Integer> idsByIsbn = new HashMap<>();
+    private final List<String> isbnsById = new ArrayList<>();
+    private final List<Neighbors> neighborsById = new ArrayList<>();
+    private final Map<String, MemberHistory> historyByMember = new HashMap<>();
+    private final BitSet removed = new BitSet(); // Books removed from the catalog, by ID
+
+    /**
+     * @param neighborCapacity The most neighbours kept per book; also the most {@link #recommend} can return.
+     * @param historyLength    How many of each member's most recent distinct books new borrows are paired with.
+     */
+    public AlsoBorrowedRecommender(int neighborCapacity, int historyLength) {
+        if (neighborCapacity <= 0 || historyLength <= 0) {
+            throw new IllegalArgumentException("Neighbour capacity and history length must be positive.");
+        }
+        this.neighborCapacity = neighborCapacity;
+        this.historyLength = historyLength;
+    }
+
+    @Override
+    public void onBorrowed(Transaction loan) {
+        record(loan.getMemberId(), loan.getBookIsbn());
+    }
+
+    @Override
+    public synchronized void onBookRemoved(String isbn) {
+        Integer book = idsByIsbn.get(isbn);
+        if (book == null) {
+            return;
+        }
+        removed.set(book);
+        neighborsById.get(book).clear();
+        for (Neighbors neighbors : neighborsById) {
+            neighbors.remove(book);
+        }
+    }
+
+    /**
+     * Records existing history, e.g. at startup, in borrow order.
+     *
+     * @param transactions Borrow transactions, open or returned.
+     */
+    public void recordAll(Collection<Transaction> transactions) {
+        List<Transaction> ordered = new ArrayList<>(transactions);
+        ordered.sort(Comparator.comparing(Transaction::getTransactionDateTime));
+        for (Transaction transaction : ordered) {
+            record(transaction.getMemberId(), transaction.getBookIsbn());
+        }
+        logger.info("Recorded {} borrows for recommendations across {} books", ordered.size(), isbnsById.size());
+    }
+
+    private synchronized void record(String memberId, String isbn) {
+        int book = idOf(isbn);
+        removed.clear(book); // Borrowed, so back in the catalog
+        MemberHistory history = historyByMember.computeIfAbsent(memberId, id -> new MemberHistory(historyLength));
+        if (history.contains(book)) {
+            return; // Borrowing the same book again says nothing new
+        }
+        for (int i = 0; i < history.size; i++) {
+            int other = history.books[i];
+            if (removed.get(other)) {
+                continue;
+            }
+            neighborsById.get(book).increment(other);
+            neighborsById.get(other).increment(book);
+        }
+        history.add(book);
+    }
+
+    /**
+     * @param isbn The ISBN of the book.
+     * @param k    The number of suggestions wanted.
+     * @return Up to k ISBNs most often borrowed by members who borrowed this book, strongest first.
+     */
+    public synchronized List<String> recommend(String isbn, int k) {
+        Integer book = idsByIsbn.get(isbn);
+        if (book == null || k <= 0) {
+            return List.of();
+        }
+        Neighbors neighbors = neighborsById.get(book);
+        int count = Math.min(k, neighbors.size);
+        List<String> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(isbnsById.get(neighbors.ids[i]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return The number of distinct books seen.
+     */
+    public synchronized int getBookCount() {
+        return isbnsById.size();
+    }
+
+    // Must be called while synchronized
+    private int idOf(String isbn) {
+        Integer id = idsByIsbn.get(isbn);
+        if (id == null) {
+            id = isbnsById.size();
+            idsByIsbn.put(isbn, id);
+            isbnsById.add(isbn);
+            neighborsById.add(new Neighbors(neighborCapacity));
+        }
+        return id;
+    }
+
+    /**
+     * One book's strongest neighbours, sorted by count, strongest first.
+     */
+    private static final class Neighbors {
+        private final int[] ids;
+        private final int[] counts;
+        private int size;
+
+        private Neighbors(int capacity) {
+            this.ids = new int[capacity];
+            this.counts = new int[capacity];
+        }
+
+        private void increment(int neighbor) {
+            int index = indexOf(neighbor);
+            if (index < 0) {
+                if (size < ids.length) {
+                    index = size++;
+                    ids[index] = neighbor;
+                    counts[index] = 0;
+                } else if (counts[size - 1] <= 1) {
+                    index = size - 1; // The weakest is no stronger than the newcomer
+                    ids[index] = neighbor;
+                    counts[index] = 0;
+                } else {
+                    counts[size - 1]--; // Decay the weakest; it stays last
+                    return;
+                }
+            }
+            counts[index]++;
+            // Move up past weaker neighbours to keep the arrays sorted
+            while (index > 0 && counts[index - 1] < counts[index]) {
+                swap(index - 1, index);
+                index--;
+            }
+        }
+
+        private void remove(int neighbor) {
+            int index = indexOf(neighbor);
+            if (index >= 0) {
+                size--;
+                System.arraycopy(ids, index + 1, ids, index, size - index);
+                System.arraycopy(counts, index + 1, counts, index, size - index);
+            }
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private int indexOf(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == neighbor) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+        }
+    }
+
+    /**
+     * A member's most recent distinct books, oldest dropped first.
+     */
+    private static final class MemberHistory {
+        private final int[] books;
+        private int size;
+
+        private MemberHistory(int capacity) {
+            this.books = new int[capacity];
+        }
+
+        private boolean contains(int book) {
+            for (int i = 0; i < size; i++) {
+                if (books[i] == book) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(int book) {
+            if (size == books.length) {
+                System.arraycopy(books, 1, books, 0, size - 1);
+                size--;
+            }
+            books[size++] = book;
+        }
+    }
+}
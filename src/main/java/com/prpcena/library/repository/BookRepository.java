@@ -1,10 +1,20 @@
 // src/main/java/com/yourusername/library/repository/BookRepository.java
 package com.prpcena.library.repository; // Adjust package name
 
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.repository.index.TermIndex;
+import com.prpcena.library.util.PhoneticEncoder;
 
 public interface BookRepository {
     /**
@@ -17,6 +27,17 @@ public interface BookRepository {
      */
     Book save(Book book);
 
+    /**
+     * Saves a book only if nobody else saved it since it was read. Writers of
+     * different books never wait on each other; a stale writer fails fast.
+     * 
+     * @param book            The updated book, typically a {@link Book#copy()} of the one read.
+     * @param expectedVersion The book's version when it was read; 0 for a new book.
+     * @return The saved book, carrying its new version.
+     * @throws com.prpcena.library.exception.VersionConflictException if the book was saved in between.
+     */
+    Book saveIfVersion(Book book, long expectedVersion);
+
     /**
      * Finds a book by its ISBN.
      * 
@@ -41,6 +62,120 @@ public interface BookRepository {
      */
     boolean deleteByIsbn(String isbn);
 
+    /**
+     * Finds several books by ISBN in one call.
+     * The default implementation calls {@link #findByIsbn(String)} per ISBN;
+     * implementations should override it to resolve the batch in one pass.
+     * 
+     * @param isbns The ISBNs to look up.
+     * @return A map from ISBN to book, in the order requested, containing only
+     *         the ISBNs that were found.
+     */
+    default Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        Map<String, Book> found = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            findByIsbn(isbn).ifPresent(book -> found.put(isbn, book));
+        }
+        return found;
+    }
+
+    /**
+     * Saves several books in one call.
+     * The default implementation calls {@link #save(Book)} per book;
+     * implementations should override it to write the batch at once.
+     * 
+     * @param books The books to save.
+     * @return The saved books.
+     */
+    default List<Book> saveAll(Collection<Book> books) {
+        List<Book> saved = new ArrayList<>(books.size());
+        for (Book book : books) {
+            saved.add(save(book));
+        }
+        return saved;
+    }
+
+    /**
+     * Finds books published between two years, both inclusive.
+     * The default implementation filters {@link #findAll()}; implementations
+     * that keep a sorted year index should override it.
+     * 
+     * @param from The first year of the range, or null for no lower bound.
+     * @param to   The last year of the range, or null for no upper bound.
+     * @return The matching books. If none match, an empty list is returned.
+     */
+    default List<Book> findByPublicationYearBetween(Year from, Year to) {
+        return findAll().stream()
+                .filter(book -> book.getPublicationYear() != null)
+                .filter(book -> from == null || !book.getPublicationYear().isBefore(from))
+                .filter(book -> to == null || !book.getPublicationYear().isAfter(to))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds books whose author's name sounds like the query, word by word (e.g.
+     * "Dostoevsky" matches "Dostoyevsky").
+     * The default implementation encodes every author in {@link #findAll()};
+     * implementations that keep a phonetic index should override it.
+     * 
+     * @param query The author name or names to match by sound.
+     * @return The matching books. If none match, an empty list is returned.
+     */
+    default List<Book> findByAuthorSoundingLike(String query) {
+        Set<String> codes = PhoneticEncoder.encodeWords(query);
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return findAll().stream()
+                .filter(book -> PhoneticEncoder.encodeName(book.getAuthor().getFirstName(),
+                        book.getAuthor().getLastName()).containsAll(codes))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds books where every query word is a prefix of a word in the title or
+     * the author's name, e.g. "lord ring" finds "The Lord of the Rings".
+     * The default implementation tokenizes every book in {@link #findAll()};
+     * implementations that keep a term index should override it.
+     * 
+     * @param query The keywords to match.
+     * @return The matching books. If none match, an empty list is returned.
+     */
+    default List<Book> findByKeywords(String query) {
+        List<String> words = TermIndex.tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        return findAll().stream()
+                .filter(book -> {
+                    List<String> bookWords = TermIndex.tokenize(book.getTitle() + " " + book.getAuthor().getFullName());
+                    return words.stream().allMatch(word -> bookWords.stream().anyMatch(w -> w.startsWith(word)));
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts books per genre, publication decade and author across the whole
+     * catalog.
+     * The default implementation groups the result of {@link #findAll()};
+     * implementations that maintain facet counters should override it.
+     * 
+     * @return The facet counts for all books.
+     */
+    default FacetCounts countFacets() {
+        return FacetCounts.of(findAll());
+    }
+
+    /**
+     * Counts books per genre, publication decade and author within a result set.
+     * 
+     * @param books The books to count, typically the result of a search.
+     * @return The facet counts for the given books.
+     */
+    default FacetCounts countFacets(Collection<Book> books) {
+        return FacetCounts.of(books);
+    }
+
     // (We'll add updateBook later if 'save' isn't sufficient, or make 'save'
     // smarter.
     // For now, 'save' can handle both add and update based on ISBN existence.
@@ -0,0 +1,80 @@
+// src/main/java/com/prpcena/library/repository/HoldRepository.java
+package com.prpcena.library.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.prpcena.library.model.Hold;
+
+public interface HoldRepository {
+    /**
+     * Saves a new hold or updates an existing one. A hold saved as WAITING for
+     * the first time joins the end of its book's wait-list; a hold saved with any
+     * other status leaves it.
+     *
+     * @param hold The hold to save.
+     * @return The saved hold.
+     */
+    Hold save(Hold hold);
+
+    Optional<Hold> findById(String holdId);
+
+    /**
+     * Finds every hold, in the order each was first saved, so saving them in
+     * this order into an empty repository rebuilds every wait-list.
+     *
+     * @return All holds, whatever their status.
+     */
+    List<Hold> findAll();
+
+    /**
+     * Finds a member's active (waiting or ready for pickup) hold on a book.
+     *
+     * @param memberId The ID of the member.
+     * @param bookIsbn The ISBN of the book.
+     * @return An Optional containing the active hold if found.
+     */
+    Optional<Hold> findActiveByMemberAndBook(String memberId, String bookIsbn);
+
+    /**
+     * Finds all active holds of a member.
+     *
+     * @param memberId The ID of the member.
+     * @return The member's waiting and ready holds.
+     */
+    List<Hold> findActiveByMemberId(String memberId);
+
+    /**
+     * Finds the hold at the front of a book's wait-list.
+     *
+     * @param bookIsbn The ISBN of the book.
+     * @return An Optional containing the longest-waiting hold, if any.
+     */
+    Optional<Hold> findNextWaiting(String bookIsbn);
+
+    /**
+     * Gets the position of a waiting hold in its book's wait-list.
+     *
+     * @param hold The hold.
+     * @return The 1-based position, or 0 if the hold is not waiting.
+     */
+    int getQueuePosition(Hold hold);
+
+    /**
+     * Finds holds whose copy was set aside before a given time and has not been
+     * collected, e.g. to expire them after the pickup window.
+     *
+     * @param cutoff Holds made ready before this time are returned.
+     * @return The ready holds, earliest set aside first.
+     */
+    List<Hold> findReadyForPickupBefore(LocalDateTime cutoff);
+
+    /**
+     * Counts the holds waiting for a book.
+     *
+     * @param bookIsbn The ISBN of the book.
+     * @return The length of the book's wait-list.
+     */
+    int countWaiting(String bookIsbn);
+}
@@ -0,0 +1,121 @@
+// src/main/java/com/prpcena/library/repository/HoldWaitList.java
+package com.prpcena.library.repository;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.prpcena.library.model.Hold;
+
+/**
+ * The FIFO wait-list of one book. Adding, removing (from any position) and
+ * peeking are O(1); a hold's position is O(log n).
+ * <p>
+ * Every hold gets a ticket number on arrival. Its position is its ticket minus
+ * the number of earlier tickets that have left the list, which a Fenwick tree
+ * over departed tickets answers without walking the list. Tickets restart from
+ * zero whenever the list empties. A list that never empties would keep
+ * issuing tickets, so when the ticket space fills up and at least half of it
+ * belongs to departed holds, the remaining holds are renumbered from zero
+ * instead of growing the tree; the space stays within twice the list's peak
+ * length and the renumbering is paid for by the departures that caused it.
+ * Not thread-safe; guarded by the repository's lock.
+ */
+final class HoldWaitList {
+    private final LinkedHashMap<String, Hold> holds = new LinkedHashMap<>(); // Hold ID -> hold, arrival order
+    private final Map<String, Integer> tickets = new LinkedHashMap<>();
+    private int nextTicket;
+    private boolean[] departed = new boolean[16];
+    private int[] departedTree = new int[17]; // 1-based Fenwick tree over departed
+
+    void add(Hold hold) {
+        if (nextTicket == departed.length) {
+            if (nextTicket - holds.size() >= departed.length / 2) {
+                compact();
+            } else {
+                grow();
+            }
+        }
+        tickets.put(hold.getHoldId(), nextTicket++);
+        holds.put(hold.getHoldId(), hold);
+    }
+
+    boolean remove(String holdId) {
+        Integer ticket = tickets.remove(holdId);
+        if (ticket == null) {
+            return false;
+        }
+        holds.remove(holdId);
+        if (holds.isEmpty()) {
+            reset();
+        } else {
+            departed[ticket] = true;
+            for (int i = ticket + 1; i < departedTree.length; i += i & -i) {
+                departedTree[i]++;
+            }
+        }
+        return true;
+    }
+
+    Hold peek() {
+        Iterator<Hold> it = holds.values().iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+
+    /**
+     * @return The 1-based position of the hold, or 0 if it is not in the list.
+     */
+    int positionOf(String holdId) {
+        Integer ticket = tickets.get(holdId);
+        if (ticket == null) {
+            return 0;
+        }
+        int departedBefore = 0;
+        for (int i = ticket; i > 0; i -= i & -i) {
+            departedBefore += departedTree[i];
+        }
+        return ticket - departedBefore + 1;
+    }
+
+    int size() {
+        return holds.size();
+    }
+
+    boolean isEmpty() {
+        return holds.isEmpty();
+    }
+
+    private void reset() {
+        nextTicket = 0;
+        Arrays.fill(departed, false);
+        Arrays.fill(departedTree, 0);
+    }
+
+    // Gives the waiting holds tickets 0..size-1 in arrival order, forgetting every departure, in O(n)
+    private void compact() {
+        int capacity = 16;
+        while (capacity < holds.size() * 2) {
+            capacity *= 2;
+        }
+        departed = new boolean[capacity];
+        departedTree = new int[capacity + 1];
+        nextTicket = 0;
+        for (Map.Entry<String, Integer> entry : tickets.entrySet()) {
+            entry.setValue(nextTicket++);
+        }
+    }
+
+    // Doubles the ticket space and rebuilds the tree in O(n)
+    private void grow() {
+        departed = Arrays.copyOf(departed, departed.length * 2);
+        departedTree = new int[departed.length + 1];
+        for (int i = 1; i < departedTree.length; i++) {
+            departedTree[i] += departed[i - 1] ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent < departedTree.length) {
+                departedTree[parent] += departedTree[i];
+            }
+        }
+    }
+}
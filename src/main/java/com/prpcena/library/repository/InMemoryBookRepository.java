@@ -1,41 +1,234 @@
 // src/main/java/com/yourusername/library/repository/InMemoryBookRepository.java
 package com.prpcena.library.repository; // Adjust package name
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Year;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional; // Preserves insertion order, good for findAll
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prpcena.library.exception.VersionConflictException;
 import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.repository.index.BookIndex;
+import com.prpcena.library.repository.index.CatalogStamp;
+import com.prpcena.library.repository.index.FacetIndex;
+import com.prpcena.library.repository.index.MappedSearchIndex;
+import com.prpcena.library.repository.index.PhoneticAuthorIndex;
+import com.prpcena.library.repository.index.PublicationYearIndex;
+import com.prpcena.library.repository.index.SearchIndexFile;
+import com.prpcena.library.repository.index.TermIndex;
 
+/**
+ * Keeps books in memory, with secondary indexes for searches and facet counts.
+ * <p>
+ * Each book is stored and versioned in its own map entry, so saves of
+ * different ISBNs don't wait on each other, and a version check and the write
+ * it guards happen as one step. The indexes are shared and guarded by one
+ * read-write lock, which only saves that change a book's searchable details
+ * (title, author, genre, year), new books and deletes take; copy-count
+ * updates skip it. Since the indexes may still hold an earlier instance of a
+ * book whose copy count changed, search results are resolved to the stored
+ * instance before they are returned.
+ * <p>
+ * Given a search index file, keyword indexing is held back while the catalog
+ * loads. {@link #openSearchIndex()} then memory-maps the file if its stamp
+ * matches the loaded catalog, so the term index only has to hold the books
+ * changed since, or else builds the term index and writes a fresh file.
+ */
 public class InMemoryBookRepository implements BookRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryBookRepository.class);
-    private final Map<String, Book> books = new LinkedHashMap<>();
-    // For basic thread safety if we were to simulate concurrent access later.
-    // For a simple CLI, this might be overkill, but good practice to think about.
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Batches at least this large, e.g. an import, update the indexes in parallel
+    private static final int PARALLEL_INDEX_THRESHOLD = 1024;
+    private static final long ANY_VERSION = -1;
+    private final ConcurrentMap<String, Entry> books = new ConcurrentHashMap<>();
+    private final AtomicLong insertions = new AtomicLong(); // Keeps findAll in insertion order
+    // Guards the secondary indexes; taken before any map entry is updated under it
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final FacetIndex facetIndex = new FacetIndex();
+    private final PublicationYearIndex yearIndex = new PublicationYearIndex();
+    private final PhoneticAuthorIndex phoneticAuthorIndex = new PhoneticAuthorIndex();
+    private final TermIndex termIndex = new TermIndex();
+    private final CatalogStamp catalogStamp = new CatalogStamp();
+    private final List<BookIndex> indexes = List.of(facetIndex, yearIndex, phoneticAuthorIndex, catalogStamp,
+            new KeywordIndex());
+    private final Path searchIndexFile; // Null unless keyword searches may start from a file
+    // Keyword index state, guarded by indexLock
+    private boolean termIndexDeferred; // Until openSearchIndex() picks between the file and a rebuild
+    private MappedSearchIndex mappedIndex; // Postings of the books not in changedSinceMapped, if the file was used
+    private final Set<String> changedSinceMapped = new HashSet<>(); // ISBNs indexed by termIndex instead
+
+    public InMemoryBookRepository() {
+        this(null);
+    }
+
+    /**
+     * A repository whose keyword index can be loaded from a file instead of
+     * being built; see {@link #openSearchIndex()}.
+     *
+     * @param searchIndexFile The search index file, or null to always build the index.
+     */
+    public InMemoryBookRepository(Path searchIndexFile) {
+        this.searchIndexFile = searchIndexFile;
+        this.termIndexDeferred = searchIndexFile != null;
+    }
+
+    // Sends keyword indexing to the term index, to nothing until openSearchIndex(), or, once the file is
+    // mapped, to the term index for just the books changed since; they are left out of the file's results
+    private final class KeywordIndex implements BookIndex {
+        @Override
+        public void onSave(Book previous, Book current) {
+            if (termIndexDeferred) {
+                return;
+            }
+            if (mappedIndex != null && changedSinceMapped.add(current.getIsbn())) {
+                previous = null; // Only in the file so far
+            }
+            termIndex.onSave(previous, current);
+        }
+
+        @Override
+        public void onDelete(Book removed) {
+            if (termIndexDeferred || (mappedIndex != null && changedSinceMapped.add(removed.getIsbn()))) {
+                return;
+            }
+            termIndex.onDelete(removed);
+        }
+    }
+
+    // A stored book with its committed version and the position it was first added at
+    private static final class Entry {
+        final Book book;
+        final long version;
+        final long insertion;
+
+        Entry(Book book, long version, long insertion) {
+            this.book = book;
+            this.version = version;
+            this.insertion = insertion;
+        }
+    }
 
     @Override
     public Book save(Book book) {
+        validate(book);
+        store(book, ANY_VERSION);
+        logger.info("Saved/Updated book with ISBN: {}", book.getIsbn());
+        return book;
+    }
+
+    @Override
+    public Book saveIfVersion(Book book, long expectedVersion) {
+        validate(book);
+        store(book, expectedVersion);
+        logger.info("Saved book with ISBN: {} at version {}", book.getIsbn(), book.getVersion());
+        return book;
+    }
+
+    private static void validate(Book book) {
         if (book == null || book.getIsbn() == null || book.getIsbn().trim().isEmpty()) {
             logger.error("Attempted to save a null book or book with null/empty ISBN.");
             throw new IllegalArgumentException("Book and ISBN cannot be null or empty.");
         }
-        lock.writeLock().lock();
+    }
+
+    private void store(Book book, long expectedVersion) {
+        Entry current = books.get(book.getIsbn());
+        if (current != null && sameIndexedDetails(current.book, book)) {
+            // Only the copy count or version changes: no index is affected
+            boolean[] stored = new boolean[1];
+            books.computeIfPresent(book.getIsbn(), (isbn, entry) -> {
+                if (!sameIndexedDetails(entry.book, book)) {
+                    return entry; // Changed in between; go through the indexes below
+                }
+                stored[0] = true;
+                return next(entry, book, expectedVersion);
+            });
+            if (stored[0]) {
+                return;
+            }
+        }
+        indexLock.writeLock().lock();
         try {
-            // This implementation will overwrite if ISBN exists, effectively handling
-            // updates.
-            books.put(book.getIsbn(), book);
-            logger.info("Saved/Updated book with ISBN: {}", book.getIsbn());
-            return book;
+            Book previous = replace(book, expectedVersion);
+            for (BookIndex index : indexes) {
+                index.onSave(previous, book);
+            }
         } finally {
-            lock.writeLock().unlock();
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // Stores the book and returns the one it replaced, or null
+    private Book replace(Book book, long expectedVersion) {
+        Book[] previous = new Book[1];
+        books.compute(book.getIsbn(), (isbn, entry) -> {
+            previous[0] = entry == null ? null : entry.book;
+            return next(entry, book, expectedVersion);
+        });
+        return previous[0];
+    }
+
+    // The entry replacing the stored one; throws, leaving it in place, if the expected version is stale
+    private Entry next(Entry stored, Book book, long expectedVersion) {
+        long storedVersion = stored == null ? 0 : stored.version;
+        if (expectedVersion != ANY_VERSION && expectedVersion != storedVersion) {
+            throw new VersionConflictException("Expected version " + expectedVersion + " of " + book.getIsbn()
+                    + " but found version " + storedVersion + ".");
+        }
+        book.setVersion(storedVersion + 1);
+        return new Entry(book, storedVersion + 1, stored == null ? insertions.incrementAndGet() : stored.insertion);
+    }
+
+    private static boolean sameIndexedDetails(Book a, Book b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getAuthor(), b.getAuthor())
+                && Objects.equals(a.getGenre(), b.getGenre())
+                && Objects.equals(a.getPublicationYear(), b.getPublicationYear());
+    }
+
+    @Override
+    public List<Book> saveAll(Collection<Book> booksToSave) {
+        for (Book book : booksToSave) {
+            if (book == null || book.getIsbn() == null || book.getIsbn().trim().isEmpty()) {
+                logger.error("Attempted to save a null book or book with null/empty ISBN in a batch.");
+                throw new IllegalArgumentException("Book and ISBN cannot be null or empty.");
+            }
+        }
+        indexLock.writeLock().lock();
+        try {
+            List<Book[]> changes = new ArrayList<>(booksToSave.size()); // Previous and current book
+            for (Book book : booksToSave) {
+                changes.add(new Book[] { replace(book, ANY_VERSION), book });
+            }
+            if (changes.size() >= PARALLEL_INDEX_THRESHOLD) {
+                // Indexes share no state, so each is brought up to date on its own thread
+                indexes.parallelStream().forEach(index -> changes.forEach(change -> index.onSave(change[0], change[1])));
+            } else {
+                changes.forEach(change -> indexes.forEach(index -> index.onSave(change[0], change[1])));
+            }
+            logger.info("Saved/Updated {} books in one batch", booksToSave.size());
+            return new ArrayList<>(booksToSave);
+        } finally {
+            indexLock.writeLock().unlock();
         }
     }
 
@@ -45,30 +238,36 @@ public class InMemoryBookRepository implements BookRepository {
             logger.warn("Attempted to find book with null or empty ISBN.");
             return Optional.empty();
         }
-        lock.readLock().lock();
-        try {
-            Book book = books.get(isbn);
+        Book book = stored(isbn);
+        if (book != null) {
+            logger.debug("Found book with ISBN: {}", isbn);
+        } else {
+            logger.debug("No book found with ISBN: {}", isbn);
+        }
+        return Optional.ofNullable(book);
+    }
+
+    @Override
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        Map<String, Book> found = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            Book book = isbn == null ? null : stored(isbn);
             if (book != null) {
-                logger.debug("Found book with ISBN: {}", isbn);
-            } else {
-                logger.debug("No book found with ISBN: {}", isbn);
+                found.put(isbn, book);
             }
-            return Optional.ofNullable(book);
-        } finally {
-            lock.readLock().unlock();
         }
+        logger.debug("Resolved {} of {} requested ISBNs", found.size(), isbns.size());
+        return found;
     }
 
     @Override
     public List<Book> findAll() {
-        lock.readLock().lock();
-        try {
-            logger.debug("Retrieving all books. Total count: {}", books.size());
-            // Return a copy to prevent external modification of the internal list
-            return new ArrayList<>(books.values());
-        } finally {
-            lock.readLock().unlock();
-        }
+        List<Entry> entries = new ArrayList<>(books.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.insertion));
+        logger.debug("Retrieving all books. Total count: {}", entries.size());
+        List<Book> all = new ArrayList<>(entries.size());
+        entries.forEach(entry -> all.add(entry.book));
+        return all;
     }
 
     @Override
@@ -77,10 +276,13 @@ public class InMemoryBookRepository implements BookRepository {
             logger.warn("Attempted to delete book with null or empty ISBN.");
             return false;
         }
-        lock.writeLock().lock();
+        indexLock.writeLock().lock();
         try {
-            Book removedBook = books.remove(isbn);
-            if (removedBook != null) {
+            Entry removed = books.remove(isbn);
+            if (removed != null) {
+                for (BookIndex index : indexes) {
+                    index.onDelete(removed.book);
+                }
                 logger.info("Deleted book with ISBN: {}", isbn);
                 return true;
             } else {
@@ -88,7 +290,184 @@ public class InMemoryBookRepository implements BookRepository {
                 return false;
             }
         } finally {
-            lock.writeLock().unlock();
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> findByPublicationYearBetween(Year from, Year to) {
+        indexLock.readLock().lock();
+        try {
+            List<Book> result = resolve(yearIndex.findBetween(from, to));
+            logger.debug("Found {} books published between {} and {}", result.size(), from, to);
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> findByAuthorSoundingLike(String query) {
+        indexLock.readLock().lock();
+        try {
+            List<Book> result = resolve(phoneticAuthorIndex.findBySound(query));
+            logger.debug("Found {} books with an author sounding like '{}'", result.size(), query);
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> findByKeywords(String query) {
+        indexLock.readLock().lock();
+        try {
+            List<Book> result = resolve(keywordMatches(query));
+            logger.debug("Found {} books matching keywords '{}'", result.size(), query);
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Called with the index lock held
+    private List<Book> keywordMatches(String query) {
+        if (termIndexDeferred) {
+            return BookRepository.super.findByKeywords(query); // Still loading; scans the catalog
+        }
+        if (mappedIndex == null) {
+            return termIndex.findByKeywords(query);
+        }
+        Map<String, Book> matches = new LinkedHashMap<>();
+        for (String isbn : mappedIndex.findIsbnsByKeywords(query)) {
+            Book book = changedSinceMapped.contains(isbn) ? null : stored(isbn);
+            if (book != null) {
+                matches.put(isbn, book);
+            }
+        }
+        for (Book book : termIndex.findByKeywords(query)) {
+            matches.put(book.getIsbn(), book);
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    private Book stored(String isbn) {
+        Entry entry = books.get(isbn);
+        return entry == null ? null : entry.book;
+    }
+
+    // Swaps the instances held by an index for the stored ones, which may have newer copy counts
+    private List<Book> resolve(List<Book> indexed) {
+        List<Book> result = new ArrayList<>(indexed.size());
+        for (Book book : indexed) {
+            Book current = stored(book.getIsbn());
+            result.add(current != null ? current : book);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the catalog version stamp of the searchable text (ISBNs, titles and
+     * authors). It is stable across restarts for the same catalog and changes
+     * whenever a search result could change.
+     */
+    public long getCatalogVersion() {
+        indexLock.readLock().lock();
+        try {
+            return catalogStamp.getVersion();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts serving keyword searches once the catalog has been loaded: from
+     * the search index file given to the constructor if it was written for
+     * the catalog as it now stands, or else from a term index built now, which
+     * is also written to the file for the next startup.
+     *
+     * @return true if the file was current and has been memory-mapped.
+     * @throws IllegalStateException if the repository was created without a search index file.
+     */
+    public boolean openSearchIndex() {
+        if (searchIndexFile == null) {
+            throw new IllegalStateException("This repository was created without a search index file.");
+        }
+        indexLock.writeLock().lock();
+        try {
+            if (!termIndexDeferred) {
+                return mappedIndex != null;
+            }
+            termIndexDeferred = false;
+            Optional<MappedSearchIndex> mapped = MappedSearchIndex.openIfCurrent(searchIndexFile,
+                    catalogStamp.getVersion());
+            if (mapped.isPresent()) {
+                mappedIndex = mapped.get();
+                logger.info("Keyword searches use the index in {} ({} books)", searchIndexFile,
+                        mappedIndex.getDocumentCount());
+                return true;
+            }
+            books.values().forEach(entry -> termIndex.onSave(null, entry.book));
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        try {
+            writeSearchIndex(searchIndexFile);
+        } catch (IOException e) {
+            logger.warn("Could not write search index {}; it will be rebuilt on the next startup", searchIndexFile, e);
+        }
+        return false;
+    }
+
+    /**
+     * Persists the title/author term index so it can be memory-mapped on the next
+     * startup with {@link com.prpcena.library.repository.index.MappedSearchIndex}.
+     * Skipped if it would rewrite the mapped file unchanged.
+     * 
+     * @param file The index file to write; it is replaced atomically.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeSearchIndex(Path file) throws IOException {
+        SortedMap<String, SortedSet<String>> postings;
+        long version;
+        indexLock.readLock().lock();
+        try {
+            if (mappedIndex != null && changedSinceMapped.isEmpty() && file.equals(searchIndexFile)) {
+                logger.debug("Search index {} is still current", file);
+                return;
+            }
+            if (termIndexDeferred || mappedIndex != null) {
+                // The term index holds only part of the catalog; index all of it for the file
+                TermIndex full = new TermIndex();
+                books.values().forEach(entry -> full.onSave(null, entry.book));
+                postings = full.snapshot();
+            } else {
+                postings = termIndex.snapshot();
+            }
+            version = catalogStamp.getVersion();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        SearchIndexFile.write(file, postings, version); // File I/O outside the lock
+    }
+
+    @Override
+    public FacetCounts countFacets() {
+        indexLock.readLock().lock();
+        try {
+            return facetIndex.countAll();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public FacetCounts countFacets(Collection<Book> books) {
+        indexLock.readLock().lock();
+        try {
+            return facetIndex.count(books);
+        } finally {
+            indexLock.readLock().unlock();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+// src/main/java/com/prpcena/library/repository/InMemoryHoldRepository.java
+package com.prpcena.library.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+
+public class InMemoryHoldRepository implements HoldRepository {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryHoldRepository.class);
+    private final Map<String, Hold> holds = new LinkedHashMap<>(); // In the order first saved
+    private final Map<String, HoldWaitList> waitLists = new HashMap<>(); // ISBN -> waiting holds
+    private final Map<String, Map<String, Hold>> activeByMember = new HashMap<>(); // member -> ISBN -> hold
+    private final Map<String, Hold> readyForPickup = new LinkedHashMap<>(); // Hold ID -> hold, copy set aside
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public Hold save(Hold hold) {
+        if (hold == null || hold.getHoldId() == null) {
+            logger.error("Attempted to save a null hold or hold with null ID.");
+            throw new IllegalArgumentException("Hold and Hold ID cannot be null.");
+        }
+        lock.writeLock().lock();
+        try {
+            holds.put(hold.getHoldId(), hold);
+            if (hold.getStatus() == HoldStatus.WAITING) {
+                HoldWaitList waitList = waitLists.computeIfAbsent(hold.getBookIsbn(), isbn -> new HoldWaitList());
+                if (waitList.positionOf(hold.getHoldId()) == 0) {
+                    waitList.add(hold);
+                }
+            } else {
+                HoldWaitList waitList = waitLists.get(hold.getBookIsbn());
+                if (waitList != null && waitList.remove(hold.getHoldId()) && waitList.isEmpty()) {
+                    waitLists.remove(hold.getBookIsbn());
+                }
+            }
+            if (hold.getStatus() == HoldStatus.READY_FOR_PICKUP) {
+                readyForPickup.put(hold.getHoldId(), hold);
+            } else {
+                readyForPickup.remove(hold.getHoldId());
+            }
+            if (hold.isActive()) {
+                activeByMember.computeIfAbsent(hold.getMemberId(), m -> new LinkedHashMap<>())
+                        .put(hold.getBookIsbn(), hold);
+            } else {
+                Map<String, Hold> memberHolds = activeByMember.get(hold.getMemberId());
+                if (memberHolds != null) {
+                    memberHolds.remove(hold.getBookIsbn(), hold);
+                    if (memberHolds.isEmpty()) {
+                        activeByMember.remove(hold.getMemberId());
+                    }
+                }
+            }
+            logger.info("Saved hold with ID: {} ({})", hold.getHoldId(), hold.getStatus());
+            return hold;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Hold> findById(String holdId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(holds.get(holdId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hold> findAll() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(holds.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Hold> findActiveByMemberAndBook(String memberId, String bookIsbn) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(activeByMember.getOrDefault(memberId, Collections.emptyMap()).get(bookIsbn));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hold> findActiveByMemberId(String memberId) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(activeByMember.getOrDefault(memberId, Collections.emptyMap()).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Hold> findNextWaiting(String bookIsbn) {
+        lock.readLock().lock();
+        try {
+            HoldWaitList waitList = waitLists.get(bookIsbn);
+            return waitList == null ? Optional.empty() : Optional.ofNullable(waitList.peek());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getQueuePosition(Hold hold) {
+        lock.readLock().lock();
+        try {
+            HoldWaitList waitList = waitLists.get(hold.getBookIsbn());
+            return waitList == null ? 0 : waitList.positionOf(hold.getHoldId());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hold> findReadyForPickupBefore(LocalDateTime cutoff) {
+        lock.readLock().lock();
+        try {
+            List<Hold> result = new ArrayList<>();
+            for (Hold hold : readyForPickup.values()) {
+                if (hold.getReadyDateTime() != null && hold.getReadyDateTime().isBefore(cutoff)) {
+                    result.add(hold);
+                }
+            }
+            result.sort(Comparator.comparing(Hold::getReadyDateTime));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countWaiting(String bookIsbn) {
+        lock.readLock().lock();
+        try {
+            HoldWaitList waitList = waitLists.get(bookIsbn);
+            return waitList == null ? 0 : waitList.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -2,37 +2,87 @@
 package com.prpcena.library.repository; // Adjust package name
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prpcena.library.exception.VersionConflictException;
 import com.prpcena.library.model.Member;
 
+/**
+ * Keeps members in memory. Each member is stored and versioned in its own
+ * map entry, so a version check and the write it guards happen as one step
+ * and saves of different members don't wait on each other.
+ */
 public class InMemoryMemberRepository implements MemberRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryMemberRepository.class);
-    private final Map<String, Member> members = new LinkedHashMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private static final long ANY_VERSION = -1;
+    private final ConcurrentMap<String, Entry> members = new ConcurrentHashMap<>();
+    private final AtomicLong insertions = new AtomicLong(); // Keeps findAll in insertion order
+
+    // A stored member with its committed version and the position it was first added at
+    private static final class Entry {
+        final Member member;
+        final long version;
+        final long insertion;
+
+        Entry(Member member, long version, long insertion) {
+            this.member = member;
+            this.version = version;
+            this.insertion = insertion;
+        }
+    }
 
     @Override
     public Member save(Member member) {
+        validate(member);
+        return store(member, ANY_VERSION);
+    }
+
+    @Override
+    public Member saveIfVersion(Member member, long expectedVersion) {
+        validate(member);
+        return store(member, expectedVersion);
+    }
+
+    @Override
+    public List<Member> saveAll(Collection<Member> membersToSave) {
+        membersToSave.forEach(InMemoryMemberRepository::validate);
+        for (Member member : membersToSave) {
+            store(member, ANY_VERSION);
+        }
+        logger.info("Saved/Updated {} members in one batch", membersToSave.size());
+        return new ArrayList<>(membersToSave);
+    }
+
+    private static void validate(Member member) {
         if (member == null || member.getMemberId() == null || member.getMemberId().trim().isEmpty()) {
             logger.error("Attempted to save a null member or member with null/empty ID.");
             throw new IllegalArgumentException("Member and Member ID cannot be null or empty.");
         }
-        lock.writeLock().lock();
-        try {
-            members.put(member.getMemberId(), member);
-            logger.info("Saved/Updated member with ID: {}", member.getMemberId());
-            return member;
-        } finally {
-            lock.writeLock().unlock();
-        }
+    }
+
+    // Throws, leaving the stored member in place, if the expected version is stale
+    private Member store(Member member, long expectedVersion) {
+        members.compute(member.getMemberId(), (memberId, stored) -> {
+            long storedVersion = stored == null ? 0 : stored.version;
+            if (expectedVersion != ANY_VERSION && expectedVersion != storedVersion) {
+                throw new VersionConflictException("Expected version " + expectedVersion + " of " + memberId
+                        + " but found version " + storedVersion + ".");
+            }
+            member.setVersion(storedVersion + 1);
+            return new Entry(member, storedVersion + 1,
+                    stored == null ? insertions.incrementAndGet() : stored.insertion);
+        });
+        logger.info("Saved/Updated member with ID: {} (version {})", member.getMemberId(), member.getVersion());
+        return member;
     }
 
     @Override
@@ -41,29 +91,23 @@ public class InMemoryMemberRepository implements MemberRepository {
             logger.warn("Attempted to find member with null or empty ID.");
             return Optional.empty();
         }
-        lock.readLock().lock();
-        try {
-            Member member = members.get(memberId);
-            if (member != null) {
-                logger.debug("Found member with ID: {}", memberId);
-            } else {
-                logger.debug("No member found with ID: {}", memberId);
-            }
-            return Optional.ofNullable(member);
-        } finally {
-            lock.readLock().unlock();
+        Entry entry = members.get(memberId);
+        if (entry != null) {
+            logger.debug("Found member with ID: {}", memberId);
+        } else {
+            logger.debug("No member found with ID: {}", memberId);
         }
+        return Optional.ofNullable(entry == null ? null : entry.member);
     }
 
     @Override
     public List<Member> findAll() {
-        lock.readLock().lock();
-        try {
-            logger.debug("Retrieving all members. Total count: {}", members.size());
-            return new ArrayList<>(members.values());
-        } finally {
-            lock.readLock().unlock();
-        }
+        List<Entry> entries = new ArrayList<>(members.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.insertion));
+        logger.debug("Retrieving all members. Total count: {}", entries.size());
+        List<Member> all = new ArrayList<>(entries.size());
+        entries.forEach(entry -> all.add(entry.member));
+        return all;
     }
 
     @Override
@@ -72,18 +116,12 @@ public class InMemoryMemberRepository implements MemberRepository {
             logger.warn("Attempted to delete member with null or empty ID.");
             return false;
         }
-        lock.writeLock().lock();
-        try {
-            Member removedMember = members.remove(memberId);
-            if (removedMember != null) {
-                logger.info("Deleted member with ID: {}", memberId);
-                return true;
-            } else {
-                logger.info("No member found with ID {} to delete.", memberId);
-                return false;
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (members.remove(memberId) != null) {
+            logger.info("Deleted member with ID: {}", memberId);
+            return true;
+        } else {
+            logger.info("No member found with ID {} to delete.", memberId);
+            return false;
         }
     }
 }
\ No newline at end of file
@@ -7,6 +7,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +21,11 @@ import java.util.stream.Collectors;
 public class InMemoryTransactionRepository implements TransactionRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryTransactionRepository.class);
     private final Map<String, Transaction> transactions = new LinkedHashMap<>();
+    // Secondary indexes so member lookups and open-loan checks don't scan the whole history.
+    // They reflect the state of each transaction as of its last save.
+    private final Map<String, Map<String, Transaction>> transactionsByMember = new HashMap<>();
+    private final Map<String, Map<String, Transaction>> openLoansByMember = new HashMap<>(); // member -> ISBN -> loan
+    private final Map<String, Transaction> openLoans = new LinkedHashMap<>(); // transaction ID -> loan
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     @Override
@@ -28,7 +36,7 @@ public class InMemoryTransactionRepository implements TransactionRepository {
         }
         lock.writeLock().lock();
         try {
-            transactions.put(transaction.getTransactionId(), transaction);
+            put(transaction);
             logger.info("Saved transaction with ID: {}", transaction.getTransactionId());
             return transaction;
         } finally {
@@ -36,6 +44,26 @@ public class InMemoryTransactionRepository implements TransactionRepository {
         }
     }
 
+    @Override
+    public List<Transaction> saveAll(Collection<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            if (transaction == null || transaction.getTransactionId() == null) {
+                logger.error("Attempted to save a null transaction or transaction with null ID in a batch.");
+                throw new IllegalArgumentException("Transaction and Transaction ID cannot be null.");
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Transaction transaction : batch) {
+                put(transaction);
+            }
+            logger.info("Saved {} transactions in one batch", batch.size());
+            return new ArrayList<>(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     @Override
     public Optional<Transaction> findById(String transactionId) {
         lock.readLock().lock();
@@ -60,9 +88,7 @@ public class InMemoryTransactionRepository implements TransactionRepository {
     public List<Transaction> findByMemberId(String memberId) {
         lock.readLock().lock();
         try {
-            return transactions.values().stream()
-                    .filter(t -> t.getMemberId().equals(memberId))
-                    .collect(Collectors.toList());
+            return new ArrayList<>(transactionsByMember.getOrDefault(memberId, Collections.emptyMap()).values());
         } finally {
             lock.readLock().unlock();
         }
@@ -84,12 +110,18 @@ public class InMemoryTransactionRepository implements TransactionRepository {
     public Optional<Transaction> findOpenBorrowTransactionByMemberAndBook(String memberId, String bookIsbn) {
         lock.readLock().lock();
         try {
-            return transactions.values().stream()
-                    .filter(t -> t.getType() == TransactionType.BORROW &&
-                            t.getMemberId().equals(memberId) &&
-                            t.getBookIsbn().equals(bookIsbn) &&
-                            t.getReturnDateTime() == null) // Check if not returned
-                    .findFirst(); // Assuming a member can only have one open loan for a specific book ISBN
+            // A member can only have one open loan for a specific book ISBN
+            return Optional.ofNullable(openLoansByMember.getOrDefault(memberId, Collections.emptyMap()).get(bookIsbn));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Transaction> findOpenBorrowTransactionsByMember(String memberId) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(openLoansByMember.getOrDefault(memberId, Collections.emptyMap()).values());
         } finally {
             lock.readLock().unlock();
         }
@@ -99,11 +131,30 @@ public class InMemoryTransactionRepository implements TransactionRepository {
     public List<Transaction> findAllOpenBorrowTransactions() {
         lock.readLock().lock();
         try {
-            return transactions.values().stream()
-                    .filter(t -> t.getType() == TransactionType.BORROW && t.getReturnDateTime() == null)
-                    .collect(Collectors.toList());
+            return new ArrayList<>(openLoans.values());
         } finally {
             lock.readLock().unlock();
         }
     }
-}
\ No newline at end of file
+
+    // Must be called with the write lock held
+    private void put(Transaction transaction) {
+        transactions.put(transaction.getTransactionId(), transaction);
+        transactionsByMember.computeIfAbsent(transaction.getMemberId(), m -> new LinkedHashMap<>())
+                .put(transaction.getTransactionId(), transaction);
+        boolean open = transaction.getType() == TransactionType.BORROW && transaction.getReturnDateTime() == null;
+        if (open) {
+            openLoans.put(transaction.getTransactionId(), transaction);
+            openLoansByMember.computeIfAbsent(transaction.getMemberId(), m -> new HashMap<>())
+                    .put(transaction.getBookIsbn(), transaction);
+        } else if (openLoans.remove(transaction.getTransactionId()) != null) {
+            Map<String, Transaction> memberLoans = openLoansByMember.get(transaction.getMemberId());
+            if (memberLoans != null) {
+                memberLoans.remove(transaction.getBookIsbn(), transaction);
+                if (memberLoans.isEmpty()) {
+                    openLoansByMember.remove(transaction.getMemberId());
+                }
+            }
+        }
+    }
+}
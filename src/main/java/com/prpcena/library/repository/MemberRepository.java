@@ -1,6 +1,8 @@
 // src/main/java/com/yourusername/library/repository/MemberRepository.java
 package com.prpcena.library.repository; // Adjust package name
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,33 @@ public interface MemberRepository {
      */
     Member save(Member member);
 
+    /**
+     * Saves a member only if nobody else saved it since it was read. Writers of
+     * different members never wait on each other; a stale writer fails fast.
+     * 
+     * @param member          The updated member, typically a {@link Member#copy()} of the one read.
+     * @param expectedVersion The member's version when it was read; 0 for a new member.
+     * @return The saved member, carrying its new version.
+     * @throws com.prpcena.library.exception.VersionConflictException if the member was saved in between.
+     */
+    Member saveIfVersion(Member member, long expectedVersion);
+
+    /**
+     * Saves several members in one call.
+     * The default implementation calls {@link #save(Member)} per member;
+     * implementations should override it to write the batch at once.
+     * 
+     * @param members The members to save.
+     * @return The saved members.
+     */
+    default List<Member> saveAll(Collection<Member> members) {
+        List<Member> saved = new ArrayList<>(members.size());
+        for (Member member : members) {
+            saved.add(save(member));
+        }
+        return saved;
+    }
+
     /**
      * Finds a member by their ID.
      * 
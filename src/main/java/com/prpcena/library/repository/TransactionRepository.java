@@ -2,12 +2,32 @@
 package com.prpcena.library.repository;
 
 import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface TransactionRepository {
     Transaction save(Transaction transaction);
 
+    /**
+     * Saves several transactions in one call.
+     * The default implementation calls {@link #save(Transaction)} per
+     * transaction; implementations should override it to write the batch at once.
+     * 
+     * @param transactions The transactions to save.
+     * @return The saved transactions.
+     */
+    default List<Transaction> saveAll(Collection<Transaction> transactions) {
+        List<Transaction> saved = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            saved.add(save(transaction));
+        }
+        return saved;
+    }
+
     Optional<Transaction> findById(String transactionId);
 
     List<Transaction> findAll();
@@ -32,4 +52,17 @@ public interface TransactionRepository {
      * @return A list of all open borrow transactions.
      */
     List<Transaction> findAllOpenBorrowTransactions();
+
+    /**
+     * Finds all open (not yet returned) borrow transactions of a member.
+     * The default implementation filters {@link #findByMemberId(String)}.
+     * 
+     * @param memberId The ID of the member.
+     * @return A list of the member's open borrow transactions.
+     */
+    default List<Transaction> findOpenBorrowTransactionsByMember(String memberId) {
+        return findByMemberId(memberId).stream()
+                .filter(t -> t.getType() == TransactionType.BORROW && t.getReturnDateTime() == null)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+// src/main/java/com/prpcena/library/repository/TransactionScope.java
+package com.prpcena.library.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs several repository writes as one all-or-nothing change, for
+ * repositories that share a store with real transactions, e.g. the JDBC
+ * repositories on one {@link com.prpcena.library.repository.jdbc.JdbcConnectionPool}.
+ * Repository calls made by the work on the calling thread join the
+ * transaction instead of committing on their own.
+ */
+public interface TransactionScope {
+
+    /**
+     * Runs work in one transaction, committed if the work returns and rolled
+     * back if it throws.
+     *
+     * @param work The repository calls to make.
+     * @return What the work returned.
+     */
+    <T> T atomically(Supplier<T> work);
+
+    /**
+     * @return true if the calling thread is inside {@link #atomically}, so what
+     *         it reads may include writes that are not yet committed.
+     */
+    boolean isActive();
+
+    /**
+     * Runs an action once the calling thread's transaction has committed or
+     * rolled back, e.g. to drop cached copies of what it wrote. Runs it
+     * straight away outside a transaction.
+     *
+     * @param action The action to run; failures are logged, not thrown.
+     */
+    void afterCompletion(Runnable action);
+}
@@ -0,0 +1,210 @@
+// src/main/java/com/prpcena/library/repository/UnitOfWork.java
+package com.prpcena.library.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+
+/**
+ * Collects the books, members and transactions changed by one operation and
+ * writes them together, or not at all.
+ * <p>
+ * Changes are made to copies handed out by {@link #changeBook},
+ * {@link #changeMember} and {@link #changeTransaction}, so nothing a reader
+ * can see changes before {@link #commit()}. Commit saves each book and member
+ * with {@code saveIfVersion} against the version it was read at, then the
+ * transactions with one {@code saveAll}. If a book or member was saved by
+ * someone else since it was read, commit fails with a
+ * {@link com.prpcena.library.exception.VersionConflictException}; the caller
+ * re-reads and tries again, e.g. with
+ * {@link com.prpcena.library.service.OptimisticRetry}.
+ * <p>
+ * Given a {@link TransactionScope} shared by the three repositories, e.g. the
+ * JDBC repositories' connection pool, commit is one transaction: other readers
+ * see all of the writes or none, and a failure rolls every write back. A
+ * {@link com.prpcena.library.repository.log.MutationQueue} only makes the
+ * writes one unit in its log; readers can see them before commit returns.
+ * Without one the guarantee is best-effort: the writes are separate, so a
+ * concurrent reader can see a book's copy count change before the loan that
+ * goes with it exists, and if a later write fails the books and members
+ * already written are saved back as they were read, which can itself fail.
+ * <p>
+ * Not thread-safe; a unit of work belongs to one operation.
+ */
+public final class UnitOfWork {
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionScope scope; // Null if the repositories do not share transactions
+    private final Map<String, Change<Book>> books = new LinkedHashMap<>(); // By ISBN
+    private final Map<String, Change<Member>> members = new LinkedHashMap<>(); // By member ID
+    private final Map<String, Transaction> transactions = new LinkedHashMap<>(); // By transaction ID
+    private boolean finished;
+
+    // An entity as read and the copy being changed
+    private static final class Change<T> {
+        final T read;
+        final T changed;
+        final long expectedVersion;
+
+        Change(T read, T changed, long expectedVersion) {
+            this.read = read;
+            this.changed = changed;
+            this.expectedVersion = expectedVersion;
+        }
+    }
+
+    /**
+     * A unit of work whose commit is best-effort; see the class comment.
+     */
+    public UnitOfWork(BookRepository bookRepository, MemberRepository memberRepository,
+            TransactionRepository transactionRepository) {
+        this(bookRepository, memberRepository, transactionRepository, null);
+    }
+
+    /**
+     * @param scope The transactions shared by the three repositories, or null if they share none.
+     */
+    public UnitOfWork(BookRepository bookRepository, MemberRepository memberRepository,
+            TransactionRepository transactionRepository, TransactionScope scope) {
+        this.bookRepository = Objects.requireNonNull(bookRepository, "BookRepository cannot be null.");
+        this.memberRepository = Objects.requireNonNull(memberRepository, "MemberRepository cannot be null.");
+        this.transactionRepository = Objects.requireNonNull(transactionRepository,
+                "TransactionRepository cannot be null.");
+        this.scope = scope;
+    }
+
+    /**
+     * Returns the copy of a book to change; the same copy each time for the same ISBN.
+     *
+     * @param read The book as read from the repository.
+     */
+    public Book changeBook(Book read) {
+        checkOpen();
+        return books.computeIfAbsent(read.getIsbn(), isbn -> new Change<>(read, read.copy(), read.getVersion()))
+                .changed;
+    }
+
+    /**
+     * Returns the copy of a member to change; the same copy each time for the same member.
+     *
+     * @param read The member as read from the repository.
+     */
+    public Member changeMember(Member read) {
+        checkOpen();
+        return members.computeIfAbsent(read.getMemberId(),
+                id -> new Change<>(read, read.copy(), read.getVersion())).changed;
+    }
+
+    /**
+     * Returns the copy of an existing transaction to change, e.g. to close a loan.
+     *
+     * @param read The transaction as read from the repository.
+     */
+    public Transaction changeTransaction(Transaction read) {
+        checkOpen();
+        return transactions.computeIfAbsent(read.getTransactionId(), id -> read.copy());
+    }
+
+    /**
+     * Registers a new transaction.
+     */
+    public void addTransaction(Transaction created) {
+        checkOpen();
+        transactions.putIfAbsent(created.getTransactionId(), created);
+    }
+
+    /**
+     * @return true if nothing has been registered.
+     */
+    public boolean isEmpty() {
+        return books.isEmpty() && members.isEmpty() && transactions.isEmpty();
+    }
+
+    /**
+     * Writes every change. If any write fails, the transaction is rolled back,
+     * or without a shared transaction the books and members already written
+     * are saved back as they were read, and the failure is rethrown.
+     *
+     * @throws com.prpcena.library.exception.VersionConflictException if a book or member changed since it was read.
+     * @throws RuntimeException the failure of the write that could not be completed.
+     */
+    public void commit() {
+        checkOpen();
+        finished = true;
+        if (scope != null) {
+            scope.atomically(() -> {
+                write(new ArrayList<>(), new ArrayList<>());
+                return null;
+            });
+            return;
+        }
+        List<Change<Book>> writtenBooks = new ArrayList<>();
+        List<Change<Member>> writtenMembers = new ArrayList<>();
+        try {
+            write(writtenBooks, writtenMembers);
+        } catch (RuntimeException e) {
+            try {
+                undo(writtenBooks, writtenMembers);
+            } catch (RuntimeException compensationFailure) {
+                logger.error("Could not restore entities after a failed commit; repositories may be inconsistent",
+                        compensationFailure);
+                e.addSuppressed(compensationFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void write(List<Change<Book>> writtenBooks, List<Change<Member>> writtenMembers) {
+        for (Change<Book> change : books.values()) {
+            bookRepository.saveIfVersion(change.changed, change.expectedVersion);
+            writtenBooks.add(change);
+        }
+        for (Change<Member> change : members.values()) {
+            memberRepository.saveIfVersion(change.changed, change.expectedVersion);
+            writtenMembers.add(change);
+        }
+        if (!transactions.isEmpty()) {
+            transactionRepository.saveAll(new ArrayList<>(transactions.values()));
+        }
+    }
+
+    /**
+     * Discards the changes without writing anything.
+     */
+    public void rollback() {
+        checkOpen();
+        finished = true;
+    }
+
+    // Saves the written books and members back as they were read, over the versions just written
+    private void undo(List<Change<Book>> writtenBooks, List<Change<Member>> writtenMembers) {
+        for (Change<Book> change : writtenBooks) {
+            bookRepository.saveIfVersion(change.read.copy(), change.changed.getVersion());
+        }
+        for (Change<Member> change : writtenMembers) {
+            memberRepository.saveIfVersion(change.read.copy(), change.changed.getVersion());
+        }
+        if (!writtenBooks.isEmpty() || !writtenMembers.isEmpty()) {
+            logger.warn("Rolled back a unit of work with {} books, {} members and {} transactions",
+                    books.size(), members.size(), transactions.size());
+        }
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("Unit of work has already been committed or rolled back.");
+        }
+    }
+}
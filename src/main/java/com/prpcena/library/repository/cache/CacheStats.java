@@ -0,0 +1,70 @@
+// src/main/java/com/prpcena/library/repository/cache/CacheStats.java
+package com.prpcena.library.repository.cache;
+
+/**
+ * A point-in-time snapshot of a cache's counters. This class is immutable.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long negativeHitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    public CacheStats(long hitCount, long negativeHitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.negativeHitCount = negativeHitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * @return Lookups answered from the cache, including cached "not found" results.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return Lookups answered by a cached "not found" result.
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount;
+    }
+
+    /**
+     * @return Lookups that went to the underlying repository.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The share of lookups answered from the cache, 0 if there were none.
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", negativeHitCount=" + negativeHitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                '}';
+    }
+}
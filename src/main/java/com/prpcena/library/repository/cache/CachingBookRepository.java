@@ -0,0 +1,200 @@
+// src/main/java/com/prpcena/library/repository/cache/CachingBookRepository.java
+package com.prpcena.library.repository.cache;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.TransactionScope;
+
+/**
+ * A {@link BookRepository} that caches lookups by ISBN in front of another
+ * repository, for backends where each lookup is a round trip.
+ * <p>
+ * Keeps up to {@code maxSize} results, evicting ones not used recently.
+ * ISBNs that were not found are cached as well. Every write goes to the
+ * underlying repository and then drops the affected ISBNs from the cache, even
+ * if the write failed, so the next lookup reads the stored state. Searches and
+ * {@link #findAll()} always go to the underlying repository.
+ * <p>
+ * Lookups return copies, so callers may change what they get without
+ * changing what other callers read from the cache.
+ * <p>
+ * Given the {@link TransactionScope} the underlying repository's calls join,
+ * lookups made inside a transaction bypass the cache, since they can see
+ * writes that may still roll back, and the ISBNs a transaction writes are
+ * dropped again once it commits or rolls back.
+ * <p>
+ * Writes made to the underlying repository directly, bypassing this one, are
+ * not seen until the entry is evicted.
+ */
+public class CachingBookRepository implements BookRepository {
+    private final BookRepository delegate;
+    private final ReadThroughCache<Book> cache;
+    private final TransactionScope scope; // Null if the delegate's writes are never part of a wider transaction
+
+    /**
+     * @param delegate The repository to cache.
+     * @param maxSize  The maximum number of cached lookups.
+     */
+    public CachingBookRepository(BookRepository delegate, int maxSize) {
+        this(delegate, maxSize, null);
+    }
+
+    /**
+     * @param delegate The repository to cache.
+     * @param maxSize  The maximum number of cached lookups.
+     * @param scope    The transactions the delegate's calls can join, or null if none.
+     */
+    public CachingBookRepository(BookRepository delegate, int maxSize, TransactionScope scope) {
+        this.delegate = Objects.requireNonNull(delegate, "Book repository cannot be null.");
+        this.cache = new ReadThroughCache<>(maxSize);
+        this.scope = scope;
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        if (inTransaction()) {
+            return delegate.findByIsbn(isbn); // May be uncommitted, so not cached
+        }
+        return cache.get(isbn, delegate::findByIsbn).map(Book::copy);
+    }
+
+    @Override
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        if (inTransaction()) {
+            return delegate.findAllByIsbn(isbns);
+        }
+        Map<String, Book> found = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String isbn : isbns) {
+            Optional<Book> cached = cache.getIfPresent(isbn);
+            if (cached == null) {
+                misses.add(isbn);
+            } else {
+                cached.ifPresent(book -> found.put(isbn, book.copy()));
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+        long generation = cache.startLoad(misses.size());
+        Map<String, Book> loaded = delegate.findAllByIsbn(misses);
+        for (String isbn : misses) {
+            cache.putIfUnchanged(isbn, Optional.ofNullable(loaded.get(isbn)), generation);
+        }
+        // Rebuild in the order requested
+        Map<String, Book> ordered = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            Book book = found.containsKey(isbn) ? found.get(isbn)
+                    : loaded.containsKey(isbn) ? loaded.get(isbn).copy() : null;
+            if (book != null) {
+                ordered.put(isbn, book);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public Book save(Book book) {
+        try {
+            return delegate.save(book);
+        } finally {
+            invalidate(book.getIsbn());
+        }
+    }
+
+    @Override
+    public Book saveIfVersion(Book book, long expectedVersion) {
+        try {
+            return delegate.saveIfVersion(book, expectedVersion);
+        } finally {
+            invalidate(book.getIsbn());
+        }
+    }
+
+    @Override
+    public List<Book> saveAll(Collection<Book> books) {
+        List<String> isbns = new ArrayList<>(books.size());
+        books.forEach(book -> isbns.add(book.getIsbn()));
+        try {
+            return delegate.saveAll(books);
+        } finally {
+            invalidate(isbns);
+        }
+    }
+
+    @Override
+    public boolean deleteByIsbn(String isbn) {
+        try {
+            return delegate.deleteByIsbn(isbn);
+        } finally {
+            invalidate(isbn);
+        }
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findByPublicationYearBetween(Year from, Year to) {
+        return delegate.findByPublicationYearBetween(from, to);
+    }
+
+    @Override
+    public List<Book> findByAuthorSoundingLike(String query) {
+        return delegate.findByAuthorSoundingLike(query);
+    }
+
+    @Override
+    public List<Book> findByKeywords(String query) {
+        return delegate.findByKeywords(query);
+    }
+
+    @Override
+    public FacetCounts countFacets() {
+        return delegate.countFacets();
+    }
+
+    @Override
+    public FacetCounts countFacets(Collection<Book> books) {
+        return delegate.countFacets(books);
+    }
+
+    private boolean inTransaction() {
+        return scope != null && scope.isActive();
+    }
+
+    // Drops the IDs now and, inside a transaction, again once it ends, so a lookup made in between
+    // by another thread cannot cache the state from before the commit
+    private void invalidate(String id) {
+        cache.invalidate(id);
+        if (inTransaction()) {
+            scope.afterCompletion(() -> cache.invalidate(id));
+        }
+    }
+
+    private void invalidate(Collection<String> ids) {
+        cache.invalidate(ids);
+        if (inTransaction()) {
+            scope.afterCompletion(() -> cache.invalidate(ids));
+        }
+    }
+
+    /**
+     * @return A snapshot of the cache's hit, miss and eviction counters.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,120 @@
+// src/main/java/com/prpcena/library/repository/cache/CachingMemberRepository.java
+package com.prpcena.library.repository.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Member;
+import com.prpcena.library.repository.MemberRepository;
+import com.prpcena.library.repository.TransactionScope;
+
+/**
+ * A {@link MemberRepository} that caches lookups by ID in front of another
+ * repository. Eviction, negative caching, copies, transactions and
+ * invalidation work as in {@link CachingBookRepository}.
+ */
+public class CachingMemberRepository implements MemberRepository {
+    private final MemberRepository delegate;
+    private final ReadThroughCache<Member> cache;
+    private final TransactionScope scope; // Null if the delegate's writes are never part of a wider transaction
+
+    /**
+     * @param delegate The repository to cache.
+     * @param maxSize  The maximum number of cached lookups.
+     */
+    public CachingMemberRepository(MemberRepository delegate, int maxSize) {
+        this(delegate, maxSize, null);
+    }
+
+    /**
+     * @param delegate The repository to cache.
+     * @param maxSize  The maximum number of cached lookups.
+     * @param scope    The transactions the delegate's calls can join, or null if none.
+     */
+    public CachingMemberRepository(MemberRepository delegate, int maxSize, TransactionScope scope) {
+        this.delegate = Objects.requireNonNull(delegate, "Member repository cannot be null.");
+        this.cache = new ReadThroughCache<>(maxSize);
+        this.scope = scope;
+    }
+
+    @Override
+    public Optional<Member> findById(String memberId) {
+        if (inTransaction()) {
+            return delegate.findById(memberId); // May be uncommitted, so not cached
+        }
+        return cache.get(memberId, delegate::findById).map(Member::copy);
+    }
+
+    @Override
+    public Member save(Member member) {
+        try {
+            return delegate.save(member);
+        } finally {
+            invalidate(member.getMemberId());
+        }
+    }
+
+    @Override
+    public Member saveIfVersion(Member member, long expectedVersion) {
+        try {
+            return delegate.saveIfVersion(member, expectedVersion);
+        } finally {
+            invalidate(member.getMemberId());
+        }
+    }
+
+    @Override
+    public List<Member> saveAll(Collection<Member> members) {
+        List<String> memberIds = new ArrayList<>(members.size());
+        members.forEach(member -> memberIds.add(member.getMemberId()));
+        try {
+            return delegate.saveAll(members);
+        } finally {
+            invalidate(memberIds);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String memberId) {
+        try {
+            return delegate.deleteById(memberId);
+        } finally {
+            invalidate(memberId);
+        }
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return delegate.findAll();
+    }
+
+    private boolean inTransaction() {
+        return scope != null && scope.isActive();
+    }
+
+    // Drops the IDs now and, inside a transaction, again once it ends, so a lookup made in between
+    // by another thread cannot cache the state from before the commit
+    private void invalidate(String id) {
+        cache.invalidate(id);
+        if (inTransaction()) {
+            scope.afterCompletion(() -> cache.invalidate(id));
+        }
+    }
+
+    private void invalidate(Collection<String> ids) {
+        cache.invalidate(ids);
+        if (inTransaction()) {
+            scope.afterCompletion(() -> cache.invalidate(ids));
+        }
+    }
+
+    /**
+     * @return A snapshot of the cache's hit, miss and eviction counters.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
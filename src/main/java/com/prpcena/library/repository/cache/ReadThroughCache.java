@@ -0,0 +1,176 @@
+// src/main/java/com/prpcena/library/repository/cache/ReadThroughCache.java
+package com.prpcena.library.repository.cache;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A size-bounded map from ID to lookup result, used by the caching
+ * repository decorators. "Not found" results are cached too, so repeated
+ * lookups of a missing ID don't reach the underlying repository.
+ * <p>
+ * Hits take no lock: they read a concurrent map and set the entry's
+ * referenced bit. Eviction approximates LRU with CLOCK: entries are queued in
+ * the order they were cached, and the hand evicts the first one not
+ * referenced since it last passed, clearing the bit of each one it spares.
+ * Inserting, evicting and invalidating share one lock, so only misses and
+ * writes contend.
+ * <p>
+ * Loads happen outside the lock. A load that raced with a write is not
+ * cached: every write bumps a generation counter, and a loaded value is only
+ * stored if the generation is unchanged since the load started. Thread-safe.
+ *
+ * @param <V> The cached entity type.
+ */
+final class ReadThroughCache<V> {
+    private final int maxSize;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry<V>> clock = new ArrayDeque<>(); // Guarded by lock; may hold invalidated entries
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long evictionCount; // Guarded by lock
+
+    ReadThroughCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached result for the ID, loading and caching it on a miss.
+     */
+    Optional<V> get(String id, Function<String, Optional<V>> loader) {
+        Optional<V> cached = getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = startLoad(1);
+        Optional<V> loaded = loader.apply(id);
+        putIfUnchanged(id, loaded, loadGeneration);
+        return loaded;
+    }
+
+    /**
+     * @return The cached result, or null if the ID is not cached. Counts as a hit when found.
+     */
+    Optional<V> getIfPresent(String id) {
+        Entry<V> entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true; // Only written when clear, so hot entries' cache lines stay shared
+        }
+        hitCount.increment();
+        if (entry.value.isEmpty()) {
+            negativeHitCount.increment();
+        }
+        return entry.value;
+    }
+
+    /**
+     * Records misses for IDs about to be loaded together.
+     *
+     * @return The generation to pass to {@link #putIfUnchanged}.
+     */
+    long startLoad(int misses) {
+        missCount.add(misses);
+        return generation.get();
+    }
+
+    /**
+     * Caches a loaded result unless a write happened since the load started.
+     */
+    void putIfUnchanged(String id, Optional<V> value, long loadGeneration) {
+        lock.lock();
+        try {
+            if (generation.get() != loadGeneration) {
+                return;
+            }
+            Entry<V> entry = new Entry<>(id, value);
+            entries.put(id, entry);
+            clock.add(entry);
+            while (entries.size() > maxSize) {
+                evictOne();
+            }
+            if (clock.size() > 2 * maxSize) {
+                clock.removeIf(queued -> entries.get(queued.id) != queued); // Drops invalidated entries
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached results for the IDs; called around every write.
+     */
+    void invalidate(Collection<String> ids) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            ids.forEach(entries::remove);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(String id) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hitCount.sum(), negativeHitCount.sum(), missCount.sum(), evictionCount,
+                    entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Advances the hand to the first entry not referenced since it last passed and evicts it
+    private void evictOne() {
+        while (true) {
+            Entry<V> candidate = clock.poll();
+            if (entries.get(candidate.id) != candidate) {
+                continue; // Invalidated or replaced since it was queued
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.add(candidate);
+            } else {
+                entries.remove(candidate.id);
+                evictionCount++;
+                return;
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final String id;
+        final Optional<V> value;
+        volatile boolean referenced;
+
+        Entry(String id, Optional<V> value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// src/main/java/com/prpcena/library/repository/index/BookIndex.java
+package com.prpcena.library.repository.index;
+
+import com.prpcena.library.model.Book;
+
+/**
+ * A secondary index over books that is kept up to date by the owning
+ * repository on every save and delete.
+ * Implementations are not thread-safe on their own; the repository calls them
+ * while holding its write lock and queries them while holding its read lock.
+ */
+public interface BookIndex {
+    /**
+     * Called after a book has been stored.
+     *
+     * @param previous The book previously stored under the same ISBN, or null if
+     *                 this is a new book.
+     * @param current  The book that is now stored.
+     */
+    void onSave(Book previous, Book current);
+
+    /**
+     * Called after a book has been removed.
+     *
+     * @param removed The book that was removed.
+     */
+    void onDelete(Book removed);
+}
@@ -0,0 +1,50 @@
+// src/main/java/com/prpcena/library/repository/index/CatalogStamp.java
+package com.prpcena.library.repository.index;
+
+import com.prpcena.library.model.Book;
+
+/**
+ * The catalog version stamp: an order-independent fingerprint of every book's
+ * ISBN, title and author, kept up to date on each save and delete. It only
+ * changes when the searchable text changes (not on copy-count updates) and is
+ * the same across restarts for the same catalog, so it is written into
+ * persisted search index files to detect a stale file on startup.
+ * <p>
+ * Unlike the {@link TermIndex} it describes, it costs one hash per book, so it
+ * can be worked out while a catalog loads and compared with a file's stamp
+ * before deciding whether the term index needs to be built at all.
+ */
+public class CatalogStamp implements BookIndex {
+    private long version; // Sum of textFingerprint() over all books
+
+    @Override
+    public void onSave(Book previous, Book current) {
+        if (previous != null) {
+            version -= textFingerprint(previous);
+        }
+        version += textFingerprint(current);
+    }
+
+    @Override
+    public void onDelete(Book removed) {
+        version -= textFingerprint(removed);
+    }
+
+    /**
+     * Returns the stamp; it changes on every change that affects search results.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // 64-bit FNV-1a over the searchable fields
+    private static long textFingerprint(Book book) {
+        long hash = 0xcbf29ce484222325L;
+        String text = book.getIsbn() + '\0' + book.getTitle() + '\0' + book.getAuthor().getFullName();
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,170 @@
+// src/main/java/com/prpcena/library/repository/index/FacetIndex.java
+package com.prpcena.library.repository.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+
+/**
+ * Maintains per-genre, per-decade and per-author counters for the catalog.
+ * <p>
+ * Every indexed book gets a small integer ordinal. Each facet value keeps a
+ * bitmap of the ordinals that carry it, plus a running count, so the
+ * unfiltered counts are read straight from the counters and the counts for a
+ * result set are computed either by intersecting the result bitmap with each
+ * value's bitmap or, when the result set is small compared to the catalog, by
+ * looking up the facet values of the matching ordinals directly.
+ */
+public class FacetIndex implements BookIndex {
+    // Rough cost of one hash lookup + merge relative to one 64-bit word AND.
+    private static final int LOOKUP_COST = 4;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Book> booksByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final Facet<String> genres = new Facet<>(Book::getGenre);
+    private final Facet<Integer> decades = new Facet<>(
+            book -> book.getPublicationYear() == null ? null : FacetCounts.decadeOf(book.getPublicationYear()));
+    private final Facet<String> authors = new Facet<>(book -> book.getAuthor().getFullName());
+
+    @Override
+    public void onSave(Book previous, Book current) {
+        Integer ordinal = ordinals.get(current.getIsbn());
+        if (ordinal != null) {
+            Book old = booksByOrdinal.get(ordinal);
+            removeFromFacets(old, ordinal);
+        } else {
+            ordinal = freeOrdinals.isEmpty() ? booksByOrdinal.size() : freeOrdinals.pop();
+            if (ordinal == booksByOrdinal.size()) {
+                booksByOrdinal.add(null);
+            }
+            ordinals.put(current.getIsbn(), ordinal);
+        }
+        booksByOrdinal.set(ordinal, current);
+        addToFacets(current, ordinal);
+    }
+
+    @Override
+    public void onDelete(Book removed) {
+        Integer ordinal = ordinals.remove(removed.getIsbn());
+        if (ordinal == null) {
+            return;
+        }
+        removeFromFacets(booksByOrdinal.get(ordinal), ordinal);
+        booksByOrdinal.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * Returns the facet counts for the whole catalog from the running counters.
+     */
+    public FacetCounts countAll() {
+        return new FacetCounts(genres.counts, decades.counts, authors.counts, ordinals.size());
+    }
+
+    /**
+     * Returns the facet counts restricted to the given books. Books that are not
+     * in the index are ignored.
+     *
+     * @param books The books of a result set.
+     * @return The facet counts for the indexed books among them.
+     */
+    public FacetCounts count(Collection<Book> books) {
+        BitSet filter = new BitSet(booksByOrdinal.size());
+        for (Book book : books) {
+            Integer ordinal = ordinals.get(book.getIsbn());
+            if (ordinal != null) {
+                filter.set(ordinal);
+            }
+        }
+        return new FacetCounts(genres.count(filter), decades.count(filter), authors.count(filter),
+                filter.cardinality());
+    }
+
+    private void addToFacets(Book book, int ordinal) {
+        genres.add(book, ordinal);
+        decades.add(book, ordinal);
+        authors.add(book, ordinal);
+    }
+
+    private void removeFromFacets(Book book, int ordinal) {
+        genres.remove(book, ordinal);
+        decades.remove(book, ordinal);
+        authors.remove(book, ordinal);
+    }
+
+    /**
+     * Postings and counters for a single facet.
+     */
+    private final class Facet<K> {
+        private final Function<Book, K> keyExtractor;
+        private final Map<K, BitSet> postings = new HashMap<>();
+        private final Map<K, Integer> counts = new HashMap<>();
+
+        private Facet(Function<Book, K> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        private void add(Book book, int ordinal) {
+            K key = keyExtractor.apply(book);
+            if (key == null) {
+                return;
+            }
+            postings.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+            counts.merge(key, 1, Integer::sum);
+        }
+
+        private void remove(Book book, int ordinal) {
+            K key = keyExtractor.apply(book);
+            if (key == null) {
+                return;
+            }
+            BitSet bits = postings.get(key);
+            if (bits == null || !bits.get(ordinal)) {
+                return;
+            }
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+                counts.remove(key);
+            } else {
+                counts.merge(key, -1, Integer::sum);
+            }
+        }
+
+        private Map<K, Integer> count(BitSet filter) {
+            int matches = filter.cardinality();
+            long intersectCost = (long) postings.size() * ((filter.length() + 63) / 64);
+            long lookupCost = (long) matches * LOOKUP_COST;
+            Map<K, Integer> result = new HashMap<>();
+            if (intersectCost <= lookupCost) {
+                for (Map.Entry<K, BitSet> entry : postings.entrySet()) {
+                    BitSet intersection = (BitSet) filter.clone();
+                    intersection.and(entry.getValue());
+                    int count = intersection.cardinality();
+                    if (count > 0) {
+                        result.put(entry.getKey(), count);
+                    }
+                }
+            } else {
+                for (int i = filter.nextSetBit(0); i >= 0; i = filter.nextSetBit(i + 1)) {
+                    K key = keyExtractor.apply(booksByOrdinal.get(i));
+                    if (key != null) {
+                        result.merge(key, 1, Integer::sum);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+// src/main/java/com/prpcena/library/repository/index/MappedSearchIndex.java
+package com.prpcena.library.repository.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Read-only view of a search index file written by {@link SearchIndexFile}.
+ * The file is memory-mapped, so opening it costs a header check regardless of
+ * its size; term lookups binary-search the sorted term dictionary in place
+ * and only decode the postings they touch.
+ * Instances are safe for concurrent queries.
+ */
+public final class MappedSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MappedSearchIndex.class);
+
+    private final ByteBuffer buffer;
+    private final long catalogVersion;
+    private final int documentCount;
+    private final int termCount;
+    private final int docOffsetsPos;
+    private final int termOffsetsPos;
+
+    private MappedSearchIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < SearchIndexFile.HEADER_SIZE || buffer.getInt(0) != SearchIndexFile.MAGIC) {
+            throw new IOException("Not a search index file.");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != SearchIndexFile.FORMAT_VERSION) {
+            throw new IOException("Unsupported search index format version: " + formatVersion);
+        }
+        this.buffer = buffer;
+        this.catalogVersion = buffer.getLong(8);
+        this.documentCount = buffer.getInt(16);
+        this.termCount = buffer.getInt(20);
+        this.docOffsetsPos = SearchIndexFile.HEADER_SIZE;
+        this.termOffsetsPos = docOffsetsPos + 4 * documentCount;
+        if (documentCount < 0 || termCount < 0 || (long) termOffsetsPos + 4L * termCount > buffer.capacity()) {
+            throw new IOException("Search index file is truncated or corrupt.");
+        }
+    }
+
+    /**
+     * Memory-maps a search index file.
+     *
+     * @param file The file written by {@link SearchIndexFile#write}.
+     * @return The mapped index.
+     * @throws IOException if the file cannot be read or is not a valid index.
+     */
+    public static MappedSearchIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedSearchIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Memory-maps a search index file if it exists, is valid and was written for
+     * the given catalog version.
+     *
+     * @param file                   The index file.
+     * @param expectedCatalogVersion The current catalog version.
+     * @return The mapped index, or an empty Optional if it is missing, corrupt or
+     *         stale (in which case it should be rebuilt).
+     */
+    public static Optional<MappedSearchIndex> openIfCurrent(Path file, long expectedCatalogVersion) {
+        if (!Files.exists(file)) {
+            logger.info("No search index file at {}", file);
+            return Optional.empty();
+        }
+        try {
+            MappedSearchIndex index = open(file);
+            if (index.getCatalogVersion() != expectedCatalogVersion) {
+                logger.warn("Search index {} is stale: built for catalog version {}, catalog is at {}",
+                        file, index.getCatalogVersion(), expectedCatalogVersion);
+                return Optional.empty();
+            }
+            return Optional.of(index);
+        } catch (IOException e) {
+            logger.warn("Could not open search index {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    /**
+     * Finds the ISBNs of books where every query word is a prefix of a title or
+     * author word, with the same semantics as {@link TermIndex#findByKeywords}.
+     *
+     * @param query Free text such as "lord ring tolk".
+     * @return The matching ISBNs in sorted order.
+     */
+    public List<String> findIsbnsByKeywords(String query) {
+        List<String> words = TermIndex.tokenize(query);
+        List<String> result = new ArrayList<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+        ByteBuffer view = buffer.duplicate(); // Private position for relative reads
+        BitSet matches = null;
+        for (String word : words) {
+            BitSet wordMatches = docsWithPrefix(view, word.getBytes(StandardCharsets.UTF_8));
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                matches.and(wordMatches);
+            }
+            if (matches.isEmpty()) {
+                return result;
+            }
+        }
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            result.add(readString(view, view.getInt(docOffsetsPos + 4 * doc)));
+        }
+        return result;
+    }
+
+    private BitSet docsWithPrefix(ByteBuffer view, byte[] prefix) {
+        BitSet docs = new BitSet(documentCount);
+        for (int t = lowerBound(view, prefix); t < termCount; t++) {
+            view.position(view.getInt(termOffsetsPos + 4 * t));
+            int length = VarInts.getVarInt(view);
+            if (compare(view, view.position(), Math.min(length, prefix.length), prefix) != 0
+                    || length < prefix.length) {
+                break; // Past the last term with this prefix
+            }
+            view.position(view.position() + length);
+            int postings = VarInts.getVarInt(view);
+            int doc = 0;
+            for (int i = 0; i < postings; i++) {
+                doc += VarInts.getVarInt(view);
+                docs.set(doc);
+            }
+        }
+        return docs;
+    }
+
+    // Index of the first term that is >= key in unsigned byte order
+    private int lowerBound(ByteBuffer view, byte[] key) {
+        int low = 0;
+        int high = termCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            view.position(view.getInt(termOffsetsPos + 4 * mid));
+            int length = VarInts.getVarInt(view);
+            int cmp = compare(view, view.position(), Math.min(length, key.length), key);
+            if (cmp == 0) {
+                cmp = Integer.compare(length, key.length);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Compares the first n bytes at pos with the first n bytes of key, unsigned
+    private static int compare(ByteBuffer view, int pos, int n, byte[] key) {
+        for (int i = 0; i < n; i++) {
+            int cmp = Integer.compare(view.get(pos + i) & 0xFF, key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static String readString(ByteBuffer view, int offset) {
+        view.position(offset);
+        byte[] bytes = new byte[VarInts.getVarInt(view)];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+// src/main/java/com/prpcena/library/repository/index/PhoneticAuthorIndex.java
+package com.prpcena.library.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.util.PhoneticEncoder;
+
+/**
+ * Maps the phonetic keys of every author's first and last names to the books
+ * they wrote, so "sounds like" author searches are hash lookups instead of a
+ * comparison against every author in the catalog.
+ */
+public class PhoneticAuthorIndex implements BookIndex {
+    // Phonetic key -> (ISBN -> Book)
+    private final Map<String, Map<String, Book>> booksByCode = new HashMap<>();
+
+    @Override
+    public void onSave(Book previous, Book current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        for (String code : codesOf(current.getAuthor())) {
+            booksByCode.computeIfAbsent(code, c -> new LinkedHashMap<>()).put(current.getIsbn(), current);
+        }
+    }
+
+    @Override
+    public void onDelete(Book removed) {
+        remove(removed);
+    }
+
+    /**
+     * Finds books whose author's name contains a word sounding like each word of
+     * the query, e.g. "Fyodor Dostoevsky" matches "Fyodor Dostoyevsky".
+     *
+     * @param query One or more name words.
+     * @return The matching books, or an empty list if the query has no letters.
+     */
+    public List<Book> findBySound(String query) {
+        Set<String> codes = PhoneticEncoder.encodeWords(query);
+        if (codes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Start from the rarest code and check the remaining ones per candidate.
+        Map<String, Book> smallest = null;
+        for (String code : codes) {
+            Map<String, Book> postings = booksByCode.get(code);
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        List<Book> result = new ArrayList<>();
+        for (Book book : smallest.values()) {
+            boolean matchesAll = true;
+            for (String code : codes) {
+                if (!booksByCode.get(code).containsKey(book.getIsbn())) {
+                    matchesAll = false;
+                    break;
+                }
+            }
+            if (matchesAll) {
+                result.add(book);
+            }
+        }
+        return result;
+    }
+
+    private void remove(Book book) {
+        for (String code : codesOf(book.getAuthor())) {
+            Map<String, Book> postings = booksByCode.get(code);
+            if (postings != null) {
+                postings.remove(book.getIsbn());
+                if (postings.isEmpty()) {
+                    booksByCode.remove(code);
+                }
+            }
+        }
+    }
+
+    private static List<String> codesOf(Author author) {
+        return PhoneticEncoder.encodeName(author.getFirstName(), author.getLastName());
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/prpcena/library/repository/index/PublicationYearIndex.java
+package com.prpcena.library.repository.index;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.prpcena.library.model.Book;
+
+/**
+ * Sorted index of books by publication year, used to answer range queries
+ * ("published 1990 to 2000") without scanning the catalog.
+ * Books without a publication year are not indexed.
+ */
+public class PublicationYearIndex implements BookIndex {
+    // Year -> (ISBN -> Book), each bucket in insertion order
+    private final NavigableMap<Year, Map<String, Book>> booksByYear = new TreeMap<>();
+
+    @Override
+    public void onSave(Book previous, Book current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        if (current.getPublicationYear() != null) {
+            booksByYear.computeIfAbsent(current.getPublicationYear(), y -> new LinkedHashMap<>())
+                    .put(current.getIsbn(), current);
+        }
+    }
+
+    @Override
+    public void onDelete(Book removed) {
+        remove(removed);
+    }
+
+    /**
+     * Finds books published between two years, both inclusive.
+     *
+     * @param from The first year of the range, or null for no lower bound.
+     * @param to   The last year of the range, or null for no upper bound.
+     * @return The matching books ordered by publication year.
+     */
+    public List<Book> findBetween(Year from, Year to) {
+        NavigableMap<Year, Map<String, Book>> range = booksByYear;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        List<Book> result = new ArrayList<>();
+        for (Map<String, Book> bucket : range.values()) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+
+    private void remove(Book book) {
+        if (book.getPublicationYear() == null) {
+            return;
+        }
+        Map<String, Book> bucket = booksByYear.get(book.getPublicationYear());
+        if (bucket != null) {
+            bucket.remove(book.getIsbn());
+            if (bucket.isEmpty()) {
+                booksByYear.remove(book.getPublicationYear());
+            }
+        }
+    }
+}
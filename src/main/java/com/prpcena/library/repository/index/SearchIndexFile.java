@@ -0,0 +1,142 @@
+// src/main/java/com/prpcena/library/repository/index/SearchIndexFile.java
+package com.prpcena.library.repository.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Writes a {@link TermIndex} snapshot to a compact file that
+ * {@link MappedSearchIndex} can memory-map and query without rebuilding.
+ * <p>
+ * Layout (big-endian, all offsets absolute):
+ * <pre>
+ * int  magic "LSIX"
+ * int  format version
+ * long catalog version stamp
+ * int  document count (D)
+ * int  term count (T)
+ * int[D] document entry offsets
+ * int[T] term entry offsets, terms sorted by their UTF-8 bytes
+ * document entries: varint length, UTF-8 ISBN            (ordinal = position, ISBNs sorted)
+ * term entries:     varint length, UTF-8 term, varint posting count,
+ *                   varint document ordinals, delta-encoded against the previous one
+ * </pre>
+ * Offsets are ints, so a single file is limited to 2 GB.
+ */
+public final class SearchIndexFile {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexFile.class);
+
+    static final int MAGIC = 0x4C534958; // "LSIX"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private SearchIndexFile() {
+    }
+
+    /**
+     * Writes the postings to a file, replacing it atomically if it exists.
+     *
+     * @param file           The file to write.
+     * @param postings       Term -> ISBNs, as returned by {@link TermIndex#snapshot()}.
+     * @param catalogVersion The version of the catalog the postings were taken from.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, SortedMap<String, SortedSet<String>> postings, long catalogVersion)
+            throws IOException {
+        // Assign document ordinals in ISBN order
+        SortedSet<String> isbns = new TreeSet<>();
+        postings.values().forEach(isbns::addAll);
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<byte[]> docBytes = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            ordinals.put(isbn, docBytes.size());
+            docBytes.add(isbn.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Sort terms by unsigned UTF-8 bytes, the order the reader binary-searches in
+        List<byte[]> termBytes = new ArrayList<>(postings.size());
+        Map<byte[], int[]> termPostings = new IdentityHashMap<>();
+        for (Map.Entry<String, SortedSet<String>> entry : postings.entrySet()) {
+            byte[] term = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            int[] docs = entry.getValue().stream().mapToInt(ordinals::get).sorted().toArray();
+            termBytes.add(term);
+            termPostings.put(term, docs);
+        }
+        termBytes.sort(Arrays::compareUnsigned);
+
+        long size = HEADER_SIZE + 4L * docBytes.size() + 4L * termBytes.size();
+        for (byte[] doc : docBytes) {
+            size += VarInts.sizeOf(doc.length) + doc.length;
+        }
+        for (byte[] term : termBytes) {
+            int[] docs = termPostings.get(term);
+            size += VarInts.sizeOf(term.length) + term.length + VarInts.sizeOf(docs.length);
+            int previous = 0;
+            for (int doc : docs) {
+                size += VarInts.sizeOf(doc - previous);
+                previous = doc;
+            }
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Search index too large for a single file: " + size + " bytes.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(catalogVersion)
+                .putInt(docBytes.size()).putInt(termBytes.size());
+        int docOffsetsPos = buffer.position();
+        int termOffsetsPos = docOffsetsPos + 4 * docBytes.size();
+        buffer.position(termOffsetsPos + 4 * termBytes.size());
+        for (int i = 0; i < docBytes.size(); i++) {
+            buffer.putInt(docOffsetsPos + 4 * i, buffer.position());
+            VarInts.putVarInt(buffer, docBytes.get(i).length);
+            buffer.put(docBytes.get(i));
+        }
+        for (int i = 0; i < termBytes.size(); i++) {
+            byte[] term = termBytes.get(i);
+            int[] docs = termPostings.get(term);
+            buffer.putInt(termOffsetsPos + 4 * i, buffer.position());
+            VarInts.putVarInt(buffer, term.length);
+            buffer.put(term);
+            VarInts.putVarInt(buffer, docs.length);
+            int previous = 0;
+            for (int doc : docs) {
+                VarInts.putVarInt(buffer, doc - previous);
+                previous = doc;
+            }
+        }
+        buffer.flip();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Wrote search index {} ({} terms, {} documents, {} bytes, catalog version {})",
+                file, termBytes.size(), docBytes.size(), size, catalogVersion);
+    }
+}
@@ -0,0 +1,134 @@
+// src/main/java/com/prpcena/library/repository/index/TermIndex.java
+package com.prpcena.library.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.prpcena.library.model.Book;
+
+/**
+ * Inverted index from the words of every book's title and author name to the
+ * books containing them. A keyword query matches a book when every query word
+ * is a prefix of some word of its title or author. The stamp written with a
+ * persisted copy of it is kept separately, by {@link CatalogStamp}.
+ */
+public class TermIndex implements BookIndex {
+    // Term -> (ISBN -> Book), terms sorted so prefix queries are a subMap
+    private final NavigableMap<String, Map<String, Book>> booksByTerm = new TreeMap<>();
+
+    @Override
+    public void onSave(Book previous, Book current) {
+        Set<String> newTerms = termsOf(current);
+        if (previous != null) {
+            Set<String> oldTerms = termsOf(previous);
+            if (oldTerms.equals(newTerms)) {
+                // Same searchable text; just point the postings at the new instance.
+                for (String term : newTerms) {
+                    booksByTerm.get(term).put(current.getIsbn(), current);
+                }
+                return;
+            }
+            remove(previous.getIsbn(), oldTerms);
+        }
+        for (String term : newTerms) {
+            booksByTerm.computeIfAbsent(term, t -> new LinkedHashMap<>()).put(current.getIsbn(), current);
+        }
+    }
+
+    @Override
+    public void onDelete(Book removed) {
+        remove(removed.getIsbn(), termsOf(removed));
+    }
+
+    /**
+     * Finds books where every query word is a prefix of a title or author word.
+     *
+     * @param query Free text such as "lord ring tolk".
+     * @return The matching books, or an empty list if the query has no words.
+     */
+    public List<Book> findByKeywords(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Book> result = null;
+        for (String word : words) {
+            Map<String, Book> matches = new LinkedHashMap<>();
+            for (Map<String, Book> postings : withPrefix(word).values()) {
+                matches.putAll(postings);
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.keySet().retainAll(matches.keySet());
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * Returns a sorted copy of the postings (term -> sorted ISBNs), as needed to
+     * write the index to disk.
+     */
+    public SortedMap<String, SortedSet<String>> snapshot() {
+        SortedMap<String, SortedSet<String>> copy = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Book>> entry : booksByTerm.entrySet()) {
+            copy.put(entry.getKey(), new TreeSet<>(entry.getValue().keySet()));
+        }
+        return copy;
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits. Used both for
+     * indexing and for parsing queries so that both sides agree.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private SortedMap<String, Map<String, Book>> withPrefix(String prefix) {
+        // Every term starting with the prefix sorts before prefix followed by the largest char
+        return booksByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void remove(String isbn, Set<String> terms) {
+        for (String term : terms) {
+            Map<String, Book> postings = booksByTerm.get(term);
+            if (postings != null) {
+                postings.remove(isbn);
+                if (postings.isEmpty()) {
+                    booksByTerm.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Set<String> termsOf(Book book) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(book.getTitle()));
+        terms.addAll(tokenize(book.getAuthor().getFullName()));
+        return terms;
+    }
+}
@@ -0,0 +1,310 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcBookRepository.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.repository.BookRepository;
+
+/**
+ * A {@link BookRepository} stored in an embedded SQL database.
+ * <p>
+ * Versions are kept in the table: an unconditional save bumps the stored
+ * version, and {@link #saveIfVersion} only updates the row still carrying the
+ * expected one. {@link #saveAll} and {@link #findAllByIsbn} each run a
+ * constant number of statements, using JDBC batches and a key array joined
+ * against the table.
+ * Every lookup returns a new {@link Book} instance. Thread-safe.
+ */
+public class JdbcBookRepository implements BookRepository {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBookRepository.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS books ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, " // Insertion order, as the in-memory repository keeps
+            + "isbn VARCHAR(64) PRIMARY KEY, "
+            + "title VARCHAR(512) NOT NULL, "
+            + "author_first_name VARCHAR(255) NOT NULL, "
+            + "author_last_name VARCHAR(255) NOT NULL, "
+            + "genre VARCHAR(255), "
+            + "publication_year INT, "
+            + "available_copies INT NOT NULL, "
+            + "version BIGINT NOT NULL)";
+    private static final String CREATE_YEAR_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_books_publication_year ON books (publication_year)";
+
+    private static final String COLUMNS = "isbn, title, author_first_name, author_last_name, genre, "
+            + "publication_year, available_copies, version";
+    private static final String SELECT_BY_ISBN = "SELECT " + COLUMNS + " FROM books WHERE isbn = ?";
+    private static final String SELECT_BY_ISBNS = "SELECT " + prefixed("b.", COLUMNS)
+            + " FROM UNNEST(?) k(isbn) JOIN books b ON b.isbn = k.isbn";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM books ORDER BY seq";
+    private static final String SELECT_BY_YEAR = "SELECT " + COLUMNS
+            + " FROM books WHERE publication_year BETWEEN ? AND ? ORDER BY seq";
+    private static final String SELECT_VERSION = "SELECT version FROM books WHERE isbn = ?";
+    private static final String SELECT_VERSIONS =
+            "SELECT b.isbn, b.version FROM UNNEST(?) k(isbn) JOIN books b ON b.isbn = k.isbn";
+    private static final String UPDATE = "UPDATE books SET title = ?, author_first_name = ?, author_last_name = ?, "
+            + "genre = ?, publication_year = ?, available_copies = ?, version = version + 1 WHERE isbn = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " AND version = ?";
+    private static final String INSERT = "INSERT INTO books (title, author_first_name, author_last_name, genre, "
+            + "publication_year, available_copies, isbn, version) VALUES (?, ?, ?, ?, ?, ?, ?, 1)";
+    private static final String DELETE = "DELETE FROM books WHERE isbn = ?";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates the table and indexes if they don't exist yet.
+     *
+     * @param pool The connections to the database.
+     */
+    public JdbcBookRepository(JdbcConnectionPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Connection pool cannot be null.");
+        JdbcSupport.createSchema(pool, CREATE_TABLE, CREATE_YEAR_INDEX);
+    }
+
+    @Override
+    public Book save(Book book) {
+        validate(book);
+        long version = pool.inTransaction(connection -> {
+            if (update(connection, UPDATE, book) == 0) {
+                try {
+                    insert(connection, book);
+                    return 1L;
+                } catch (SQLException e) {
+                    if (!JdbcSupport.isDuplicateKey(e) || update(connection, UPDATE, book) == 0) {
+                        throw e;
+                    }
+                    // Inserted by someone else in between; updated instead
+                }
+            }
+            return readVersion(connection, book.getIsbn());
+        });
+        book.setVersion(version);
+        logger.info("Saved/Updated book with ISBN: {} (version {})", book.getIsbn(), version);
+        return book;
+    }
+
+    @Override
+    public Book saveIfVersion(Book book, long expectedVersion) {
+        validate(book);
+        pool.inTransaction(connection -> {
+            if (expectedVersion == 0) {
+                try {
+                    insert(connection, book);
+                    return null;
+                } catch (SQLException e) {
+                    if (JdbcSupport.isDuplicateKey(e)) {
+                        throw JdbcSupport.conflict(book.getIsbn(), 0, readVersion(connection, book.getIsbn()));
+                    }
+                    throw e;
+                }
+            }
+            PreparedStatement update = bind(connection.prepare(UPDATE_IF_VERSION), book);
+            update.setLong(8, expectedVersion);
+            if (update.executeUpdate() == 0) {
+                throw JdbcSupport.conflict(book.getIsbn(), expectedVersion, readVersion(connection, book.getIsbn()));
+            }
+            return null;
+        });
+        book.setVersion(expectedVersion + 1);
+        logger.info("Saved book with ISBN: {} at version {}", book.getIsbn(), expectedVersion + 1);
+        return book;
+    }
+
+    @Override
+    public List<Book> saveAll(Collection<Book> booksToSave) {
+        booksToSave.forEach(JdbcBookRepository::validate);
+        if (booksToSave.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Long> versions = pool.inTransaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            for (Book book : booksToSave) {
+                bind(update, book).addBatch();
+            }
+            int[] updated = update.executeBatch();
+            Map<String, Book> missing = new LinkedHashMap<>();
+            int i = 0;
+            for (Book book : booksToSave) {
+                if (updated[i++] == 0) {
+                    missing.put(book.getIsbn(), book); // The last copy of a repeated ISBN wins
+                }
+            }
+            if (!missing.isEmpty()) {
+                PreparedStatement insert = connection.prepare(INSERT);
+                for (Book book : missing.values()) {
+                    bind(insert, book).addBatch();
+                }
+                insert.executeBatch();
+            }
+            PreparedStatement select = connection.prepare(SELECT_VERSIONS);
+            select.setArray(1, JdbcSupport.keyArray(connection,
+                    booksToSave.stream().map(Book::getIsbn).distinct().toList()));
+            Map<String, Long> saved = new HashMap<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    saved.put(rows.getString(1), rows.getLong(2));
+                }
+            }
+            return saved;
+        });
+        for (Book book : booksToSave) {
+            book.setVersion(versions.get(book.getIsbn()));
+        }
+        logger.info("Saved/Updated {} books in one batch", booksToSave.size());
+        return new ArrayList<>(booksToSave);
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            logger.warn("Attempted to find book with null or empty ISBN.");
+            return Optional.empty();
+        }
+        return pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(SELECT_BY_ISBN);
+            select.setString(1, isbn);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? Optional.of(map(rows)) : Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Map<String, Book> byIsbn = pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(SELECT_BY_ISBNS);
+            select.setArray(1, JdbcSupport.keyArray(connection, isbns));
+            Map<String, Book> rows = new HashMap<>();
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    Book book = map(result);
+                    rows.put(book.getIsbn(), book);
+                }
+            }
+            return rows;
+        });
+        Map<String, Book> found = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            Book book = byIsbn.get(isbn);
+            if (book != null) {
+                found.put(isbn, book);
+            }
+        }
+        logger.debug("Resolved {} of {} requested ISBNs", found.size(), isbns.size());
+        return found;
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return pool.withConnection(connection -> list(connection.prepare(SELECT_ALL)));
+    }
+
+    @Override
+    public List<Book> findByPublicationYearBetween(Year from, Year to) {
+        List<Book> result = pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(SELECT_BY_YEAR);
+            select.setInt(1, from == null ? Year.MIN_VALUE : from.getValue());
+            select.setInt(2, to == null ? Year.MAX_VALUE : to.getValue());
+            return list(select);
+        });
+        logger.debug("Found {} books published between {} and {}", result.size(), from, to);
+        return result;
+    }
+
+    @Override
+    public boolean deleteByIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            logger.warn("Attempted to delete book with null or empty ISBN.");
+            return false;
+        }
+        boolean deleted = pool.withConnection(connection -> {
+            PreparedStatement delete = connection.prepare(DELETE);
+            delete.setString(1, isbn);
+            return delete.executeUpdate() > 0;
+        });
+        if (deleted) {
+            logger.info("Deleted book with ISBN: {}", isbn);
+        } else {
+            logger.info("No book found with ISBN {} to delete.", isbn);
+        }
+        return deleted;
+    }
+
+    private static String prefixed(String alias, String columns) {
+        return alias + columns.replace(", ", ", " + alias);
+    }
+
+    private static void validate(Book book) {
+        if (book == null || book.getIsbn() == null || book.getIsbn().trim().isEmpty()) {
+            logger.error("Attempted to save a null book or book with null/empty ISBN.");
+            throw new IllegalArgumentException("Book and ISBN cannot be null or empty.");
+        }
+    }
+
+    private static int update(PooledConnection connection, String sql, Book book) throws SQLException {
+        return bind(connection.prepare(sql), book).executeUpdate();
+    }
+
+    private static void insert(PooledConnection connection, Book book) throws SQLException {
+        bind(connection.prepare(INSERT), book).executeUpdate();
+    }
+
+    // UPDATE and INSERT take the details in the same order, ISBN last
+    private static PreparedStatement bind(PreparedStatement statement, Book book) throws SQLException {
+        statement.setString(1, book.getTitle());
+        statement.setString(2, book.getAuthor().getFirstName());
+        statement.setString(3, book.getAuthor().getLastName());
+        statement.setString(4, book.getGenre());
+        JdbcSupport.setNullableInt(statement, 5,
+                book.getPublicationYear() == null ? null : book.getPublicationYear().getValue());
+        statement.setInt(6, book.getAvailableCopies());
+        statement.setString(7, book.getIsbn());
+        return statement;
+    }
+
+    private static Long readVersion(PooledConnection connection, String isbn) throws SQLException {
+        PreparedStatement select = connection.prepare(SELECT_VERSION);
+        select.setString(1, isbn);
+        try (ResultSet rows = select.executeQuery()) {
+            return rows.next() ? rows.getLong(1) : null;
+        }
+    }
+
+    private static List<Book> list(PreparedStatement select) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        try (ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                books.add(map(rows));
+            }
+        }
+        return books;
+    }
+
+    private static Book map(ResultSet row) throws SQLException {
+        int year = row.getInt(6);
+        Year publicationYear = row.wasNull() ? null : Year.of(year);
+        Book book = new Book(row.getString(2), new Author(row.getString(3), row.getString(4)), row.getString(1),
+                row.getString(5), publicationYear, row.getInt(7));
+        book.setVersion(row.getLong(8));
+        return book;
+    }
+}
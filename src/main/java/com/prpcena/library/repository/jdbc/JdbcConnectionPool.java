@@ -0,0 +1,253 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcConnectionPool.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.repository.TransactionScope;
+
+/**
+ * A small, fixed-size pool of connections to an embedded database, e.g.
+ * {@code jdbc:h2:./data/library} or {@code jdbc:h2:mem:library;DB_CLOSE_DELAY=-1}.
+ * <p>
+ * All connections are opened up front and each keeps its own cache of
+ * prepared statements (see {@link PooledConnection}), so a repository call
+ * normally neither connects nor re-parses SQL. Callers run their work through
+ * {@link #withConnection} or {@link #inTransaction}; a connection found broken
+ * after a failure is replaced. {@link SQLException}s are rethrown as
+ * {@link OperationFailedException}. Thread-safe.
+ * <p>
+ * While a thread is inside {@link #inTransaction}, its connection is bound to
+ * the thread: further {@code withConnection} and {@code inTransaction} calls
+ * from that thread run on the same connection, in the same transaction, so
+ * several repositories on this pool can be written together through
+ * {@link #atomically}. Actions registered with {@link #afterCompletion} run
+ * once the outermost transaction has committed or rolled back.
+ */
+public class JdbcConnectionPool implements AutoCloseable, TransactionScope {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcConnectionPool.class);
+    private static final long BORROW_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Work to run on a pooled connection.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final BlockingQueue<PooledConnection> idle;
+    private final ThreadLocal<PooledConnection> transactionConnection = new ThreadLocal<>();
+    private final ThreadLocal<List<Runnable>> completionActions = new ThreadLocal<>();
+    private final List<PooledConnection> open = new ArrayList<>(); // Guarded by this
+    private boolean closed; // Guarded by this
+
+    /**
+     * @param url      The JDBC URL of the database.
+     * @param user     The database user.
+     * @param password The user's password.
+     * @param size     The number of connections to keep open.
+     * @throws OperationFailedException if the connections cannot be opened.
+     */
+    public JdbcConnectionPool(String url, String user, String password, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+        this.url = Objects.requireNonNull(url, "JDBC URL cannot be null.");
+        this.user = user;
+        this.password = password;
+        this.idle = new ArrayBlockingQueue<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                idle.add(connect());
+            }
+        } catch (SQLException e) {
+            close();
+            throw new OperationFailedException("Could not open database connections to " + url, e);
+        }
+        logger.info("Opened {} database connections to {}", size, url);
+    }
+
+    /**
+     * Runs work on a connection in auto-commit mode, or on the calling
+     * thread's connection if it is inside {@link #inTransaction}.
+     *
+     * @param work The work to run.
+     * @return What the work returned.
+     * @throws OperationFailedException if no connection becomes free in time or the work fails with an SQLException.
+     */
+    public <T> T withConnection(SqlWork<T> work) {
+        PooledConnection bound = transactionConnection.get();
+        if (bound != null) {
+            try {
+                return work.run(bound);
+            } catch (SQLException e) {
+                throw new OperationFailedException("Database operation failed: " + e.getMessage(), e);
+            }
+        }
+        PooledConnection connection = borrow();
+        boolean broken = false;
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            broken = !isValid(connection);
+            throw new OperationFailedException("Database operation failed: " + e.getMessage(), e);
+        } finally {
+            release(connection, broken);
+        }
+    }
+
+    /**
+     * Runs work in one database transaction, committed if the work returns and
+     * rolled back if it throws. Called from inside another transaction on the
+     * same thread, the work joins it and is committed or rolled back with it.
+     *
+     * @param work The work to run.
+     * @return What the work returned.
+     * @throws OperationFailedException if no connection becomes free in time or the work fails with an SQLException.
+     */
+    public <T> T inTransaction(SqlWork<T> work) {
+        if (transactionConnection.get() != null) {
+            return withConnection(work);
+        }
+        List<Runnable> actions = new ArrayList<>();
+        completionActions.set(actions);
+        try {
+            return withConnection(connection -> {
+                Connection jdbc = connection.getConnection();
+                jdbc.setAutoCommit(false);
+                transactionConnection.set(connection);
+                try {
+                    T result = work.run(connection);
+                    jdbc.commit();
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    jdbc.rollback();
+                    throw e;
+                } finally {
+                    transactionConnection.remove();
+                    jdbc.setAutoCommit(true);
+                }
+            });
+        } finally {
+            completionActions.remove();
+            actions.forEach(JdbcConnectionPool::runCompletionAction);
+        }
+    }
+
+    /**
+     * Runs repository calls on this pool in one database transaction.
+     */
+    @Override
+    public <T> T atomically(Supplier<T> work) {
+        return inTransaction(connection -> work.get());
+    }
+
+    @Override
+    public boolean isActive() {
+        return transactionConnection.get() != null;
+    }
+
+    @Override
+    public void afterCompletion(Runnable action) {
+        List<Runnable> actions = completionActions.get();
+        if (actions != null) {
+            actions.add(action);
+        } else {
+            runCompletionAction(action);
+        }
+    }
+
+    private static void runCompletionAction(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("Transaction completion action failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (PooledConnection connection : open) {
+            connection.close();
+        }
+        open.clear();
+        idle.clear();
+        logger.info("Closed database connections to {}", url);
+    }
+
+    private PooledConnection connect() throws SQLException {
+        PooledConnection connection = new PooledConnection(DriverManager.getConnection(url, user, password));
+        synchronized (this) {
+            open.add(connection);
+        }
+        return connection;
+    }
+
+    private PooledConnection borrow() {
+        synchronized (this) {
+            if (closed) {
+                throw new OperationFailedException("Connection pool for " + url + " is closed.");
+            }
+        }
+        try {
+            PooledConnection connection = idle.poll(BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new OperationFailedException("Timed out waiting for a connection to " + url);
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationFailedException("Interrupted while waiting for a connection to " + url, e);
+        }
+    }
+
+    private void release(PooledConnection connection, boolean broken) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (broken) {
+                open.remove(connection);
+                connection.close();
+            }
+        }
+        if (!broken) {
+            idle.add(connection);
+            return;
+        }
+        try {
+            idle.add(connect());
+            logger.warn("Replaced a broken connection to {}", url);
+        } catch (SQLException e) {
+            logger.error("Could not replace a broken connection to {}; the pool is now smaller", url, e);
+        }
+    }
+
+    private static boolean isValid(PooledConnection connection) {
+        try {
+            return connection.getConnection().isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
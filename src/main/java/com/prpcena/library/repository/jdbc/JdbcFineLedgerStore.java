@@ -0,0 +1,77 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcFineLedgerStore.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.fine.FineLedgerStore;
+
+/**
+ * A {@link FineLedgerStore} kept in an embedded SQL database: one row per
+ * settled entry, never updated, read back in the order it was settled.
+ * Thread-safe.
+ */
+public class JdbcFineLedgerStore implements FineLedgerStore {
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS fine_ledger ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "member_id VARCHAR(64) NOT NULL, "
+            + "entry_date DATE NOT NULL, "
+            + "type VARCHAR(16) NOT NULL, "
+            + "amount BIGINT NOT NULL, "
+            + "transaction_id VARCHAR(64), "
+            + "book_isbn VARCHAR(64))";
+
+    private static final String INSERT = "INSERT INTO fine_ledger (member_id, entry_date, type, amount, "
+            + "transaction_id, book_isbn) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ALL = "SELECT member_id, entry_date, type, amount, transaction_id, book_isbn "
+            + "FROM fine_ledger ORDER BY seq";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates the table if it doesn't exist yet.
+     *
+     * @param pool The connections to the database.
+     */
+    public JdbcFineLedgerStore(JdbcConnectionPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Connection pool cannot be null.");
+        JdbcSupport.createSchema(pool, CREATE_TABLE);
+    }
+
+    @Override
+    public void append(FineLedgerEntry entry) {
+        pool.inTransaction(connection -> {
+            PreparedStatement insert = connection.prepare(INSERT);
+            insert.setString(1, entry.getMemberId());
+            insert.setObject(2, entry.getDate());
+            insert.setString(3, entry.getType().name());
+            insert.setLong(4, entry.getAmount());
+            insert.setString(5, entry.getTransactionId());
+            insert.setString(6, entry.getBookIsbn());
+            return insert.executeUpdate();
+        });
+    }
+
+    /**
+     * @return Every entry stored, oldest first, e.g. to
+     *         {@linkplain com.prpcena.library.fine.FineEngine#restore restore} a fine engine.
+     */
+    public List<FineLedgerEntry> findAll() {
+        return pool.withConnection(connection -> {
+            List<FineLedgerEntry> entries = new ArrayList<>();
+            try (ResultSet rows = connection.prepare(SELECT_ALL).executeQuery()) {
+                while (rows.next()) {
+                    entries.add(new FineLedgerEntry(rows.getString(1), rows.getObject(2, LocalDate.class),
+                            FineLedgerEntry.Type.valueOf(rows.getString(3)), rows.getLong(4), rows.getString(5),
+                            rows.getString(6)));
+                }
+            }
+            return entries;
+        });
+    }
+}
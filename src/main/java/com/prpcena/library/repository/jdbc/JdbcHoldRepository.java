@@ -0,0 +1,198 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcHoldRepository.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+import com.prpcena.library.repository.HoldRepository;
+
+/**
+ * A {@link HoldRepository} stored in an embedded SQL database.
+ * <p>
+ * A book's wait-list is its waiting holds in the order they were first
+ * saved, which the table's identity column records. Each query is served by
+ * an index that starts with the columns it filters on: book, status and
+ * arrival for the wait-list, member and status for a member's active holds,
+ * status and ready time for the holds past their pickup window. Every call
+ * returns fresh copies, so a hold changes in the table only when it is saved.
+ * Thread-safe.
+ */
+public class JdbcHoldRepository implements HoldRepository {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcHoldRepository.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS holds ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+            + "hold_id VARCHAR(64) PRIMARY KEY, "
+            + "book_isbn VARCHAR(64) NOT NULL, "
+            + "member_id VARCHAR(64) NOT NULL, "
+            + "placed_at TIMESTAMP NOT NULL, "
+            + "status VARCHAR(16) NOT NULL, "
+            + "ready_at TIMESTAMP)";
+    private static final String CREATE_WAITING_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_holds_waiting ON holds (book_isbn, status, seq)";
+    private static final String CREATE_MEMBER_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_holds_member ON holds (member_id, status)";
+    private static final String CREATE_READY_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_holds_ready ON holds (status, ready_at)";
+
+    private static final String COLUMNS = "hold_id, book_isbn, member_id, placed_at, status, ready_at";
+    private static final String ACTIVE = "status IN ('WAITING', 'READY_FOR_PICKUP')";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM holds WHERE hold_id = ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM holds ORDER BY seq";
+    private static final String SELECT_ACTIVE_BY_MEMBER_AND_BOOK = "SELECT " + COLUMNS
+            + " FROM holds WHERE member_id = ? AND book_isbn = ? AND " + ACTIVE;
+    private static final String SELECT_ACTIVE_BY_MEMBER = "SELECT " + COLUMNS
+            + " FROM holds WHERE member_id = ? AND " + ACTIVE + " ORDER BY seq";
+    private static final String SELECT_NEXT_WAITING = "SELECT " + COLUMNS
+            + " FROM holds WHERE book_isbn = ? AND status = 'WAITING' ORDER BY seq LIMIT 1";
+    private static final String SELECT_READY_BEFORE = "SELECT " + COLUMNS
+            + " FROM holds WHERE status = 'READY_FOR_PICKUP' AND ready_at < ? ORDER BY ready_at";
+    private static final String COUNT_WAITING =
+            "SELECT COUNT(*) FROM holds WHERE book_isbn = ? AND status = 'WAITING'";
+    // Zero when the hold is not waiting, as the subquery then finds no row
+    private static final String QUEUE_POSITION = "SELECT COUNT(*) FROM holds WHERE book_isbn = ? "
+            + "AND status = 'WAITING' AND seq <= (SELECT seq FROM holds WHERE hold_id = ? AND status = 'WAITING')";
+    private static final String UPDATE = "UPDATE holds SET book_isbn = ?, member_id = ?, placed_at = ?, "
+            + "status = ?, ready_at = ? WHERE hold_id = ?";
+    private static final String INSERT = "INSERT INTO holds (book_isbn, member_id, placed_at, status, ready_at, "
+            + "hold_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates the table and indexes if they don't exist yet.
+     *
+     * @param pool The connections to the database.
+     */
+    public JdbcHoldRepository(JdbcConnectionPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Connection pool cannot be null.");
+        JdbcSupport.createSchema(pool, CREATE_TABLE, CREATE_WAITING_INDEX, CREATE_MEMBER_INDEX, CREATE_READY_INDEX);
+    }
+
+    @Override
+    public Hold save(Hold hold) {
+        if (hold == null || hold.getHoldId() == null) {
+            logger.error("Attempted to save a null hold or hold with null ID.");
+            throw new IllegalArgumentException("Hold and Hold ID cannot be null.");
+        }
+        pool.inTransaction(connection -> {
+            if (bind(connection.prepare(UPDATE), hold).executeUpdate() == 0) {
+                try {
+                    bind(connection.prepare(INSERT), hold).executeUpdate();
+                } catch (SQLException e) {
+                    if (!JdbcSupport.isDuplicateKey(e) || bind(connection.prepare(UPDATE), hold).executeUpdate() == 0) {
+                        throw e;
+                    }
+                }
+            }
+            return null;
+        });
+        logger.info("Saved hold with ID: {} ({})", hold.getHoldId(), hold.getStatus());
+        return hold;
+    }
+
+    @Override
+    public Optional<Hold> findById(String holdId) {
+        return first(query(SELECT_BY_ID, holdId));
+    }
+
+    @Override
+    public List<Hold> findAll() {
+        return query(SELECT_ALL);
+    }
+
+    @Override
+    public Optional<Hold> findActiveByMemberAndBook(String memberId, String bookIsbn) {
+        return first(query(SELECT_ACTIVE_BY_MEMBER_AND_BOOK, memberId, bookIsbn));
+    }
+
+    @Override
+    public List<Hold> findActiveByMemberId(String memberId) {
+        return query(SELECT_ACTIVE_BY_MEMBER, memberId);
+    }
+
+    @Override
+    public Optional<Hold> findNextWaiting(String bookIsbn) {
+        return first(query(SELECT_NEXT_WAITING, bookIsbn));
+    }
+
+    @Override
+    public int getQueuePosition(Hold hold) {
+        return count(QUEUE_POSITION, hold.getBookIsbn(), hold.getHoldId());
+    }
+
+    @Override
+    public List<Hold> findReadyForPickupBefore(LocalDateTime cutoff) {
+        return pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(SELECT_READY_BEFORE);
+            select.setObject(1, cutoff);
+            return read(select);
+        });
+    }
+
+    @Override
+    public int countWaiting(String bookIsbn) {
+        return count(COUNT_WAITING, bookIsbn);
+    }
+
+    private List<Hold> query(String sql, String... parameters) {
+        return pool.withConnection(connection -> read(bindAll(connection.prepare(sql), parameters)));
+    }
+
+    private int count(String sql, String... parameters) {
+        return pool.withConnection(connection -> {
+            try (ResultSet rows = bindAll(connection.prepare(sql), parameters).executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        });
+    }
+
+    private static PreparedStatement bindAll(PreparedStatement statement, String... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setString(i + 1, parameters[i]);
+        }
+        return statement;
+    }
+
+    private static List<Hold> read(PreparedStatement select) throws SQLException {
+        List<Hold> holds = new ArrayList<>();
+        try (ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                holds.add(map(rows));
+            }
+        }
+        return holds;
+    }
+
+    private static Optional<Hold> first(List<Hold> found) {
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    // UPDATE and INSERT take the columns in the same order, ID last
+    private static PreparedStatement bind(PreparedStatement statement, Hold hold) throws SQLException {
+        statement.setString(1, hold.getBookIsbn());
+        statement.setString(2, hold.getMemberId());
+        statement.setObject(3, hold.getPlacedDateTime());
+        statement.setString(4, hold.getStatus().name());
+        statement.setObject(5, hold.getReadyDateTime());
+        statement.setString(6, hold.getHoldId());
+        return statement;
+    }
+
+    private static Hold map(ResultSet row) throws SQLException {
+        return new Hold(row.getString(1), row.getString(2), row.getString(3), row.getObject(4, LocalDateTime.class),
+                HoldStatus.valueOf(row.getString(5)), row.getObject(6, LocalDateTime.class));
+    }
+}
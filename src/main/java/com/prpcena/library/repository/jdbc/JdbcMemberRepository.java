@@ -0,0 +1,243 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcMemberRepository.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.repository.MemberRepository;
+
+/**
+ * A {@link MemberRepository} stored in an embedded SQL database. Versions and
+ * batches work as in {@link JdbcBookRepository}. Thread-safe.
+ */
+public class JdbcMemberRepository implements MemberRepository {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcMemberRepository.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS members ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+            + "member_id VARCHAR(64) PRIMARY KEY, "
+            + "name VARCHAR(255) NOT NULL, "
+            + "contact_info VARCHAR(255), "
+            + "tier VARCHAR(16) NOT NULL, "
+            + "version BIGINT NOT NULL)";
+
+    private static final String COLUMNS = "member_id, name, contact_info, tier, version";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM members WHERE member_id = ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM members ORDER BY seq";
+    private static final String SELECT_VERSION = "SELECT version FROM members WHERE member_id = ?";
+    private static final String SELECT_VERSIONS =
+            "SELECT m.member_id, m.version FROM UNNEST(?) k(member_id) JOIN members m ON m.member_id = k.member_id";
+    private static final String UPDATE = "UPDATE members SET name = ?, contact_info = ?, tier = ?, "
+            + "version = version + 1 WHERE member_id = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " AND version = ?";
+    private static final String INSERT = "INSERT INTO members (name, contact_info, tier, member_id, version) "
+            + "VALUES (?, ?, ?, ?, 1)";
+    private static final String DELETE = "DELETE FROM members WHERE member_id = ?";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates the table if it doesn't exist yet.
+     *
+     * @param pool The connections to the database.
+     */
+    public JdbcMemberRepository(JdbcConnectionPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Connection pool cannot be null.");
+        JdbcSupport.createSchema(pool, CREATE_TABLE);
+    }
+
+    @Override
+    public Member save(Member member) {
+        validate(member);
+        long version = pool.inTransaction(connection -> {
+            if (update(connection, UPDATE, member) == 0) {
+                try {
+                    insert(connection, member);
+                    return 1L;
+                } catch (SQLException e) {
+                    if (!JdbcSupport.isDuplicateKey(e) || update(connection, UPDATE, member) == 0) {
+                        throw e;
+                    }
+                    // Inserted by someone else in between; updated instead
+                }
+            }
+            return readVersion(connection, member.getMemberId());
+        });
+        member.setVersion(version);
+        logger.info("Saved/Updated member with ID: {} (version {})", member.getMemberId(), version);
+        return member;
+    }
+
+    @Override
+    public Member saveIfVersion(Member member, long expectedVersion) {
+        validate(member);
+        pool.inTransaction(connection -> {
+            if (expectedVersion == 0) {
+                try {
+                    insert(connection, member);
+                    return null;
+                } catch (SQLException e) {
+                    if (JdbcSupport.isDuplicateKey(e)) {
+                        throw JdbcSupport.conflict(member.getMemberId(), 0,
+                                readVersion(connection, member.getMemberId()));
+                    }
+                    throw e;
+                }
+            }
+            PreparedStatement update = bind(connection.prepare(UPDATE_IF_VERSION), member);
+            update.setLong(5, expectedVersion);
+            if (update.executeUpdate() == 0) {
+                throw JdbcSupport.conflict(member.getMemberId(), expectedVersion,
+                        readVersion(connection, member.getMemberId()));
+            }
+            return null;
+        });
+        member.setVersion(expectedVersion + 1);
+        logger.info("Saved member with ID: {} at version {}", member.getMemberId(), expectedVersion + 1);
+        return member;
+    }
+
+    @Override
+    public List<Member> saveAll(Collection<Member> membersToSave) {
+        membersToSave.forEach(JdbcMemberRepository::validate);
+        if (membersToSave.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Long> versions = pool.inTransaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            for (Member member : membersToSave) {
+                bind(update, member).addBatch();
+            }
+            int[] updated = update.executeBatch();
+            Map<String, Member> missing = new LinkedHashMap<>();
+            int i = 0;
+            for (Member member : membersToSave) {
+                if (updated[i++] == 0) {
+                    missing.put(member.getMemberId(), member); // The last copy of a repeated ID wins
+                }
+            }
+            if (!missing.isEmpty()) {
+                PreparedStatement insert = connection.prepare(INSERT);
+                for (Member member : missing.values()) {
+                    bind(insert, member).addBatch();
+                }
+                insert.executeBatch();
+            }
+            PreparedStatement select = connection.prepare(SELECT_VERSIONS);
+            select.setArray(1, JdbcSupport.keyArray(connection,
+                    membersToSave.stream().map(Member::getMemberId).distinct().toList()));
+            Map<String, Long> saved = new HashMap<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    saved.put(rows.getString(1), rows.getLong(2));
+                }
+            }
+            return saved;
+        });
+        for (Member member : membersToSave) {
+            member.setVersion(versions.get(member.getMemberId()));
+        }
+        logger.info("Saved/Updated {} members in one batch", membersToSave.size());
+        return new ArrayList<>(membersToSave);
+    }
+
+    @Override
+    public Optional<Member> findById(String memberId) {
+        if (memberId == null || memberId.trim().isEmpty()) {
+            logger.warn("Attempted to find member with null or empty ID.");
+            return Optional.empty();
+        }
+        return pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(SELECT_BY_ID);
+            select.setString(1, memberId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? Optional.of(map(rows)) : Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return pool.withConnection(connection -> {
+            List<Member> members = new ArrayList<>();
+            try (ResultSet rows = connection.prepare(SELECT_ALL).executeQuery()) {
+                while (rows.next()) {
+                    members.add(map(rows));
+                }
+            }
+            return members;
+        });
+    }
+
+    @Override
+    public boolean deleteById(String memberId) {
+        if (memberId == null || memberId.trim().isEmpty()) {
+            logger.warn("Attempted to delete member with null or empty ID.");
+            return false;
+        }
+        boolean deleted = pool.withConnection(connection -> {
+            PreparedStatement delete = connection.prepare(DELETE);
+            delete.setString(1, memberId);
+            return delete.executeUpdate() > 0;
+        });
+        if (deleted) {
+            logger.info("Deleted member with ID: {}", memberId);
+        } else {
+            logger.info("No member found with ID {} to delete.", memberId);
+        }
+        return deleted;
+    }
+
+    private static void validate(Member member) {
+        if (member == null || member.getMemberId() == null || member.getMemberId().trim().isEmpty()) {
+            logger.error("Attempted to save a null member or member with null/empty ID.");
+            throw new IllegalArgumentException("Member and Member ID cannot be null or empty.");
+        }
+    }
+
+    private static int update(PooledConnection connection, String sql, Member member) throws SQLException {
+        return bind(connection.prepare(sql), member).executeUpdate();
+    }
+
+    private static void insert(PooledConnection connection, Member member) throws SQLException {
+        bind(connection.prepare(INSERT), member).executeUpdate();
+    }
+
+    // UPDATE and INSERT take the details in the same order, ID last
+    private static PreparedStatement bind(PreparedStatement statement, Member member) throws SQLException {
+        statement.setString(1, member.getName());
+        statement.setString(2, member.getContactInfo());
+        statement.setString(3, member.getTier().name());
+        statement.setString(4, member.getMemberId());
+        return statement;
+    }
+
+    private static Long readVersion(PooledConnection connection, String memberId) throws SQLException {
+        PreparedStatement select = connection.prepare(SELECT_VERSION);
+        select.setString(1, memberId);
+        try (ResultSet rows = select.executeQuery()) {
+            return rows.next() ? rows.getLong(1) : null;
+        }
+    }
+
+    private static Member map(ResultSet row) throws SQLException {
+        Member member = new Member(row.getString(1), row.getString(2), row.getString(3),
+                MemberTier.valueOf(row.getString(4)));
+        member.setVersion(row.getLong(5));
+        return member;
+    }
+}
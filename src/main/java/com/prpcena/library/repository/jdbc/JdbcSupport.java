@@ -0,0 +1,58 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcSupport.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Collection;
+
+import com.prpcena.library.exception.VersionConflictException;
+
+/**
+ * Statement helpers shared by the JDBC repositories.
+ */
+final class JdbcSupport {
+    private static final String UNIQUE_VIOLATION = "23505"; // SQL standard state for a duplicate key
+
+    private JdbcSupport() {
+    }
+
+    static void createSchema(JdbcConnectionPool pool, String... ddl) {
+        pool.withConnection(connection -> {
+            try (Statement statement = connection.getConnection().createStatement()) {
+                for (String sql : ddl) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    static void setNullableInt(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
+    /**
+     * @return A VARCHAR array for joining against {@code UNNEST(?)}, which keeps
+     *         the SQL the same, and so cached, whatever the number of keys, and
+     *         probes the primary key once per key.
+     */
+    static Array keyArray(PooledConnection connection, Collection<String> keys) throws SQLException {
+        return connection.getConnection().createArrayOf("VARCHAR", keys.toArray());
+    }
+
+    static boolean isDuplicateKey(SQLException e) {
+        return UNIQUE_VIOLATION.equals(e.getSQLState());
+    }
+
+    static VersionConflictException conflict(String key, long expectedVersion, Long foundVersion) {
+        return new VersionConflictException("Expected version " + expectedVersion + " of " + key + " but found "
+                + (foundVersion == null ? "none" : "version " + foundVersion) + ".");
+    }
+}
@@ -0,0 +1,214 @@
+// src/main/java/com/prpcena/library/repository/jdbc/JdbcTransactionRepository.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+import com.prpcena.library.repository.TransactionRepository;
+
+/**
+ * A {@link TransactionRepository} stored in an embedded SQL database.
+ * <p>
+ * Whether a row is an open loan is a generated column, and the open-loan
+ * queries are served from indexes that start with it: one ordered like the
+ * history for {@link #findAllOpenBorrowTransactions()}, one by member and
+ * ISBN for the per-member lookups. Neither query reads returned loans.
+ * {@link #saveAll} writes with JDBC batches. Thread-safe.
+ */
+public class JdbcTransactionRepository implements TransactionRepository {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransactionRepository.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS transactions ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+            + "transaction_id VARCHAR(64) PRIMARY KEY, "
+            + "book_isbn VARCHAR(64) NOT NULL, "
+            + "member_id VARCHAR(64) NOT NULL, "
+            + "type VARCHAR(16) NOT NULL, "
+            + "transaction_at TIMESTAMP NOT NULL, "
+            + "due_date DATE, "
+            + "returned_at TIMESTAMP, "
+            + "open_loan BOOLEAN GENERATED ALWAYS AS (type = 'BORROW' AND returned_at IS NULL))";
+    private static final String CREATE_OPEN_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_transactions_open ON transactions (open_loan, seq)";
+    private static final String CREATE_OPEN_BY_MEMBER_INDEX = "CREATE INDEX IF NOT EXISTS "
+            + "idx_transactions_open_by_member ON transactions (open_loan, member_id, book_isbn)";
+    private static final String CREATE_MEMBER_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_transactions_member ON transactions (member_id, seq)";
+    private static final String CREATE_BOOK_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_transactions_book ON transactions (book_isbn, seq)";
+
+    private static final String COLUMNS = "transaction_id, book_isbn, member_id, type, transaction_at, due_date, "
+            + "returned_at";
+    static final String SELECT_OPEN_BY_MEMBER_AND_BOOK = "SELECT " + COLUMNS
+            + " FROM transactions WHERE open_loan = TRUE AND member_id = ? AND book_isbn = ?";
+    static final String SELECT_ALL_OPEN = "SELECT " + COLUMNS
+            + " FROM transactions WHERE open_loan = TRUE ORDER BY seq";
+    private static final String SELECT_OPEN_BY_MEMBER = "SELECT " + COLUMNS
+            + " FROM transactions WHERE open_loan = TRUE AND member_id = ? ORDER BY seq";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM transactions WHERE transaction_id = ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM transactions ORDER BY seq";
+    private static final String SELECT_BY_MEMBER = "SELECT " + COLUMNS
+            + " FROM transactions WHERE member_id = ? ORDER BY seq";
+    private static final String SELECT_BY_BOOK = "SELECT " + COLUMNS
+            + " FROM transactions WHERE book_isbn = ? ORDER BY seq";
+    private static final String UPDATE = "UPDATE transactions SET book_isbn = ?, member_id = ?, type = ?, "
+            + "transaction_at = ?, due_date = ?, returned_at = ? WHERE transaction_id = ?";
+    private static final String INSERT = "INSERT INTO transactions (book_isbn, member_id, type, transaction_at, "
+            + "due_date, returned_at, transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates the table and indexes if they don't exist yet.
+     *
+     * @param pool The connections to the database.
+     */
+    public JdbcTransactionRepository(JdbcConnectionPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Connection pool cannot be null.");
+        JdbcSupport.createSchema(pool, CREATE_TABLE, CREATE_OPEN_INDEX, CREATE_OPEN_BY_MEMBER_INDEX,
+                CREATE_MEMBER_INDEX, CREATE_BOOK_INDEX);
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transaction == null || transaction.getTransactionId() == null) {
+            logger.error("Attempted to save a null transaction or transaction with null ID.");
+            throw new IllegalArgumentException("Transaction and Transaction ID cannot be null.");
+        }
+        pool.inTransaction(connection -> {
+            if (bind(connection.prepare(UPDATE), transaction).executeUpdate() == 0) {
+                try {
+                    bind(connection.prepare(INSERT), transaction).executeUpdate();
+                } catch (SQLException e) {
+                    if (!JdbcSupport.isDuplicateKey(e)
+                            || bind(connection.prepare(UPDATE), transaction).executeUpdate() == 0) {
+                        throw e;
+                    }
+                }
+            }
+            return null;
+        });
+        logger.info("Saved transaction with ID: {}", transaction.getTransactionId());
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(Collection<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            if (transaction == null || transaction.getTransactionId() == null) {
+                logger.error("Attempted to save a null transaction or transaction with null ID in a batch.");
+                throw new IllegalArgumentException("Transaction and Transaction ID cannot be null.");
+            }
+        }
+        if (batch.isEmpty()) {
+            return new ArrayList<>();
+        }
+        pool.inTransaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            for (Transaction transaction : batch) {
+                bind(update, transaction).addBatch();
+            }
+            int[] updated = update.executeBatch();
+            PreparedStatement insert = connection.prepare(INSERT);
+            boolean inserting = false;
+            int i = 0;
+            for (Transaction transaction : batch) {
+                if (updated[i++] == 0) {
+                    bind(insert, transaction).addBatch();
+                    inserting = true;
+                }
+            }
+            if (inserting) {
+                insert.executeBatch();
+            }
+            return null;
+        });
+        logger.info("Saved {} transactions in one batch", batch.size());
+        return new ArrayList<>(batch);
+    }
+
+    @Override
+    public Optional<Transaction> findById(String transactionId) {
+        List<Transaction> found = query(SELECT_BY_ID, transactionId);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return query(SELECT_ALL);
+    }
+
+    @Override
+    public List<Transaction> findByMemberId(String memberId) {
+        return query(SELECT_BY_MEMBER, memberId);
+    }
+
+    @Override
+    public List<Transaction> findByBookIsbn(String bookIsbn) {
+        return query(SELECT_BY_BOOK, bookIsbn);
+    }
+
+    @Override
+    public Optional<Transaction> findOpenBorrowTransactionByMemberAndBook(String memberId, String bookIsbn) {
+        // A member can only have one open loan for a specific book ISBN
+        List<Transaction> found = query(SELECT_OPEN_BY_MEMBER_AND_BOOK, memberId, bookIsbn);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    public List<Transaction> findOpenBorrowTransactionsByMember(String memberId) {
+        return query(SELECT_OPEN_BY_MEMBER, memberId);
+    }
+
+    @Override
+    public List<Transaction> findAllOpenBorrowTransactions() {
+        return query(SELECT_ALL_OPEN);
+    }
+
+    private List<Transaction> query(String sql, String... parameters) {
+        return pool.withConnection(connection -> {
+            PreparedStatement select = connection.prepare(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setString(i + 1, parameters[i]);
+            }
+            List<Transaction> transactions = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    transactions.add(map(rows));
+                }
+            }
+            return transactions;
+        });
+    }
+
+    // UPDATE and INSERT take the columns in the same order, ID last
+    private static PreparedStatement bind(PreparedStatement statement, Transaction transaction) throws SQLException {
+        statement.setString(1, transaction.getBookIsbn());
+        statement.setString(2, transaction.getMemberId());
+        statement.setString(3, transaction.getType().name());
+        statement.setObject(4, transaction.getTransactionDateTime());
+        statement.setObject(5, transaction.getDueDate());
+        statement.setObject(6, transaction.getReturnDateTime());
+        statement.setString(7, transaction.getTransactionId());
+        return statement;
+    }
+
+    private static Transaction map(ResultSet row) throws SQLException {
+        return new Transaction(row.getString(1), row.getString(2), row.getString(3),
+                TransactionType.valueOf(row.getString(4)), row.getObject(5, LocalDateTime.class),
+                row.getObject(6, LocalDate.class), row.getObject(7, LocalDateTime.class));
+    }
+}
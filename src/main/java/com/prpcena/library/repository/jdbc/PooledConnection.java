@@ -0,0 +1,69 @@
+// src/main/java/com/prpcena/library/repository/jdbc/PooledConnection.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A connection lent out by {@link JdbcConnectionPool}, with the prepared
+ * statements it has already parsed. Repositories use constant SQL strings, so
+ * after warm-up every call reuses a statement. Only used by one thread at a
+ * time.
+ */
+public final class PooledConnection {
+    private static final Logger logger = LoggerFactory.getLogger(PooledConnection.class);
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    PooledConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Gets the cached statement for the SQL, preparing it on first use. Its
+     * parameters and batch are cleared. Close the result sets it returns, but
+     * not the statement itself.
+     *
+     * @param sql The SQL, which should be a constant.
+     * @return The prepared statement.
+     * @throws SQLException if the SQL cannot be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+            statement.clearBatch();
+        }
+        return statement;
+    }
+
+    /**
+     * @return The underlying connection, e.g. for transaction control or creating arrays.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    int getCachedStatementCount() {
+        return statements.size();
+    }
+
+    void close() {
+        try {
+            connection.close(); // Closes the cached statements too
+        } catch (SQLException e) {
+            logger.warn("Failed to close a database connection", e);
+        }
+        statements.clear();
+    }
+}
@@ -0,0 +1,138 @@
+// src/main/java/com/prpcena/library/repository/log/LoggedBookRepository.java
+package com.prpcena.library.repository.log;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.repository.BookRepository;
+
+/**
+ * A {@link BookRepository} that keeps books in another repository, typically
+ * in memory, and queues every save and delete for a {@link MutationLog}
+ * through a {@link MutationQueue}, in the same unit as the transactions
+ * written with it.
+ * <p>
+ * The delegate assigns versions, so it is written first and a snapshot of the
+ * saved book queued after; reads and version checks go straight to it. A
+ * write that is part of a unit that fails is undone by saving the book back
+ * as it was before, or deleting it if it was new.
+ */
+public class LoggedBookRepository implements BookRepository {
+    private final BookRepository delegate;
+    private final MutationQueue queue;
+
+    /**
+     * @param delegate The repository read from, already holding the books replayed from the log.
+     * @param queue    Where each save and delete is queued for the log.
+     */
+    public LoggedBookRepository(BookRepository delegate, MutationQueue queue) {
+        this.delegate = Objects.requireNonNull(delegate, "Book repository cannot be null.");
+        this.queue = Objects.requireNonNull(queue, "Mutation queue cannot be null.");
+    }
+
+    @Override
+    public Book save(Book book) {
+        checkBook(book);
+        return queue.write(() -> delegate.save(book), saved -> List.of(MutationLog.Entry.bookSaved(saved.copy())),
+                () -> restorer(book.getIsbn()));
+    }
+
+    @Override
+    public Book saveIfVersion(Book book, long expectedVersion) {
+        checkBook(book);
+        return queue.write(() -> delegate.saveIfVersion(book, expectedVersion),
+                saved -> List.of(MutationLog.Entry.bookSaved(saved.copy())), () -> restorer(book.getIsbn()));
+    }
+
+    @Override
+    public List<Book> saveAll(Collection<Book> books) {
+        List<String> isbns = new ArrayList<>(books.size());
+        for (Book book : books) {
+            checkBook(book);
+            isbns.add(book.getIsbn());
+        }
+        return queue.write(() -> delegate.saveAll(books), saved -> {
+            List<MutationLog.Entry> entries = new ArrayList<>(saved.size());
+            saved.forEach(book -> entries.add(MutationLog.Entry.bookSaved(book.copy())));
+            return entries;
+        }, () -> {
+            List<Runnable> restorers = new ArrayList<>(isbns.size());
+            isbns.forEach(isbn -> restorers.add(restorer(isbn)));
+            return () -> restorers.forEach(Runnable::run);
+        });
+    }
+
+    @Override
+    public boolean deleteByIsbn(String isbn) {
+        Objects.requireNonNull(isbn, "ISBN cannot be null.");
+        return queue.write(() -> delegate.deleteByIsbn(isbn),
+                deleted -> deleted ? List.of(MutationLog.Entry.bookDeleted(isbn)) : List.of(),
+                () -> restorer(isbn));
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return delegate.findByIsbn(isbn);
+    }
+
+    @Override
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        return delegate.findAllByIsbn(isbns);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findByPublicationYearBetween(Year from, Year to) {
+        return delegate.findByPublicationYearBetween(from, to);
+    }
+
+    @Override
+    public List<Book> findByAuthorSoundingLike(String query) {
+        return delegate.findByAuthorSoundingLike(query);
+    }
+
+    @Override
+    public List<Book> findByKeywords(String query) {
+        return delegate.findByKeywords(query);
+    }
+
+    @Override
+    public FacetCounts countFacets() {
+        return delegate.countFacets();
+    }
+
+    @Override
+    public FacetCounts countFacets(Collection<Book> books) {
+        return delegate.countFacets(books);
+    }
+
+    // Reads the book as it is now and returns what puts it back that way
+    private Runnable restorer(String isbn) {
+        Optional<Book> before = delegate.findByIsbn(isbn);
+        return () -> {
+            if (before.isPresent()) {
+                delegate.save(before.get().copy());
+            } else {
+                delegate.deleteByIsbn(isbn);
+            }
+        };
+    }
+
+    // The delegate rejects these too, but the ISBN is needed for the undo first
+    private static void checkBook(Book book) {
+        if (book == null || book.getIsbn() == null) {
+            throw new IllegalArgumentException("Book and ISBN cannot be null or empty.");
+        }
+    }
+}
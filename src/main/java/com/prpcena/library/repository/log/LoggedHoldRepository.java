@@ -0,0 +1,80 @@
+// src/main/java/com/prpcena/library/repository/log/LoggedHoldRepository.java
+package com.prpcena.library.repository.log;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.repository.HoldRepository;
+
+/**
+ * A {@link HoldRepository} that keeps holds in another repository, typically
+ * in memory, and appends every save to a {@link MutationLog} first, so a save
+ * that could not be logged does not reach the delegate. Holds change a few times a day per
+ * book, so each save is written and forced to disk on its own rather than
+ * batched. Reads go straight to the delegate.
+ */
+public class LoggedHoldRepository implements HoldRepository {
+    private final HoldRepository delegate;
+    private final MutationLog log;
+
+    /**
+     * @param delegate The repository read from, already holding the holds replayed from the log.
+     * @param log      Where each save is appended.
+     */
+    public LoggedHoldRepository(HoldRepository delegate, MutationLog log) {
+        this.delegate = Objects.requireNonNull(delegate, "Hold repository cannot be null.");
+        this.log = Objects.requireNonNull(log, "Mutation log cannot be null.");
+    }
+
+    @Override
+    public Hold save(Hold hold) {
+        if (hold == null || hold.getHoldId() == null) {
+            throw new IllegalArgumentException("Hold and Hold ID cannot be null.");
+        }
+        log.holdSaved(hold);
+        return delegate.save(hold);
+    }
+
+    @Override
+    public Optional<Hold> findById(String holdId) {
+        return delegate.findById(holdId);
+    }
+
+    @Override
+    public List<Hold> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Hold> findActiveByMemberAndBook(String memberId, String bookIsbn) {
+        return delegate.findActiveByMemberAndBook(memberId, bookIsbn);
+    }
+
+    @Override
+    public List<Hold> findActiveByMemberId(String memberId) {
+        return delegate.findActiveByMemberId(memberId);
+    }
+
+    @Override
+    public Optional<Hold> findNextWaiting(String bookIsbn) {
+        return delegate.findNextWaiting(bookIsbn);
+    }
+
+    @Override
+    public int getQueuePosition(Hold hold) {
+        return delegate.getQueuePosition(hold);
+    }
+
+    @Override
+    public List<Hold> findReadyForPickupBefore(LocalDateTime cutoff) {
+        return delegate.findReadyForPickupBefore(cutoff);
+    }
+
+    @Override
+    public int countWaiting(String bookIsbn) {
+        return delegate.countWaiting(bookIsbn);
+    }
+}
@@ -0,0 +1,105 @@
+// src/main/java/com/prpcena/library/repository/log/LoggedMemberRepository.java
+package com.prpcena.library.repository.log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Member;
+import com.prpcena.library.repository.MemberRepository;
+import com.prpcena.library.util.StripedLock;
+
+/**
+ * A {@link MemberRepository} that keeps members in another repository,
+ * typically in memory, and appends every save and delete to a
+ * {@link MutationLog}. Members change rarely, so each call is written and
+ * forced to disk before it returns rather than batched; {@link #saveAll}
+ * is one record.
+ * <p>
+ * The delegate assigns versions, so it is written first and the saved member
+ * logged after. Each call holds its member IDs' locks across both, so
+ * concurrent saves of a member are logged in the order they were applied.
+ * If the log cannot be written the call fails, and the delegate is left
+ * ahead of the log until the member is next saved. Reads go straight to the
+ * delegate.
+ */
+public class LoggedMemberRepository implements MemberRepository {
+    private final MemberRepository delegate;
+    private final MutationLog log;
+    private final StripedLock memberLocks = new StripedLock(64);
+
+    /**
+     * @param delegate The repository read from, already holding the members replayed from the log.
+     * @param log      Where each save and delete is appended.
+     */
+    public LoggedMemberRepository(MemberRepository delegate, MutationLog log) {
+        this.delegate = Objects.requireNonNull(delegate, "Member repository cannot be null.");
+        this.log = Objects.requireNonNull(log, "Mutation log cannot be null.");
+    }
+
+    @Override
+    public Member save(Member member) {
+        checkMember(member);
+        try (StripedLock.Held held = memberLocks.lock(member.getMemberId())) {
+            Member saved = delegate.save(member);
+            log.membersSaved(List.of(saved));
+            return saved;
+        }
+    }
+
+    @Override
+    public Member saveIfVersion(Member member, long expectedVersion) {
+        checkMember(member);
+        try (StripedLock.Held held = memberLocks.lock(member.getMemberId())) {
+            Member saved = delegate.saveIfVersion(member, expectedVersion);
+            log.membersSaved(List.of(saved));
+            return saved;
+        }
+    }
+
+    @Override
+    public List<Member> saveAll(Collection<Member> members) {
+        List<String> memberIds = new ArrayList<>(members.size());
+        for (Member member : members) {
+            checkMember(member);
+            memberIds.add(member.getMemberId());
+        }
+        try (StripedLock.Held held = memberLocks.lockAll(memberIds)) {
+            List<Member> saved = delegate.saveAll(members);
+            if (!saved.isEmpty()) {
+                log.membersSaved(saved);
+            }
+            return saved;
+        }
+    }
+
+    @Override
+    public Optional<Member> findById(String memberId) {
+        return delegate.findById(memberId);
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean deleteById(String memberId) {
+        try (StripedLock.Held held = memberLocks.lock(Objects.requireNonNull(memberId, "Member ID cannot be null."))) {
+            if (!delegate.deleteById(memberId)) {
+                return false;
+            }
+            log.memberDeleted(memberId);
+            return true;
+        }
+    }
+
+    // The delegate rejects these too, but the member ID is needed for its lock first
+    private static void checkMember(Member member) {
+        if (member == null || member.getMemberId() == null) {
+            throw new IllegalArgumentException("Member and Member ID cannot be null or empty.");
+        }
+    }
+}
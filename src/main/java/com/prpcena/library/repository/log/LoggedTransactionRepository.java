@@ -0,0 +1,99 @@
+// src/main/java/com/prpcena/library/repository/log/LoggedTransactionRepository.java
+package com.prpcena.library.repository.log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.TransactionRepository;
+
+/**
+ * A {@link TransactionRepository} that keeps transactions in another
+ * repository, typically in memory, and queues every save for a
+ * {@link MutationLog} through a {@link MutationQueue}, the way
+ * {@link LoggedBookRepository} does for books, so a loan is logged in the same
+ * unit as its book's copy count. A save that is part of a unit that fails is
+ * undone by saving back the transactions that existed before.
+ */
+public class LoggedTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final MutationQueue queue;
+
+    /**
+     * @param delegate The repository read from, already holding the transactions replayed from the log.
+     * @param queue    Where each save is queued for the log.
+     */
+    public LoggedTransactionRepository(TransactionRepository delegate, MutationQueue queue) {
+        this.delegate = Objects.requireNonNull(delegate, "Transaction repository cannot be null.");
+        this.queue = Objects.requireNonNull(queue, "Mutation queue cannot be null.");
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return queue.write(() -> delegate.save(transaction),
+                saved -> List.of(MutationLog.Entry.transactionSaved(saved.copy())),
+                () -> restorer(List.of(transaction)));
+    }
+
+    @Override
+    public List<Transaction> saveAll(Collection<Transaction> transactions) {
+        return queue.write(() -> delegate.saveAll(transactions), saved -> {
+            List<MutationLog.Entry> entries = new ArrayList<>(saved.size());
+            saved.forEach(transaction -> entries.add(MutationLog.Entry.transactionSaved(transaction.copy())));
+            return entries;
+        }, () -> restorer(transactions));
+    }
+
+    @Override
+    public Optional<Transaction> findById(String transactionId) {
+        return delegate.findById(transactionId);
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Transaction> findByMemberId(String memberId) {
+        return delegate.findByMemberId(memberId);
+    }
+
+    @Override
+    public List<Transaction> findByBookIsbn(String bookIsbn) {
+        return delegate.findByBookIsbn(bookIsbn);
+    }
+
+    @Override
+    public Optional<Transaction> findOpenBorrowTransactionByMemberAndBook(String memberId, String bookIsbn) {
+        return delegate.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn);
+    }
+
+    @Override
+    public List<Transaction> findAllOpenBorrowTransactions() {
+        return delegate.findAllOpenBorrowTransactions();
+    }
+
+    @Override
+    public List<Transaction> findOpenBorrowTransactionsByMember(String memberId) {
+        return delegate.findOpenBorrowTransactionsByMember(memberId);
+    }
+
+    // Reads the transactions that exist now and returns what saves them back; new ones cannot be removed
+    private Runnable restorer(Collection<Transaction> transactions) {
+        List<Transaction> before = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (transaction != null && transaction.getTransactionId() != null) {
+                delegate.findById(transaction.getTransactionId()).ifPresent(existing -> before.add(existing.copy()));
+            }
+        }
+        return () -> {
+            if (!before.isEmpty()) {
+                delegate.saveAll(before);
+            }
+        };
+    }
+}
@@ -0,0 +1,336 @@
+// src/main/java/com/prpcena/library/repository/log/MutationLog.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.prpcena.library.codec.ModelDecoder;
+import com.prpcena.library.codec.ModelEncoder;
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.fine.FineLedgerStore;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.HoldRepository;
+import com.prpcena.library.repository.InMemoryHoldRepository;
+import com.prpcena.library.repository.InMemoryMemberRepository;
+import com.prpcena.library.repository.MemberRepository;
+import com.prpcena.library.repository.TransactionRepository;
+import com.prpcena.library.repository.writebehind.WriteBehindSink;
+import com.prpcena.library.util.VarInts;
+
+/**
+ * Persists the latest state of books, members, transactions and holds, and
+ * every fine ledger entry, to a {@link RecordLog}, and rebuilds them from it
+ * at startup.
+ * <p>
+ * Books and transactions are written through a {@link MutationQueue} in
+ * units: the writes of one {@link MutationQueue#atomically} call, e.g. a
+ * borrow's copy count and its loan, or a single write made outside one. Each
+ * batch of units becomes one record (more if it does not fit), forced to disk
+ * before the batch is acknowledged, and a unit is never split across records
+ * unless it alone exceeds {@link RecordLog#MAX_RECORD_SIZE}, e.g. a large
+ * import. A record is
+ * a sequence of entries, each an operation byte followed by a
+ * {@link ModelEncoder} record, or by the key of a deleted book or member.
+ * Every record is encoded with a fresh dictionary, so it can be decoded on its
+ * own, and a log cut short after any record replays to the state after some
+ * unit: a borrow's copy count is never replayed without its loan, or a
+ * return's without the loan closed.
+ * <p>
+ * Members (through a {@link LoggedMemberRepository}), holds (through a
+ * {@link LoggedHoldRepository}) and fine ledger entries (through
+ * {@link #fineLedgerStore()}) are not queued: each save is one record, forced
+ * to disk before the call returns. They are not part of any unit, so a hold
+ * set aside by a return is logged apart from the return.
+ * <p>
+ * The log only grows; an export and import (or a new log written from the
+ * repositories) compacts it.
+ */
+public final class MutationLog implements AutoCloseable {
+    static final byte BOOK_SAVED = 1;
+    static final byte BOOK_DELETED = 2;
+    static final byte TRANSACTION_SAVED = 3;
+    static final byte HOLD_SAVED = 4;
+    static final byte FINE_ENTRY_ADDED = 5;
+    static final byte MEMBER_SAVED = 6;
+    static final byte MEMBER_DELETED = 7;
+
+    private final RecordLog log;
+    private final ModelEncoder encoder = new ModelEncoder();
+    private final ByteBuffer record = ByteBuffer.allocate(RecordLog.MAX_RECORD_SIZE);
+
+    private MutationLog(RecordLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist, and saves the books and
+     * transactions it holds into the given repositories, which should be
+     * empty. Any members, holds and fine ledger entries it holds are not read.
+     *
+     * @throws IOException if the log cannot be read or written.
+     */
+    public static MutationLog open(Path file, BookRepository books, TransactionRepository transactions)
+            throws IOException {
+        return open(file, books, new InMemoryMemberRepository(), transactions, new InMemoryHoldRepository(),
+                new ArrayList<>());
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist, and saves the books,
+     * members, transactions and holds it holds into the given repositories,
+     * which should be empty.
+     *
+     * @param fineEntries Receives the fine ledger entries, oldest first.
+     * @throws IOException if the log cannot be read or written.
+     */
+    public static MutationLog open(Path file, BookRepository books, MemberRepository members,
+            TransactionRepository transactions, HoldRepository holds, Collection<FineLedgerEntry> fineEntries)
+            throws IOException {
+        Objects.requireNonNull(books, "Book repository cannot be null.");
+        Objects.requireNonNull(members, "Member repository cannot be null.");
+        Objects.requireNonNull(transactions, "Transaction repository cannot be null.");
+        Objects.requireNonNull(holds, "Hold repository cannot be null.");
+        Objects.requireNonNull(fineEntries, "Fine ledger entries cannot be null.");
+        Map<String, Book> latestBooks = new LinkedHashMap<>();
+        Map<String, Member> latestMembers = new LinkedHashMap<>();
+        Map<String, Transaction> latestTransactions = new LinkedHashMap<>();
+        Map<String, Hold> latestHolds = new LinkedHashMap<>();
+        List<FineLedgerEntry> entries = new ArrayList<>();
+        ModelDecoder decoder = new ModelDecoder();
+        RecordLog log = RecordLog.open(file, payload -> {
+            decoder.reset();
+            while (payload.hasRemaining()) {
+                byte operation = payload.get();
+                switch (operation) {
+                    case BOOK_SAVED:
+                        Book book = decoder.decodeBook(payload);
+                        latestBooks.put(book.getIsbn(), book);
+                        break;
+                    case BOOK_DELETED:
+                        latestBooks.remove(readKey(payload));
+                        break;
+                    case TRANSACTION_SAVED:
+                        Transaction transaction = decoder.decodeTransaction(payload);
+                        latestTransactions.put(transaction.getTransactionId(), transaction);
+                        break;
+                    case MEMBER_SAVED:
+                        Member member = decoder.decodeMember(payload);
+                        latestMembers.put(member.getMemberId(), member);
+                        break;
+                    case MEMBER_DELETED:
+                        latestMembers.remove(readKey(payload));
+                        break;
+                    case HOLD_SAVED:
+                        Hold hold = decoder.decodeHold(payload);
+                        latestHolds.put(hold.getHoldId(), hold); // First-saved order, so wait-lists keep theirs
+                        break;
+                    case FINE_ENTRY_ADDED:
+                        entries.add(decoder.decodeFineEntry(payload));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown mutation log operation " + operation + ".");
+                }
+            }
+        });
+        books.saveAll(latestBooks.values());
+        members.saveAll(latestMembers.values());
+        transactions.saveAll(latestTransactions.values());
+        latestHolds.values().forEach(holds::save);
+        fineEntries.addAll(entries);
+        return new MutationLog(log);
+    }
+
+    // A sink for a MutationQueue: appends each batch of units, keeping each unit in one record if it fits
+    WriteBehindSink<Long, List<Entry>> unitSink() {
+        return batch -> {
+            synchronized (this) {
+                startRecord();
+                batch.values().forEach(this::appendUnit);
+                finishBatch();
+            }
+        };
+    }
+
+    /**
+     * @return A store that appends each fine ledger entry and forces it to disk.
+     */
+    public FineLedgerStore fineLedgerStore() {
+        return entry -> {
+            synchronized (this) {
+                startRecord();
+                appendEntry(FINE_ENTRY_ADDED, out -> encoder.encode(entry, out));
+                finishBatch();
+            }
+        };
+    }
+
+    // Appends members saved through a LoggedMemberRepository and forces them to disk
+    synchronized void membersSaved(Collection<Member> members) {
+        startRecord();
+        members.forEach(member -> appendEntry(MEMBER_SAVED, out -> encoder.encode(member, out)));
+        finishBatch();
+    }
+
+    // Appends a member deleted through a LoggedMemberRepository and forces it to disk
+    synchronized void memberDeleted(String memberId) {
+        startRecord();
+        appendEntry(MEMBER_DELETED, out -> writeKey(out, memberId));
+        finishBatch();
+    }
+
+    // Appends a hold saved through a LoggedHoldRepository and forces it to disk
+    synchronized void holdSaved(Hold hold) {
+        startRecord();
+        appendEntry(HOLD_SAVED, out -> encoder.encode(hold, out));
+        finishBatch();
+    }
+
+    /**
+     * @return The number of records replayed when the log was opened.
+     */
+    public long getRecoveredCount() {
+        return log.getRecoveredCount();
+    }
+
+    /**
+     * @return The number of damaged bytes truncated when the log was opened.
+     */
+    public long getDiscardedBytes() {
+        return log.getDiscardedBytes();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+
+    // One write of a unit: a saved book or transaction, or the ISBN of a deleted book
+    static final class Entry {
+        private final byte operation;
+        private final Object value;
+
+        private Entry(byte operation, Object value) {
+            this.operation = operation;
+            this.value = value;
+        }
+
+        static Entry bookSaved(Book book) {
+            return new Entry(BOOK_SAVED, book);
+        }
+
+        static Entry bookDeleted(String isbn) {
+            return new Entry(BOOK_DELETED, isbn);
+        }
+
+        static Entry transactionSaved(Transaction transaction) {
+            return new Entry(TRANSACTION_SAVED, transaction);
+        }
+    }
+
+    private interface EntryWriter {
+        void write(ByteBuffer out);
+    }
+
+    // Adds a unit's entries to the record being built, starting a new record if they don't all fit
+    private void appendUnit(List<Entry> unit) {
+        int start = record.position();
+        try {
+            unit.forEach(entry -> {
+                record.put(entry.operation);
+                writeEntry(entry, record);
+            });
+        } catch (BufferOverflowException e) {
+            record.position(start);
+            if (start > 0) {
+                finishRecord();
+            }
+            startRecord();
+            if (start == 0) {
+                unit.forEach(entry -> appendEntry(entry.operation, out -> writeEntry(entry, out))); // Alone too big
+            } else {
+                appendUnit(unit);
+            }
+        }
+    }
+
+    private void writeEntry(Entry entry, ByteBuffer out) {
+        switch (entry.operation) {
+            case BOOK_SAVED:
+                encoder.encode((Book) entry.value, out);
+                break;
+            case BOOK_DELETED:
+                writeKey(out, (String) entry.value);
+                break;
+            case TRANSACTION_SAVED:
+                encoder.encode((Transaction) entry.value, out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mutation log operation " + entry.operation + ".");
+        }
+    }
+
+    // Adds an entry to the record being built, starting a new record if it doesn't fit
+    private void appendEntry(byte operation, EntryWriter writer) {
+        int start = record.position();
+        try {
+            record.put(operation);
+            writer.write(record);
+        } catch (BufferOverflowException e) {
+            record.position(start);
+            if (start == 0) {
+                throw new OperationFailedException("A single entry exceeds the maximum record size.", e);
+            }
+            finishRecord();
+            startRecord();
+            appendEntry(operation, writer);
+        }
+    }
+
+    private void startRecord() {
+        record.clear();
+        encoder.reset();
+    }
+
+    private void finishRecord() {
+        try {
+            log.append(record.flip());
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not write to the mutation log.", e);
+        }
+    }
+
+    private void finishBatch() {
+        finishRecord();
+        try {
+            log.sync();
+        } catch (IOException e) {
+            throw new OperationFailedException("Could not write to the mutation log.", e);
+        }
+    }
+
+    private static void writeKey(ByteBuffer out, String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        VarInts.putVarInt(out, bytes.length);
+        out.put(bytes);
+    }
+
+    private static String readKey(ByteBuffer in) {
+        byte[] bytes = new byte[VarInts.getVarInt(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
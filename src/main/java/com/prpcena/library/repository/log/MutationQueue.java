@@ -0,0 +1,169 @@
+// src/main/java/com/prpcena/library/repository/log/MutationQueue.java
+package com.prpcena.library.repository.log;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.repository.TransactionScope;
+import com.prpcena.library.repository.writebehind.WriteBehindQueue;
+
+/**
+ * Queues the book and transaction writes of a {@link LoggedBookRepository}
+ * and a {@link LoggedTransactionRepository} for a {@link MutationLog} in
+ * units, so that the writes of one operation reach the log together or not
+ * at all. The writes made inside one {@link #atomically} call are one unit,
+ * e.g. a {@link com.prpcena.library.repository.UnitOfWork}'s copy count and
+ * loan; a write made outside one is a unit of its own.
+ * <p>
+ * Units are queued on a {@link WriteBehindQueue} keyed by their sequence
+ * number, so none are coalesced and the log writes them in the order they
+ * were queued, in batches, without callers waiting for the disk. Writes are
+ * applied to memory and queued under one lock, held for the whole of an
+ * {@code atomically} call, so the log's order is the order the writes were
+ * applied; keep the work to the writes themselves.
+ * <p>
+ * This is not a database transaction: other threads can see a unit's writes
+ * in memory before it ends. If the work throws, its writes are undone in
+ * memory, in reverse, and nothing is queued. A transaction that did not exist
+ * before cannot be removed again, but a unit of work saves its transactions
+ * last, so one that fails to save them has saved none.
+ * <p>
+ * Thread-safe. Writes must stop before {@link #close()}, which writes out
+ * everything queued.
+ */
+public class MutationQueue implements TransactionScope, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MutationQueue.class);
+
+    private final WriteBehindQueue<Long, List<MutationLog.Entry>> queue;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ThreadLocal<Unit> currentUnit = new ThreadLocal<>();
+    private long nextUnit; // Guarded by writeLock
+
+    // The entries written so far by one atomically call, and how to undo them
+    private static final class Unit {
+        final List<MutationLog.Entry> entries = new ArrayList<>();
+        final List<Runnable> undoActions = new ArrayList<>();
+        final List<Runnable> completionActions = new ArrayList<>();
+    }
+
+    /**
+     * @param log        Where the units are written.
+     * @param capacity   The most units waiting before writers are held back.
+     * @param maxBatch   The most units written per record.
+     * @param maxLatency The longest a queued unit waits for its batch to fill.
+     */
+    public MutationQueue(MutationLog log, int capacity, int maxBatch, Duration maxLatency) {
+        Objects.requireNonNull(log, "Mutation log cannot be null.");
+        this.queue = new WriteBehindQueue<>("mutation-log", log.unitSink(), capacity, maxBatch, maxLatency);
+    }
+
+    @Override
+    public <T> T atomically(Supplier<T> work) {
+        if (currentUnit.get() != null) {
+            return work.get(); // Joins the unit already open on this thread
+        }
+        Unit unit = new Unit();
+        currentUnit.set(unit);
+        writeLock.lock();
+        try {
+            T result = work.get();
+            if (!unit.entries.isEmpty()) {
+                queue.submit(nextUnit++, List.copyOf(unit.entries));
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            undo(unit, e);
+            throw e;
+        } finally {
+            writeLock.unlock();
+            currentUnit.remove();
+            unit.completionActions.forEach(MutationQueue::runCompletionAction);
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return currentUnit.get() != null;
+    }
+
+    @Override
+    public void afterCompletion(Runnable action) {
+        Unit unit = currentUnit.get();
+        if (unit != null) {
+            unit.completionActions.add(action);
+        } else {
+            runCompletionAction(action);
+        }
+    }
+
+    /**
+     * Writes everything queued so far and waits until it has been written.
+     *
+     * @throws com.prpcena.library.exception.OperationFailedException if any of it could not be written.
+     */
+    public void flush() {
+        queue.flush();
+    }
+
+    @Override
+    public void close() {
+        queue.close();
+    }
+
+    /**
+     * Applies a write to memory and queues its entries, as part of the calling
+     * thread's unit if it has one, else as a unit of its own.
+     *
+     * @param write   Applies the write and returns what was saved.
+     * @param entries The entries to log for what was saved.
+     * @param undo    Called before the write, only inside a unit; returns what puts memory back.
+     */
+    <T> T write(Supplier<T> write, Function<T, List<MutationLog.Entry>> entries, Supplier<Runnable> undo) {
+        Unit unit = currentUnit.get();
+        if (unit != null) {
+            Runnable undoAction = undo.get();
+            T written = write.get();
+            unit.undoActions.add(undoAction);
+            unit.entries.addAll(entries.apply(written));
+            return written;
+        }
+        writeLock.lock();
+        try {
+            T written = write.get();
+            List<MutationLog.Entry> logged = entries.apply(written);
+            if (!logged.isEmpty()) {
+                queue.submit(nextUnit++, logged);
+            }
+            return written;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void undo(Unit unit, Throwable failure) {
+        for (int i = unit.undoActions.size() - 1; i >= 0; i--) {
+            try {
+                unit.undoActions.get(i).run();
+            } catch (RuntimeException undoFailure) {
+                logger.error("Could not undo a write of a failed unit; memory may be ahead of the log", undoFailure);
+                failure.addSuppressed(undoFailure);
+            }
+        }
+    }
+
+    private static void runCompletionAction(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("Unit completion action failed", e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+// src/main/java/com/prpcena/library/repository/log/RecordLog.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only file of checksummed records that survives torn writes.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int  magic "LLOG"
+ * int  format version
+ * records: int payload length, int CRC32C of the length and payload, payload
+ * </pre>
+ * {@link #open} scans the file from the start and hands each record's payload
+ * to the caller. The scan stops at the first record that is incomplete, has
+ * an impossible length or fails its checksum, and the file is truncated
+ * there: everything before it was written whole, and nothing after it can be
+ * trusted, since records are only ever appended. The scan reads sequentially
+ * through one large direct buffer, so it runs at the disk's sequential-read
+ * speed.
+ * <p>
+ * Appends are buffered in memory until {@link #sync()} writes and forces
+ * them to disk. Thread-safe.
+ */
+public final class RecordLog implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RecordLog.class);
+
+    /** The largest payload of a single record. */
+    public static final int MAX_RECORD_SIZE = 1 << 20;
+
+    static final int MAGIC = 0x4C4C4F47; // "LLOG"
+    static final int FORMAT_VERSION = 1;
+    static final int FILE_HEADER_SIZE = 4 + 4;
+    static final int RECORD_HEADER_SIZE = 4 + 4;
+    private static final int SCAN_BUFFER_SIZE = 4 << 20;
+    private static final int WRITE_BUFFER_SIZE = RECORD_HEADER_SIZE + MAX_RECORD_SIZE;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private long size;
+    private long recoveredCount;
+    private long discardedBytes;
+
+    private RecordLog(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist, and replays its records.
+     *
+     * @param file   The log file.
+     * @param replay Called with each intact record's payload, in order. The
+     *               buffer is only valid during the call.
+     * @return The log, positioned to append after the last intact record.
+     * @throws IOException if the file cannot be read or written, or is not a record log.
+     */
+    public static RecordLog open(Path file, Consumer<ByteBuffer> replay) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        RecordLog log = new RecordLog(file, channel);
+        try {
+            log.recover(replay);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    /**
+     * Buffers a record. It is written by the next {@link #sync()}, or earlier
+     * when the buffer fills up.
+     *
+     * @param payload The record's bytes, from its position to its limit; the position is not moved.
+     * @throws IllegalArgumentException if the payload is larger than {@link #MAX_RECORD_SIZE}.
+     * @throws IOException              if buffered records had to be written and could not be.
+     */
+    public synchronized void append(ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+        if (length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds the maximum of "
+                    + MAX_RECORD_SIZE + ".");
+        }
+        if (writeBuffer.remaining() < RECORD_HEADER_SIZE + length) {
+            drain();
+        }
+        int start = writeBuffer.position();
+        writeBuffer.putInt(length);
+        writeBuffer.putInt(0); // The checksum, filled in below
+        writeBuffer.put(payload.duplicate());
+        writeBuffer.putInt(start + 4, checksum(writeBuffer, start));
+    }
+
+    /**
+     * Writes the buffered records and forces them to disk.
+     *
+     * @throws IOException if they could not be written.
+     */
+    public synchronized void sync() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    /**
+     * @return The size of the file, excluding records not written yet.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return The number of intact records replayed when the log was opened.
+     */
+    public long getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    /**
+     * @return The number of bytes after the last intact record that were
+     *         truncated when the log was opened.
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     * Writes buffered records, forces them to disk and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void recover(Consumer<ByteBuffer> replay) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < FILE_HEADER_SIZE) {
+            // New, or torn while writing the header before any record was appended
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+            channel.position(FILE_HEADER_SIZE);
+            size = FILE_HEADER_SIZE;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Read until full
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException(file + " is not a record log.");
+        }
+        int formatVersion = header.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported record log format version: " + formatVersion);
+        }
+
+        long validEnd = scan(replay);
+        if (validEnd < fileSize) {
+            discardedBytes = fileSize - validEnd;
+            logger.warn("Record log {} is damaged after {} intact records; truncating the last {} bytes", file,
+                    recoveredCount, discardedBytes);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        size = validEnd;
+        logger.info("Recovered {} records ({} bytes) from {}", recoveredCount, validEnd, file);
+    }
+
+    // Returns the offset just past the last intact record
+    private long scan(Consumer<ByteBuffer> replay) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        long offset = FILE_HEADER_SIZE; // Of the buffer's position in the file
+        channel.position(offset);
+        boolean endOfFile = false;
+        while (true) {
+            while (buffer.hasRemaining() && !endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt(start);
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    return offset; // A torn or overwritten header
+                }
+                if (buffer.remaining() < RECORD_HEADER_SIZE + length) {
+                    break; // Continues in the next read, or was torn off at the end of the file
+                }
+                if (buffer.getInt(start + 4) != checksum(buffer, start)) {
+                    return offset;
+                }
+                int end = start + RECORD_HEADER_SIZE + length;
+                replay.accept(buffer.duplicate().position(start + RECORD_HEADER_SIZE).limit(end).slice());
+                recoveredCount++;
+                buffer.position(end);
+                offset += RECORD_HEADER_SIZE + length;
+            }
+            if (endOfFile) {
+                return offset; // Anything left is a partial record
+            }
+            buffer.compact();
+        }
+    }
+
+    // The checksum of the record at start, covering its length so a torn length is caught as well
+    private int checksum(ByteBuffer buffer, int start) {
+        int length = buffer.getInt(start);
+        crc.reset();
+        crc.update(buffer.duplicate().position(start).limit(start + 4));
+        crc.update(buffer.duplicate().position(start + RECORD_HEADER_SIZE).limit(start + RECORD_HEADER_SIZE + length));
+        return (int) crc.getValue();
+    }
+
+    private void drain() throws IOException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+            size = channel.position();
+        } catch (IOException e) {
+            // Drop the partial write, so the records buffered are lost as a whole and later ones still append
+            try {
+                channel.truncate(size);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+}
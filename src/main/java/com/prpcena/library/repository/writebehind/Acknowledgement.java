@@ -0,0 +1,12 @@
+// src/main/java/com/prpcena/library/repository/writebehind/Acknowledgement.java
+package com.prpcena.library.repository.writebehind;
+
+/**
+ * When a write through a {@link WriteBehindQueue} returns to its caller.
+ */
+public enum Acknowledgement {
+    /** As soon as the write is queued; it reaches the store with the next batch. */
+    IN_MEMORY,
+    /** Once the batch holding the write (or a later write to the same key) is in the store. */
+    DURABLE
+}
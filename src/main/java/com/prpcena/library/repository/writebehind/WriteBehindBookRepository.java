@@ -0,0 +1,184 @@
+// src/main/java/com/prpcena/library/repository/writebehind/WriteBehindBookRepository.java
+package com.prpcena.library.repository.writebehind;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.util.StripedLock;
+
+/**
+ * A {@link BookRepository} that keeps books in a fast repository, typically
+ * in memory, and writes them behind to a slower store through a
+ * {@link WriteBehindQueue}.
+ * <p>
+ * Reads and version checks go to the fast repository, which holds the latest
+ * state. Every write is applied there first and then queued as a snapshot,
+ * so repeated updates to a book between batches reach the store once. Writes
+ * are acknowledged as configured, or per call through the overloads taking an
+ * {@link Acknowledgement}.
+ * <p>
+ * Each write holds its ISBN's lock from the write to the fast repository
+ * until the snapshot is queued, so concurrent writes to a book are queued in
+ * the order they were applied and the store never ends up behind the fast
+ * repository. Waiting for a durable write happens after the lock is released.
+ * <p>
+ * The store keeps its own versions; only the fast repository's are checked.
+ */
+public class WriteBehindBookRepository implements BookRepository {
+    private final BookRepository delegate;
+    private final WriteBehindQueue<String, Book> queue;
+    private final Acknowledgement defaultAcknowledgement;
+    private final StripedLock isbnLocks = new StripedLock(64);
+
+    /**
+     * @param delegate               The repository read from and written to first.
+     * @param queue                  Where writes are queued for the store.
+     * @param defaultAcknowledgement How writes without an {@link Acknowledgement} are acknowledged.
+     */
+    public WriteBehindBookRepository(BookRepository delegate, WriteBehindQueue<String, Book> queue,
+            Acknowledgement defaultAcknowledgement) {
+        this.delegate = Objects.requireNonNull(delegate, "Book repository cannot be null.");
+        this.queue = Objects.requireNonNull(queue, "Write-behind queue cannot be null.");
+        this.defaultAcknowledgement = Objects.requireNonNull(defaultAcknowledgement,
+                "Acknowledgement cannot be null.");
+    }
+
+    @Override
+    public Book save(Book book) {
+        return save(book, defaultAcknowledgement);
+    }
+
+    public Book save(Book book, Acknowledgement acknowledgement) {
+        checkBook(book);
+        Book saved;
+        CompletableFuture<Void> written;
+        try (StripedLock.Held held = isbnLocks.lock(book.getIsbn())) {
+            saved = delegate.save(book);
+            written = queue.submit(saved.getIsbn(), saved.copy());
+        }
+        await(written, acknowledgement);
+        return saved;
+    }
+
+    @Override
+    public Book saveIfVersion(Book book, long expectedVersion) {
+        return saveIfVersion(book, expectedVersion, defaultAcknowledgement);
+    }
+
+    public Book saveIfVersion(Book book, long expectedVersion, Acknowledgement acknowledgement) {
+        checkBook(book);
+        Book saved;
+        CompletableFuture<Void> written;
+        try (StripedLock.Held held = isbnLocks.lock(book.getIsbn())) {
+            saved = delegate.saveIfVersion(book, expectedVersion);
+            written = queue.submit(saved.getIsbn(), saved.copy());
+        }
+        await(written, acknowledgement);
+        return saved;
+    }
+
+    @Override
+    public List<Book> saveAll(Collection<Book> books) {
+        return saveAll(books, defaultAcknowledgement);
+    }
+
+    public List<Book> saveAll(Collection<Book> books, Acknowledgement acknowledgement) {
+        List<String> isbns = new ArrayList<>(books.size());
+        for (Book book : books) {
+            checkBook(book);
+            isbns.add(book.getIsbn());
+        }
+        List<Book> saved;
+        List<CompletableFuture<Void>> written;
+        try (StripedLock.Held held = isbnLocks.lockAll(isbns)) {
+            saved = delegate.saveAll(books);
+            written = new ArrayList<>(saved.size());
+            for (Book book : saved) {
+                written.add(queue.submit(book.getIsbn(), book.copy()));
+            }
+        }
+        if (acknowledgement == Acknowledgement.DURABLE) {
+            WriteBehindQueue.awaitAll(written);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean deleteByIsbn(String isbn) {
+        return deleteByIsbn(isbn, defaultAcknowledgement);
+    }
+
+    public boolean deleteByIsbn(String isbn, Acknowledgement acknowledgement) {
+        CompletableFuture<Void> written;
+        try (StripedLock.Held held = isbnLocks.lock(Objects.requireNonNull(isbn, "ISBN cannot be null."))) {
+            if (!delegate.deleteByIsbn(isbn)) {
+                return false;
+            }
+            written = queue.submit(isbn, null);
+        }
+        await(written, acknowledgement);
+        return true;
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        return delegate.findByIsbn(isbn);
+    }
+
+    @Override
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        return delegate.findAllByIsbn(isbns);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findByPublicationYearBetween(Year from, Year to) {
+        return delegate.findByPublicationYearBetween(from, to);
+    }
+
+    @Override
+    public List<Book> findByAuthorSoundingLike(String query) {
+        return delegate.findByAuthorSoundingLike(query);
+    }
+
+    @Override
+    public List<Book> findByKeywords(String query) {
+        return delegate.findByKeywords(query);
+    }
+
+    @Override
+    public FacetCounts countFacets() {
+        return delegate.countFacets();
+    }
+
+    @Override
+    public FacetCounts countFacets(Collection<Book> books) {
+        return delegate.countFacets(books);
+    }
+
+    // The fast repository rejects these too, but the ISBN is needed for its lock first
+    private static void checkBook(Book book) {
+        if (book == null || book.getIsbn() == null) {
+            throw new IllegalArgumentException("Book and ISBN cannot be null or empty.");
+        }
+    }
+
+    private static void await(CompletableFuture<Void> written, Acknowledgement acknowledgement) {
+        if (acknowledgement == Acknowledgement.DURABLE) {
+            WriteBehindQueue.awaitAll(List.of(written));
+        }
+    }
+}
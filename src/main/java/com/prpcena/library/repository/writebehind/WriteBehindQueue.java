@@ -0,0 +1,300 @@
+// src/main/java/com/prpcena/library/repository/writebehind/WriteBehindQueue.java
+package com.prpcena.library.repository.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.util.MpscRingBuffer;
+
+/**
+ * Queues writes in memory and has a dedicated writer thread apply them to a
+ * {@link WriteBehindSink} in batches, so callers don't wait for the store.
+ * <p>
+ * Writes are coalesced by key: the latest value of a key waiting to be
+ * written replaces the earlier one, and the key keeps its place in the queue.
+ * The keys waiting are held in a lock-free {@link MpscRingBuffer} of
+ * {@code capacity} slots. When it is full, writers of new keys wait for the
+ * writer thread to make room, which slows them down to the store's pace.
+ * <p>
+ * The writer thread group-commits: once a write is queued it waits until
+ * {@code maxBatch} keys are waiting or the first one has waited
+ * {@code maxLatency}, then writes up to {@code maxBatch} keys in one call to
+ * the sink. Each write returns a future completed when its batch has been
+ * written, so callers choose per write whether to wait for it (see
+ * {@link Acknowledgement}). If the sink throws, the batch's futures fail with
+ * an {@link OperationFailedException} and its writes are dropped; callers
+ * that did not wait only see it in the log.
+ * <p>
+ * Thread-safe. Writes must stop before {@link #close()}, which writes out
+ * everything queued.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type; values must not be changed once queued.
+ */
+public class WriteBehindQueue<K, V> implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final WriteBehindSink<K, V> sink;
+    private final int maxBatch;
+    private final long maxLatencyNanos;
+    private final MpscRingBuffer<K> queuedKeys;
+    private final ConcurrentHashMap<K, Pending<V>> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean flushRequested;
+    private volatile boolean writerIdle;
+    private volatile CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder backpressureCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    /**
+     * @param name       Names the writer thread and log messages.
+     * @param sink       Where batches are written.
+     * @param capacity   The most distinct keys waiting before writers are held back.
+     * @param maxBatch   The most keys written per batch.
+     * @param maxLatency The longest a queued write waits for its batch to fill.
+     */
+    public WriteBehindQueue(String name, WriteBehindSink<K, V> sink, int capacity, int maxBatch,
+            Duration maxLatency) {
+        if (maxBatch <= 0 || maxLatency.isNegative()) {
+            throw new IllegalArgumentException("Batch size must be positive and latency not negative.");
+        }
+        this.name = Objects.requireNonNull(name, "Name cannot be null.");
+        this.sink = Objects.requireNonNull(sink, "Sink cannot be null.");
+        this.maxBatch = maxBatch;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.queuedKeys = new MpscRingBuffer<>(capacity);
+        this.writer = new Thread(this::runWriter, "write-behind-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a write.
+     *
+     * @param key   The key written.
+     * @param value The key's new value, or null if it was deleted.
+     * @return A future completed once the value, or a later one for the same
+     *         key, has been written, or failed with an
+     *         {@link OperationFailedException} if the batch could not be.
+     */
+    public CompletableFuture<Void> submit(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null.");
+        if (!running) {
+            throw new IllegalStateException("Write-behind queue '" + name + "' is closed.");
+        }
+        writeCount.increment();
+        Pending<V> created = new Pending<>(value);
+        Pending<V> queued = pending.compute(key, (k, waiting) -> {
+            if (waiting == null) {
+                return created;
+            }
+            waiting.value = value;
+            return waiting;
+        });
+        if (queued != created) {
+            coalescedCount.increment();
+            return queued.written;
+        }
+        if (!queuedKeys.offer(key)) {
+            backpressureCount.increment();
+            do {
+                if (!running) {
+                    pending.remove(key, created);
+                    created.written.completeExceptionally(new IllegalStateException("Queue closed."));
+                    throw new IllegalStateException("Write-behind queue '" + name + "' is closed.");
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+            } while (!queuedKeys.offer(key));
+        }
+        if (writerIdle || queuedKeys.size() >= maxBatch) {
+            LockSupport.unpark(writer); // Starts the latency clock, or the batch is full
+        }
+        return created.written;
+    }
+
+    /**
+     * Queues a write and, if asked to, waits until it has been written.
+     *
+     * @throws OperationFailedException if a durable write could not be written.
+     */
+    public void write(K key, V value, Acknowledgement acknowledgement) {
+        CompletableFuture<Void> written = submit(key, value);
+        if (acknowledgement == Acknowledgement.DURABLE) {
+            await(written);
+        }
+    }
+
+    /**
+     * Writes everything queued so far without waiting for batches to fill,
+     * and waits until it has been written.
+     *
+     * @throws OperationFailedException if any of it could not be written.
+     */
+    public void flush() {
+        // Read the queued writes before the batch in flight: a write leaves the former only after joining the latter
+        List<CompletableFuture<Void>> outstanding = new ArrayList<>();
+        pending.values().forEach(waiting -> outstanding.add(waiting.written));
+        outstanding.add(inFlight);
+        flushRequested = true;
+        LockSupport.unpark(writer);
+        await(CompletableFuture.allOf(outstanding.toArray(new CompletableFuture<?>[0])));
+    }
+
+    /**
+     * Waits for the futures returned by several {@link #submit} calls.
+     *
+     * @throws OperationFailedException if any of the writes could not be written.
+     */
+    public static void awaitAll(List<CompletableFuture<Void>> written) {
+        await(CompletableFuture.allOf(written.toArray(new CompletableFuture<?>[0])));
+    }
+
+    /**
+     * @return The number of distinct keys waiting to be written.
+     */
+    public int getQueuedCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return The number of writes submitted.
+     */
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    /**
+     * @return The number of writes that replaced a queued write to the same key.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * @return The number of writes that had to wait for room in the queue.
+     */
+    public long getBackpressureCount() {
+        return backpressureCount.sum();
+    }
+
+    /**
+     * @return The number of batches written to the sink.
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Stops accepting writes, writes out everything queued and stops the
+     * writer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Write-behind queue '{}' closed after {} writes in {} batches ({} coalesced)", name,
+                getWriteCount(), getBatchCount(), getCoalescedCount());
+    }
+
+    private void runWriter() {
+        List<K> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            // Writers check the flag after queuing, so one queued after the check below wakes us up
+            writerIdle = true;
+            if (queuedKeys.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            writerIdle = false;
+            // Group commit: let the batch fill until it is full or its first write has waited long enough
+            long deadline = System.nanoTime() + maxLatencyNanos;
+            long remaining;
+            while (running && !flushRequested && queuedKeys.size() < maxBatch
+                    && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            queuedKeys.drainTo(batch::add, maxBatch);
+            if (queuedKeys.isEmpty()) {
+                flushRequested = false; // Otherwise keep flushing without waiting until caught up
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<K> keys) {
+        CompletableFuture<Void> batchWritten = new CompletableFuture<>();
+        inFlight = batchWritten;
+        Map<K, V> values = new LinkedHashMap<>(keys.size() * 2);
+        List<CompletableFuture<Void>> written = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            Pending<V> waiting = pending.remove(key); // Later writes to the key start a new entry
+            values.put(key, waiting.value);
+            written.add(waiting.written);
+        }
+        try {
+            sink.write(values);
+            batchCount.increment();
+            written.forEach(future -> future.complete(null));
+            batchWritten.complete(null);
+        } catch (RuntimeException e) {
+            logger.error("Write-behind queue '{}' failed to write a batch of {}; the writes are lost", name,
+                    keys.size(), e);
+            OperationFailedException failure = new OperationFailedException(
+                    "Could not write a batch of " + keys.size() + " to the store.", e);
+            written.forEach(future -> future.completeExceptionally(failure));
+            batchWritten.completeExceptionally(failure);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OperationFailedException) {
+                throw (OperationFailedException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Pending<V> {
+        // Only replaced inside pending.compute, which orders it before the writer's remove
+        V value;
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        Pending(V value) {
+            this.value = value;
+        }
+    }
+}
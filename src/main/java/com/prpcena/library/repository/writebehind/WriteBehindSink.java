@@ -0,0 +1,56 @@
+// src/main/java/com/prpcena/library/repository/writebehind/WriteBehindSink.java
+package com.prpcena.library.repository.writebehind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.TransactionRepository;
+
+/**
+ * Where a {@link WriteBehindQueue} writes its batches, typically a
+ * repository backed by a database.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+@FunctionalInterface
+public interface WriteBehindSink<K, V> {
+    /**
+     * Writes the latest state of each key in the batch, and must have made it
+     * durable by the time it returns. Throwing fails every write in the batch.
+     *
+     * @param batch The keys to write in the order they were first queued,
+     *              mapped to their values, or to null for keys that were deleted.
+     */
+    void write(Map<K, V> batch);
+
+    /**
+     * @return A sink that deletes and then saves books in the given repository,
+     *         with one {@link BookRepository#saveAll} per batch.
+     */
+    static WriteBehindSink<String, Book> of(BookRepository books) {
+        return batch -> {
+            List<Book> saved = new ArrayList<>(batch.size());
+            batch.forEach((isbn, book) -> {
+                if (book == null) {
+                    books.deleteByIsbn(isbn);
+                } else {
+                    saved.add(book);
+                }
+            });
+            books.saveAll(saved);
+        };
+    }
+
+    /**
+     * @return A sink that saves transactions in the given repository, with one
+     *         {@link TransactionRepository#saveAll} per batch.
+     */
+    static WriteBehindSink<String, Transaction> of(TransactionRepository transactions) {
+        return batch -> transactions.saveAll(batch.values());
+    }
+}
@@ -0,0 +1,101 @@
+// src/main/java/com/prpcena/library/repository/writebehind/WriteBehindTransactionRepository.java
+package com.prpcena.library.repository.writebehind;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.TransactionRepository;
+
+/**
+ * A {@link TransactionRepository} that keeps transactions in a fast
+ * repository, typically in memory, and writes them behind to a slower store
+ * through a {@link WriteBehindQueue}, the way {@link WriteBehindBookRepository}
+ * does for books. A loan borrowed and returned between two batches reaches
+ * the store once, already returned.
+ */
+public class WriteBehindTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final WriteBehindQueue<String, Transaction> queue;
+    private final Acknowledgement defaultAcknowledgement;
+
+    /**
+     * @param delegate               The repository read from and written to first.
+     * @param queue                  Where writes are queued for the store.
+     * @param defaultAcknowledgement How writes without an {@link Acknowledgement} are acknowledged.
+     */
+    public WriteBehindTransactionRepository(TransactionRepository delegate,
+            WriteBehindQueue<String, Transaction> queue, Acknowledgement defaultAcknowledgement) {
+        this.delegate = Objects.requireNonNull(delegate, "Transaction repository cannot be null.");
+        this.queue = Objects.requireNonNull(queue, "Write-behind queue cannot be null.");
+        this.defaultAcknowledgement = Objects.requireNonNull(defaultAcknowledgement,
+                "Acknowledgement cannot be null.");
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return save(transaction, defaultAcknowledgement);
+    }
+
+    public Transaction save(Transaction transaction, Acknowledgement acknowledgement) {
+        Transaction saved = delegate.save(transaction);
+        queue.write(saved.getTransactionId(), saved.copy(), acknowledgement);
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> saveAll(Collection<Transaction> transactions) {
+        return saveAll(transactions, defaultAcknowledgement);
+    }
+
+    public List<Transaction> saveAll(Collection<Transaction> transactions, Acknowledgement acknowledgement) {
+        List<Transaction> saved = delegate.saveAll(transactions);
+        List<CompletableFuture<Void>> written = new ArrayList<>(saved.size());
+        for (Transaction transaction : saved) {
+            written.add(queue.submit(transaction.getTransactionId(), transaction.copy()));
+        }
+        if (acknowledgement == Acknowledgement.DURABLE) {
+            WriteBehindQueue.awaitAll(written);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Transaction> findById(String transactionId) {
+        return delegate.findById(transactionId);
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Transaction> findByMemberId(String memberId) {
+        return delegate.findByMemberId(memberId);
+    }
+
+    @Override
+    public List<Transaction> findByBookIsbn(String bookIsbn) {
+        return delegate.findByBookIsbn(bookIsbn);
+    }
+
+    @Override
+    public Optional<Transaction> findOpenBorrowTransactionByMemberAndBook(String memberId, String bookIsbn) {
+        return delegate.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn);
+    }
+
+    @Override
+    public List<Transaction> findAllOpenBorrowTransactions() {
+        return delegate.findAllOpenBorrowTransactions();
+    }
+
+    @Override
+    public List<Transaction> findOpenBorrowTransactionsByMember(String memberId) {
+        return delegate.findOpenBorrowTransactionsByMember(memberId);
+    }
+}
@@ -0,0 +1,77 @@
+// src/main/java/com/prpcena/library/service/BatchItemResult.java
+package com.prpcena.library.service;
+
+import java.util.Objects;
+
+/**
+ * The outcome of one ISBN within a batched borrow or return.
+ * This class is immutable.
+ */
+public final class BatchItemResult {
+
+    public enum Outcome {
+        BORROWED,
+        RETURNED,
+        BOOK_NOT_FOUND,
+        NO_COPIES_AVAILABLE,
+        ALREADY_BORROWED,
+        NOT_BORROWED,
+        LIMIT_EXCEEDED,
+        DUPLICATE_IN_BATCH,
+        FAILED;
+
+        public boolean isSuccess() {
+            return this == BORROWED || this == RETURNED;
+        }
+    }
+
+    private final String isbn;
+    private final Outcome outcome;
+    private final String message;
+
+    public BatchItemResult(String isbn, Outcome outcome, String message) {
+        this.isbn = isbn;
+        this.outcome = Objects.requireNonNull(outcome, "Outcome cannot be null");
+        this.message = message;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isSuccess() {
+        return outcome.isSuccess();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        BatchItemResult that = (BatchItemResult) o;
+        return Objects.equals(isbn, that.isbn) && outcome == that.outcome && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isbn, outcome, message);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "isbn='" + isbn + '\'' +
+                ", outcome=" + outcome +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/prpcena/library/service/CirculationListener.java
+package com.prpcena.library.service;
+
+import com.prpcena.library.model.Transaction;
+
+/**
+ * Receives loan events from {@link LibraryServiceImpl} after they have been
+ * saved. Callbacks run on the calling thread while the book's lock is held,
+ * so they must be quick; exceptions are logged and do not undo the operation.
+ */
+public interface CirculationListener {
+
+    /**
+     * Called after a loan has been recorded.
+     *
+     * @param loan The new open borrow transaction.
+     */
+    default void onBorrowed(Transaction loan) {
+    }
+
+    /**
+     * Called after a loan has been closed.
+     *
+     * @param loan The borrow transaction, with its return date-time set.
+     */
+    default void onReturned(Transaction loan) {
+    }
+
+    /**
+     * Called after a book has been removed from the catalog.
+     *
+     * @param isbn The ISBN of the removed book.
+     */
+    default void onBookRemoved(String isbn) {
+    }
+}
@@ -1,17 +1,28 @@
 // src/main/java/com/yourusername/library/service/LibraryService.java
 package com.prpcena.library.service; // Adjust package name
 
+import java.io.Writer;
+import java.nio.file.Path;
 import java.time.Year;
 import java.util.List;
 import java.util.Optional;
 
+import com.prpcena.library.archive.ArchiveSummary;
+import com.prpcena.library.dashboard.MemberLoanSummary;
 import com.prpcena.library.exception.BookNotBorrowedException;
 import com.prpcena.library.exception.BookNotFoundException;
+import com.prpcena.library.exception.BorrowingLimitExceededException;
+import com.prpcena.library.exception.HoldNotAllowedException;
+import com.prpcena.library.exception.HoldNotFoundException;
 import com.prpcena.library.exception.MemberNotFoundException;
 import com.prpcena.library.exception.OperationFailedException;
 import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.model.Hold;
 import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
 import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.search.BookSearchCriteria;
 
 public interface LibraryService {
     /**
@@ -78,6 +89,14 @@ public interface LibraryService {
      */
     Member registerMember(String name, String contactInfo);
 
+    /**
+     * Same as {@link #registerMember(String, String)}, but a retry carrying the same request ID
+     * returns the original outcome without registering the member again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    Member registerMember(String name, String contactInfo, String requestId);
+
     /**
      * Finds a member by their ID.
      * 
@@ -94,6 +113,16 @@ public interface LibraryService {
      */
     List<Member> getAllMembers(); // New method
 
+    /**
+     * Moves a member to another tier, which changes their borrowing limits
+     * from their next borrow on.
+     * @param memberId The ID of the member.
+     * @param tier The new tier.
+     * @return The updated member.
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    Member setMemberTier(String memberId, MemberTier tier);
+
     // New Borrowing method
     /**
      * Allows a member to borrow a book.
@@ -134,9 +163,18 @@ public interface LibraryService {
      *                                                                         for
      *                                                                         other
      *                                                                         reasons.
+     * @throws BorrowingLimitExceededException if the member has reached their tier's loan or overdue limit.
      */
     void borrowBook(String memberId, String bookIsbn);
 
+    /**
+     * Same as {@link #borrowBook(String, String)}, but a retry carrying the same request ID
+     * returns the original outcome without borrowing again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    void borrowBook(String memberId, String bookIsbn, String requestId);
+
     // (We'll add returnBook in Iteration 3)
     /**
      * Allows a member to return a book.
@@ -149,6 +187,160 @@ public interface LibraryService {
      */
     void returnBook(String memberId, String bookIsbn);
 
+    /**
+     * Same as {@link #returnBook(String, String)}, but a retry carrying the same request ID
+     * returns the original outcome without returning again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    void returnBook(String memberId, String bookIsbn, String requestId);
+
+    /**
+     * Borrows several books for one member in a single operation, e.g. from a
+     * self-checkout kiosk. The member is validated once, all books are resolved
+     * in one pass and all loans are written in one batch.
+     * @param memberId The ID of the member borrowing the books.
+     * @param bookIsbns The ISBNs of the books, in scan order.
+     * @return One result per requested ISBN, in the same order.
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    List<BatchItemResult> borrowBooks(String memberId, List<String> bookIsbns);
+
+    /**
+     * Same as {@link #borrowBooks(String, List)}, but a retry carrying the same request ID
+     * returns the original outcome without borrowing again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    List<BatchItemResult> borrowBooks(String memberId, List<String> bookIsbns, String requestId);
+
+    /**
+     * Returns several books for one member in a single operation.
+     * @param memberId The ID of the member returning the books.
+     * @param bookIsbns The ISBNs of the books, in scan order.
+     * @return One result per requested ISBN, in the same order.
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    List<BatchItemResult> returnBooks(String memberId, List<String> bookIsbns);
+
+    /**
+     * Same as {@link #returnBooks(String, List)}, but a retry carrying the same request ID
+     * returns the original outcome without returning again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    List<BatchItemResult> returnBooks(String memberId, List<String> bookIsbns, String requestId);
+
+    /**
+     * Places a hold on a book that has no copies available. Holds on the same
+     * book are served in the order they were placed: when a copy is returned it
+     * is set aside for the first waiting member instead of going back on the
+     * shelf, and that member can then borrow it with {@link #borrowBook}.
+     * @param memberId The ID of the member placing the hold.
+     * @param bookIsbn The ISBN of the book.
+     * @return The new hold.
+     * @throws MemberNotFoundException if the member is not found.
+     * @throws BookNotFoundException if the book is not found.
+     * @throws com.prpcena.library.exception.BookAlreadyBorrowedException if the member already has the book.
+     * @throws HoldNotAllowedException if a copy is available or the member already holds the book.
+     */
+    Hold placeHold(String memberId, String bookIsbn);
+
+    /**
+     * Same as {@link #placeHold(String, String)}, but a retry carrying the same request ID
+     * returns the original outcome without placing another hold again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    Hold placeHold(String memberId, String bookIsbn, String requestId);
+
+    /**
+     * Cancels a member's active hold. If a copy was set aside for the member it
+     * passes to the next waiting member, or back on the shelf.
+     * @param memberId The ID of the member.
+     * @param bookIsbn The ISBN of the book.
+     * @throws HoldNotFoundException if the member has no active hold on the book.
+     */
+    void cancelHold(String memberId, String bookIsbn);
+
+    /**
+     * Same as {@link #cancelHold(String, String)}, but a retry carrying the same request ID
+     * returns the original outcome without cancelling again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    void cancelHold(String memberId, String bookIsbn, String requestId);
+
+    /**
+     * Expires holds whose copy has been waiting on the hold shelf for longer
+     * than the pickup window. Each copy passes to the next waiting member, or
+     * back on the shelf, as if the hold had been cancelled.
+     * @return The number of holds expired.
+     */
+    int expireUncollectedHolds();
+
+    /**
+     * Gets a member's position in a book's wait-list.
+     * @param memberId The ID of the member.
+     * @param bookIsbn The ISBN of the book.
+     * @return The 1-based position, or 0 if a copy is ready for pickup.
+     * @throws HoldNotFoundException if the member has no active hold on the book.
+     */
+    int getHoldQueuePosition(String memberId, String bookIsbn);
+
+    /**
+     * Gets a member's active holds, both waiting and ready for pickup.
+     * @param memberId The ID of the member.
+     * @return The member's active holds.
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    List<Hold> getHoldsByMember(String memberId);
+
+    /**
+     * Gets a member's outstanding fine balance, including fines still accruing
+     * on overdue loans. Answered from the member's ledger in constant time.
+     * @param memberId The ID of the member.
+     * @return The balance in the currency's minor unit (e.g. cents).
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    long getMemberBalance(String memberId);
+
+    /**
+     * Records a fine payment.
+     * @param memberId The ID of the member paying.
+     * @param amount The amount paid, in the currency's minor unit.
+     * @throws MemberNotFoundException if the member is not found.
+     * @throws IllegalArgumentException if the amount is not positive or exceeds the balance.
+     */
+    void payFine(String memberId, long amount);
+
+    /**
+     * Same as {@link #payFine(String, long)}, but a retry carrying the same request ID
+     * returns the original outcome without recording the payment again.
+     * @param requestId A client-generated ID for this request; null disables deduplication.
+     * @throws IllegalArgumentException if the request ID was used for a different request.
+     */
+    void payFine(String memberId, long amount, String requestId);
+
+    /**
+     * Writes a CSV fine statement for every member with fines.
+     * @param out Where to write; not closed.
+     * @return The number of members in the statement.
+     * @throws OperationFailedException if writing fails.
+     */
+    int exportFineStatements(Writer out);
+
+    /**
+     * Writes every book, member, transaction, hold and fine ledger entry to a
+     * compressed archive that can be imported into an empty library, replacing
+     * the file if it exists. They are read together, while loans and holds
+     * wait, so the archive is one consistent snapshot.
+     * @param file Where to write the archive.
+     * @return What was exported.
+     * @throws OperationFailedException if writing fails.
+     */
+    ArchiveSummary exportLibrary(Path file);
+
     /**
      * Gets a list of books currently borrowed by a specific member.
      * @param memberId The ID of the member.
@@ -157,6 +349,16 @@ public interface LibraryService {
      */
     List<Transaction> getBorrowedBooksByMember(String memberId);
 
+    /**
+     * Gets what a member's dashboard shows: current loans, next due date,
+     * overdue count and number of loans ever taken out. Kept up to date as
+     * loans change, so no transactions are read.
+     * @param memberId The ID of the member.
+     * @return The member's loan summary.
+     * @throws MemberNotFoundException if the member is not found.
+     */
+    MemberLoanSummary getMemberLoanSummary(String memberId);
+
     /**
      * Gets a list of all currently overdue books across all members.
      * @return A list of Transaction objects representing overdue loans.
@@ -179,6 +381,24 @@ public interface LibraryService {
      */
     List<Book> searchBooksByAuthor(String authorQuery);
 
+    /**
+     * Searches for books whose author's name sounds like the query, e.g.
+     * "Tolstoi" finds books by "Leo Tolstoy".
+     * 
+     * @param authorQuery One or more author name words to match by sound.
+     * @return A list of books matching the author query.
+     */
+    List<Book> searchBooksByAuthorSound(String authorQuery);
+
+    /**
+     * Searches for books by keywords: every query word must be the start of a
+     * word in the title or the author's name.
+     * 
+     * @param keywords The keywords, e.g. "lord ring tolkien".
+     * @return A list of books matching all keywords.
+     */
+    List<Book> searchBooksByKeywords(String keywords);
+
     /**
      * Searches for books by genre.
      * 
@@ -186,4 +406,39 @@ public interface LibraryService {
      * @return A list of books matching the genre query.
      */
     List<Book> searchBooksByGenre(String genreQuery);
+
+    /**
+     * Searches for books published between two years, both inclusive.
+     * 
+     * @param from The first year of the range, or null for no lower bound.
+     * @param to   The last year of the range, or null for no upper bound.
+     * @return A list of books published in the range, ordered by year.
+     * @throws IllegalArgumentException if {@code from} is after {@code to}.
+     */
+    List<Book> searchBooksByPublicationYear(Year from, Year to);
+
+    /**
+     * Searches for books matching all of the given criteria.
+     * 
+     * @param criteria The combined title, author, genre and year range criteria.
+     * @return A list of books matching every criterion that is set.
+     */
+    List<Book> searchBooks(BookSearchCriteria criteria);
+
+    /**
+     * Gets the number of books per genre, publication decade and author across
+     * the whole catalog.
+     * 
+     * @return The catalog-wide facet counts.
+     */
+    FacetCounts getCatalogFacets();
+
+    /**
+     * Gets the number of books per genre, publication decade and author within a
+     * search result.
+     * 
+     * @param results The books returned by one of the search methods.
+     * @return The facet counts for those books.
+     */
+    FacetCounts getFacetsForResults(List<Book> results);
 }
\ No newline at end of file
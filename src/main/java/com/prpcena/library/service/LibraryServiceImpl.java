@@ -1,54 +1,153 @@
 // src/main/java/com/yourusername/library/service/LibraryServiceImpl.java
 package com.prpcena.library.service; // Adjust package name
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional; // New import
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors; // New import
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prpcena.library.archive.ArchiveSummary;
+import com.prpcena.library.archive.LibraryArchive;
+import com.prpcena.library.archive.LibrarySnapshot;
+import com.prpcena.library.dashboard.MemberLoanSummary;
+import com.prpcena.library.dashboard.MemberLoanSummaryView;
 import com.prpcena.library.exception.BookAlreadyBorrowedException;
 import com.prpcena.library.exception.BookNotBorrowedException;
 import com.prpcena.library.exception.BookNotFoundException;
+import com.prpcena.library.exception.BorrowingLimitExceededException;
+import com.prpcena.library.exception.HoldNotAllowedException;
+import com.prpcena.library.exception.HoldNotFoundException;
 import com.prpcena.library.exception.MemberNotFoundException;
 import com.prpcena.library.exception.NoCopiesAvailableException;
 import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.events.EventLog;
+import com.prpcena.library.events.LibraryEvent;
+import com.prpcena.library.fine.FineEngine;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.limits.LoanCounters;
 import com.prpcena.library.model.Author;
 import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
 import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
 import com.prpcena.library.model.Transaction; // New import
 import com.prpcena.library.model.TransactionType;
 import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.HoldRepository;
 import com.prpcena.library.repository.MemberRepository;
 import com.prpcena.library.repository.TransactionRepository;
+import com.prpcena.library.repository.TransactionScope;
+import com.prpcena.library.repository.UnitOfWork;
 import com.prpcena.library.service.search.AuthorSearchStrategy;
+import com.prpcena.library.service.search.BookSearchCriteria;
 import com.prpcena.library.service.search.GenreSearchStrategy;
 import com.prpcena.library.service.search.SearchStrategy;
 import com.prpcena.library.service.search.TitleSearchStrategy;
+import com.prpcena.library.util.IdempotencyTable;
+import com.prpcena.library.util.LibraryClock;
+import com.prpcena.library.util.StripedLock;
 
 public class LibraryServiceImpl implements LibraryService {
     private static final Logger logger = LoggerFactory.getLogger(LibraryServiceImpl.class);
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository; 
     private final TransactionRepository transactionRepository; // New field
+    private final HoldRepository holdRepository;
+    private final FineEngine fineEngine;
+    private final LoanCounters loanCounters;
+    private final MemberLoanSummaryView loanSummaries;
     private static final int DEFAULT_LOAN_DURATION_DAYS = 14; // e.g., 2 weeks
+    private static final int HOLD_PICKUP_DAYS = 7; // How long a set-aside copy waits for its member
+    private static final int ARCHIVE_PARALLELISM = Runtime.getRuntime().availableProcessors();
         private final SearchStrategy<Book> titleSearchStrategy = new TitleSearchStrategy();
     private final SearchStrategy<Book> authorSearchStrategy = new AuthorSearchStrategy();
     private final SearchStrategy<Book> genreSearchStrategy = new GenreSearchStrategy();
+    // Per-ISBN locks for borrow/return; batches take theirs in stripe order to avoid deadlocks
+    private final StripedLock isbnLocks = new StripedLock(64);
+    private final List<CirculationListener> circulationListeners = new CopyOnWriteArrayList<>();
+    private volatile EventLog eventLog; // Null unless event recording is turned on
+    private volatile TransactionScope transactionScope; // Null unless the repositories share transactions
+    // Outcomes of recent requests that carried a request ID; failures to persist are retried, not replayed
+    private final IdempotencyTable recentRequests;
+    private final LibraryClock clock;
 
     // Updated Constructor Injection
+    public LibraryServiceImpl(BookRepository bookRepository, MemberRepository memberRepository,
+            TransactionRepository transactionRepository, HoldRepository holdRepository, FineEngine fineEngine,
+            LoanCounters loanCounters, MemberLoanSummaryView loanSummaries) {
+        this(bookRepository, memberRepository, transactionRepository, holdRepository, fineEngine, loanCounters,
+                loanSummaries, LibraryClock.systemDefault());
+    }
+
     // Updated Constructor Injection
     public LibraryServiceImpl(BookRepository bookRepository, MemberRepository memberRepository,
-            TransactionRepository transactionRepository) {
+            TransactionRepository transactionRepository, HoldRepository holdRepository, FineEngine fineEngine,
+            LoanCounters loanCounters, MemberLoanSummaryView loanSummaries, LibraryClock clock) {
         this.bookRepository = Objects.requireNonNull(bookRepository, "BookRepository cannot be null.");
         this.memberRepository = Objects.requireNonNull(memberRepository, "MemberRepository cannot be null.");
         this.transactionRepository = Objects.requireNonNull(transactionRepository,
                 "TransactionRepository cannot be null.");
+        this.holdRepository = Objects.requireNonNull(holdRepository, "HoldRepository cannot be null.");
+        this.fineEngine = Objects.requireNonNull(fineEngine, "FineEngine cannot be null.");
+        this.loanCounters = Objects.requireNonNull(loanCounters, "LoanCounters cannot be null.");
+        this.loanSummaries = Objects.requireNonNull(loanSummaries, "MemberLoanSummaryView cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.recentRequests = new IdempotencyTable(10_000, Duration.ofMinutes(15), clock,
+                e -> e instanceof OperationFailedException);
+    }
+
+    /**
+     * Registers a listener for borrow and return events, e.g. an overdue scheduler.
+     *
+     * @param listener The listener to add.
+     */
+    public void addCirculationListener(CirculationListener listener) {
+        circulationListeners.add(Objects.requireNonNull(listener, "Listener cannot be null."));
+    }
+
+    /**
+     * Records every successful change to the library as a {@link LibraryEvent}
+     * in the given log, from which projections can be rebuilt. Events are
+     * appended after the change is saved, while the book's lock is held, so
+     * events for the same book are in the order they happened. A failed
+     * append is logged and does not undo the change.
+     *
+     * @param eventLog The log to append to.
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = Objects.requireNonNull(eventLog, "Event log cannot be null.");
+    }
+
+    /**
+     * Commits each borrow and return, i.e. its copy counts and loans, in one
+     * transaction of the given scope. Only for repositories that share it,
+     * e.g. the JDBC repositories on one connection pool; without a scope the
+     * writes are separate and put back by hand if a later one fails.
+     *
+     * @param transactionScope The transactions the book, member and transaction repositories share.
+     */
+    public void setTransactionScope(TransactionScope transactionScope) {
+        this.transactionScope = Objects.requireNonNull(transactionScope, "Transaction scope cannot be null.");
     }
 
 
@@ -72,7 +171,12 @@ public class LibraryServiceImpl implements LibraryService {
                                                                                              // constructor
 
         logger.info("Adding new book with ISBN: {}", isbn);
-        return bookRepository.save(newBook);
+        // Under the book's stripe, so an export sees it before or after and no borrow is recorded before it
+        try (StripedLock.Held held = isbnLocks.lock(isbn)) {
+            Book saved = bookRepository.save(newBook);
+            record(LibraryEvent.bookAdded(clock.now(), isbn, title, initialCopies));
+            return saved;
+        }
     }
 
     @Override
@@ -100,8 +204,15 @@ public class LibraryServiceImpl implements LibraryService {
         // Optional: Add check if book exists before trying to delete, or rely on
         // repository's return
         logger.info("Service attempting to remove book with ISBN: {}", isbn);
-        boolean deleted = bookRepository.deleteByIsbn(isbn);
+        boolean deleted;
+        try (StripedLock.Held held = isbnLocks.lock(isbn)) {
+            deleted = bookRepository.deleteByIsbn(isbn);
+            if (deleted) {
+                record(LibraryEvent.bookRemoved(clock.now(), isbn));
+            }
+        }
         if (deleted) {
+            fireBookRemoved(isbn);
             logger.info("Book with ISBN {} removed successfully by service.", isbn);
         } else {
             logger.info("Book with ISBN {} not found or could not be removed by service.", isbn);
@@ -115,7 +226,9 @@ public class LibraryServiceImpl implements LibraryService {
         // Validation is handled by Member constructor
         Member newMember = new Member(name, contactInfo);
         logger.info("Registering new member: {}", newMember.getName());
-        return memberRepository.save(newMember);
+        Member saved = memberRepository.save(newMember);
+        record(LibraryEvent.memberRegistered(clock.now(), saved.getMemberId(), saved.getName()));
+        return saved;
     }
 
     @Override
@@ -134,6 +247,22 @@ public class LibraryServiceImpl implements LibraryService {
         return memberRepository.findAll();
     }
 
+    @Override
+    public Member setMemberTier(String memberId, MemberTier tier) {
+        Objects.requireNonNull(tier, "Member tier cannot be null.");
+        // Changed on a copy and saved against the version read, so concurrent member updates are not lost
+        Member updated = OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS, () -> {
+            Member member = memberRepository.findById(memberId)
+                    .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+            Member copy = member.copy();
+            copy.setTier(tier);
+            return memberRepository.saveIfVersion(copy, member.getVersion());
+        });
+        record(LibraryEvent.memberTierChanged(clock.now(), memberId, tier.name()));
+        logger.info("Member ID {} moved to tier {}", memberId, tier);
+        return updated;
+    }
+
     // --- Borrowing and Returning Methods ---
     @Override
     public void borrowBook(String memberId, String bookIsbn) {
@@ -142,80 +271,664 @@ public class LibraryServiceImpl implements LibraryService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
 
-        Book book = bookRepository.findByIsbn(bookIsbn)
-                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + bookIsbn + " not found."));
+        // Check-and-update of copies and loans must not interleave with other operations on this ISBN
+        try (StripedLock.Held held = isbnLocks.lock(bookIsbn)) {
+            // Read under the lock, so the copy count checked is the one the change is saved against
+            Book book = findBookOrThrow(bookIsbn);
+            if (transactionRepository.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn).isPresent()) {
+                logger.warn("Borrow failed: Member {} already has an open loan for book ISBN {}", memberId, bookIsbn);
+                throw new BookAlreadyBorrowedException("Member " + member.getName() + " has already borrowed book '" + book.getTitle() + "'.");
+            }
+
+            // A copy set aside for this member's hold is not counted in the available copies
+            Optional<Hold> hold = holdRepository.findActiveByMemberAndBook(memberId, bookIsbn);
+            boolean copySetAside = hold.isPresent() && hold.get().getStatus() == HoldStatus.READY_FOR_PICKUP;
+            if (!copySetAside && book.getAvailableCopies() <= 0) {
+                logger.warn("Borrow failed: No copies available for book ISBN {}", bookIsbn);
+                throw new NoCopiesAvailableException("No copies available for book: " + book.getTitle());
+            }
+
+            // Checked against the member's counters; their loan history is not read
+            loanCounters.reserve(member);
+            LocalDate dueDate = clock.today().plusDays(DEFAULT_LOAN_DURATION_DAYS);
+            Transaction borrowTransaction = new Transaction(bookIsbn, memberId, dueDate, clock.now());
+            try {
+                // The copy count and the loan are written together or not at all; each attempt reads the
+                // book again, in case a writer that does not take the ISBN's lock saved it in between
+                OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS, () -> {
+                    Book read = findBookOrThrow(bookIsbn);
+                    UnitOfWork work = newUnitOfWork();
+                    if (!copySetAside) {
+                        if (read.getAvailableCopies() <= 0) {
+                            throw new NoCopiesAvailableException("No copies available for book: " + read.getTitle());
+                        }
+                        work.changeBook(read).decreaseAvailableCopies();
+                    }
+                    work.addTransaction(borrowTransaction);
+                    work.commit();
+                    return null;
+                });
+            } catch (NoCopiesAvailableException e) {
+                loanCounters.release(memberId);
+                throw e;
+            } catch (Exception e) {
+                // The unit of work has already put the copy count back if the loan could not be recorded
+                logger.error("Borrow operation failed unexpectedly for book ISBN {} and member ID {}", bookIsbn, memberId, e);
+                loanCounters.release(memberId);
+                throw new OperationFailedException("Failed to complete borrow operation for book " + bookIsbn, e);
+            }
 
-        if (transactionRepository.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn).isPresent()) {
-            logger.warn("Borrow failed: Member {} already has an open loan for book ISBN {}", memberId, bookIsbn);
-            throw new BookAlreadyBorrowedException("Member " + member.getName() + " has already borrowed book '" + book.getTitle() + "'.");
+            // The loan is recorded; from here on a failure is logged, not reported as a failed borrow
+            loanOpened(borrowTransaction, hold.orElse(null), copySetAside ? 0 : -1);
+            logger.info("Book '{}' (ISBN: {}) successfully borrowed by member '{}' (ID: {}). Due date: {}.",
+                    book.getTitle(), bookIsbn, member.getName(), memberId, dueDate);
         }
+    }
+
+    @Override
+    public void returnBook(String memberId, String bookIsbn) {
+        logger.info("Attempting to return book ISBN {} for member ID {}", bookIsbn, memberId);
 
-        if (book.getAvailableCopies() <= 0) {
-            logger.warn("Borrow failed: No copies available for book ISBN {}", bookIsbn);
-            throw new NoCopiesAvailableException("No copies available for book: " + book.getTitle());
+        // Validate member exists (optional, as transaction check is primary)
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+
+        // Serialize with other operations on this ISBN, e.g. a concurrent return of the same loan
+        try (StripedLock.Held held = isbnLocks.lock(bookIsbn)) {
+            Book book = bookRepository.findByIsbn(bookIsbn)
+                    .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + bookIsbn + " not found in catalog."));
+            Transaction openTransaction = transactionRepository.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn)
+                    .orElseThrow(() -> {
+                        logger.warn("Return failed: No open borrow transaction found for member {} and book ISBN {}", memberId, bookIsbn);
+                        return new BookNotBorrowedException("Book '" + book.getTitle() + "' was not found as borrowed by member ID " + memberId + " or already returned.");
+                    });
+
+            // The copy goes to the first member waiting for it, if any, instead of back on the shelf
+            Optional<Hold> nextHold = holdRepository.findNextWaiting(bookIsbn);
+            LocalDateTime returnDateTime = clock.now();
+            Transaction closedTransaction;
+            try {
+                closedTransaction = OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS, () -> {
+                    Book read = findBookOrThrow(bookIsbn);
+                    UnitOfWork work = newUnitOfWork();
+                    if (nextHold.isEmpty()) {
+                        work.changeBook(read).increaseAvailableCopies();
+                    }
+                    // Here you could also change transaction type if you had a separate RETURN record
+                    // but for "closing" a BORROW, just setting returnDateTime is fine.
+                    Transaction closed = work.changeTransaction(openTransaction);
+                    closed.setReturnDateTime(returnDateTime);
+                    work.commit(); // Copy count and closed loan together, or neither
+                    return closed;
+                });
+            } catch (Exception e) {
+                logger.error("Return operation failed unexpectedly for book ISBN {} and member ID {}", bookIsbn, memberId, e);
+                throw new OperationFailedException("Failed to complete return operation for book " + bookIsbn, e);
+            }
+
+            // The return is recorded; from here on a failure is logged, not reported as a failed return
+            long fine = loanClosed(closedTransaction, nextHold.orElse(null));
+            boolean late = returnDateTime.toLocalDate().isAfter(closedTransaction.getDueDate());
+            logger.info("Book '{}' (ISBN: {}) successfully returned by member ID {}. Late: {}",
+                    book.getTitle(), bookIsbn, memberId, late);
+            if (late) {
+                logger.warn("Book ISBN {} returned LATE by member ID {}. Due: {}, Returned: {}, Fine: {}",
+                           bookIsbn, memberId, closedTransaction.getDueDate(), returnDateTime, fine);
+            }
         }
+    }
 
-        try {
-            book.decreaseAvailableCopies();
-            bookRepository.save(book); // Persist the change in available copies
+    @Override
+    public List<BatchItemResult> borrowBooks(String memberId, List<String> bookIsbns) {
+        Objects.requireNonNull(bookIsbns, "Book ISBNs cannot be null.");
+        logger.info("Attempting to borrow {} books for member ID {}", bookIsbns.size(), memberId);
+
+        // Validate the member once for the whole batch
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
 
-            LocalDate dueDate = LocalDate.now().plusDays(DEFAULT_LOAN_DURATION_DAYS);
-            Transaction borrowTransaction = new Transaction(bookIsbn, memberId, dueDate);
-            transactionRepository.save(borrowTransaction);
+        Map<String, BatchItemResult> results = new LinkedHashMap<>();
+        List<Transaction> newTransactions = new ArrayList<>();
+        Set<String> isbns = distinctIsbns(bookIsbns);
 
-            logger.info("Book '{}' (ISBN: {}) successfully borrowed by member '{}' (ID: {}). Due date: {}. Copies remaining: {}",
-                    book.getTitle(), bookIsbn, member.getName(), memberId, dueDate, book.getAvailableCopies());
-        } catch (Exception e) {
-            // This is a general catch. If bookRepository.save or transactionRepository.save fails.
-            // A real system might need to roll back book.decreaseAvailableCopies() if it's not idempotent or if other parts failed.
-            // For this in-memory version, the state of 'book' object might be inconsistent if not handled carefully.
-            logger.error("Borrow operation failed unexpectedly for book ISBN {} and member ID {}", bookIsbn, memberId, e);
-            // Re-increment copies if decreased but transaction failed, only if it makes sense and is safe.
-            // book.increaseAvailableCopies(); // Risky without more context on failure point.
-            throw new OperationFailedException("Failed to complete borrow operation for book " + bookIsbn, e);
+        try (StripedLock.Held held = isbnLocks.lockAll(isbns)) {
+            // Read the member's open loans once, under the locks, instead of once per book
+            Set<String> openLoanIsbns = transactionRepository.findOpenBorrowTransactionsByMember(memberId).stream()
+                    .map(Transaction::getBookIsbn)
+                    .collect(Collectors.toSet());
+            Map<String, Hold> activeHolds = holdRepository.findActiveByMemberId(memberId).stream()
+                    .collect(Collectors.toMap(Hold::getBookIsbn, h -> h, (a, b) -> a));
+            Map<String, Hold> fulfilledHolds = new LinkedHashMap<>(); // By ISBN
+            Set<String> fromHoldShelf = new HashSet<>(); // Borrowed copies that were set aside, not on the shelf
+            LocalDate dueDate = clock.today().plusDays(DEFAULT_LOAN_DURATION_DAYS);
+            try {
+                OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS, () -> {
+                    results.clear();
+                    newTransactions.clear();
+                    fulfilledHolds.clear();
+                    fromHoldShelf.clear();
+                    // The books are read under the locks, and again on each attempt
+                    Map<String, Book> books = bookRepository.findAllByIsbn(isbns);
+                    UnitOfWork work = newUnitOfWork();
+                    try {
+                        for (String isbn : bookIsbns) {
+                            if (results.containsKey(isbn)) {
+                                continue; // Reported as a duplicate below
+                            }
+                            Book book = books.get(isbn);
+                            if (book == null) {
+                                results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.BOOK_NOT_FOUND,
+                                        "Book with ISBN " + isbn + " not found."));
+                            } else if (openLoanIsbns.contains(isbn)) {
+                                results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.ALREADY_BORROWED,
+                                        "Book '" + book.getTitle() + "' is already borrowed by this member."));
+                            } else if (book.getAvailableCopies() <= 0 && !isSetAside(activeHolds.get(isbn))) {
+                                results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.NO_COPIES_AVAILABLE,
+                                        "No copies available for book: " + book.getTitle()));
+                            } else if (!reserveLoan(member, isbn, results)) {
+                                continue; // Over the member's limit; reported by reserveLoan
+                            } else {
+                                Transaction transaction = new Transaction(isbn, memberId, dueDate, clock.now());
+                                newTransactions.add(transaction);
+                                Hold hold = activeHolds.get(isbn);
+                                if (!isSetAside(hold)) {
+                                    work.changeBook(book).decreaseAvailableCopies();
+                                } else {
+                                    fromHoldShelf.add(isbn);
+                                }
+                                if (hold != null) {
+                                    fulfilledHolds.put(isbn, hold);
+                                }
+                                work.addTransaction(transaction);
+                                results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.BORROWED,
+                                        "Due " + dueDate + "."));
+                            }
+                        }
+                        if (!work.isEmpty()) {
+                            work.commit();
+                        }
+                    } catch (RuntimeException e) {
+                        // Nothing was handed out; give back this attempt's reservations before any retry
+                        newTransactions.forEach(transaction -> loanCounters.release(memberId));
+                        throw e;
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                logger.error("Batch borrow failed unexpectedly for member ID {}", memberId, e);
+                // Nothing was handed out and the copies are back; report every borrowed item as failed
+                for (Transaction transaction : newTransactions) {
+                    results.put(transaction.getBookIsbn(), new BatchItemResult(transaction.getBookIsbn(),
+                            BatchItemResult.Outcome.FAILED, "Failed to record the loan: " + e.getMessage()));
+                }
+                newTransactions.clear();
+                fulfilledHolds.clear();
+            }
+            for (Transaction transaction : newTransactions) {
+                loanOpened(transaction, fulfilledHolds.get(transaction.getBookIsbn()),
+                        fromHoldShelf.contains(transaction.getBookIsbn()) ? 0 : -1);
+            }
         }
+        logger.info("Batch borrow for member ID {}: {} of {} books borrowed",
+                memberId, newTransactions.size(), bookIsbns.size());
+        return inRequestOrder(bookIsbns, results);
     }
 
     @Override
-    public void returnBook(String memberId, String bookIsbn) {
-        logger.info("Attempting to return book ISBN {} for member ID {}", bookIsbn, memberId);
+    public List<BatchItemResult> returnBooks(String memberId, List<String> bookIsbns) {
+        Objects.requireNonNull(bookIsbns, "Book ISBNs cannot be null.");
+        logger.info("Attempting to return {} books for member ID {}", bookIsbns.size(), memberId);
 
-        // Validate member exists (optional, as transaction check is primary)
         memberRepository.findById(memberId)
                 .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
 
-        Book book = bookRepository.findByIsbn(bookIsbn)
-                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + bookIsbn + " not found in catalog."));
+        Map<String, BatchItemResult> results = new LinkedHashMap<>();
+        List<Transaction> closedTransactions = new ArrayList<>();
+        Set<String> isbns = distinctIsbns(bookIsbns);
 
-        Transaction openTransaction = transactionRepository.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn)
-                .orElseThrow(() -> {
-                    logger.warn("Return failed: No open borrow transaction found for member {} and book ISBN {}", memberId, bookIsbn);
-                    return new BookNotBorrowedException("Book '" + book.getTitle() + "' was not found as borrowed by member ID " + memberId + " or already returned.");
+        try (StripedLock.Held held = isbnLocks.lockAll(isbns)) {
+            Map<String, Transaction> openLoans = transactionRepository.findOpenBorrowTransactionsByMember(memberId)
+                    .stream()
+                    .collect(Collectors.toMap(Transaction::getBookIsbn, t -> t, (a, b) -> a));
+            LocalDateTime returnDateTime = clock.now();
+            Map<String, Hold> handOffs = new LinkedHashMap<>(); // By ISBN
+            try {
+                OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS, () -> {
+                    results.clear();
+                    closedTransactions.clear();
+                    handOffs.clear();
+                    // The books are read under the locks, and again on each attempt
+                    Map<String, Book> books = bookRepository.findAllByIsbn(isbns);
+                    UnitOfWork work = newUnitOfWork();
+                    for (String isbn : bookIsbns) {
+                        if (results.containsKey(isbn)) {
+                            continue;
+                        }
+                        Book book = books.get(isbn);
+                        Transaction openTransaction = openLoans.get(isbn);
+                        if (book == null) {
+                            results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.BOOK_NOT_FOUND,
+                                    "Book with ISBN " + isbn + " not found in catalog."));
+                        } else if (openTransaction == null) {
+                            results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.NOT_BORROWED,
+                                    "Book '" + book.getTitle() + "' was not found as borrowed by this member or already returned."));
+                        } else {
+                            Optional<Hold> nextHold = holdRepository.findNextWaiting(isbn);
+                            if (nextHold.isPresent()) {
+                                handOffs.put(isbn, nextHold.get());
+                            } else {
+                                work.changeBook(book).increaseAvailableCopies();
+                            }
+                            Transaction closed = work.changeTransaction(openTransaction);
+                            closed.setReturnDateTime(returnDateTime);
+                            closedTransactions.add(closed);
+                            results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.RETURNED,
+                                    returnDateTime.toLocalDate().isAfter(closed.getDueDate())
+                                            ? "Returned late (due " + closed.getDueDate() + ")."
+                                            : "Returned on time."));
+                        }
+                    }
+                    if (!work.isEmpty()) {
+                        work.commit();
+                    }
+                    return null;
                 });
+            } catch (Exception e) {
+                logger.error("Batch return failed unexpectedly for member ID {}", memberId, e);
+                // The loans are still open and the copies still out; report every returned item as failed
+                for (Transaction transaction : closedTransactions) {
+                    results.put(transaction.getBookIsbn(), new BatchItemResult(transaction.getBookIsbn(),
+                            BatchItemResult.Outcome.FAILED, "Failed to record the return: " + e.getMessage()));
+                }
+                closedTransactions.clear();
+                handOffs.clear();
+            }
+            for (Transaction transaction : closedTransactions) {
+                loanClosed(transaction, handOffs.get(transaction.getBookIsbn()));
+            }
+        }
+        logger.info("Batch return for member ID {}: {} of {} books returned",
+                memberId, closedTransactions.size(), bookIsbns.size());
+        return inRequestOrder(bookIsbns, results);
+    }
+
+    // --- Retry-safe variants, keyed by the client's request ID ---
+    @Override
+    public Member registerMember(String name, String contactInfo, String requestId) {
+        return recentRequests.execute(requestId, fingerprint("registerMember", name, contactInfo),
+                () -> registerMember(name, contactInfo));
+    }
+
+    @Override
+    public void borrowBook(String memberId, String bookIsbn, String requestId) {
+        recentRequests.execute(requestId, fingerprint("borrowBook", memberId, bookIsbn), () -> {
+            borrowBook(memberId, bookIsbn);
+            return null;
+        });
+    }
+
+    @Override
+    public void returnBook(String memberId, String bookIsbn, String requestId) {
+        recentRequests.execute(requestId, fingerprint("returnBook", memberId, bookIsbn), () -> {
+            returnBook(memberId, bookIsbn);
+            return null;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> borrowBooks(String memberId, List<String> bookIsbns, String requestId) {
+        return recentRequests.execute(requestId, fingerprint("borrowBooks", memberId, copyOf(bookIsbns)),
+                () -> borrowBooks(memberId, bookIsbns));
+    }
+
+    @Override
+    public List<BatchItemResult> returnBooks(String memberId, List<String> bookIsbns, String requestId) {
+        return recentRequests.execute(requestId, fingerprint("returnBooks", memberId, copyOf(bookIsbns)),
+                () -> returnBooks(memberId, bookIsbns));
+    }
+
+    @Override
+    public Hold placeHold(String memberId, String bookIsbn, String requestId) {
+        return recentRequests.execute(requestId, fingerprint("placeHold", memberId, bookIsbn),
+                () -> placeHold(memberId, bookIsbn));
+    }
+
+    @Override
+    public void cancelHold(String memberId, String bookIsbn, String requestId) {
+        recentRequests.execute(requestId, fingerprint("cancelHold", memberId, bookIsbn), () -> {
+            cancelHold(memberId, bookIsbn);
+            return null;
+        });
+    }
+
+    @Override
+    public void payFine(String memberId, long amount, String requestId) {
+        recentRequests.execute(requestId, fingerprint("payFine", memberId, amount), () -> {
+            payFine(memberId, amount);
+            return null;
+        });
+    }
+
+    private static Object fingerprint(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    private static List<String> copyOf(List<String> bookIsbns) {
+        return bookIsbns == null ? null : new ArrayList<>(bookIsbns);
+    }
+
+    // --- Holds ---
+    @Override
+    public Hold placeHold(String memberId, String bookIsbn) {
+        logger.info("Attempting to place hold on book ISBN {} for member ID {}", bookIsbn, memberId);
+
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+
+        Book book = bookRepository.findByIsbn(bookIsbn)
+                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + bookIsbn + " not found."));
+
+        // Availability must not change between the check and joining the wait-list
+        try (StripedLock.Held held = isbnLocks.lock(bookIsbn)) {
+            if (transactionRepository.findOpenBorrowTransactionByMemberAndBook(memberId, bookIsbn).isPresent()) {
+                logger.warn("Hold failed: Member {} already has an open loan for book ISBN {}", memberId, bookIsbn);
+                throw new BookAlreadyBorrowedException("Member " + member.getName() + " has already borrowed book '" + book.getTitle() + "'.");
+            }
+            if (holdRepository.findActiveByMemberAndBook(memberId, bookIsbn).isPresent()) {
+                logger.warn("Hold failed: Member {} already has a hold on book ISBN {}", memberId, bookIsbn);
+                throw new HoldNotAllowedException("Member " + member.getName() + " already has a hold on book '" + book.getTitle() + "'.");
+            }
+            if (book.getAvailableCopies() > 0) {
+                logger.warn("Hold failed: Copies of book ISBN {} are available", bookIsbn);
+                throw new HoldNotAllowedException("Copies of '" + book.getTitle() + "' are available; borrow it instead.");
+            }
+
+            Hold hold = holdRepository.save(new Hold(bookIsbn, memberId, clock.now()));
+            record(LibraryEvent.holdPlaced(clock.now(), hold.getHoldId(), memberId, bookIsbn));
+            logger.info("Member '{}' (ID: {}) placed hold on '{}' (ISBN: {}). Queue position: {}",
+                    member.getName(), memberId, book.getTitle(), bookIsbn, holdRepository.getQueuePosition(hold));
+            return hold;
+        }
+    }
+
+    @Override
+    public void cancelHold(String memberId, String bookIsbn) {
+        logger.info("Attempting to cancel hold on book ISBN {} for member ID {}", bookIsbn, memberId);
+
+        try (StripedLock.Held held = isbnLocks.lock(bookIsbn)) {
+            Hold hold = findActiveHold(memberId, bookIsbn);
+            boolean copySetAside = hold.getStatus() == HoldStatus.READY_FOR_PICKUP;
+            hold.setStatus(HoldStatus.CANCELLED);
+            holdRepository.save(hold);
+            logger.info("Hold {} on book ISBN {} cancelled by member ID {}", hold.getHoldId(), bookIsbn, memberId);
+
+            int copyChange = copySetAside ? passOnSetAsideCopy(bookIsbn) : 0;
+            record(LibraryEvent.holdCancelled(clock.now(), hold.getHoldId(), memberId, bookIsbn, copyChange));
+        }
+    }
+
+    @Override
+    public int expireUncollectedHolds() {
+        LocalDateTime now = clock.now();
+        LocalDateTime cutoff = now.minusDays(HOLD_PICKUP_DAYS);
+        int expired = 0;
+        for (Hold candidate : holdRepository.findReadyForPickupBefore(cutoff)) {
+            String bookIsbn = candidate.getBookIsbn();
+            try (StripedLock.Held held = isbnLocks.lock(bookIsbn)) {
+                // Read again under the lock; it may have been borrowed or cancelled since
+                Optional<Hold> hold = holdRepository.findById(candidate.getHoldId());
+                if (hold.isEmpty() || hold.get().getStatus() != HoldStatus.READY_FOR_PICKUP
+                        || !hold.get().getReadyDateTime().isBefore(cutoff)) {
+                    continue;
+                }
+                hold.get().setStatus(HoldStatus.EXPIRED);
+                holdRepository.save(hold.get());
+                int copyChange = passOnSetAsideCopy(bookIsbn);
+                record(LibraryEvent.holdExpired(now, hold.get().getHoldId(), hold.get().getMemberId(), bookIsbn,
+                        copyChange));
+                logger.info("Hold {} on book ISBN {} expired; member ID {} did not collect it by {}",
+                        hold.get().getHoldId(), bookIsbn, hold.get().getMemberId(),
+                        hold.get().getReadyDateTime().plusDays(HOLD_PICKUP_DAYS));
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    // Passes a copy that was set aside on, as if it had just been returned; returns the change to the
+    // available copies. Must be called with the ISBN's lock held.
+    private int passOnSetAsideCopy(String bookIsbn) {
+        Optional<Hold> nextHold = holdRepository.findNextWaiting(bookIsbn);
+        if (nextHold.isPresent()) {
+            setAsideFor(nextHold.get());
+            return 0;
+        }
+        Optional<Book> saved = OptimisticRetry.onConflict(OptimisticRetry.DEFAULT_ATTEMPTS,
+                () -> bookRepository.findByIsbn(bookIsbn).map(book -> {
+                    Book copy = book.copy();
+                    copy.increaseAvailableCopies();
+                    return bookRepository.saveIfVersion(copy, book.getVersion());
+                }));
+        return saved.isPresent() ? 1 : 0;
+    }
 
+    @Override
+    public int getHoldQueuePosition(String memberId, String bookIsbn) {
+        Hold hold = findActiveHold(memberId, bookIsbn);
+        return hold.getStatus() == HoldStatus.READY_FOR_PICKUP ? 0 : holdRepository.getQueuePosition(hold);
+    }
+
+    @Override
+    public List<Hold> getHoldsByMember(String memberId) {
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+        logger.debug("Fetching holds for member ID: {}", memberId);
+        return holdRepository.findActiveByMemberId(memberId);
+    }
+
+    // --- Fines ---
+    @Override
+    public long getMemberBalance(String memberId) {
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+        return fineEngine.getBalance(memberId);
+    }
+
+    @Override
+    public void payFine(String memberId, long amount) {
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+        logger.info("Recording fine payment of {} for member ID {}", amount, memberId);
+        fineEngine.recordPayment(memberId, amount);
+        record(LibraryEvent.finePaid(clock.now(), memberId, amount));
+    }
+
+    @Override
+    public int exportFineStatements(Writer out) {
+        Objects.requireNonNull(out, "Writer cannot be null.");
+        try {
+            return fineEngine.exportStatements(out);
+        } catch (IOException e) {
+            logger.error("Fine statement export failed", e);
+            throw new OperationFailedException("Failed to export fine statements", e);
+        }
+    }
+
+    @Override
+    public ArchiveSummary exportLibrary(Path file) {
+        Objects.requireNonNull(file, "Archive file cannot be null.");
+        LibrarySnapshot snapshot;
+        // Every stripe, so no book, loan or hold changes while they are read; compressing happens after
+        try (StripedLock.Held held = isbnLocks.lockEverything()) {
+            List<Book> books = bookRepository.findAll();
+            List<Transaction> transactions = transactionRepository.findAll();
+            List<Hold> holds = holdRepository.findAll();
+            List<FineLedgerEntry> fineEntries = fineEngine.getAllLedgerEntries();
+            // Read last, so every member a loan, hold or fine refers to is included
+            List<Member> members = memberRepository.findAll();
+            snapshot = new LibrarySnapshot(books, members, transactions, holds, fineEntries);
+        }
+        try {
+            return new LibraryArchive(ARCHIVE_PARALLELISM).export(file, snapshot);
+        } catch (IOException e) {
+            logger.error("Library export to {} failed", file, e);
+            throw new OperationFailedException("Failed to export library to " + file, e);
+        }
+    }
+
+    private UnitOfWork newUnitOfWork() {
+        return new UnitOfWork(bookRepository, memberRepository, transactionRepository, transactionScope);
+    }
+
+    private Book findBookOrThrow(String bookIsbn) {
+        return bookRepository.findByIsbn(bookIsbn)
+                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + bookIsbn + " not found."));
+    }
+
+    private Hold findActiveHold(String memberId, String bookIsbn) {
+        return holdRepository.findActiveByMemberAndBook(memberId, bookIsbn)
+                .orElseThrow(() -> new HoldNotFoundException(
+                        "Member ID " + memberId + " has no active hold on book ISBN " + bookIsbn + "."));
+    }
+
+    // Hands a returned copy to the first waiting member; must be called with the ISBN's lock held
+    private void setAsideFor(Hold hold) {
+        hold.markReadyForPickup(clock.now());
+        holdRepository.save(hold);
+        logger.info("Copy of book ISBN {} set aside for member ID {} (hold {})",
+                hold.getBookIsbn(), hold.getMemberId(), hold.getHoldId());
+    }
+
+    // Brings holds, counters, views and listeners up to date with a committed loan. Each step is on its own:
+    // one that fails is logged and the rest still run, since the loan itself has been recorded.
+    private void loanOpened(Transaction loan, Hold fulfilledHold, int copyChange) {
+        if (fulfilledHold != null) {
+            afterCommit("hold fulfilment", loan, () -> {
+                fulfilledHold.setStatus(HoldStatus.FULFILLED);
+                holdRepository.save(fulfilledHold);
+            });
+        }
+        afterCommit("loan counters", loan, () -> loanCounters.loanOpened(loan));
+        afterCommit("loan summaries", loan, () -> loanSummaries.loanOpened(loan));
+        afterCommit("fine tracking", loan, () -> fineEngine.loanOpened(loan));
+        recordBorrowed(loan, copyChange);
+        fireBorrowed(loan);
+    }
+
+    // As loanOpened, for a committed return; returns the fine charged, or 0 if it could not be worked out
+    private long loanClosed(Transaction loan, Hold handOff) {
+        if (handOff != null) {
+            afterCommit("hold hand-off", loan, () -> setAsideFor(handOff));
+        }
+        afterCommit("loan counters", loan, () -> loanCounters.loanClosed(loan));
+        afterCommit("loan summaries", loan, () -> loanSummaries.loanClosed(loan));
+        long[] fine = new long[1];
+        afterCommit("fine calculation", loan, () -> fine[0] = fineEngine.loanClosed(loan));
+        recordReturned(loan, handOff == null ? 1 : 0);
+        fireReturned(loan);
+        return fine[0];
+    }
+
+    private static void afterCommit(String step, Transaction loan, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("Failed to update {} for transaction {}; the change itself is saved",
+                    step, loan.getTransactionId(), e);
+        }
+    }
+
+    private void recordBorrowed(Transaction loan, int copyChange) {
+        record(LibraryEvent.bookBorrowed(loan.getTransactionDateTime(), loan.getTransactionId(), loan.getMemberId(),
+                loan.getBookIsbn(), loan.getDueDate(), copyChange));
+    }
+
+    private void recordReturned(Transaction loan, int copyChange) {
+        record(LibraryEvent.bookReturned(loan.getReturnDateTime(), loan.getTransactionId(), loan.getMemberId(),
+                loan.getBookIsbn(), copyChange));
+    }
+
+    private void record(LibraryEvent event) {
+        EventLog log = eventLog;
+        if (log == null) {
+            return;
+        }
+        try {
+            log.append(event);
+        } catch (RuntimeException e) {
+            logger.error("Failed to record {} event", event.getType(), e);
+        }
+    }
+
+    private void fireBorrowed(Transaction loan) {
+        for (CirculationListener listener : circulationListeners) {
+            try {
+                listener.onBorrowed(loan);
+            } catch (RuntimeException e) {
+                logger.error("Circulation listener failed on borrow of transaction {}", loan.getTransactionId(), e);
+            }
+        }
+    }
+
+    private void fireReturned(Transaction loan) {
+        for (CirculationListener listener : circulationListeners) {
+            try {
+                listener.onReturned(loan);
+            } catch (RuntimeException e) {
+                logger.error("Circulation listener failed on return of transaction {}", loan.getTransactionId(), e);
+            }
+        }
+    }
+
+    private void fireBookRemoved(String isbn) {
+        for (CirculationListener listener : circulationListeners) {
+            try {
+                listener.onBookRemoved(isbn);
+            } catch (RuntimeException e) {
+                logger.error("Circulation listener failed on removal of book ISBN {}", isbn, e);
+            }
+        }
+    }
+
+    private boolean reserveLoan(Member member, String isbn, Map<String, BatchItemResult> results) {
         try {
-            book.increaseAvailableCopies();
-            bookRepository.save(book); // Persist change in available copies
-
-            openTransaction.setReturnDateTime(LocalDateTime.now());
-            // Here you could also change transaction type if you had a separate RETURN record
-            // but for "closing" a BORROW, just setting returnDateTime is fine.
-            transactionRepository.save(openTransaction); // Update the transaction
-
-            logger.info("Book '{}' (ISBN: {}) successfully returned by member ID {}. Overdue: {}",
-                    book.getTitle(), bookIsbn, memberId, openTransaction.isOverdue());
-            if (openTransaction.isOverdue()) {
-                // TODO: Handle fines in a later iteration or as an extension
-                System.out.println("Notification: Book '" + book.getTitle() + "' was returned LATE.");
-                logger.warn("Book ISBN {} returned LATE by member ID {}. Due: {}, Returned: {}",
-                           bookIsbn, memberId, openTransaction.getDueDate(), openTransaction.getReturnDateTime());
+            loanCounters.reserve(member);
+            return true;
+        } catch (BorrowingLimitExceededException e) {
+            results.put(isbn, new BatchItemResult(isbn, BatchItemResult.Outcome.LIMIT_EXCEEDED, e.getMessage()));
+            return false;
+        }
+    }
+
+    private static boolean isSetAside(Hold hold) {
+        return hold != null && hold.getStatus() == HoldStatus.READY_FOR_PICKUP;
+    }
+
+    private static Set<String> distinctIsbns(List<String> bookIsbns) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String isbn : bookIsbns) {
+            if (isbn != null) {
+                distinct.add(isbn);
             }
+        }
+        return distinct;
+    }
 
-        } catch (Exception e) {
-            logger.error("Return operation failed unexpectedly for book ISBN {} and member ID {}", bookIsbn, memberId, e);
-            // Consider rollback logic if applicable (e.g., if book save fails after transaction update or vice-versa)
-            throw new OperationFailedException("Failed to complete return operation for book " + bookIsbn, e);
+    // One result per requested ISBN; repeated ISBNs after the first are flagged as duplicates
+    private static List<BatchItemResult> inRequestOrder(List<String> bookIsbns, Map<String, BatchItemResult> results) {
+        List<BatchItemResult> ordered = new ArrayList<>(bookIsbns.size());
+        Set<String> seen = new HashSet<>();
+        for (String isbn : bookIsbns) {
+            if (isbn == null) {
+                ordered.add(new BatchItemResult(null, BatchItemResult.Outcome.BOOK_NOT_FOUND, "ISBN cannot be null."));
+            } else if (!seen.add(isbn)) {
+                ordered.add(new BatchItemResult(isbn, BatchItemResult.Outcome.DUPLICATE_IN_BATCH,
+                        "ISBN appears more than once in the batch."));
+            } else {
+                ordered.add(results.get(isbn));
+            }
         }
+        return ordered;
     }
 
     @Override
@@ -228,11 +941,24 @@ public class LibraryServiceImpl implements LibraryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public MemberLoanSummary getMemberLoanSummary(String memberId) {
+        Optional<MemberLoanSummary> summary = loanSummaries.getSummary(memberId);
+        if (summary.isPresent()) {
+            return summary.get();
+        }
+        // Only members who have never borrowed anything reach the repository
+        memberRepository.findById(memberId)
+                .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found."));
+        return MemberLoanSummary.empty(memberId);
+    }
+
     @Override
     public List<Transaction> getAllOverdueBooks() {
         logger.debug("Fetching all overdue books.");
+        LocalDate today = clock.today();
         return transactionRepository.findAllOpenBorrowTransactions().stream()
-                .filter(Transaction::isOverdue)
+                .filter(t -> t.isOverdue(today))
                 .collect(Collectors.toList());
     }
 
@@ -250,10 +976,80 @@ public class LibraryServiceImpl implements LibraryService {
         return authorSearchStrategy.search(allBooks, authorQuery);
     }
 
+    @Override
+    public List<Book> searchBooksByAuthorSound(String authorQuery) {
+        logger.debug("Searching books by author sound with query: '{}'", authorQuery);
+        if (authorQuery == null || authorQuery.trim().isEmpty()) {
+            return bookRepository.findAll(); // Same as the other searches for an empty query
+        }
+        return bookRepository.findByAuthorSoundingLike(authorQuery);
+    }
+
+    @Override
+    public List<Book> searchBooksByKeywords(String keywords) {
+        logger.debug("Searching books by keywords: '{}'", keywords);
+        if (keywords == null || keywords.trim().isEmpty()) {
+            return bookRepository.findAll(); // Same as the other searches for an empty query
+        }
+        return bookRepository.findByKeywords(keywords);
+    }
+
     @Override
     public List<Book> searchBooksByGenre(String genreQuery) {
         logger.debug("Searching books by genre with query: '{}'", genreQuery);
         List<Book> allBooks = bookRepository.findAll();
         return genreSearchStrategy.search(allBooks, genreQuery);
     }
+
+    @Override
+    public List<Book> searchBooksByPublicationYear(Year from, Year to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Publication year range start cannot be after its end.");
+        }
+        logger.debug("Searching books published between {} and {}", from, to);
+        return bookRepository.findByPublicationYearBetween(from, to);
+    }
+
+    @Override
+    public List<Book> searchBooks(BookSearchCriteria criteria) {
+        Objects.requireNonNull(criteria, "Search criteria cannot be null.");
+        logger.debug("Searching books with criteria: {}", criteria);
+        // Start from the year index when a range is given, it is usually the most selective criterion
+        List<Book> candidates = criteria.hasYearRange()
+                ? bookRepository.findByPublicationYearBetween(criteria.getPublishedFrom(), criteria.getPublishedTo())
+                : bookRepository.findAll();
+        candidates = titleSearchStrategy.search(candidates, criteria.getTitle());
+        if (criteria.isAuthorMatchedBySound()) {
+            candidates = filterByAuthorSound(candidates, criteria.getAuthor());
+        } else {
+            candidates = authorSearchStrategy.search(candidates, criteria.getAuthor());
+        }
+        return genreSearchStrategy.search(candidates, criteria.getGenre());
+    }
+
+    // Intersects the candidates with the phonetic index result instead of encoding every candidate's author
+    private List<Book> filterByAuthorSound(List<Book> candidates, String authorQuery) {
+        if (authorQuery == null || authorQuery.trim().isEmpty()) {
+            return candidates;
+        }
+        Set<String> matchingIsbns = bookRepository.findByAuthorSoundingLike(authorQuery).stream()
+                .map(Book::getIsbn)
+                .collect(Collectors.toSet());
+        return candidates.stream()
+                .filter(book -> matchingIsbns.contains(book.getIsbn()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public FacetCounts getCatalogFacets() {
+        logger.debug("Computing catalog-wide facet counts.");
+        return bookRepository.countFacets();
+    }
+
+    @Override
+    public FacetCounts getFacetsForResults(List<Book> results) {
+        Objects.requireNonNull(results, "Results cannot be null.");
+        logger.debug("Computing facet counts for {} results.", results.size());
+        return bookRepository.countFacets(results);
+    }
 }
\ No newline at end of file
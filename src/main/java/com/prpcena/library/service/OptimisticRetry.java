@@ -0,0 +1,49 @@
+// src/main/java/com/prpcena/library/service/OptimisticRetry.java
+package com.prpcena.library.service;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prpcena.library.exception.VersionConflictException;
+
+/**
+ * Retries read-modify-write updates that use the repositories'
+ * {@code saveIfVersion}. Each attempt must re-read the entity, apply its change
+ * to a copy and save that copy against the version it read.
+ */
+public final class OptimisticRetry {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    /** Enough for a handful of concurrent writers to the same entity. */
+    public static final int DEFAULT_ATTEMPTS = 5;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Runs an update, running it again whenever it loses a version race.
+     *
+     * @param maxAttempts How many times to try in total.
+     * @param update      Reads, changes and conditionally saves the entity.
+     * @return The update's result.
+     * @throws VersionConflictException if every attempt lost.
+     */
+    public static <T> T onConflict(int maxAttempts, Supplier<T> update) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Attempts must be positive.");
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                return update.get();
+            } catch (VersionConflictException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Update still conflicting after {} attempts: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                logger.debug("Retrying update after version conflict (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// src/main/java/com/prpcena/library/service/async/AsyncExecutors.java
+package com.prpcena.library.service.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executors suited to {@link AsyncLibraryServiceImpl}. The service operations
+ * are short and mostly lock-bound, so either a small bounded platform pool or
+ * one virtual thread per operation works well.
+ */
+public final class AsyncExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExecutors.class);
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * Creates a fixed-size pool of daemon platform threads with a bounded work
+     * queue; submissions beyond the queue are rejected.
+     *
+     * @param threads       The number of threads.
+     * @param queueCapacity The number of tasks that may wait for a thread.
+     * @return The executor; the caller is responsible for shutting it down.
+     */
+    public static ExecutorService boundedPlatformPool(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreadFactory("library-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task when the JDK
+     * supports it (21+), and otherwise falls back to
+     * {@link #boundedPlatformPool(int, int)}.
+     *
+     * @param fallbackThreads       Thread count of the fallback pool.
+     * @param fallbackQueueCapacity Queue capacity of the fallback pool.
+     * @return The executor; the caller is responsible for shutting it down.
+     */
+    public static ExecutorService virtualThreadsOrBoundedPool(int fallbackThreads, int fallbackQueueCapacity) {
+        try {
+            // Looked up reflectively so the project still builds for Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            logger.info("Using virtual threads for asynchronous library operations");
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.info("Virtual threads unavailable ({}); using a pool of {} platform threads",
+                    e.getClass().getSimpleName(), fallbackThreads);
+            return boundedPlatformPool(fallbackThreads, fallbackQueueCapacity);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+// src/main/java/com/prpcena/library/service/async/AsyncLibraryService.java
+package com.prpcena.library.service.async;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.prpcena.library.archive.ArchiveSummary;
+import com.prpcena.library.dashboard.MemberLoanSummary;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.BatchItemResult;
+import com.prpcena.library.service.LibraryService;
+import com.prpcena.library.service.search.BookSearchCriteria;
+
+/**
+ * Non-blocking counterpart of {@link LibraryService}. Every method has the
+ * same meaning as the synchronous method of the same name; exceptions it
+ * would throw complete the returned future exceptionally instead.
+ * A future may also fail with a
+ * {@link java.util.concurrent.RejectedExecutionException} when the
+ * operation's queue is full.
+ */
+public interface AsyncLibraryService {
+
+    /** @see LibraryService#addBook */
+    CompletableFuture<Book> addBook(String title, String authorFirstName, String authorLastName, String isbn,
+            String genre, Year publicationYear, int initialCopies);
+
+    /** @see LibraryService#findBookByIsbn */
+    CompletableFuture<Optional<Book>> findBookByIsbn(String isbn);
+
+    /** @see LibraryService#getAllBooks */
+    CompletableFuture<List<Book>> getAllBooks();
+
+    /** @see LibraryService#removeBookByIsbn */
+    CompletableFuture<Boolean> removeBookByIsbn(String isbn);
+
+    /** @see LibraryService#registerMember */
+    CompletableFuture<Member> registerMember(String name, String contactInfo);
+
+    /** @see LibraryService#registerMember(String, String, String) */
+    CompletableFuture<Member> registerMember(String name, String contactInfo, String requestId);
+
+    /** @see LibraryService#findMemberById */
+    CompletableFuture<Optional<Member>> findMemberById(String memberId);
+
+    /** @see LibraryService#getAllMembers */
+    CompletableFuture<List<Member>> getAllMembers();
+
+    /** @see LibraryService#setMemberTier */
+    CompletableFuture<Member> setMemberTier(String memberId, MemberTier tier);
+
+    /** @see LibraryService#borrowBook */
+    CompletableFuture<Void> borrowBook(String memberId, String bookIsbn);
+
+    /** @see LibraryService#borrowBook(String, String, String) */
+    CompletableFuture<Void> borrowBook(String memberId, String bookIsbn, String requestId);
+
+    /** @see LibraryService#returnBook */
+    CompletableFuture<Void> returnBook(String memberId, String bookIsbn);
+
+    /** @see LibraryService#returnBook(String, String, String) */
+    CompletableFuture<Void> returnBook(String memberId, String bookIsbn, String requestId);
+
+    /** @see LibraryService#borrowBooks */
+    CompletableFuture<List<BatchItemResult>> borrowBooks(String memberId, List<String> bookIsbns);
+
+    /** @see LibraryService#borrowBooks(String, List, String) */
+    CompletableFuture<List<BatchItemResult>> borrowBooks(String memberId, List<String> bookIsbns, String requestId);
+
+    /** @see LibraryService#returnBooks */
+    CompletableFuture<List<BatchItemResult>> returnBooks(String memberId, List<String> bookIsbns);
+
+    /** @see LibraryService#returnBooks(String, List, String) */
+    CompletableFuture<List<BatchItemResult>> returnBooks(String memberId, List<String> bookIsbns, String requestId);
+
+    /** @see LibraryService#placeHold */
+    CompletableFuture<Hold> placeHold(String memberId, String bookIsbn);
+
+    /** @see LibraryService#placeHold(String, String, String) */
+    CompletableFuture<Hold> placeHold(String memberId, String bookIsbn, String requestId);
+
+    /** @see LibraryService#cancelHold */
+    CompletableFuture<Void> cancelHold(String memberId, String bookIsbn);
+
+    /** @see LibraryService#cancelHold(String, String, String) */
+    CompletableFuture<Void> cancelHold(String memberId, String bookIsbn, String requestId);
+
+    /** @see LibraryService#expireUncollectedHolds */
+    CompletableFuture<Integer> expireUncollectedHolds();
+
+    /** @see LibraryService#getHoldQueuePosition */
+    CompletableFuture<Integer> getHoldQueuePosition(String memberId, String bookIsbn);
+
+    /** @see LibraryService#getHoldsByMember */
+    CompletableFuture<List<Hold>> getHoldsByMember(String memberId);
+
+    /** @see LibraryService#getMemberBalance */
+    CompletableFuture<Long> getMemberBalance(String memberId);
+
+    /** @see LibraryService#payFine */
+    CompletableFuture<Void> payFine(String memberId, long amount);
+
+    /** @see LibraryService#payFine(String, long, String) */
+    CompletableFuture<Void> payFine(String memberId, long amount, String requestId);
+
+    /** @see LibraryService#exportFineStatements */
+    CompletableFuture<Integer> exportFineStatements(Writer out);
+
+    /** @see LibraryService#exportLibrary */
+    CompletableFuture<ArchiveSummary> exportLibrary(Path file);
+
+    /** @see LibraryService#getBorrowedBooksByMember */
+    CompletableFuture<List<Transaction>> getBorrowedBooksByMember(String memberId);
+
+    /** @see LibraryService#getMemberLoanSummary */
+    CompletableFuture<MemberLoanSummary> getMemberLoanSummary(String memberId);
+
+    /** @see LibraryService#getAllOverdueBooks */
+    CompletableFuture<List<Transaction>> getAllOverdueBooks();
+
+    /** @see LibraryService#searchBooksByTitle */
+    CompletableFuture<List<Book>> searchBooksByTitle(String titleQuery);
+
+    /** @see LibraryService#searchBooksByAuthor */
+    CompletableFuture<List<Book>> searchBooksByAuthor(String authorQuery);
+
+    /** @see LibraryService#searchBooksByAuthorSound */
+    CompletableFuture<List<Book>> searchBooksByAuthorSound(String authorQuery);
+
+    /** @see LibraryService#searchBooksByKeywords */
+    CompletableFuture<List<Book>> searchBooksByKeywords(String keywords);
+
+    /** @see LibraryService#searchBooksByGenre */
+    CompletableFuture<List<Book>> searchBooksByGenre(String genreQuery);
+
+    /** @see LibraryService#searchBooksByPublicationYear */
+    CompletableFuture<List<Book>> searchBooksByPublicationYear(Year from, Year to);
+
+    /** @see LibraryService#searchBooks */
+    CompletableFuture<List<Book>> searchBooks(BookSearchCriteria criteria);
+
+    /** @see LibraryService#getCatalogFacets */
+    CompletableFuture<FacetCounts> getCatalogFacets();
+
+    /** @see LibraryService#getFacetsForResults */
+    CompletableFuture<FacetCounts> getFacetsForResults(List<Book> results);
+}
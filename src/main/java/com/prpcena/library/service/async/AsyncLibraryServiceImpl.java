@@ -0,0 +1,294 @@
+// src/main/java/com/prpcena/library/service/async/AsyncLibraryServiceImpl.java
+package com.prpcena.library.service.async;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.prpcena.library.archive.ArchiveSummary;
+import com.prpcena.library.dashboard.MemberLoanSummary;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.service.BatchItemResult;
+import com.prpcena.library.service.LibraryService;
+import com.prpcena.library.service.search.BookSearchCriteria;
+
+/**
+ * Runs each call of a {@link LibraryService} (normally a
+ * {@link com.prpcena.library.service.LibraryServiceImpl}) on an executor,
+ * through a lane per {@link OperationType}. The wrapped service is already
+ * thread-safe, so this class adds scheduling only; it does not own the
+ * executor and never shuts it down.
+ */
+public class AsyncLibraryServiceImpl implements AsyncLibraryService {
+    private final LibraryService delegate;
+    private final Map<OperationType, OperationLane> lanes = new EnumMap<>(OperationType.class);
+
+    /**
+     * Creates a facade using {@link LaneLimits#DEFAULT} for every lane.
+     */
+    public AsyncLibraryServiceImpl(LibraryService delegate, Executor executor) {
+        this(delegate, executor, Map.of());
+    }
+
+    /**
+     * @param delegate The synchronous service to call.
+     * @param executor The executor operations run on.
+     * @param limits   Limits per operation type; types not present use
+     *                 {@link LaneLimits#DEFAULT}.
+     */
+    public AsyncLibraryServiceImpl(LibraryService delegate, Executor executor,
+            Map<OperationType, LaneLimits> limits) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate service cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        for (OperationType type : OperationType.values()) {
+            lanes.put(type, new OperationLane(type, limits.getOrDefault(type, LaneLimits.DEFAULT), executor));
+        }
+    }
+
+    /**
+     * @return The number of operations of the given type currently running.
+     */
+    public int getRunningCount(OperationType type) {
+        return lanes.get(type).getRunningCount();
+    }
+
+    /**
+     * @return The number of operations of the given type waiting for a slot.
+     */
+    public int getQueuedCount(OperationType type) {
+        return lanes.get(type).getQueuedCount();
+    }
+
+    private <T> CompletableFuture<T> submit(OperationType type, Supplier<T> operation) {
+        return lanes.get(type).submit(operation);
+    }
+
+    private CompletableFuture<Void> run(OperationType type, Runnable operation) {
+        return lanes.get(type).submit(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Book> addBook(String title, String authorFirstName, String authorLastName,
+            String isbn, String genre, Year publicationYear, int initialCopies) {
+        return submit(OperationType.ADMINISTRATION, () -> delegate.addBook(title, authorFirstName, authorLastName,
+                isbn, genre, publicationYear, initialCopies));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Book>> findBookByIsbn(String isbn) {
+        return submit(OperationType.LOOKUP, () -> delegate.findBookByIsbn(isbn));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getAllBooks() {
+        return submit(OperationType.LOOKUP, delegate::getAllBooks);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeBookByIsbn(String isbn) {
+        return submit(OperationType.ADMINISTRATION, () -> delegate.removeBookByIsbn(isbn));
+    }
+
+    @Override
+    public CompletableFuture<Member> registerMember(String name, String contactInfo) {
+        return submit(OperationType.ADMINISTRATION, () -> delegate.registerMember(name, contactInfo));
+    }
+
+    @Override
+    public CompletableFuture<Member> registerMember(String name, String contactInfo, String requestId) {
+        return submit(OperationType.ADMINISTRATION, () -> delegate.registerMember(name, contactInfo, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Member>> findMemberById(String memberId) {
+        return submit(OperationType.LOOKUP, () -> delegate.findMemberById(memberId));
+    }
+
+    @Override
+    public CompletableFuture<List<Member>> getAllMembers() {
+        return submit(OperationType.LOOKUP, delegate::getAllMembers);
+    }
+
+    @Override
+    public CompletableFuture<Member> setMemberTier(String memberId, MemberTier tier) {
+        return submit(OperationType.ADMINISTRATION, () -> delegate.setMemberTier(memberId, tier));
+    }
+
+    @Override
+    public CompletableFuture<Void> borrowBook(String memberId, String bookIsbn) {
+        return run(OperationType.CIRCULATION, () -> delegate.borrowBook(memberId, bookIsbn));
+    }
+
+    @Override
+    public CompletableFuture<Void> borrowBook(String memberId, String bookIsbn, String requestId) {
+        return run(OperationType.CIRCULATION, () -> delegate.borrowBook(memberId, bookIsbn, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Void> returnBook(String memberId, String bookIsbn) {
+        return run(OperationType.CIRCULATION, () -> delegate.returnBook(memberId, bookIsbn));
+    }
+
+    @Override
+    public CompletableFuture<Void> returnBook(String memberId, String bookIsbn, String requestId) {
+        return run(OperationType.CIRCULATION, () -> delegate.returnBook(memberId, bookIsbn, requestId));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> borrowBooks(String memberId, List<String> bookIsbns) {
+        return submit(OperationType.CIRCULATION, () -> delegate.borrowBooks(memberId, bookIsbns));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> borrowBooks(String memberId, List<String> bookIsbns,
+            String requestId) {
+        return submit(OperationType.CIRCULATION, () -> delegate.borrowBooks(memberId, bookIsbns, requestId));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> returnBooks(String memberId, List<String> bookIsbns) {
+        return submit(OperationType.CIRCULATION, () -> delegate.returnBooks(memberId, bookIsbns));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> returnBooks(String memberId, List<String> bookIsbns,
+            String requestId) {
+        return submit(OperationType.CIRCULATION, () -> delegate.returnBooks(memberId, bookIsbns, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Hold> placeHold(String memberId, String bookIsbn) {
+        return submit(OperationType.CIRCULATION, () -> delegate.placeHold(memberId, bookIsbn));
+    }
+
+    @Override
+    public CompletableFuture<Hold> placeHold(String memberId, String bookIsbn, String requestId) {
+        return submit(OperationType.CIRCULATION, () -> delegate.placeHold(memberId, bookIsbn, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelHold(String memberId, String bookIsbn) {
+        return run(OperationType.CIRCULATION, () -> delegate.cancelHold(memberId, bookIsbn));
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelHold(String memberId, String bookIsbn, String requestId) {
+        return run(OperationType.CIRCULATION, () -> delegate.cancelHold(memberId, bookIsbn, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Integer> expireUncollectedHolds() {
+        return submit(OperationType.CIRCULATION, delegate::expireUncollectedHolds);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHoldQueuePosition(String memberId, String bookIsbn) {
+        return submit(OperationType.LOOKUP, () -> delegate.getHoldQueuePosition(memberId, bookIsbn));
+    }
+
+    @Override
+    public CompletableFuture<List<Hold>> getHoldsByMember(String memberId) {
+        return submit(OperationType.REPORTING, () -> delegate.getHoldsByMember(memberId));
+    }
+
+    @Override
+    public CompletableFuture<Long> getMemberBalance(String memberId) {
+        return submit(OperationType.LOOKUP, () -> delegate.getMemberBalance(memberId));
+    }
+
+    @Override
+    public CompletableFuture<Void> payFine(String memberId, long amount) {
+        return run(OperationType.CIRCULATION, () -> delegate.payFine(memberId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Void> payFine(String memberId, long amount, String requestId) {
+        return run(OperationType.CIRCULATION, () -> delegate.payFine(memberId, amount, requestId));
+    }
+
+    @Override
+    public CompletableFuture<Integer> exportFineStatements(Writer out) {
+        return submit(OperationType.REPORTING, () -> delegate.exportFineStatements(out));
+    }
+
+    @Override
+    public CompletableFuture<ArchiveSummary> exportLibrary(Path file) {
+        return submit(OperationType.REPORTING, () -> delegate.exportLibrary(file));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getBorrowedBooksByMember(String memberId) {
+        return submit(OperationType.REPORTING, () -> delegate.getBorrowedBooksByMember(memberId));
+    }
+
+    @Override
+    public CompletableFuture<MemberLoanSummary> getMemberLoanSummary(String memberId) {
+        return submit(OperationType.LOOKUP, () -> delegate.getMemberLoanSummary(memberId));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getAllOverdueBooks() {
+        return submit(OperationType.REPORTING, delegate::getAllOverdueBooks);
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByTitle(String titleQuery) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByTitle(titleQuery));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByAuthor(String authorQuery) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByAuthor(authorQuery));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByAuthorSound(String authorQuery) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByAuthorSound(authorQuery));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByKeywords(String keywords) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByKeywords(keywords));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByGenre(String genreQuery) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByGenre(genreQuery));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByPublicationYear(Year from, Year to) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooksByPublicationYear(from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooks(BookSearchCriteria criteria) {
+        return submit(OperationType.SEARCH, () -> delegate.searchBooks(criteria));
+    }
+
+    @Override
+    public CompletableFuture<FacetCounts> getCatalogFacets() {
+        return submit(OperationType.SEARCH, delegate::getCatalogFacets);
+    }
+
+    @Override
+    public CompletableFuture<FacetCounts> getFacetsForResults(List<Book> results) {
+        return submit(OperationType.SEARCH, () -> delegate.getFacetsForResults(results));
+    }
+}
@@ -0,0 +1,64 @@
+// src/main/java/com/prpcena/library/service/async/LaneLimits.java
+package com.prpcena.library.service.async;
+
+import java.util.Objects;
+
+/**
+ * Concurrency settings for one {@link OperationType} lane.
+ * This class is immutable.
+ */
+public final class LaneLimits {
+    /** Generous defaults: enough in flight for a request handler, bounded so memory is too. */
+    public static final LaneLimits DEFAULT = new LaneLimits(16, 10_000);
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    /**
+     * @param maxConcurrent The most operations of the lane running at once.
+     * @param maxQueued     The most operations waiting for a slot; further
+     *                      submissions fail with a
+     *                      {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    public LaneLimits(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Max concurrent operations must be positive.");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Max queued operations cannot be negative.");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        LaneLimits that = (LaneLimits) o;
+        return maxConcurrent == that.maxConcurrent && maxQueued == that.maxQueued;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxConcurrent, maxQueued);
+    }
+
+    @Override
+    public String toString() {
+        return "LaneLimits{" +
+                "maxConcurrent=" + maxConcurrent +
+                ", maxQueued=" + maxQueued +
+                '}';
+    }
+}
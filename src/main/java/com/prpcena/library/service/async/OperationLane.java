@@ -0,0 +1,115 @@
+// src/main/java/com/prpcena/library/service/async/OperationLane.java
+package com.prpcena.library.service.async;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs operations of one type on a shared executor, at most
+ * {@link LaneLimits#getMaxConcurrent()} at a time. Operations beyond that wait
+ * in a FIFO queue owned by the lane rather than occupying executor threads.
+ */
+final class OperationLane {
+    private final OperationType type;
+    private final LaneLimits limits;
+    private final Executor executor;
+    private final Queue<Task<?>> pending = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running;
+
+    OperationLane(OperationType type, LaneLimits limits, Executor executor) {
+        this.type = type;
+        this.limits = limits;
+        this.executor = executor;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        Task<T> task = new Task<>(operation);
+        lock.lock();
+        try {
+            if (running >= limits.getMaxConcurrent()) {
+                if (pending.size() >= limits.getMaxQueued()) {
+                    task.future.completeExceptionally(new RejectedExecutionException(
+                            type + " queue is full (" + limits.getMaxQueued() + " waiting)."));
+                } else {
+                    pending.add(task);
+                }
+                return task.future;
+            }
+            running++;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(task);
+        return task.future;
+    }
+
+    int getRunningCount() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueuedCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with a slot reserved; the slot passes to the next task when this one finishes
+    private void dispatch(Task<?> task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(e);
+            release();
+        }
+    }
+
+    private void release() {
+        Task<?> next;
+        lock.lock();
+        try {
+            next = pending.poll();
+            if (next == null) {
+                running--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    private final class Task<T> implements Runnable {
+        private final Supplier<T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(Supplier<T> operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(operation.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/prpcena/library/service/async/OperationType.java
+package com.prpcena.library.service.async;
+
+/**
+ * Groups {@link AsyncLibraryService} methods into lanes. Each type has its own
+ * queue and concurrency limit, so e.g. a burst of searches cannot starve
+ * borrows and returns.
+ */
+public enum OperationType {
+    /**
+     * Single lookups and listings: findBookByIsbn, getAllBooks, findMemberById,
+     * getAllMembers, getHoldQueuePosition, getMemberBalance, getMemberLoanSummary.
+     */
+    LOOKUP,
+    /** Catalog and member changes: addBook, removeBookByIsbn, registerMember, setMemberTier. */
+    ADMINISTRATION,
+    /** Borrowing and returning, single or batched, holds and fine payments. */
+    CIRCULATION,
+    /** All searchBooks* methods and facet counts. */
+    SEARCH,
+    /**
+     * Per-member and overdue reports and exports: getBorrowedBooksByMember,
+     * getHoldsByMember, getAllOverdueBooks, exportFineStatements, exportLibrary.
+     */
+    REPORTING
+}
@@ -0,0 +1,125 @@
+// src/main/java/com/prpcena/library/service/search/BookSearchCriteria.java
+package com.prpcena.library.service.search;
+
+import java.time.Year;
+
+/**
+ * A combined book search: every criterion that is set must match.
+ * Text criteria use the same substring matching as the individual search
+ * strategies, except that the author can instead be matched by sound; the
+ * publication year range is inclusive and either bound may be left open.
+ * This class is immutable; use {@link #builder()} to create instances.
+ */
+public final class BookSearchCriteria {
+    private final String title;
+    private final String author;
+    private final boolean authorMatchedBySound;
+    private final String genre;
+    private final Year publishedFrom;
+    private final Year publishedTo;
+
+    private BookSearchCriteria(Builder builder) {
+        if (builder.publishedFrom != null && builder.publishedTo != null
+                && builder.publishedFrom.isAfter(builder.publishedTo)) {
+            throw new IllegalArgumentException("Publication year range start cannot be after its end.");
+        }
+        this.title = builder.title;
+        this.author = builder.author;
+        this.authorMatchedBySound = builder.authorMatchedBySound;
+        this.genre = builder.genre;
+        this.publishedFrom = builder.publishedFrom;
+        this.publishedTo = builder.publishedTo;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    /**
+     * Returns true if {@link #getAuthor()} should be matched phonetically
+     * instead of as a substring.
+     */
+    public boolean isAuthorMatchedBySound() {
+        return authorMatchedBySound;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public Year getPublishedFrom() {
+        return publishedFrom;
+    }
+
+    public Year getPublishedTo() {
+        return publishedTo;
+    }
+
+    public boolean hasYearRange() {
+        return publishedFrom != null || publishedTo != null;
+    }
+
+    @Override
+    public String toString() {
+        return "BookSearchCriteria{" +
+                "title='" + title + '\'' +
+                ", author='" + author + '\'' +
+                ", authorMatchedBySound=" + authorMatchedBySound +
+                ", genre='" + genre + '\'' +
+                ", publishedFrom=" + publishedFrom +
+                ", publishedTo=" + publishedTo +
+                '}';
+    }
+
+    public static final class Builder {
+        private String title;
+        private String author;
+        private boolean authorMatchedBySound;
+        private String genre;
+        private Year publishedFrom;
+        private Year publishedTo;
+
+        private Builder() {
+        }
+
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder author(String author) {
+            this.author = author;
+            this.authorMatchedBySound = false;
+            return this;
+        }
+
+        public Builder authorSoundsLike(String author) {
+            this.author = author;
+            this.authorMatchedBySound = true;
+            return this;
+        }
+
+        public Builder genre(String genre) {
+            this.genre = genre;
+            return this;
+        }
+
+        public Builder publishedBetween(Year from, Year to) {
+            this.publishedFrom = from;
+            this.publishedTo = to;
+            return this;
+        }
+
+        public BookSearchCriteria build() {
+            return new BookSearchCriteria(this);
+        }
+    }
+}
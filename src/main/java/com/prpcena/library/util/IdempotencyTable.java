@@ -0,0 +1,147 @@
+// src/main/java/com/prpcena/library/util/IdempotencyTable.java
+package com.prpcena.library.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of recent requests by a client-supplied request ID, so
+ * a retried request gets the original result (or exception) back instead of
+ * running again.
+ * <p>
+ * Entries expire a fixed time after they are created and the table holds at
+ * most {@code maxEntries}; both are enforced by dropping the oldest entries,
+ * which insertion order makes O(1) per request. A retry that arrives while the
+ * original is still running waits for it. Failures the caller marks as
+ * transient are not remembered, so retrying them runs the operation again.
+ * Thread-safe.
+ */
+public final class IdempotencyTable {
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Predicate<RuntimeException> isTransient;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // Oldest first
+
+    /**
+     * @param maxEntries  The most request IDs remembered at once.
+     * @param timeToLive  How long an outcome is remembered.
+     * @param clock       Used to expire entries.
+     * @param isTransient Failures that should not be remembered.
+     */
+    public IdempotencyTable(int maxEntries, Duration timeToLive, Clock clock,
+            Predicate<RuntimeException> isTransient) {
+        if (maxEntries <= 0 || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Table size and time to live must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.isTransient = Objects.requireNonNull(isTransient, "Transient failure predicate cannot be null.");
+    }
+
+    /**
+     * Runs an operation once per request ID.
+     *
+     * @param requestId   The client's request ID; null runs the operation without deduplication.
+     * @param fingerprint Identifies what was requested, e.g. the operation name and arguments.
+     *                    A retry must send the same fingerprint.
+     * @param operation   The operation.
+     * @return The operation's result, or the remembered result of the original request.
+     * @throws IllegalArgumentException if the request ID was already used with another fingerprint.
+     * @throws RuntimeException         the operation's exception, or the remembered one of the original request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String requestId, Object fingerprint, Supplier<T> operation) {
+        if (requestId == null) {
+            return operation.get();
+        }
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            Instant now = clock.instant();
+            evict(now, 1);
+            entry = entries.get(requestId);
+            if (entry == null) {
+                entry = new Entry(fingerprint, now.plus(timeToLive));
+                entries.put(requestId, entry);
+                owner = true;
+            }
+        }
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new IllegalArgumentException("Request ID " + requestId + " was already used for a different request.");
+        }
+        if (!owner) {
+            try {
+                return (T) entry.outcome.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause(); // Only RuntimeExceptions are remembered
+            }
+        }
+        try {
+            T result = operation.get();
+            entry.outcome.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            if (isTransient.test(e)) {
+                forget(requestId, entry);
+            }
+            entry.outcome.completeExceptionally(e); // Waiting retries see it either way
+            throw e;
+        } catch (Error e) {
+            forget(requestId, entry);
+            entry.outcome.completeExceptionally(new IllegalStateException("Original request failed.", e));
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of request IDs currently remembered.
+     */
+    public int size() {
+        synchronized (entries) {
+            evict(clock.instant(), 0);
+            return entries.size();
+        }
+    }
+
+    // Must be called while synchronized on entries
+    private void evict(Instant now, int room) {
+        Iterator<Entry> oldestFirst = entries.values().iterator();
+        int excess = entries.size() + room - maxEntries;
+        while (oldestFirst.hasNext()) {
+            Entry oldest = oldestFirst.next();
+            if (excess <= 0 && oldest.expiresAt.isAfter(now)) {
+                break;
+            }
+            oldestFirst.remove();
+            excess--;
+        }
+    }
+
+    private void forget(String requestId, Entry entry) {
+        synchronized (entries) {
+            entries.remove(requestId, entry);
+        }
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final Instant expiresAt;
+        private final CompletableFuture<Object> outcome = new CompletableFuture<>();
+
+        private Entry(Object fingerprint, Instant expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// src/main/java/com/prpcena/library/util/LibraryClock.java
+package com.prpcena.library.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Objects;
+
+/**
+ * The clock the library reads "today" and "now" from. Wraps any
+ * {@link Clock}, and can itself be passed wherever a {@code Clock} is taken.
+ * <p>
+ * The current day and UTC offset are cached until the next midnight or
+ * daylight-saving change, whichever comes first. {@link #today()} is then a
+ * millisecond read and a comparison, and {@link #now()} needs no time-zone
+ * lookup, so both are cheap enough for per-item checks in loops. Wrapping an
+ * {@link #accelerated} clock runs the library faster than real time for
+ * simulations. Thread-safe.
+ */
+public final class LibraryClock extends Clock {
+    private static final LibraryClock SYSTEM_DEFAULT = new LibraryClock(Clock.systemDefaultZone());
+
+    private final Clock source;
+    private volatile Day day; // Replaced as a whole, so readers see a consistent day
+
+    public LibraryClock(Clock source) {
+        this.source = Objects.requireNonNull(source, "Clock source cannot be null.");
+        this.day = Day.of(source.instant(), source.getZone());
+    }
+
+    /**
+     * @return A shared clock over the system clock in the default time zone,
+     *         for callers that are not given one.
+     */
+    public static LibraryClock systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    /**
+     * A clock that starts at the given instant and runs {@code speedup} times
+     * faster than the system clock, for time-accelerated simulations.
+     *
+     * @param start   The instant the clock starts at.
+     * @param zone    The clock's time zone.
+     * @param speedup How many simulated milliseconds pass per real millisecond.
+     */
+    public static Clock accelerated(Instant start, ZoneId zone, long speedup) {
+        if (speedup <= 0) {
+            throw new IllegalArgumentException("Speedup must be positive.");
+        }
+        return new AcceleratedClock(start, zone, speedup, System.nanoTime());
+    }
+
+    /**
+     * @return The current date, cached until the next midnight.
+     */
+    public LocalDate today() {
+        return currentDay(source.millis()).date;
+    }
+
+    /**
+     * @return The current date-time, computed from the cached offset.
+     */
+    public LocalDateTime now() {
+        Instant instant = source.instant();
+        Day current = currentDay(instant.toEpochMilli());
+        return LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), current.offset);
+    }
+
+    private Day currentDay(long millis) {
+        Day current = day;
+        if (millis >= current.validUntilMillis || millis < current.startMillis) {
+            current = Day.of(Instant.ofEpochMilli(millis), source.getZone());
+            day = current;
+        }
+        return current;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(getZone()) ? this : new LibraryClock(source.withZone(zone));
+    }
+
+    @Override
+    public long millis() {
+        return source.millis();
+    }
+
+    @Override
+    public Instant instant() {
+        return source.instant();
+    }
+
+    private static final class Day {
+        private final LocalDate date;
+        private final ZoneOffset offset;
+        private final long startMillis;
+        private final long validUntilMillis;
+
+        private Day(LocalDate date, ZoneOffset offset, long startMillis, long validUntilMillis) {
+            this.date = date;
+            this.offset = offset;
+            this.startMillis = startMillis;
+            this.validUntilMillis = validUntilMillis;
+        }
+
+        private static Day of(Instant instant, ZoneId zone) {
+            LocalDate date = LocalDate.ofInstant(instant, zone);
+            ZoneOffset offset = zone.getRules().getOffset(instant);
+            long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            long until = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(instant);
+            if (transition != null) {
+                until = Math.min(until, transition.getInstant().toEpochMilli());
+            }
+            // The offset is only valid from the instant read if a transition happened earlier today
+            ZoneOffsetTransition previous = zone.getRules().previousTransition(instant);
+            if (previous != null) {
+                start = Math.max(start, previous.getInstant().toEpochMilli());
+            }
+            return new Day(date, offset, start, until);
+        }
+    }
+
+    private static final class AcceleratedClock extends Clock {
+        private final Instant start;
+        private final ZoneId zone;
+        private final long speedup;
+        private final long startNanos;
+
+        private AcceleratedClock(Instant start, ZoneId zone, long speedup, long startNanos) {
+            this.start = Objects.requireNonNull(start, "Start cannot be null.");
+            this.zone = Objects.requireNonNull(zone, "Zone cannot be null.");
+            this.speedup = speedup;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new AcceleratedClock(start, zone, speedup, startNanos);
+        }
+
+        @Override
+        public Instant instant() {
+            return start.plusNanos((System.nanoTime() - startNanos) * speedup);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+// src/main/java/com/prpcena/library/util/MpscRingBuffer.java
+package com.prpcena.library.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free queue for many producers and a single consumer, held in
+ * a ring of {@code capacity} slots (rounded up to a power of two).
+ * <p>
+ * Each slot carries a sequence number saying whose turn it is: a producer
+ * claims the next position with one CAS on the tail and publishes its element
+ * by advancing the slot's sequence, and the consumer takes it by advancing
+ * the sequence again for the producer one lap later. {@link #offer} fails
+ * rather than waits when the ring is full, leaving backpressure to the caller.
+ * Only one thread may call {@link #poll} and {@link #drainTo} at a time.
+ */
+public final class MpscRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // Written by the consumer only
+
+    /**
+     * @param capacity The most elements held at once; rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room.
+     *
+     * @return false if the ring is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null.");
+        }
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1); // Publishes the element
+                    return true;
+                }
+            } else if (sequence < position) {
+                return false; // The consumer has not freed this slot from the previous lap
+            }
+            // Otherwise another producer claimed the position first; try the next one
+        }
+    }
+
+    /**
+     * @return The oldest element, or null if none is ready.
+     */
+    public E poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null; // Empty, or the producer that claimed it has not published yet
+        }
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, position + mask + 1); // Frees the slot for the next lap
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Takes up to {@code max} ready elements, oldest first.
+     *
+     * @return The number of elements taken.
+     */
+    public int drainTo(Consumer<? super E> consumer, int max) {
+        int taken = 0;
+        E element;
+        while (taken < max && (element = poll()) != null) {
+            consumer.accept(element);
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * @return The number of claimed slots, including any whose producer has
+     *         not finished publishing; exact only when no thread is changing it.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, mask + 1));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,232 @@
+// src/main/java/com/prpcena/library/util/PhoneticEncoder.java
+package com.prpcena.library.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Encodes names into phonetic keys so that names that sound alike get the same
+ * key, e.g. "Dostoyevsky" and "Dostoevsky", or "Tolstoy" and "Tolstoi".
+ * <p>
+ * This is a simplified Metaphone: accents are folded, silent and doubled
+ * letters are dropped, common consonant groups (CH, PH, SCH, TH, GH, ...) are
+ * mapped to a single sound, and vowels (including Y) only count at the start
+ * of a word, where they all encode as 'A'.
+ */
+public final class PhoneticEncoder {
+
+    private PhoneticEncoder() {
+    }
+
+    /**
+     * Encodes every word in the given text.
+     *
+     * @param text Free text such as a full name or a search query.
+     * @return The distinct phonetic keys of its words, in order of appearance.
+     */
+    public static Set<String> encodeWords(String text) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (text == null) {
+            return codes;
+        }
+        for (String word : normalize(text).split(" ")) {
+            String code = encodeNormalized(word);
+            if (!code.isEmpty()) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the phonetic keys of an author's first and last names.
+     */
+    public static List<String> encodeName(String firstName, String lastName) {
+        List<String> codes = new ArrayList<>(encodeWords(firstName));
+        for (String code : encodeWords(lastName)) {
+            if (!codes.contains(code)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Encodes a single word. Characters other than letters are ignored.
+     *
+     * @param word The word to encode.
+     * @return Its phonetic key, or an empty string if it has no letters.
+     */
+    public static String encode(String word) {
+        if (word == null) {
+            return "";
+        }
+        return encodeNormalized(normalize(word).replace(" ", ""));
+    }
+
+    // Upper-cases, folds accents and turns everything that is not A-Z into a single space.
+    private static String normalize(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return folded.toUpperCase(Locale.ROOT).replaceAll("[^A-Z]+", " ").trim();
+    }
+
+    private static String encodeNormalized(String word) {
+        if (word.isEmpty()) {
+            return "";
+        }
+        String w = dropSilentInitial(word);
+        StringBuilder code = new StringBuilder(w.length());
+        int length = w.length();
+        for (int i = 0; i < length; i++) {
+            char c = w.charAt(i);
+            // Doubled letters sound like one, except CC as in "Accent"
+            if (i > 0 && c == w.charAt(i - 1) && c != 'C') {
+                continue;
+            }
+            char next = at(w, i + 1);
+            switch (c) {
+                case 'A': case 'E': case 'I': case 'O': case 'U': case 'Y':
+                    if (i == 0) {
+                        code.append('A');
+                    }
+                    break;
+                case 'B':
+                    // Silent in a trailing "MB", as in "Plumb"
+                    if (!(i == length - 1 && at(w, i - 1) == 'M')) {
+                        code.append('B');
+                    }
+                    break;
+                case 'C':
+                    if (at(w, i - 1) == 'S' && next == 'H') {
+                        code.append('K'); // "SCH" as in "Schubert"
+                        i++;
+                    } else if (next == 'H') {
+                        code.append('X');
+                        i++;
+                    } else if (next == 'I' && at(w, i + 2) == 'A') {
+                        code.append('X');
+                    } else if (next == 'E' || next == 'I' || next == 'Y') {
+                        code.append('S');
+                    } else {
+                        code.append('K');
+                    }
+                    break;
+                case 'D':
+                    if (next == 'G' && isFrontVowel(at(w, i + 2))) {
+                        code.append('J');
+                        i++;
+                    } else {
+                        code.append('T');
+                    }
+                    break;
+                case 'G':
+                    if (next == 'H') {
+                        // Hard at the start ("Ghent"), silent elsewhere ("Knight", "Hugh")
+                        if (i == 0) {
+                            code.append('K');
+                        }
+                        i++;
+                    } else if (next == 'N' && (i + 2 == length || (at(w, i + 2) == 'E' && at(w, i + 3) == 'D'))) {
+                        // Silent in "GN"/"GNED" endings
+                    } else if (isFrontVowel(next)) {
+                        code.append('J');
+                    } else {
+                        code.append('K');
+                    }
+                    break;
+                case 'H':
+                    if (isVowel(next)) {
+                        code.append('H');
+                    }
+                    break;
+                case 'K':
+                    if (at(w, i - 1) != 'C') {
+                        code.append('K');
+                    }
+                    break;
+                case 'P':
+                    if (next == 'H') {
+                        code.append('F');
+                        i++;
+                    } else {
+                        code.append('P');
+                    }
+                    break;
+                case 'Q':
+                    code.append('K');
+                    break;
+                case 'S':
+                    if (next == 'H') {
+                        code.append('X');
+                        i++;
+                    } else if (next == 'I' && (at(w, i + 2) == 'O' || at(w, i + 2) == 'A')) {
+                        code.append('X');
+                    } else {
+                        code.append('S');
+                    }
+                    break;
+                case 'T':
+                    if (next == 'I' && (at(w, i + 2) == 'O' || at(w, i + 2) == 'A')) {
+                        code.append('X');
+                    } else if (next == 'H') {
+                        code.append('0'); // "TH"
+                        i++;
+                    } else if (!(next == 'C' && at(w, i + 2) == 'H')) { // T is silent in "TCH"
+                        code.append('T');
+                    }
+                    break;
+                case 'V':
+                    code.append('F');
+                    break;
+                case 'W':
+                    if (isVowel(next)) {
+                        code.append('W');
+                    }
+                    break;
+                case 'X':
+                    code.append("KS");
+                    break;
+                case 'Z':
+                    code.append('S');
+                    break;
+                default: // F, J, L, M, N, R
+                    code.append(c);
+            }
+        }
+        return code.toString();
+    }
+
+    // Drops the silent first letter of "KN", "GN", "PN", "WR" and "AE" and maps an initial "X" to "S".
+    private static String dropSilentInitial(String w) {
+        if (w.length() > 1) {
+            String start = w.substring(0, 2);
+            if (start.equals("KN") || start.equals("GN") || start.equals("PN") || start.equals("WR")
+                    || start.equals("AE")) {
+                return w.substring(1);
+            }
+            if (start.equals("WH")) {
+                return "W" + w.substring(2);
+            }
+        }
+        if (w.charAt(0) == 'X') {
+            return "S" + w.substring(1);
+        }
+        return w;
+    }
+
+    private static char at(String w, int index) {
+        return index >= 0 && index < w.length() ? w.charAt(index) : '\0';
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U' || c == 'Y';
+    }
+
+    private static boolean isFrontVowel(char c) {
+        return c == 'E' || c == 'I' || c == 'Y';
+    }
+}
@@ -0,0 +1,111 @@
+// src/main/java/com/prpcena/library/util/StripedLock.java
+package com.prpcena.library.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys (e.g. ISBNs) are hashed onto, so operations on
+ * different keys rarely contend while the lock count stays bounded.
+ * <p>
+ * Locking several keys at once always acquires their stripes in ascending
+ * stripe order, so two callers locking overlapping key sets cannot deadlock.
+ */
+public final class StripedLock {
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripeCount The number of locks; rounded up to a power of two.
+     */
+    public StripedLock(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive.");
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripe of a single key.
+     *
+     * @return A handle that unlocks it when closed.
+     */
+    public Held lock(Object key) {
+        ReentrantLock stripe = stripes[indexOf(key)];
+        stripe.lock();
+        return new Held(List.of(stripe));
+    }
+
+    /**
+     * Locks the stripes of all keys, in ascending stripe order.
+     *
+     * @return A handle that unlocks them (in reverse order) when closed.
+     */
+    public Held lockAll(Collection<?> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Object key : keys) {
+            indexes.add(indexOf(key));
+        }
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired.add(stripes[index]);
+            }
+        } catch (RuntimeException | Error e) {
+            new Held(acquired).close();
+            throw e;
+        }
+        return new Held(acquired);
+    }
+
+    /**
+     * Locks every stripe, in ascending order, e.g. to read several
+     * repositories while no keyed operation can change them.
+     *
+     * @return A handle that unlocks them (in reverse order) when closed.
+     */
+    public Held lockEverything() {
+        List<ReentrantLock> acquired = new ArrayList<>(stripes.length);
+        try {
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                acquired.add(stripe);
+            }
+        } catch (RuntimeException | Error e) {
+            new Held(acquired).close();
+            throw e;
+        }
+        return new Held(acquired);
+    }
+
+    private int indexOf(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16); // Spread high bits, as HashMap does
+        return h & (stripes.length - 1);
+    }
+
+    /**
+     * Locks held by a {@link StripedLock} call; use with try-with-resources.
+     */
+    public static final class Held implements AutoCloseable {
+        private final List<ReentrantLock> locks;
+
+        private Held(List<ReentrantLock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// src/main/java/com/prpcena/library/util/TimingWheel.java
+package com.prpcena.library.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hierarchical timing wheel over integer ticks (e.g. epoch days).
+ * <p>
+ * Three levels of 64 slots cover 64, 64^2 and 64^3 ticks ahead; anything
+ * further waits in an overflow bucket. Advancing one tick only drains the
+ * level-0 slot for that tick, and every 64 (or 64^2, 64^3) ticks redistributes
+ * one higher-level slot, so the cost of a tick follows the number of timers
+ * expiring around it rather than the number of timers scheduled.
+ * Scheduling and cancelling by key are O(1).
+ * <p>
+ * Not thread-safe; callers must synchronize.
+ *
+ * @param <K> Timer key; scheduling an existing key replaces its timer.
+ * @param <V> Value returned when the timer fires.
+ */
+public final class TimingWheel<K, V> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private final List<Map<K, Entry<K, V>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<K, Entry<K, V>> expired = new LinkedHashMap<>(); // Deadline already reached
+    private final Map<K, Entry<K, V>> overflow = new LinkedHashMap<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param startTick The current tick; timers at or before it fire on the next advance.
+     */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Schedules a timer, replacing any timer with the same key.
+     *
+     * @param key      The timer key.
+     * @param deadline The tick at which the timer fires.
+     * @param value    The value returned when it fires.
+     */
+    public void schedule(K key, long deadline, V value) {
+        cancel(key);
+        Entry<K, V> entry = new Entry<>(key, deadline, value);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * @return true if a timer with the key was scheduled and is now cancelled.
+     */
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(key);
+        return true;
+    }
+
+    /**
+     * Advances the wheel, firing every timer whose deadline is at or before the
+     * target tick.
+     *
+     * @param tick The tick to advance to; earlier ticks are ignored.
+     * @return The values of the fired timers, in deadline order.
+     */
+    public List<V> advanceTo(long tick) {
+        List<V> fired = new ArrayList<>();
+        drain(expired, fired);
+        while (currentTick < tick) {
+            currentTick++;
+            if ((currentTick & MASK) == 0) {
+                if (((currentTick >> SLOT_BITS) & MASK) == 0) {
+                    if (((currentTick >> (2 * SLOT_BITS)) & MASK) == 0) {
+                        cascade(overflow);
+                    }
+                    cascade(slot(2, currentTick >> (2 * SLOT_BITS)));
+                }
+                cascade(slot(1, currentTick >> SLOT_BITS));
+            }
+            drain(slot(0, currentTick), fired);
+            drain(expired, fired); // Cascaded timers due exactly now
+        }
+        return fired;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void place(Entry<K, V> entry) {
+        long delta = entry.deadline - currentTick;
+        Map<K, Entry<K, V>> bucket;
+        if (delta <= 0) {
+            bucket = expired;
+        } else if (delta < SLOTS) {
+            bucket = slot(0, entry.deadline);
+        } else if (delta < (1L << (2 * SLOT_BITS))) {
+            bucket = slot(1, entry.deadline >> SLOT_BITS);
+        } else if (delta < (1L << (3 * SLOT_BITS))) {
+            bucket = slot(2, entry.deadline >> (2 * SLOT_BITS));
+        } else {
+            bucket = overflow;
+        }
+        bucket.put(entry.key, entry);
+        entry.bucket = bucket;
+    }
+
+    private Map<K, Entry<K, V>> slot(int level, long index) {
+        return slots.get(level * SLOTS + (int) (index & MASK));
+    }
+
+    private void cascade(Map<K, Entry<K, V>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<K, V>> moved = new ArrayList<>(bucket.values());
+        bucket.clear();
+        moved.forEach(this::place);
+    }
+
+    private void drain(Map<K, Entry<K, V>> bucket, List<V> fired) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        for (Entry<K, V> entry : bucket.values()) {
+            entries.remove(entry.key);
+            fired.add(entry.value);
+        }
+        bucket.clear();
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private Map<K, Entry<K, V>> bucket;
+
+        private Entry(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
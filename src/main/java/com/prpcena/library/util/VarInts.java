@@ -0,0 +1,105 @@
+// src/main/java/com/prpcena/library/util/VarInts.java
+package com.prpcena.library.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length encoding of non-negative integers (LEB128): 7 bits per byte,
+ * high bit set on every byte except the last. Small values take one byte.
+ */
+public final class VarInts {
+
+    private VarInts() {
+    }
+
+    /**
+     * Writes a non-negative int at the buffer's position.
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("VarInt value cannot be negative: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a non-negative long at the buffer's position.
+     */
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("VarLong value cannot be negative: " + value);
+        }
+        putUnsigned(buffer, value);
+    }
+
+    // Treats the value as unsigned, so zigzag values with the top bit set take 10 bytes
+    private static void putUnsigned(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an int written by {@link #putVarInt} at the buffer's position.
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed VarInt.");
+    }
+
+    /**
+     * Reads a long written by {@link #putVarLong} at the buffer's position.
+     */
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed VarLong.");
+    }
+
+    /**
+     * Writes any long, zigzag-encoded so values near zero take few bytes
+     * whatever their sign.
+     */
+    public static void putSignedVarLong(ByteBuffer buffer, long value) {
+        putUnsigned(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a long written by {@link #putSignedVarLong} at the buffer's position.
+     */
+    public static long getSignedVarLong(ByteBuffer buffer) {
+        long zigzag = getVarLong(buffer);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Returns how many bytes {@link #putVarInt} needs for the value.
+     */
+    public static int sizeOf(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,65 @@
+// src/test/java/com/prpcena/library/analytics/CirculationAnalyticsTest.java
+package com.prpcena.library.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+
+class CirculationAnalyticsTest {
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+
+    private CirculationAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new CirculationAnalytics(31);
+    }
+
+    private static Transaction loan(String isbn, String memberId, LocalDate borrowed, LocalDate returned) {
+        return new Transaction(isbn + "-" + memberId + "-" + borrowed, isbn, memberId, TransactionType.BORROW,
+                borrowed.atTime(10, 0), borrowed.plusDays(14), returned == null ? null : returned.atTime(16, 0));
+    }
+
+    @Test
+    void queries_ShouldAggregateTheDaysInRange() {
+        List<Transaction> history = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            LocalDate date = MARCH_1.plusDays(day);
+            history.add(loan("POPULAR", "M" + day, date, null));
+            history.add(loan("ISBN" + day, "M" + (day % 3), date, date.plusDays(2)));
+        }
+        analytics.recordAll(history);
+
+        LocalDate end = MARCH_1.plusDays(9);
+        assertEquals(20, analytics.countBorrows(MARCH_1, end));
+        assertEquals(8, analytics.countReturns(MARCH_1, end)); // Two fall after the range
+        assertEquals(10, analytics.estimateBorrows("POPULAR", MARCH_1, end));
+        assertEquals(3, analytics.estimateBorrows("POPULAR", MARCH_1.plusDays(2), MARCH_1.plusDays(4)));
+        assertEquals(10, analytics.countActiveMembers(MARCH_1, end));
+        assertEquals(1, analytics.countActiveMembers(MARCH_1, MARCH_1)); // M0 borrowed twice
+
+        List<HeavyHitters.Entry> top = analytics.topBorrowed(MARCH_1, end, 2);
+        assertEquals("POPULAR", top.get(0).getKey());
+        assertEquals(10, top.get(0).getCount());
+    }
+
+    @Test
+    void onBorrowedAndReturned_ShouldDropDaysOutsideTheRetentionWindow() {
+        analytics.onBorrowed(loan("OLD", "M1", MARCH_1, null));
+        LocalDate later = MARCH_1.plusDays(40);
+        analytics.onBorrowed(loan("NEW", "M2", later, null));
+        analytics.onBorrowed(loan("STALE", "M3", MARCH_1.plusDays(9), null)); // Its slot now belongs to a later day
+
+        assertEquals(1, analytics.countBorrows(MARCH_1, later));
+        assertEquals(0, analytics.estimateBorrows("OLD", MARCH_1, later));
+        assertEquals(0, analytics.estimateBorrows("STALE", MARCH_1, later));
+        assertEquals(1, analytics.estimateBorrows("NEW", later, later));
+    }
+}
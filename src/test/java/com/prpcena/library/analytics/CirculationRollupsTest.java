@@ -0,0 +1,93 @@
+// src/test/java/com/prpcena/library/analytics/CirculationRollupsTest.java
+package com.prpcena.library.analytics;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+
+class CirculationRollupsTest {
+    private static final LocalDate ORIGIN = LocalDate.of(2024, 1, 1);
+    private static final Map<String, String> GENRES = Map.of("F1", "Fiction", "F2", "Fiction", "S1", "Science");
+
+    private CirculationRollups rollups;
+
+    @BeforeEach
+    void setUp() {
+        rollups = new CirculationRollups(ORIGIN, GENRES::get);
+    }
+
+    private static Transaction loan(String isbn, LocalDate borrowed, LocalDate returned) {
+        return new Transaction(isbn + borrowed + Math.random(), isbn, "M1", TransactionType.BORROW,
+                borrowed.atTime(12, 0), borrowed.plusDays(14), returned == null ? null : returned.atTime(9, 0));
+    }
+
+    @Test
+    void count_ShouldMatchAScanForRandomRangesAcrossGrowth() {
+        Random random = new Random(42);
+        List<Transaction> history = new ArrayList<>();
+        String[] isbns = { "F1", "F2", "S1", "X9" };
+        for (int i = 0; i < 3_000; i++) {
+            LocalDate borrowed = ORIGIN.plusDays(random.nextInt(1_500)); // Past the initial span
+            LocalDate returned = random.nextBoolean() ? borrowed.plusDays(random.nextInt(30)) : null;
+            history.add(loan(isbns[random.nextInt(isbns.length)], borrowed, returned));
+        }
+        rollups.recordAll(history);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = ORIGIN.plusDays(random.nextInt(1_600) - 50);
+            LocalDate to = from.plusDays(random.nextInt(400));
+            long expectedFiction = history.stream()
+                    .filter(t -> GENRES.getOrDefault(t.getBookIsbn(), "").equals("Fiction"))
+                    .map(t -> t.getTransactionDateTime().toLocalDate())
+                    .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                    .count();
+            long expectedReturns = history.stream()
+                    .filter(t -> t.getReturnDateTime() != null)
+                    .map(t -> t.getReturnDateTime().toLocalDate())
+                    .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                    .count();
+            assertEquals(expectedFiction, rollups.count(CirculationRollups.Kind.BORROW, "Fiction", from, to));
+            assertEquals(expectedReturns, rollups.count(CirculationRollups.Kind.RETURN, null, from, to));
+        }
+        assertEquals(List.of("Fiction", "Science", "Unknown"),
+                rollups.getGenres().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void onBorrowed_BeforeTheOrigin_ShouldBeIgnored() {
+        rollups.onBorrowed(loan("F1", ORIGIN.minusDays(1), null));
+        rollups.onBorrowed(loan("F1", ORIGIN, null));
+
+        assertEquals(1, rollups.count(CirculationRollups.Kind.BORROW, null, ORIGIN.minusDays(10), ORIGIN));
+        assertEquals(1, rollups.getIgnoredEventCount());
+    }
+
+    @Test
+    void exportCsv_ShouldWriteOneRowPerWeekAndGenreWithActivity() throws Exception {
+        LocalDate monday = LocalDate.of(2024, 3, 4);
+        rollups.onBorrowed(loan("F1", monday, null));
+        rollups.onBorrowed(loan("F2", monday.plusDays(6), null));
+        rollups.onBorrowed(loan("S1", monday.plusDays(7), null));
+        Transaction returned = loan("S1", monday, monday.plusDays(8));
+        rollups.onReturned(returned);
+
+        StringWriter out = new StringWriter();
+        int rows = rollups.exportCsv(out, monday.plusDays(2), monday.plusDays(13), CirculationRollups.Granularity.WEEK);
+
+        assertEquals(2, rows);
+        assertEquals("period_start,period_end,genre,borrows,returns\n"
+                + "2024-03-06,2024-03-10,Fiction,1,0\n"
+                + "2024-03-11,2024-03-17,Science,1,1\n", out.toString());
+    }
+}
@@ -0,0 +1,40 @@
+// src/test/java/com/prpcena/library/analytics/CountMinSketchTest.java
+package com.prpcena.library.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_ShouldNeverUndercountAndStayWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(1000, 4);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("ISBN" + i, 1 + i % 3);
+        }
+        sketch.add("POPULAR", 500);
+
+        assertEquals(1024, sketch.getWidth());
+        long total = sketch.getTotal();
+        for (int i = 0; i < 5_000; i += 97) {
+            long estimate = sketch.estimate("ISBN" + i);
+            assertTrue(estimate >= 1 + i % 3);
+            assertTrue(estimate <= 1 + i % 3 + 2 * total / sketch.getWidth(), "Estimate was " + estimate);
+        }
+        assertTrue(sketch.estimate("POPULAR") >= 500);
+    }
+
+    @Test
+    void merge_ShouldAddCounts() {
+        CountMinSketch first = new CountMinSketch(256, 3);
+        CountMinSketch second = new CountMinSketch(256, 3);
+        first.add("ISBN001", 4);
+        second.add("ISBN001", 6);
+
+        first.merge(second);
+
+        assertEquals(10, first.estimate("ISBN001"));
+        assertEquals(10, first.getTotal());
+    }
+}
@@ -0,0 +1,48 @@
+// src/test/java/com/prpcena/library/analytics/HyperLogLogTest.java
+package com.prpcena.library.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_ShouldBeExactForSmallSetsAndIgnoreRepeats() {
+        HyperLogLog hll = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 100; i++) {
+                hll.add("member-" + i);
+            }
+        }
+
+        assertEquals(100, hll.estimate());
+    }
+
+    @Test
+    void estimate_ShouldStayWithinFivePercentForLargeSets() {
+        HyperLogLog hll = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        for (int i = 0; i < 100_000; i++) {
+            hll.add("member-" + i);
+        }
+
+        long estimate = hll.estimate();
+        assertTrue(Math.abs(estimate - 100_000) < 5_000, "Estimate was " + estimate);
+    }
+
+    @Test
+    void merge_ShouldCountTheUnion() {
+        HyperLogLog first = new HyperLogLog(10);
+        HyperLogLog second = new HyperLogLog(10);
+        for (int i = 0; i < 300; i++) {
+            first.add("member-" + i);
+            second.add("member-" + (i + 200));
+        }
+
+        first.merge(second);
+
+        assertTrue(Math.abs(first.estimate() - 500) < 25, "Estimate was " + first.estimate());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(12)));
+    }
+}
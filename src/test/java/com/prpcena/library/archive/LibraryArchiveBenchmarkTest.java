@@ -0,0 +1,82 @@
+// src/test/java/com/prpcena/library/archive/LibraryArchiveBenchmarkTest.java
+package com.prpcena.library.archive;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.InMemoryMemberRepository;
+import com.prpcena.library.repository.InMemoryTransactionRepository;
+
+/**
+ * Exports and imports 200,000 books and 500,000 loans on one thread and on
+ * every available one. Run with {@code mvn test -Pbenchmarks}; rates are
+ * printed, not asserted, and only improve with more than one core.
+ */
+@Tag("benchmark")
+class LibraryArchiveBenchmarkTest {
+    private static final int BOOKS = 200_000;
+    private static final int LOANS = 500_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void exportAndImport_SequentialAgainstParallel() throws IOException {
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        List<Book> catalog = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            catalog.add(new Book("Volume " + i, new Author("Jane", "Doe " + (i % 5000)), "ISBN" + i,
+                    "Genre " + (i % 40), Year.of(1900 + i % 120), 1 + i % 4));
+        }
+        books.saveAll(catalog);
+        List<Transaction> loans = new ArrayList<>(LOANS);
+        for (int i = 0; i < LOANS; i++) {
+            loans.add(new Transaction("ISBN" + (i % BOOKS), "M" + (i % 20_000), LocalDate.of(2024, 3, 15),
+                    LocalDateTime.of(2024, 1, 1, 9, 0).plusSeconds(i * 37L)));
+        }
+        transactions.saveAll(loans);
+        InMemoryMemberRepository members = new InMemoryMemberRepository();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism : cores > 1 ? new int[] { 1, cores } : new int[] { 1 }) {
+            Path file = tempDir.resolve("library-" + parallelism + ".larc");
+            for (int round = 0; round < 3; round++) { // The last round is measured after warm-up
+                LibraryArchive archive = new LibraryArchive(parallelism);
+                long exportStart = System.nanoTime();
+                ArchiveSummary summary = archive.export(file, new LibrarySnapshot(books.findAll(), members.findAll(),
+                        transactions.findAll(), List.of(), List.of()));
+                long exportNanos = System.nanoTime() - exportStart;
+
+                InMemoryBookRepository importedBooks = new InMemoryBookRepository();
+                InMemoryTransactionRepository importedTransactions = new InMemoryTransactionRepository();
+                long importStart = System.nanoTime();
+                archive.importInto(file, importedBooks, new InMemoryMemberRepository(), importedTransactions);
+                long importNanos = System.nanoTime() - importStart;
+                assertEquals(BOOKS, importedBooks.findAll().size());
+                assertEquals(LOANS, importedTransactions.findAll().size());
+
+                if (round == 2) {
+                    long records = summary.getBookCount() + summary.getTransactionCount();
+                    System.out.printf("%d threads: %d records, %d KB encoded, %d KB archived; export %.0f records/ms,"
+                            + " import %.0f records/ms%n", parallelism, records, summary.getEncodedBytes() >> 10,
+                            summary.getArchiveBytes() >> 10, records * 1e6 / exportNanos, records * 1e6 / importNanos);
+                }
+            }
+        }
+    }
+}
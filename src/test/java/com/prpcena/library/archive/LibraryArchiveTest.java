@@ -0,0 +1,267 @@
+// src/test/java/com/prpcena/library/archive/LibraryArchiveTest.java
+package com.prpcena.library.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.prpcena.library.exception.OperationFailedException;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.InMemoryHoldRepository;
+import com.prpcena.library.repository.InMemoryMemberRepository;
+import com.prpcena.library.repository.InMemoryTransactionRepository;
+import com.prpcena.library.repository.TransactionScope;
+
+class LibraryArchiveTest {
+    private static final int BOOKS = 2 * LibraryArchive.RECORDS_PER_BLOCK + 100; // Three blocks
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryBookRepository books;
+    private InMemoryMemberRepository members;
+    private InMemoryTransactionRepository transactions;
+    private InMemoryHoldRepository holds;
+    private List<FineLedgerEntry> fineEntries;
+    private Transaction returnedLoan;
+
+    @BeforeEach
+    void setUp() {
+        books = new InMemoryBookRepository();
+        members = new InMemoryMemberRepository();
+        transactions = new InMemoryTransactionRepository();
+        List<Book> catalog = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            catalog.add(new Book("Volume " + i, new Author("Jane", "Doe " + (i % 50)), "ISBN" + i,
+                    i % 3 == 0 ? "History" : "Fiction", Year.of(1900 + i % 120), 1 + i % 4));
+        }
+        books.saveAll(catalog);
+        List<Member> readers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            readers.add(new Member("M" + i, "Reader " + i, "reader" + i + "@example.com",
+                    i % 10 == 0 ? MemberTier.STAFF : MemberTier.STANDARD));
+        }
+        members.saveAll(readers);
+        List<Transaction> loans = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            loans.add(new Transaction("ISBN" + i, "M" + i % 500, LocalDate.of(2024, 3, 15),
+                    LocalDateTime.of(2024, 3, 1, 10, 0).plusMinutes(i)));
+        }
+        returnedLoan = loans.get(7);
+        returnedLoan.setReturnDateTime(LocalDateTime.of(2024, 3, 10, 12, 0));
+        transactions.saveAll(loans);
+        holds = new InMemoryHoldRepository();
+        for (int i = 0; i < 3; i++) {
+            holds.save(new Hold("H" + i, "ISBN0", "M" + (i + 1), LocalDateTime.of(2024, 3, 2, 9, i), HoldStatus.WAITING,
+                    null));
+        }
+        fineEntries = List.of(
+                new FineLedgerEntry("M0", LocalDate.of(2024, 3, 20), FineLedgerEntry.Type.FINE, 250,
+                        returnedLoan.getTransactionId(), returnedLoan.getBookIsbn()),
+                new FineLedgerEntry("M0", LocalDate.of(2024, 3, 21), FineLedgerEntry.Type.PAYMENT, 100, null, null));
+    }
+
+    private LibrarySnapshot snapshot() {
+        return new LibrarySnapshot(books.findAll(), members.findAll(), transactions.findAll(), holds.findAll(),
+                fineEntries);
+    }
+
+    private ArchiveSummary export(Path file, int parallelism) throws IOException {
+        return new LibraryArchive(parallelism).export(file, snapshot());
+    }
+
+    @Test
+    void exportThenImport_ShouldRestoreEveryBookMemberLoanHoldAndFine() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        ArchiveSummary exported = export(file, 4);
+
+        InMemoryBookRepository importedBooks = new InMemoryBookRepository();
+        InMemoryMemberRepository importedMembers = new InMemoryMemberRepository();
+        InMemoryTransactionRepository importedTransactions = new InMemoryTransactionRepository();
+        InMemoryHoldRepository importedHolds = new InMemoryHoldRepository();
+        List<FineLedgerEntry> importedEntries = new ArrayList<>();
+        ArchiveSummary imported = new LibraryArchive(4).importInto(file, importedBooks, importedMembers,
+                importedTransactions, importedHolds, importedEntries::add, null);
+
+        assertEquals(BOOKS, exported.getBookCount());
+        assertEquals(3 + 1 + 1 + 1 + 1, exported.getBlockCount());
+        assertTrue(exported.getArchiveBytes() < exported.getEncodedBytes());
+        assertEquals(exported.getBookCount(), imported.getBookCount());
+        assertEquals(500, imported.getMemberCount());
+        assertEquals(3000, imported.getTransactionCount());
+
+        Book book = importedBooks.findByIsbn("ISBN9000").orElseThrow();
+        assertEquals("Volume 9000", book.getTitle());
+        assertEquals(new Author("Jane", "Doe 0"), book.getAuthor());
+        assertEquals(Year.of(1900 + 9000 % 120), book.getPublicationYear());
+        assertEquals(1 + 9000 % 4, book.getAvailableCopies());
+        assertEquals(BOOKS, importedBooks.findAll().size());
+        assertEquals(1, importedBooks.findByKeywords("Volume 16383").size()); // Indexed, from the last block
+        assertEquals(MemberTier.STAFF, importedMembers.findById("M10").orElseThrow().getTier());
+        assertEquals("reader3@example.com", importedMembers.findById("M3").orElseThrow().getContactInfo());
+        Transaction loan = importedTransactions.findById(returnedLoan.getTransactionId()).orElseThrow();
+        assertEquals(LocalDateTime.of(2024, 3, 10, 12, 0), loan.getReturnDateTime());
+        assertEquals(2999, importedTransactions.findAllOpenBorrowTransactions().size());
+        assertEquals(3, imported.getHoldCount());
+        assertEquals("H0", importedHolds.findNextWaiting("ISBN0").orElseThrow().getHoldId());
+        assertEquals(3, importedHolds.getQueuePosition(importedHolds.findById("H2").orElseThrow()));
+        assertEquals(fineEntries, importedEntries);
+    }
+
+    @Test
+    void importWithScope_ShouldSaveEveryBlockInOneTransaction() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        export(file, 2);
+        CountingScope scope = new CountingScope();
+        List<Boolean> activeOnSave = new ArrayList<>();
+        InMemoryBookRepository importedBooks = new InMemoryBookRepository() {
+            @Override
+            public List<Book> saveAll(Collection<Book> batch) {
+                activeOnSave.add(scope.isActive());
+                return super.saveAll(batch);
+            }
+        };
+
+        new LibraryArchive(2).importInto(file, importedBooks, new InMemoryMemberRepository(),
+                new InMemoryTransactionRepository(), new InMemoryHoldRepository(), entry -> { }, scope);
+
+        assertEquals(BOOKS, importedBooks.findAll().size());
+        assertEquals(List.of(true, true, true), activeOnSave); // One save per block, all inside it
+        assertEquals(1, scope.transactions);
+    }
+
+    @Test
+    void importWithScope_WhenABlockIsCorrupt_ShouldNotStartTheTransaction() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        export(file, 2);
+        corruptMiddleByte(file);
+        CountingScope scope = new CountingScope();
+        InMemoryBookRepository importedBooks = new InMemoryBookRepository();
+
+        assertThrows(IOException.class, () -> new LibraryArchive(2).importInto(file, importedBooks,
+                new InMemoryMemberRepository(), new InMemoryTransactionRepository(), new InMemoryHoldRepository(),
+                entry -> { }, scope));
+        assertEquals(0, scope.transactions);
+        assertTrue(importedBooks.findAll().isEmpty());
+    }
+
+    @Test
+    void parallelExport_ShouldWriteTheSameBytesAsASequentialOne() throws IOException {
+        Path sequential = tempDir.resolve("sequential.larc");
+        Path parallel = tempDir.resolve("parallel.larc");
+        export(sequential, 1);
+        export(parallel, 3);
+
+        assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel));
+    }
+
+    @Test
+    void failedExport_ShouldLeaveTheEarlierArchive() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        export(file, 2);
+        byte[] before = Files.readAllBytes(file);
+        Book unreadable = mock(Book.class, invocation -> {
+            throw new OperationFailedException("Unreadable book");
+        });
+        List<Book> catalog = new ArrayList<>(books.findAll());
+        catalog.add(unreadable);
+        LibrarySnapshot snapshot = new LibrarySnapshot(catalog, members.findAll(), transactions.findAll(),
+                holds.findAll(), fineEntries);
+
+        assertThrows(OperationFailedException.class, () -> new LibraryArchive(2).export(file, snapshot));
+
+        assertArrayEquals(before, Files.readAllBytes(file));
+        assertFalse(Files.exists(tempDir.resolve("library.larc.tmp")));
+    }
+
+    @Test
+    void corruptedBlock_ShouldFailTheImportWithoutSavingAnything() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        export(file, 2);
+        corruptMiddleByte(file);
+
+        InMemoryBookRepository importedBooks = new InMemoryBookRepository();
+        assertThrows(IOException.class, () -> new LibraryArchive(2).importInto(file, importedBooks,
+                new InMemoryMemberRepository(), new InMemoryTransactionRepository()));
+        assertTrue(importedBooks.findAll().isEmpty()); // Not even the blocks before the damage
+    }
+
+    @Test
+    void truncatedArchive_ShouldFailTheImport() throws IOException {
+        Path file = tempDir.resolve("library.larc");
+        export(file, 2);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 9); // Loses the trailer's last count
+        }
+
+        InMemoryTransactionRepository importedTransactions = new InMemoryTransactionRepository();
+        IOException e = assertThrows(IOException.class, () -> new LibraryArchive(2).importInto(file,
+                new InMemoryBookRepository(), new InMemoryMemberRepository(), importedTransactions));
+        assertTrue(e.getMessage().contains("truncated"));
+        assertTrue(importedTransactions.findAll().isEmpty());
+    }
+
+    private static void corruptMiddleByte(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long offset = channel.size() / 2;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, offset);
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) (b.get(0) ^ 0x5A) }), offset);
+        }
+    }
+
+    // Runs the work directly, counting transactions; there is nothing to roll back in memory
+    private static final class CountingScope implements TransactionScope {
+        private int transactions;
+        private boolean active;
+
+        @Override
+        public <T> T atomically(Supplier<T> work) {
+            transactions++;
+            active = true;
+            try {
+                return work.get();
+            } finally {
+                active = false;
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void afterCompletion(Runnable action) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// src/test/java/com/prpcena/library/codec/ModelCodecBenchmarkTest.java
+package com.prpcena.library.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+
+/**
+ * Measures encode and decode throughput for transactions, the most numerous
+ * records, through a small reused buffer as a log or socket writer would.
+ * Run with {@code mvn test -Pbenchmarks}; rates are printed, not asserted.
+ */
+@Tag("benchmark")
+class ModelCodecBenchmarkTest {
+    private static final int RECORDS = 1_000_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Test
+    void transactions_EncodeAndDecodeThroughput() {
+        List<Transaction> transactions = new ArrayList<>(RECORDS);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < RECORDS; i++) {
+            LocalDateTime borrowedAt = start.plusMinutes(i);
+            Transaction loan = new Transaction("978-" + (i * 7919) % 50_000, "member-" + i % 20_000,
+                    borrowedAt.toLocalDate().plusDays(14), borrowedAt);
+            if (i % 4 != 0) {
+                loan.setReturnDateTime(borrowedAt.plusDays(9));
+            }
+            transactions.add(loan);
+        }
+        for (int round = 0; round < 3; round++) { // The last round is measured after warm-up
+            run(transactions, round == 2);
+        }
+    }
+
+    private static void run(List<Transaction> transactions, boolean print) {
+        ModelEncoder encoder = new ModelEncoder();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        List<ByteBuffer> chunks = new ArrayList<>();
+        long encodeStart = System.nanoTime();
+        long bytes = 0;
+        for (Transaction transaction : transactions) {
+            try {
+                encoder.encode(transaction, buffer);
+            } catch (BufferOverflowException e) {
+                bytes += buffer.position();
+                chunks.add(copy(buffer));
+                buffer.clear();
+                encoder.encode(transaction, buffer);
+            }
+        }
+        bytes += buffer.position();
+        chunks.add(copy(buffer));
+        long encodeNanos = System.nanoTime() - encodeStart;
+
+        ModelDecoder decoder = new ModelDecoder();
+        long decodeStart = System.nanoTime();
+        int decoded = 0;
+        for (ByteBuffer chunk : chunks) {
+            while (chunk.hasRemaining()) {
+                decoder.decodeTransaction(chunk);
+                decoded++;
+            }
+        }
+        long decodeNanos = System.nanoTime() - decodeStart;
+        assertEquals(transactions.size(), decoded);
+
+        if (print) {
+            long textBytes = 0;
+            for (Transaction transaction : transactions) {
+                textBytes += transaction.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+            System.out.printf("%d transactions: %.1f bytes each (toString(): %.1f)%n", decoded,
+                    (double) bytes / decoded, (double) textBytes / decoded);
+            System.out.printf("encode %.2f M records/s, %.0f MB/s%n", decoded * 1e3 / encodeNanos,
+                    bytes * 1e3 / encodeNanos);
+            System.out.printf("decode %.2f M records/s, %.0f MB/s%n", decoded * 1e3 / decodeNanos,
+                    bytes * 1e3 / decodeNanos);
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer flipped = buffer.duplicate().flip();
+        return ByteBuffer.allocate(flipped.remaining()).put(flipped).flip();
+    }
+}
@@ -0,0 +1,233 @@
+// src/test/java/com/prpcena/library/codec/ModelCodecTest.java
+package com.prpcena.library.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.codec.ModelCodec.RecordType;
+import com.prpcena.library.events.LibraryEvent;
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+
+class ModelCodecTest {
+    private ModelEncoder encoder;
+    private ModelDecoder decoder;
+    private ByteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new ModelEncoder();
+        decoder = new ModelDecoder();
+        buffer = ByteBuffer.allocate(4096);
+    }
+
+    @Test
+    void book_ShouldRoundTripEveryField() {
+        Book book = new Book("Crime and Punishment", new Author("Fyodor", "Dostoevsky"), "978-0143058144",
+                "Classic", Year.of(-44), 3); // Negative years are zigzag-encoded
+        book.setVersion(7);
+        Book noYear = new Book("Untitled", new Author("Anne", "Nonymous"), "ISBN2", null, null, 0);
+
+        encoder.encode(book, buffer);
+        encoder.encode(noYear, buffer);
+        buffer.flip();
+
+        assertEquals(RecordType.BOOK, decoder.peekType(buffer));
+        Book decoded = decoder.decodeBook(buffer);
+        assertEquals(book.getIsbn(), decoded.getIsbn());
+        assertEquals(book.getTitle(), decoded.getTitle());
+        assertEquals(book.getAuthor(), decoded.getAuthor());
+        assertEquals("Classic", decoded.getGenre());
+        assertEquals(Year.of(-44), decoded.getPublicationYear());
+        assertEquals(3, decoded.getAvailableCopies());
+        assertEquals(7, decoded.getVersion());
+        Book decodedNoYear = decoder.decodeBook(buffer);
+        assertNull(decodedNoYear.getGenre());
+        assertNull(decodedNoYear.getPublicationYear());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void memberAndAuthor_ShouldRoundTrip() {
+        Member member = new Member("Zoë Ünicode 😀", null);
+        member.setTier(MemberTier.STAFF);
+        member.setVersion(2);
+
+        encoder.encode(member, buffer);
+        encoder.encode(new Author("José", "Saramago"), buffer);
+        buffer.flip();
+
+        Member decoded = decoder.decodeMember(buffer);
+        assertEquals(member.getMemberId(), decoded.getMemberId());
+        assertEquals("Zoë Ünicode 😀", decoded.getName());
+        assertNull(decoded.getContactInfo());
+        assertEquals(MemberTier.STAFF, decoded.getTier());
+        assertEquals(2, decoded.getVersion());
+        assertEquals(new Author("José", "Saramago"), decoder.decodeAuthor(buffer));
+    }
+
+    @Test
+    void transaction_ShouldRoundTripTimesToTheNanosecond() {
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789);
+        Transaction open = new Transaction("ISBN1", "M1", LocalDate.of(2024, 3, 15), borrowedAt);
+        Transaction returned = new Transaction("not-a-uuid", "ISBN1", "M2", TransactionType.RETURN,
+                borrowedAt, null, borrowedAt.minusHours(1)); // Odd data still round-trips
+
+        encoder.encode(open, buffer);
+        encoder.encode(returned, buffer);
+        buffer.flip();
+
+        Transaction decodedOpen = decoder.decodeTransaction(buffer);
+        assertEquals(open.getTransactionId(), decodedOpen.getTransactionId());
+        assertEquals(borrowedAt, decodedOpen.getTransactionDateTime());
+        assertEquals(LocalDate.of(2024, 3, 15), decodedOpen.getDueDate());
+        assertNull(decodedOpen.getReturnDateTime());
+        Transaction decodedReturned = decoder.decodeTransaction(buffer);
+        assertEquals("not-a-uuid", decodedReturned.getTransactionId());
+        assertEquals(TransactionType.RETURN, decodedReturned.getType());
+        assertNull(decodedReturned.getDueDate());
+        assertEquals(borrowedAt.minusHours(1), decodedReturned.getReturnDateTime());
+    }
+
+    @Test
+    void event_ShouldRoundTripEveryField() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789);
+        LibraryEvent borrowed = LibraryEvent.restore(7, LibraryEvent.Type.BOOK_BORROWED, at, "M1", "ISBN1", "T1",
+                null, -1, LocalDate.of(2024, 3, 15));
+        LibraryEvent paid = LibraryEvent.restore(8, LibraryEvent.Type.FINE_PAID, at, "M1", null, null, null, 250, null);
+
+        encoder.encode(borrowed, buffer);
+        encoder.encode(paid, buffer);
+        buffer.flip();
+
+        assertEquals(RecordType.EVENT, decoder.peekType(buffer));
+        assertEquals(borrowed.toString(), decoder.decodeEvent(buffer).toString());
+        assertEquals(paid.toString(), decoder.decodeEvent(buffer).toString());
+    }
+
+    @Test
+    void holdAndFineEntry_ShouldRoundTripEveryField() {
+        LocalDateTime placedAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789);
+        Hold waiting = new Hold("ISBN1", "M1", placedAt);
+        Hold ready = new Hold("H2", "ISBN1", "M2", placedAt, HoldStatus.READY_FOR_PICKUP, placedAt.plusDays(2));
+        FineLedgerEntry fine = new FineLedgerEntry("M1", LocalDate.of(2024, 3, 20), FineLedgerEntry.Type.FINE, 200,
+                "T1", "ISBN1");
+        FineLedgerEntry payment = new FineLedgerEntry("M1", LocalDate.of(2024, 3, 21), FineLedgerEntry.Type.PAYMENT,
+                -150, null, null);
+
+        encoder.encode(waiting, buffer);
+        encoder.encode(ready, buffer);
+        encoder.encode(fine, buffer);
+        encoder.encode(payment, buffer);
+        buffer.flip();
+
+        assertEquals(RecordType.HOLD, decoder.peekType(buffer));
+        assertEquals(waiting.toString(), decoder.decodeHold(buffer).toString());
+        assertEquals(ready.toString(), decoder.decodeHold(buffer).toString());
+        assertEquals(RecordType.FINE_ENTRY, decoder.peekType(buffer));
+        assertEquals(fine, decoder.decodeFineEntry(buffer));
+        assertEquals(payment, decoder.decodeFineEntry(buffer));
+    }
+
+    @Test
+    void repeatedStrings_ShouldBeWrittenOnce() {
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        Transaction first = new Transaction("978-0143058144", "M-0001", LocalDate.of(2024, 3, 15), borrowedAt);
+        Transaction second = new Transaction("978-0143058144", "M-0001", LocalDate.of(2024, 3, 15), borrowedAt);
+
+        encoder.encode(first, buffer);
+        int firstSize = buffer.position();
+        encoder.encode(second, buffer);
+        int secondSize = buffer.position() - firstSize;
+
+        // Header, flags, 17-byte UUID, two one-byte references, 5-byte second, 1-byte nanos, 1-byte due date
+        assertEquals(28, secondSize);
+        assertTrue(firstSize > secondSize + "978-0143058144".length() + "M-0001".length());
+        assertEquals(2, encoder.getDictionarySize());
+    }
+
+    @Test
+    void encode_BufferTooSmall_ShouldUndoTheRecordSoItCanBeRetried() {
+        Book book = new Book("A Rather Long Title", new Author("Jane", "Doe"), "ISBN1", "Fiction", Year.of(2000), 1);
+        ByteBuffer small = ByteBuffer.allocate(12);
+
+        assertThrows(BufferOverflowException.class, () -> encoder.encode(book, small));
+        assertEquals(0, small.position());
+        assertEquals(0, encoder.getDictionarySize());
+
+        encoder.encode(book, buffer); // Retried into a bigger buffer, new strings defined again
+        buffer.flip();
+        assertEquals("A Rather Long Title", decoder.decodeBook(buffer).getTitle());
+    }
+
+    @Test
+    void decode_TruncatedRecord_ShouldUndoTheRecordSoItCanBeRetried() {
+        Member member = new Member("Alice Wonderland", "alice@example.com");
+        encoder.encode(member, buffer);
+        buffer.flip();
+        ByteBuffer truncated = buffer.duplicate().limit(buffer.limit() - 3);
+
+        assertThrows(BufferUnderflowException.class, () -> decoder.decodeMember(truncated));
+        assertEquals(0, truncated.position());
+
+        assertEquals(member.getMemberId(), decoder.decodeMember(buffer).getMemberId());
+    }
+
+    @Test
+    void decode_NewerSchemaOrWrongType_ShouldBeRejected() {
+        buffer.put((byte) (2 << 4 | (ModelCodec.SCHEMA_VERSION + 1)));
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> decoder.peekType(buffer));
+
+        buffer.clear();
+        encoder.encode(new Author("Jane", "Doe"), buffer);
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeBook(buffer));
+    }
+
+    @Test
+    void fullDictionary_ShouldWriteNewStringsInFull() {
+        ModelEncoder tiny = new ModelEncoder(1);
+
+        tiny.encode(new Author("Jane", "Doe"), buffer);
+        tiny.encode(new Author("John", "Doe"), buffer);
+        buffer.flip();
+
+        assertEquals(1, tiny.getDictionarySize());
+        assertEquals(new Author("Jane", "Doe"), decoder.decodeAuthor(buffer));
+        assertEquals(new Author("John", "Doe"), decoder.decodeAuthor(buffer));
+    }
+
+    @Test
+    void reset_ShouldStartANewStream() {
+        encoder.encode(new Author("Jane", "Doe"), buffer);
+        buffer.flip();
+        decoder.decodeAuthor(buffer);
+
+        encoder.reset();
+        decoder.reset();
+        buffer.clear();
+        encoder.encode(new Author("Jane", "Doe"), buffer);
+        buffer.flip();
+
+        assertEquals(new Author("Jane", "Doe"), decoder.decodeAuthor(buffer));
+    }
+}
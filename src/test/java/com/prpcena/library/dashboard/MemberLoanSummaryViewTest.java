@@ -0,0 +1,124 @@
+// src/test/java/com/prpcena/library/dashboard/MemberLoanSummaryViewTest.java
+package com.prpcena.library.dashboard;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+import com.prpcena.library.util.LibraryClock;
+
+class MemberLoanSummaryViewTest {
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    private MutableClock clock;
+    private MemberLoanSummaryView view;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        view = new MemberLoanSummaryView(new LibraryClock(clock));
+    }
+
+    @Test
+    void loanOpenedAndClosed_ShouldKeepTheSummaryCurrent() {
+        Transaction later = new Transaction("ISBN001", "M1", START.plusDays(14), START.atStartOfDay());
+        Transaction sooner = new Transaction("ISBN002", "M1", START.plusDays(7), START.atStartOfDay());
+        view.loanOpened(later);
+        view.loanOpened(sooner);
+
+        MemberLoanSummary summary = view.getSummary("M1").orElseThrow();
+        assertEquals(2, summary.getCurrentLoans().size());
+        assertEquals(START.plusDays(7), summary.getNextDueDate());
+        assertEquals("ISBN002", summary.getCurrentLoans().get(0).getBookIsbn());
+        assertEquals(2, summary.getHistoryLength());
+
+        view.loanClosed(sooner);
+
+        summary = view.getSummary("M1").orElseThrow();
+        assertEquals(START.plusDays(14), summary.getNextDueDate());
+        assertEquals(1, summary.getCurrentLoans().size());
+        assertEquals(2, summary.getHistoryLength()); // Returned loans stay in the history
+        assertFalse(view.getSummary("M2").isPresent());
+    }
+
+    @Test
+    void getSummary_ShouldCountLoansOnlyFromTheDayAfterTheyAreDue() {
+        Transaction loan = new Transaction("ISBN001", "M1", START.plusDays(7), START.atStartOfDay());
+        view.loanOpened(loan);
+
+        clock.setDate(START.plusDays(7));
+        assertEquals(0, view.getSummary("M1").orElseThrow().getOverdueCount());
+
+        clock.setDate(START.plusDays(8));
+        assertEquals(1, view.getSummary("M1").orElseThrow().getOverdueCount());
+
+        view.loanClosed(loan);
+        MemberLoanSummary summary = view.getSummary("M1").orElseThrow();
+        assertEquals(0, summary.getOverdueCount());
+        assertNull(summary.getNextDueDate());
+    }
+
+    @Test
+    void refreshAll_ShouldReplaceSummariesWithTheHistory() {
+        view.loanOpened(new Transaction("ISBN_STALE", "M9", START.plusDays(7), START.atStartOfDay()));
+        LocalDateTime borrowed = START.minusDays(30).atStartOfDay();
+        Transaction returned = new Transaction("T1", "ISBN001", "M1", TransactionType.BORROW, borrowed,
+                START.minusDays(16), borrowed.plusDays(10));
+        Transaction overdue = new Transaction("T2", "ISBN002", "M1", TransactionType.BORROW, borrowed,
+                START.minusDays(2), null);
+        Transaction open = new Transaction("T3", "ISBN003", "M2", TransactionType.BORROW, borrowed,
+                START.plusDays(3), null);
+
+        view.refreshAll(List.of(returned, overdue, open));
+
+        MemberLoanSummary m1 = view.getSummary("M1").orElseThrow();
+        assertEquals(2, m1.getHistoryLength());
+        assertEquals(1, m1.getOverdueCount());
+        assertEquals("T2", m1.getCurrentLoans().get(0).getTransactionId());
+        assertEquals(0, view.getSummary("M2").orElseThrow().getOverdueCount());
+        assertFalse(view.getSummary("M9").isPresent());
+
+        clock.setDate(START.plusDays(10)); // The stale loan's timer must not come back
+        assertFalse(view.getSummary("M9").isPresent());
+        assertEquals(1, view.getSummary("M2").orElseThrow().getOverdueCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
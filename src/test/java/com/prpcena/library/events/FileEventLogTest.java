@@ -0,0 +1,56 @@
+// src/test/java/com/prpcena/library/events/FileEventLogTest.java
+package com.prpcena.library.events;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileEventLogTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reopening_ShouldReadBackEveryEventWithItsSequence() throws IOException {
+        Path file = tempDir.resolve("events.log");
+        try (FileEventLog log = FileEventLog.open(file)) {
+            log.append(LibraryEvent.bookAdded(NOW, "ISBN001", "Title", 2));
+            log.append(LibraryEvent.bookBorrowed(NOW, "T1", "M1", "ISBN001", LocalDate.of(2024, 3, 15), -1));
+        }
+
+        try (FileEventLog log = FileEventLog.open(file)) {
+            assertEquals(2, log.getLastSequence());
+            List<LibraryEvent> events = log.readAfter(1);
+            assertEquals(1, events.size());
+            assertEquals(LibraryEvent.Type.BOOK_BORROWED, events.get(0).getType());
+            assertEquals(LocalDate.of(2024, 3, 15), events.get(0).getDueDate());
+            assertEquals(3, log.append(LibraryEvent.finePaid(NOW, "M1", 250)).getSequence());
+        }
+    }
+
+    @Test
+    void reopening_AfterATornAppend_ShouldKeepTheEventsBeforeIt() throws IOException {
+        Path file = tempDir.resolve("events.log");
+        try (FileEventLog log = FileEventLog.open(file)) {
+            log.append(LibraryEvent.memberRegistered(NOW, "M1", "Alice"));
+            log.append(LibraryEvent.memberRegistered(NOW, "M2", "Bob"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3); // A crash partway through the second record
+        }
+
+        try (FileEventLog log = FileEventLog.open(file)) {
+            assertEquals(1, log.getLastSequence());
+            assertEquals("Alice", log.readAfter(0).get(0).getDetail());
+        }
+    }
+}
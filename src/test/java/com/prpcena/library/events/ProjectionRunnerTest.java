@@ -0,0 +1,152 @@
+// src/test/java/com/prpcena/library/events/ProjectionRunnerTest.java
+package com.prpcena.library.events;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectionRunnerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 10, 0);
+    private static final LocalDate DUE = LocalDate.of(2024, 3, 15);
+
+    private EventLog eventLog;
+    private BookAvailabilityProjection availability;
+    private OpenLoansProjection openLoans;
+    private MemberActivityProjection members;
+    private ProjectionRunner runner;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new InMemoryEventLog();
+        availability = new BookAvailabilityProjection();
+        openLoans = new OpenLoansProjection();
+        members = new MemberActivityProjection();
+        runner = new ProjectionRunner(eventLog, 4);
+        runner.register(availability);
+        runner.register(openLoans);
+        runner.register(members);
+    }
+
+    @Test
+    void rebuild_ShouldMatchApplyingEveryEventInOrder() {
+        for (int b = 0; b < 20; b++) {
+            eventLog.append(LibraryEvent.bookAdded(NOW, "ISBN" + b, "Title " + b, 3));
+        }
+        for (int m = 0; m < 10; m++) {
+            eventLog.append(LibraryEvent.memberRegistered(NOW, "M" + m, "Member " + m));
+            for (int b = 0; b < 20; b += 2) {
+                eventLog.append(LibraryEvent.bookBorrowed(NOW, "T" + m + "-" + b, "M" + m, "ISBN" + b, DUE, -1));
+            }
+            for (int b = 0; b < 20; b += 4) {
+                eventLog.append(LibraryEvent.bookReturned(NOW, "T" + m + "-" + b, "M" + m, "ISBN" + b, 1));
+            }
+        }
+        eventLog.append(LibraryEvent.bookRemoved(NOW, "ISBN19"));
+
+        assertEquals(eventLog.getLastSequence(), runner.rebuild());
+
+        assertEquals(3, availability.getAvailableCopies("ISBN1").getAsInt()); // Never borrowed
+        assertEquals(3, availability.getAvailableCopies("ISBN4").getAsInt()); // Every loan returned
+        assertEquals(-7, availability.getAvailableCopies("ISBN2").getAsInt()); // Ten loans of three copies
+        assertFalse(availability.getAvailableCopies("ISBN19").isPresent());
+        assertEquals(50, openLoans.getOpenLoanCount());
+        assertEquals(5, openLoans.getOpenLoansByMember("M3").size());
+        MemberActivityProjection.MemberActivity activity = members.getActivity("M3").orElseThrow();
+        assertEquals("Member 3", activity.getName());
+        assertEquals(5, activity.getOpenLoans());
+        assertEquals(10, activity.getTotalLoans());
+        assertEquals(eventLog.getLastSequence(), runner.getCheckpoint(openLoans));
+    }
+
+    @Test
+    void catchUp_ShouldOnlyApplyEventsAfterTheCheckpoint() {
+        eventLog.append(LibraryEvent.bookAdded(NOW, "ISBN001", "Title", 2));
+        eventLog.append(LibraryEvent.bookBorrowed(NOW, "T1", "M1", "ISBN001", DUE, -1));
+        runner.rebuild();
+
+        eventLog.append(LibraryEvent.bookBorrowed(NOW, "T2", "M2", "ISBN001", DUE, 0)); // Copy from the hold shelf
+        eventLog.append(LibraryEvent.bookReturned(NOW, "T1", "M1", "ISBN001", 1));
+        eventLog.append(LibraryEvent.finePaid(NOW, "M1", 250));
+
+        assertEquals(3, runner.catchUp());
+        assertEquals(0, runner.catchUp());
+
+        assertEquals(2, availability.getAvailableCopies("ISBN001").getAsInt());
+        assertEquals("T2", openLoans.getOpenLoans().get(0).getTransactionId());
+        assertEquals(250, members.getActivity("M1").orElseThrow().getFinesPaid());
+        assertEquals(5, runner.getCheckpoint(members));
+    }
+
+    @Test
+    void register_AfterOthersCaughtUp_ShouldStartFromTheBeginning() {
+        eventLog.append(LibraryEvent.bookAdded(NOW, "ISBN001", "Title", 2));
+        eventLog.append(LibraryEvent.bookBorrowed(NOW, "T1", "M1", "ISBN001", DUE, -1));
+        runner.catchUp();
+
+        OpenLoansProjection late = new OpenLoansProjection();
+        runner.register(late);
+        runner.catchUp();
+
+        assertEquals(1, late.getOpenLoanCount());
+        assertEquals(1, availability.getAvailableCopies("ISBN001").getAsInt()); // Not applied twice
+    }
+
+    @Test
+    void register_AfterRestart_ShouldResumeOnlyDurableProjectionsFromTheirStoredCheckpoint() throws IOException {
+        Path checkpoints = tempDir.resolve("checkpoints");
+        eventLog.append(LibraryEvent.bookAdded(NOW, "ISBN001", "Title", 2));
+        eventLog.append(LibraryEvent.bookBorrowed(NOW, "T1", "M1", "ISBN001", DUE, -1));
+        ProjectionRunner before = new ProjectionRunner(eventLog, 2, checkpoints);
+        CountingProjection durable = new CountingProjection();
+        before.register(durable);
+        before.register(new OpenLoansProjection());
+        before.catchUp();
+        eventLog.append(LibraryEvent.bookReturned(NOW, "T1", "M1", "ISBN001", 1));
+
+        ProjectionRunner after = new ProjectionRunner(eventLog, 2, checkpoints);
+        after.register(durable);
+        OpenLoansProjection inMemory = new OpenLoansProjection();
+        after.register(inMemory);
+
+        assertEquals(2, after.getCheckpoint(durable));
+        assertEquals(0, after.getCheckpoint(inMemory));
+        after.catchUp();
+        assertEquals(3, durable.applied); // The third event only, not the first two again
+        assertEquals(0, inMemory.getOpenLoanCount());
+    }
+
+    // Stands in for a projection that keeps its state in a store of its own
+    private static final class CountingProjection implements Projection {
+        private int applied;
+
+        @Override
+        public String partitionKey(LibraryEvent event) {
+            return "all";
+        }
+
+        @Override
+        public void apply(LibraryEvent event) {
+            applied++;
+        }
+
+        @Override
+        public void reset() {
+            applied = 0;
+        }
+
+        @Override
+        public boolean isDurable() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+// src/test/java/com/prpcena/library/fine/FineEngineTest.java
+package com.prpcena.library.fine;
+
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.LibraryClock;
+
+class FineEngineTest {
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    private MutableClock clock;
+    private FineEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        engine = new FineEngine(new FinePolicy(25, 200, 1), new LibraryClock(clock)); // Cap reached after 8 charged days
+    }
+
+    @Test
+    void getBalance_ShouldAccrueDailyAfterGracePeriod() {
+        Transaction loan = new Transaction("ISBN001", "M1", START.plusDays(5), START.atStartOfDay());
+        engine.loanOpened(loan);
+
+        clock.setDate(START.plusDays(6)); // First overdue day, within grace
+        assertEquals(0, engine.getBalance("M1"));
+        clock.setDate(START.plusDays(7));
+        assertEquals(25, engine.getBalance("M1"));
+        clock.setDate(START.plusDays(10));
+        assertEquals(100, engine.getBalance("M1"));
+    }
+
+    @Test
+    void getBalance_ShouldStopAtCapAndSettleIt() {
+        Transaction loan = new Transaction("ISBN001", "M1", START.plusDays(5), START.atStartOfDay());
+        engine.loanOpened(loan);
+
+        clock.setDate(START.plusDays(100));
+
+        assertEquals(200, engine.getBalance("M1"));
+        assertEquals(List.of(new FineLedgerEntry("M1", START.plusDays(14), FineLedgerEntry.Type.FINE, 200,
+                loan.getTransactionId(), "ISBN001")), engine.getLedger("M1"));
+        assertEquals(200, engine.loanClosed(loan)); // Already settled; nothing more is charged
+        assertEquals(200, engine.getBalance("M1"));
+    }
+
+    @Test
+    void loanClosed_ShouldSettleAccruedFineAndStopAccrual() {
+        Transaction late = new Transaction("ISBN001", "M1", START.plusDays(5), START.atStartOfDay());
+        Transaction onTime = new Transaction("ISBN002", "M1", START.plusDays(30), START.atStartOfDay());
+        engine.loanOpened(late);
+        engine.loanOpened(onTime);
+
+        clock.setDate(START.plusDays(9));
+        assertEquals(75, engine.loanClosed(late));
+        assertEquals(0, engine.loanClosed(onTime));
+        clock.setDate(START.plusDays(60));
+
+        assertEquals(75, engine.getBalance("M1"));
+    }
+
+    @Test
+    void recordPayment_ShouldReduceBalanceAndRejectOverpayment() {
+        Transaction loan = new Transaction("ISBN001", "M1", START.minusDays(10),
+                START.atStartOfDay()); // Already overdue when tracked
+        engine.trackAll(List.of(loan));
+        assertEquals(200, engine.getBalance("M1"));
+
+        engine.recordPayment("M1", 150);
+
+        assertEquals(50, engine.getBalance("M1"));
+        assertThrows(IllegalArgumentException.class, () -> engine.recordPayment("M1", 51));
+        assertThrows(IllegalArgumentException.class, () -> engine.recordPayment("M2", 1));
+    }
+
+    @Test
+    void exportStatements_ShouldWriteEntriesAccruingLoansAndBalances() throws Exception {
+        engine.loanOpened(new Transaction("ISBN001", "M1", START.minusDays(2), START.atStartOfDay()));
+        engine.loanOpened(new Transaction("ISBN002", "M2", START.plusDays(30), START.atStartOfDay()));
+        StringWriter out = new StringWriter();
+
+        int members = engine.exportStatements(out);
+
+        assertEquals(1, members); // M2 has never been charged
+        String csv = out.toString();
+        assertTrue(csv.startsWith("member_id,date,type,transaction_id,book_isbn,amount\n"));
+        assertTrue(csv.contains("M1,2024-03-01,ACCRUING,"));
+        assertTrue(csv.contains("M1,2024-03-01,BALANCE,,,25\n"));
+    }
+
+    @Test
+    void restore_ShouldKeepBalancesAndNotChargeTheCapTwice() {
+        List<FineLedgerEntry> stored = new ArrayList<>();
+        FineEngine before = new FineEngine(new FinePolicy(25, 200, 1), new LibraryClock(clock), stored::add);
+        Transaction capped = new Transaction("ISBN001", "M1", START.plusDays(5), START.atStartOfDay());
+        Transaction returned = new Transaction("ISBN002", "M1", START.plusDays(5), START.atStartOfDay());
+        before.trackAll(List.of(capped, returned));
+        clock.setDate(START.plusDays(9));
+        before.loanClosed(returned); // 75
+        before.recordPayment("M1", 50);
+        clock.setDate(START.plusDays(100));
+        assertEquals(225, before.getBalance("M1")); // The cap of 200 is settled as well
+
+        FineEngine after = new FineEngine(new FinePolicy(25, 200, 1), new LibraryClock(clock), stored::add);
+        after.restore(new ArrayList<>(stored));
+        after.trackAll(List.of(capped)); // Still open
+
+        assertEquals(225, after.getBalance("M1"));
+        assertEquals(before.getLedger("M1"), after.getLedger("M1"));
+        assertEquals(200, after.loanClosed(capped));
+        assertEquals(225, after.getBalance("M1"));
+        assertEquals(3, stored.size()); // Nothing stored again
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
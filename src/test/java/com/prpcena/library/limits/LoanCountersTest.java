@@ -0,0 +1,157 @@
+// src/test/java/com/prpcena/library/limits/LoanCountersTest.java
+package com.prpcena.library.limits;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.BorrowingLimitExceededException;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.LibraryClock;
+
+class LoanCountersTest {
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    private MutableClock clock;
+    private LoanCounters counters;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        counters = new LoanCounters(new BorrowingPolicy(Map.of(
+                MemberTier.STANDARD, new BorrowingPolicy.TierLimits(2, 0),
+                MemberTier.PREMIUM, new BorrowingPolicy.TierLimits(4, 1),
+                MemberTier.STAFF, new BorrowingPolicy.TierLimits(8, 2))), new LibraryClock(clock));
+        member = new Member("Test Member", "test@example.com");
+    }
+
+    @Test
+    void reserve_ShouldEnforceTierLoanLimitAndFreeSlotsOnReturn() {
+        Transaction first = borrow(START.plusDays(14));
+        borrow(START.plusDays(14));
+
+        assertThrows(BorrowingLimitExceededException.class, () -> counters.reserve(member));
+
+        counters.loanClosed(first);
+        assertEquals(1, counters.getOpenLoanCount(member.getMemberId()));
+        assertDoesNotThrow(() -> counters.reserve(member));
+    }
+
+    @Test
+    void reserve_ShouldUseLimitsOfCurrentTier() {
+        borrow(START.plusDays(14));
+        borrow(START.plusDays(14));
+
+        member.setTier(MemberTier.PREMIUM);
+
+        assertDoesNotThrow(() -> counters.reserve(member));
+    }
+
+    @Test
+    void getOverdueCount_ShouldRiseAfterDueDateAndFallOnReturn() {
+        Transaction loan = borrow(START.plusDays(3));
+
+        clock.setDate(START.plusDays(3));
+        assertEquals(0, counters.getOverdueCount(member.getMemberId()));
+        clock.setDate(START.plusDays(4));
+        assertEquals(1, counters.getOverdueCount(member.getMemberId()));
+        assertThrows(BorrowingLimitExceededException.class, () -> counters.reserve(member));
+
+        counters.loanClosed(loan);
+
+        assertEquals(0, counters.getOverdueCount(member.getMemberId()));
+        assertEquals(0, counters.getOpenLoanCount(member.getMemberId()));
+    }
+
+    @Test
+    void trackAll_ShouldCountExistingLoansAndThoseAlreadyOverdue() {
+        counters.trackAll(List.of(
+                new Transaction("ISBN001", member.getMemberId(), START.minusDays(1), START.atStartOfDay()),
+                new Transaction("ISBN002", member.getMemberId(), START.plusDays(7), START.atStartOfDay())));
+
+        assertEquals(2, counters.getOpenLoanCount(member.getMemberId()));
+        assertEquals(1, counters.getOverdueCount(member.getMemberId()));
+    }
+
+    @Test
+    void reserve_ConcurrentBorrows_ShouldNeverExceedLimit() throws Exception {
+        member.setTier(MemberTier.STAFF);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    counters.reserve(member);
+                    return true;
+                } catch (BorrowingLimitExceededException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int granted = 0;
+        for (Future<Boolean> attempt : attempts) {
+            granted += attempt.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(8, granted);
+        assertEquals(8, counters.getOpenLoanCount(member.getMemberId()));
+    }
+
+    private Transaction borrow(LocalDate dueDate) {
+        counters.reserve(member);
+        Transaction loan = new Transaction("ISBN" + System.nanoTime(), member.getMemberId(), dueDate,
+                START.atStartOfDay());
+        counters.loanOpened(loan);
+        return loan;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -22,12 +22,13 @@ class InMemoryTransactionRepositoryTest {
     void setUp() {
         transactionRepository = new InMemoryTransactionRepository();
         LocalDate today = LocalDate.now();
-        t1 = new Transaction("ISBN001", "MEMBER001", today.plusDays(14)); // Open
+        t1 = new Transaction("ISBN001", "MEMBER001", today.plusDays(14), LocalDateTime.now()); // Open
 
-        t2_returned = new Transaction("ISBN002", "MEMBER001", today.plusDays(14));
+        t2_returned = new Transaction("ISBN002", "MEMBER001", today.plusDays(14), LocalDateTime.now());
         t2_returned.setReturnDateTime(LocalDateTime.now().minusDays(1)); // Returned yesterday
 
-        t3_open_diff_member = new Transaction("ISBN001", "MEMBER002", today.plusDays(7)); // Open, different member
+        t3_open_diff_member = new Transaction("ISBN001", "MEMBER002", today.plusDays(7),
+                LocalDateTime.now()); // Open, different member
 
         transactionRepository.save(t1);
         transactionRepository.save(t2_returned);
@@ -37,7 +38,7 @@ class InMemoryTransactionRepositoryTest {
     @Test
     void saveAndFindById() {
         LocalDate dueDate = LocalDate.now().plusDays(10);
-        Transaction newTransaction = new Transaction("ISBNNEW", "MEMBERNEW", dueDate);
+        Transaction newTransaction = new Transaction("ISBNNEW", "MEMBERNEW", dueDate, LocalDateTime.now());
         transactionRepository.save(newTransaction);
         Optional<Transaction> found = transactionRepository.findById(newTransaction.getTransactionId());
         assertTrue(found.isPresent());
@@ -80,4 +81,25 @@ class InMemoryTransactionRepositoryTest {
         List<Transaction> member1Transactions = transactionRepository.findByMemberId("MEMBER001");
         assertEquals(2, member1Transactions.size()); // t1 (open borrow) and t2_returned (closed borrow)
     }
+
+    @Test
+    void save_ClosingOpenLoan_ShouldRemoveItFromOpenLoanLookups() {
+        t1.setReturnDateTime(LocalDateTime.now());
+        transactionRepository.save(t1);
+
+        assertFalse(transactionRepository.findOpenBorrowTransactionByMemberAndBook("MEMBER001", "ISBN001").isPresent());
+        assertTrue(transactionRepository.findOpenBorrowTransactionsByMember("MEMBER001").isEmpty());
+        assertEquals(1, transactionRepository.findAllOpenBorrowTransactions().size());
+        assertEquals(2, transactionRepository.findByMemberId("MEMBER001").size());
+    }
+
+    @Test
+    void saveAll_ShouldIndexEveryTransaction() {
+        Transaction a = new Transaction("ISBN010", "MEMBER003", LocalDate.now().plusDays(14), LocalDateTime.now());
+        Transaction b = new Transaction("ISBN011", "MEMBER003", LocalDate.now().plusDays(14), LocalDateTime.now());
+        transactionRepository.saveAll(List.of(a, b));
+
+        assertEquals(2, transactionRepository.findOpenBorrowTransactionsByMember("MEMBER003").size());
+        assertEquals(4, transactionRepository.findAllOpenBorrowTransactions().size());
+    }
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ class TransactionTest {
     @Test
     void testBorrowTransactionCreation() {
         LocalDate dueDate = LocalDate.now().plusDays(14);
-        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate);
+        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate, LocalDateTime.now());
         assertEquals("ISBN123", transaction.getBookIsbn());
         assertEquals("MEMBER001", transaction.getMemberId());
         assertEquals(TransactionType.BORROW, transaction.getType());
@@ -23,30 +23,30 @@ class TransactionTest {
         assertNotNull(transaction.getTransactionId());
         assertNotNull(transaction.getTransactionDateTime());
         assertNull(transaction.getReturnDateTime());
-        assertFalse(transaction.isOverdue()); // Assuming not created overdue initially
+        assertFalse(transaction.isOverdue(LocalDate.now())); // Assuming not created overdue initially
     }
 
     @Test
     void testIsOverdue_WhenPastDueDateAndNotReturned() {
         LocalDate dueDate = LocalDate.now().minusDays(1); // Due yesterday
-        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate);
-        assertTrue(transaction.isOverdue());
+        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate, LocalDateTime.now());
+        assertTrue(transaction.isOverdue(LocalDate.now()));
     }
 
     @Test
     void testIsOverdue_WhenNotPastDueDate() {
         LocalDate dueDate = LocalDate.now().plusDays(1); // Due tomorrow
-        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate);
-        assertFalse(transaction.isOverdue());
+        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate, LocalDateTime.now());
+        assertFalse(transaction.isOverdue(LocalDate.now()));
     }
 
     @Test
     void testIsOverdue_WhenReturned() {
         LocalDate dueDate = LocalDate.now().minusDays(1); // Due yesterday
-        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate);
+        Transaction transaction = new Transaction("ISBN123", "MEMBER001", dueDate, LocalDateTime.now());
         transaction.setReturnDateTime(LocalDateTime.now());
-        assertFalse(transaction.isOverdue(), "Should not be considered overdue for display if returned, even if late.");
-        // Note: isOverdue() as implemented checks returnDateTime == null.
+        assertFalse(transaction.isOverdue(LocalDate.now()), "Should not be considered overdue for display if returned, even if late.");
+        // Note: isOverdue(LocalDate) as implemented checks returnDateTime == null.
         // If you need to know if it *was* returned late, you'd compare returnDateTime
         // to dueDate.
     }
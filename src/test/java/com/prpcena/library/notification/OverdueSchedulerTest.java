@@ -0,0 +1,76 @@
+// src/test/java/com/prpcena/library/notification/OverdueSchedulerTest.java
+package com.prpcena.library.notification;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.util.LibraryClock;
+
+class OverdueSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    private final List<List<OverdueNotice>> batches = new ArrayList<>();
+    private OverdueScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new OverdueScheduler(batches::add, 2,
+                new LibraryClock(Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC)));
+    }
+
+    @Test
+    void tick_ShouldSendDueSoonThenOverdueNoticesOnTheirDays() {
+        Transaction loan = new Transaction("ISBN001", "M1", TODAY.plusDays(10), TODAY.atStartOfDay());
+        scheduler.onBorrowed(loan);
+
+        assertTrue(scheduler.tick(TODAY.plusDays(7)).isEmpty());
+        List<OverdueNotice> dueSoon = scheduler.tick(TODAY.plusDays(8));
+        assertEquals(List.of(new OverdueNotice(OverdueNotice.Type.DUE_SOON, loan)), dueSoon);
+        assertTrue(scheduler.tick(TODAY.plusDays(10)).isEmpty()); // Due today is not overdue yet
+        List<OverdueNotice> overdue = scheduler.tick(TODAY.plusDays(11));
+        assertEquals(List.of(new OverdueNotice(OverdueNotice.Type.OVERDUE, loan)), overdue);
+        assertEquals(2, batches.size());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void tick_ShouldBatchAllNoticesOfADay() {
+        for (int i = 0; i < 5; i++) {
+            scheduler.onBorrowed(new Transaction("ISBN00" + i, "M" + i, TODAY.plusDays(3), TODAY.atStartOfDay()));
+        }
+
+        scheduler.tick(TODAY.plusDays(4));
+
+        assertEquals(1, batches.size()); // Due-soon and overdue days both passed; one delivery
+        assertEquals(10, batches.get(0).size());
+    }
+
+    @Test
+    void onReturned_ShouldCancelPendingNotices() {
+        Transaction loan = new Transaction("ISBN001", "M1", TODAY.plusDays(10), TODAY.atStartOfDay());
+        scheduler.onBorrowed(loan);
+        loan.setReturnDateTime(LocalDateTime.now());
+        scheduler.onReturned(loan);
+
+        assertTrue(scheduler.tick(TODAY.plusDays(30)).isEmpty());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void trackAll_AlreadyOverdueLoan_ShouldFireOnFirstTick() {
+        Transaction loan = new Transaction("ISBN001", "M1", TODAY.minusDays(5), TODAY.atStartOfDay());
+        scheduler.trackAll(List.of(loan));
+
+        assertEquals(List.of(new OverdueNotice(OverdueNotice.Type.OVERDUE, loan)), scheduler.tick(TODAY));
+    }
+}
@@ -0,0 +1,94 @@
+// src/test/java/com/prpcena/library/recommend/AlsoBorrowedRecommenderTest.java
+package com.prpcena.library.recommend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.model.TransactionType;
+
+class AlsoBorrowedRecommenderTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 10, 0);
+    private int minutes;
+
+    private Transaction borrow(String memberId, String isbn) {
+        LocalDateTime at = START.plusMinutes(minutes++);
+        return new Transaction("T" + minutes, isbn, memberId, TransactionType.BORROW, at,
+                LocalDate.of(2024, 4, 1), null);
+    }
+
+    @Test
+    void recommend_ShouldRankBooksByHowManyMembersBorrowedBoth() {
+        AlsoBorrowedRecommender recommender = new AlsoBorrowedRecommender(8, 16);
+        List<Transaction> history = new ArrayList<>();
+        for (int m = 0; m < 5; m++) {
+            history.add(borrow("M" + m, "DUNE"));
+            history.add(borrow("M" + m, "FOUNDATION"));
+            if (m < 3) {
+                history.add(borrow("M" + m, "HYPERION"));
+            }
+            if (m == 0) {
+                history.add(borrow("M" + m, "EMMA"));
+                history.add(borrow("M" + m, "DUNE")); // A re-borrow is not counted again
+            }
+        }
+        recommender.recordAll(history);
+
+        assertEquals(List.of("FOUNDATION", "HYPERION", "EMMA"), recommender.recommend("DUNE", 5));
+        assertEquals(List.of("FOUNDATION"), recommender.recommend("DUNE", 1));
+        assertEquals(List.of(), recommender.recommend("UNKNOWN", 3));
+    }
+
+    @Test
+    void onBookRemoved_ShouldStopSuggestingTheBookUntilItIsBorrowedAgain() {
+        AlsoBorrowedRecommender recommender = new AlsoBorrowedRecommender(8, 16);
+        for (int m = 0; m < 3; m++) {
+            recommender.onBorrowed(borrow("M" + m, "DUNE"));
+            recommender.onBorrowed(borrow("M" + m, "FOUNDATION"));
+            recommender.onBorrowed(borrow("M" + m, "HYPERION"));
+        }
+
+        recommender.onBookRemoved("FOUNDATION");
+        recommender.onBorrowed(borrow("M3", "FOUNDATION")); // Back in the catalog, but paired with nothing yet
+        recommender.onBookRemoved("FOUNDATION");
+        recommender.onBorrowed(borrow("M0", "EMMA")); // M0's history still holds the removed book
+
+        assertEquals(List.of("HYPERION", "EMMA"), recommender.recommend("DUNE", 5));
+        assertEquals(List.of(), recommender.recommend("FOUNDATION", 5));
+    }
+
+    @Test
+    void onBorrowed_ShouldKeepNeighbourListsBoundedButKeepStrongPairs() {
+        AlsoBorrowedRecommender recommender = new AlsoBorrowedRecommender(3, 4);
+        for (int m = 0; m < 10; m++) {
+            recommender.onBorrowed(borrow("M" + m, "HUB"));
+            recommender.onBorrowed(borrow("M" + m, "PARTNER"));
+        }
+        for (int i = 0; i < 50; i++) {
+            recommender.onBorrowed(borrow("ONE_OFF" + i, "HUB"));
+            recommender.onBorrowed(borrow("ONE_OFF" + i, "RARE" + i));
+        }
+
+        List<String> suggestions = recommender.recommend("HUB", 10);
+        assertEquals(3, suggestions.size());
+        assertEquals("PARTNER", suggestions.get(0));
+        assertTrue(recommender.getBookCount() > 50);
+    }
+
+    @Test
+    void onBorrowed_ShouldOnlyPairWithTheMembersRecentBooks() {
+        AlsoBorrowedRecommender recommender = new AlsoBorrowedRecommender(8, 2);
+        recommender.onBorrowed(borrow("M1", "FIRST"));
+        recommender.onBorrowed(borrow("M1", "SECOND"));
+        recommender.onBorrowed(borrow("M1", "THIRD"));
+        recommender.onBorrowed(borrow("M1", "FOURTH"));
+
+        assertEquals(List.of("SECOND", "THIRD"), recommender.recommend("FOURTH", 5)); // FIRST was forgotten
+    }
+}
@@ -2,6 +2,7 @@
 package com.prpcena.library.repository; // Adjust package name
 
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.prpcena.library.exception.VersionConflictException;
 import com.prpcena.library.model.Author;
 import com.prpcena.library.model.Book;
 
@@ -110,4 +112,113 @@ class InMemoryBookRepositoryTest {
     void deleteByIsbn_NullIsbn_ShouldReturnFalse() {
         assertFalse(bookRepository.deleteByIsbn(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByPublicationYearBetween_ShouldReturnBooksInInclusiveRangeOrderedByYear() {
+        Book book1999 = new Book("Title 3", author1, "ISBN003", "Genre1", Year.of(1999), 1);
+        bookRepository.save(book2); // 2001
+        bookRepository.save(book1); // 2000
+        bookRepository.save(book1999);
+
+        List<Book> books = bookRepository.findByPublicationYearBetween(Year.of(2000), Year.of(2001));
+        assertEquals(List.of(book1, book2), books);
+        assertEquals(List.of(book1999), bookRepository.findByPublicationYearBetween(null, Year.of(1999)));
+        assertEquals(3, bookRepository.findByPublicationYearBetween(null, null).size());
+    }
+
+    @Test
+    void findByPublicationYearBetween_AfterUpdateAndDelete_ShouldReflectLatestState() {
+        bookRepository.save(book1);
+        bookRepository.save(new Book("Title 1", author1, "ISBN001", "Genre1", Year.of(1980), 5));
+        assertTrue(bookRepository.findByPublicationYearBetween(Year.of(2000), Year.of(2000)).isEmpty());
+        assertEquals(1, bookRepository.findByPublicationYearBetween(Year.of(1980), Year.of(1980)).size());
+
+        bookRepository.deleteByIsbn("ISBN001");
+        assertTrue(bookRepository.findByPublicationYearBetween(null, null).isEmpty());
+    }
+
+    @Test
+    void findByAuthorSoundingLike_ShouldMatchSpellingVariants() {
+        Book crimeAndPunishment = new Book("Crime and Punishment", new Author("Fyodor", "Dostoyevsky"), "ISBN003",
+                "Fiction", Year.of(1866), 1);
+        bookRepository.save(book1);
+        bookRepository.save(crimeAndPunishment);
+
+        assertEquals(List.of(crimeAndPunishment), bookRepository.findByAuthorSoundingLike("Dostoevsky"));
+        assertEquals(List.of(crimeAndPunishment), bookRepository.findByAuthorSoundingLike("fyodor dostoevski"));
+        assertTrue(bookRepository.findByAuthorSoundingLike("Tolstoi").isEmpty());
+
+        bookRepository.deleteByIsbn("ISBN003");
+        assertTrue(bookRepository.findByAuthorSoundingLike("Dostoevsky").isEmpty());
+    }
+
+    @Test
+    void saveIfVersion_StaleVersion_ShouldFailWithoutOverwriting() {
+        bookRepository.save(book1);
+        Book firstRead = bookRepository.findByIsbn("ISBN001").orElseThrow().copy();
+        Book secondRead = bookRepository.findByIsbn("ISBN001").orElseThrow().copy();
+
+        firstRead.decreaseAvailableCopies();
+        bookRepository.saveIfVersion(firstRead, 1);
+        secondRead.increaseAvailableCopies();
+
+        assertThrows(VersionConflictException.class, () -> bookRepository.saveIfVersion(secondRead, 1));
+        assertEquals(4, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+        assertEquals(2, bookRepository.findByIsbn("ISBN001").orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveIfVersion_NewBook_ShouldExpectVersionZero() {
+        assertEquals(1, bookRepository.saveIfVersion(book1, 0).getVersion());
+        assertThrows(VersionConflictException.class, () -> bookRepository.saveIfVersion(book1.copy(), 0));
+        assertEquals(List.of(book1), bookRepository.findByKeywords("title")); // Indexes follow conditional saves
+    }
+
+    @Test
+    void saveIfVersion_AfterAConflict_ShouldStillAcceptTheStoredVersion() {
+        bookRepository.save(book1);
+
+        assertThrows(VersionConflictException.class, () -> bookRepository.saveIfVersion(book1.copy(), 5));
+
+        Book copy = bookRepository.findByIsbn("ISBN001").orElseThrow().copy();
+        copy.decreaseAvailableCopies();
+        assertEquals(2, bookRepository.saveIfVersion(copy, 1).getVersion()); // The failed claim advanced nothing
+    }
+
+    @Test
+    void searches_AfterACopyCountChange_ShouldReturnTheStoredBook() {
+        bookRepository.save(book1);
+        Book borrowed = bookRepository.findByIsbn("ISBN001").orElseThrow().copy();
+        borrowed.decreaseAvailableCopies();
+        bookRepository.saveIfVersion(borrowed, 1);
+
+        assertEquals(4, bookRepository.findByKeywords("title").get(0).getAvailableCopies());
+        assertEquals(4, bookRepository.findByAuthorSoundingLike("author").get(0).getAvailableCopies());
+        assertEquals(4, bookRepository.findByPublicationYearBetween(null, null).get(0).getAvailableCopies());
+    }
+
+    @Test
+    void saveAll_LargeBatch_ShouldLeaveEveryIndexAsSavingOneByOneWould() {
+        BookRepository oneByOne = new InMemoryBookRepository();
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) { // Above the threshold for updating indexes in parallel
+            String isbn = "ISBN" + i % 2500; // Some ISBNs saved twice, the later one winning
+            batch.add(new Book("Volume " + i, new Author("Jane", i % 2 == 0 ? "Austen" : "Osten"), isbn,
+                    "Genre" + i % 7, Year.of(1900 + i % 120), 1));
+            oneByOne.save(new Book("Volume " + i, new Author("Jane", i % 2 == 0 ? "Austen" : "Osten"), isbn,
+                    "Genre" + i % 7, Year.of(1900 + i % 120), 1));
+        }
+
+        bookRepository.saveAll(batch);
+
+        assertEquals(2500, bookRepository.findAll().size());
+        assertEquals(oneByOne.countFacets(), bookRepository.countFacets());
+        assertEquals(oneByOne.findByKeywords("volume 29").size(), bookRepository.findByKeywords("volume 29").size());
+        assertTrue(bookRepository.findByKeywords("volume 10").stream()
+                .noneMatch(book -> book.getTitle().equals("Volume 10"))); // Replaced by volume 2510
+        assertEquals(oneByOne.findByAuthorSoundingLike("Austin").size(),
+                bookRepository.findByAuthorSoundingLike("Austin").size());
+        assertEquals(oneByOne.findByPublicationYearBetween(Year.of(1950), Year.of(1960)).size(),
+                bookRepository.findByPublicationYearBetween(Year.of(1950), Year.of(1960)).size());
+    }
+}
@@ -0,0 +1,113 @@
+// src/test/java/com/prpcena/library/repository/InMemoryHoldRepositoryTest.java
+package com.prpcena.library.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+
+class InMemoryHoldRepositoryTest {
+    private HoldRepository holdRepository;
+
+    @BeforeEach
+    void setUp() {
+        holdRepository = new InMemoryHoldRepository();
+    }
+
+    @Test
+    void findNextWaiting_ShouldServeHoldsInArrivalOrder() {
+        Hold first = holdRepository.save(new Hold("ISBN001", "M1", LocalDateTime.now()));
+        Hold second = holdRepository.save(new Hold("ISBN001", "M2", LocalDateTime.now()));
+        Hold other = holdRepository.save(new Hold("ISBN002", "M3", LocalDateTime.now()));
+
+        assertEquals(first, holdRepository.findNextWaiting("ISBN001").orElseThrow());
+
+        first.markReadyForPickup(LocalDateTime.now());
+        holdRepository.save(first);
+
+        assertEquals(second, holdRepository.findNextWaiting("ISBN001").orElseThrow());
+        assertEquals(1, holdRepository.countWaiting("ISBN001"));
+        assertTrue(holdRepository.findActiveByMemberAndBook("M1", "ISBN001").isPresent()); // Ready is still active
+        assertEquals(List.of(first, second, other), holdRepository.findAll()); // Resaving keeps the first save's place
+    }
+
+    @Test
+    void getQueuePosition_ShouldAccountForHoldsLeavingFromAnyPosition() {
+        List<Hold> holds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) { // Enough to grow the wait-list's ticket space
+            holds.add(holdRepository.save(new Hold("ISBN001", "M" + i, LocalDateTime.now())));
+        }
+        for (int i = 10; i < 20; i++) {
+            holds.get(i).setStatus(HoldStatus.CANCELLED);
+            holdRepository.save(holds.get(i));
+        }
+        holds.get(0).markReadyForPickup(LocalDateTime.now());
+        holdRepository.save(holds.get(0));
+
+        assertEquals(0, holdRepository.getQueuePosition(holds.get(0)));
+        assertEquals(1, holdRepository.getQueuePosition(holds.get(1)));
+        assertEquals(9, holdRepository.getQueuePosition(holds.get(9)));
+        assertEquals(0, holdRepository.getQueuePosition(holds.get(15)));
+        assertEquals(10, holdRepository.getQueuePosition(holds.get(20)));
+        assertEquals(89, holdRepository.getQueuePosition(holds.get(99)));
+        assertEquals(89, holdRepository.countWaiting("ISBN001"));
+    }
+
+    @Test
+    void getQueuePosition_WhenWaitListNeverEmpties_ShouldKeepCountingFromTheFront() {
+        List<Hold> waiting = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiting.add(holdRepository.save(new Hold("ISBN001", "M" + i, LocalDateTime.now())));
+        }
+        for (int i = 5; i < 1000; i++) { // Many times the ticket space, so the list is compacted along the way
+            Hold front = waiting.remove(0);
+            front.setStatus(HoldStatus.CANCELLED);
+            holdRepository.save(front);
+            waiting.add(holdRepository.save(new Hold("ISBN001", "M" + i, LocalDateTime.now())));
+        }
+
+        for (int i = 0; i < waiting.size(); i++) {
+            assertEquals(i + 1, holdRepository.getQueuePosition(waiting.get(i)));
+        }
+        assertEquals(waiting.get(0), holdRepository.findNextWaiting("ISBN001").orElseThrow());
+    }
+
+    @Test
+    void findReadyForPickupBefore_ShouldReturnOnlyUncollectedHoldsSetAsideBeforeTheCutoff() {
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 15, 9, 0);
+        Hold stale = holdRepository.save(new Hold("ISBN001", "M1", LocalDateTime.now()));
+        Hold recent = holdRepository.save(new Hold("ISBN002", "M2", LocalDateTime.now()));
+        Hold collected = holdRepository.save(new Hold("ISBN003", "M3", LocalDateTime.now()));
+        stale.markReadyForPickup(cutoff.minusDays(1));
+        recent.markReadyForPickup(cutoff.plusHours(1));
+        collected.markReadyForPickup(cutoff.minusDays(2));
+        holdRepository.save(stale);
+        holdRepository.save(recent);
+        holdRepository.save(collected);
+        collected.setStatus(HoldStatus.FULFILLED);
+        holdRepository.save(collected);
+
+        assertEquals(List.of(stale), holdRepository.findReadyForPickupBefore(cutoff));
+    }
+
+    @Test
+    void save_WhenWaitListEmpties_ShouldRestartPositions() {
+        Hold first = holdRepository.save(new Hold("ISBN001", "M1", LocalDateTime.now()));
+        first.setStatus(HoldStatus.CANCELLED);
+        holdRepository.save(first);
+
+        Hold next = holdRepository.save(new Hold("ISBN001", "M2", LocalDateTime.now()));
+
+        assertEquals(1, holdRepository.getQueuePosition(next));
+        assertFalse(holdRepository.findActiveByMemberAndBook("M1", "ISBN001").isPresent());
+        assertEquals(List.of(next), holdRepository.findActiveByMemberId("M2"));
+    }
+}
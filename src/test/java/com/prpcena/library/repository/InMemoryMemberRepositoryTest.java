@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.prpcena.library.exception.VersionConflictException;
 import com.prpcena.library.model.Member;
 
 class InMemoryMemberRepositoryTest {
@@ -107,4 +108,34 @@ class InMemoryMemberRepositoryTest {
     void deleteById_NullId_ShouldReturnFalse() {
         assertFalse(memberRepository.deleteById(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveIfVersion_ShouldBumpVersionAndRejectStaleWriters() {
+        memberRepository.save(member1);
+        Member read = memberRepository.findById(member1.getMemberId()).orElseThrow();
+        Member rename = read.copy();
+        rename.setName("Alice Liddell");
+        Member recontact = read.copy();
+        recontact.setContactInfo("alice@wonderland.example");
+
+        assertEquals(2, memberRepository.saveIfVersion(rename, read.getVersion()).getVersion());
+
+        assertThrows(VersionConflictException.class,
+                () -> memberRepository.saveIfVersion(recontact, read.getVersion()));
+        Member stored = memberRepository.findById(member1.getMemberId()).orElseThrow();
+        assertEquals("Alice Liddell", stored.getName());
+        assertEquals("alice@example.com", stored.getContactInfo());
+    }
+
+    @Test
+    void save_ShouldInvalidateVersionsReadBeforeIt() {
+        memberRepository.save(member1);
+        Member read = memberRepository.findById(member1.getMemberId()).orElseThrow().copy();
+
+        memberRepository.save(member2);
+        memberRepository.save(member1); // Unconditional saves still bump the version
+
+        assertThrows(VersionConflictException.class, () -> memberRepository.saveIfVersion(read, 1));
+        assertEquals(2, memberRepository.saveIfVersion(member2.copy(), 1).getVersion()); // Other members unaffected
+    }
+}
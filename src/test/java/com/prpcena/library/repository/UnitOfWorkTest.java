@@ -0,0 +1,142 @@
+// src/test/java/com/prpcena/library/repository/UnitOfWorkTest.java
+package com.prpcena.library.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.VersionConflictException;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+
+class UnitOfWorkTest {
+    private BookRepository bookRepository;
+    private MemberRepository memberRepository;
+    private FailingTransactionRepository transactionRepository;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = new InMemoryBookRepository();
+        memberRepository = new InMemoryMemberRepository();
+        transactionRepository = new FailingTransactionRepository();
+        book = bookRepository.save(new Book("Title", new Author("Test", "Author"), "ISBN001", "Genre", Year.of(2000), 2));
+        member = memberRepository.save(new Member("Test Member", "test@example.com"));
+    }
+
+    @Test
+    void commit_ShouldWriteAllChanges() {
+        Transaction loan = new Transaction(book.getIsbn(), member.getMemberId(), LocalDate.now().plusDays(14),
+                LocalDateTime.now());
+        UnitOfWork work = newUnitOfWork();
+        work.changeBook(book).decreaseAvailableCopies();
+        work.addTransaction(loan);
+
+        work.commit();
+
+        assertEquals(1, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+        assertEquals(List.of(loan), transactionRepository.findOpenBorrowTransactionsByMember(member.getMemberId()));
+    }
+
+    @Test
+    void changeBook_ShouldReturnOneCopyAndLeaveTheReadBookAlone() {
+        UnitOfWork work = newUnitOfWork();
+        Book changed = work.changeBook(book);
+        changed.decreaseAvailableCopies();
+
+        assertNotSame(book, changed);
+        assertSame(changed, work.changeBook(book));
+        assertEquals(2, book.getAvailableCopies());
+        assertEquals(2, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void commit_WhenBookChangedSinceRead_ShouldConflictAndWriteNothing() {
+        Transaction loan = new Transaction(book.getIsbn(), member.getMemberId(), LocalDate.now().plusDays(14),
+                LocalDateTime.now());
+        UnitOfWork work = newUnitOfWork();
+        work.changeBook(book).decreaseAvailableCopies();
+        work.addTransaction(loan);
+        Book concurrent = book.copy();
+        concurrent.decreaseAvailableCopies();
+        bookRepository.saveIfVersion(concurrent, book.getVersion());
+
+        assertThrows(VersionConflictException.class, work::commit);
+
+        assertEquals(1, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+        assertTrue(transactionRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void commit_WhenLastGroupFails_ShouldRestoreEarlierWrites() {
+        Transaction loan = new Transaction(book.getIsbn(), member.getMemberId(), LocalDate.now().minusDays(1),
+                LocalDateTime.now());
+        transactionRepository.save(loan);
+        UnitOfWork work = newUnitOfWork();
+        work.changeBook(book).increaseAvailableCopies();
+        work.changeMember(member).setTier(MemberTier.PREMIUM);
+        work.changeTransaction(loan).setReturnDateTime(LocalDateTime.now());
+        transactionRepository.failNextWrite = true;
+
+        assertThrows(IllegalStateException.class, work::commit);
+
+        assertEquals(2, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+        assertEquals(MemberTier.STANDARD, memberRepository.findById(member.getMemberId()).orElseThrow().getTier());
+        assertNull(loan.getReturnDateTime());
+        assertEquals(List.of(loan), transactionRepository.findOpenBorrowTransactionsByMember(member.getMemberId()));
+    }
+
+    @Test
+    void rollback_ShouldDiscardWithoutWriting() {
+        long versionBefore = book.getVersion();
+        UnitOfWork work = newUnitOfWork();
+        work.changeBook(book).decreaseAvailableCopies();
+
+        work.rollback();
+
+        assertEquals(2, book.getAvailableCopies());
+        assertEquals(versionBefore, bookRepository.findByIsbn("ISBN001").orElseThrow().getVersion());
+        assertThrows(IllegalStateException.class, work::commit);
+    }
+
+    @Test
+    void isEmpty_ShouldReflectChanges() {
+        UnitOfWork work = newUnitOfWork();
+        assertTrue(work.isEmpty());
+        work.changeBook(book);
+        assertFalse(work.isEmpty());
+    }
+
+    private UnitOfWork newUnitOfWork() {
+        return new UnitOfWork(bookRepository, memberRepository, transactionRepository);
+    }
+
+    private static final class FailingTransactionRepository extends InMemoryTransactionRepository {
+        private boolean failNextWrite;
+
+        @Override
+        public List<Transaction> saveAll(Collection<Transaction> batch) {
+            if (failNextWrite) {
+                failNextWrite = false;
+                throw new IllegalStateException("Simulated write failure");
+            }
+            return super.saveAll(batch);
+        }
+    }
+}
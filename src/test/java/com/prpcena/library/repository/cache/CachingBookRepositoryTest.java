@@ -0,0 +1,202 @@
+// src/test/java/com/prpcena/library/repository/cache/CachingBookRepositoryTest.java
+package com.prpcena.library.repository.cache;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.prpcena.library.exception.VersionConflictException;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.TransactionScope;
+
+class CachingBookRepositoryTest {
+    private BookRepository backend;
+    private CachingBookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        backend = spy(new InMemoryBookRepository());
+        bookRepository = new CachingBookRepository(backend, 2);
+    }
+
+    private static Book book(String isbn) {
+        return new Book("Title " + isbn, new Author("Jane", "Doe"), isbn, "Fiction", Year.of(2000), 1);
+    }
+
+    @Test
+    void findByIsbn_ShouldReadTheBackendOncePerIsbn() {
+        backend.save(book("ISBN001"));
+
+        Book first = bookRepository.findByIsbn("ISBN001").orElseThrow();
+        Book second = bookRepository.findByIsbn("ISBN001").orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        verify(backend, times(1)).findByIsbn("ISBN001");
+        CacheStats stats = bookRepository.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void findByIsbn_ShouldHandOutCopiesTheCallerMayChange() {
+        backend.save(book("ISBN001"));
+
+        bookRepository.findByIsbn("ISBN001").orElseThrow().decreaseAvailableCopies();
+        bookRepository.findAllByIsbn(List.of("ISBN001")).get("ISBN001").decreaseAvailableCopies();
+
+        assertEquals(1, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void findByIsbn_InsideATransaction_ShouldNotCacheWhatItReads() {
+        FakeScope scope = new FakeScope();
+        bookRepository = new CachingBookRepository(backend, 2, scope);
+        backend.save(book("ISBN001"));
+
+        scope.atomically(() -> bookRepository.findByIsbn("ISBN001"));
+        bookRepository.findByIsbn("ISBN001");
+
+        verify(backend, times(2)).findByIsbn("ISBN001");
+        assertEquals(1, bookRepository.getStats().getSize());
+    }
+
+    @Test
+    void save_InsideATransaction_ShouldInvalidateAgainWhenItCompletes() {
+        FakeScope scope = new FakeScope();
+        bookRepository = new CachingBookRepository(backend, 2, scope);
+        scope.active = true;
+        bookRepository.save(book("ISBN001"));
+        scope.active = false;
+        bookRepository.findByIsbn("ISBN001"); // Another reader, before the commit
+
+        scope.complete();
+        bookRepository.findByIsbn("ISBN001");
+
+        verify(backend, times(2)).findByIsbn("ISBN001");
+    }
+
+    @Test
+    void findByIsbn_ShouldCacheMissingIsbnsUntilOneIsSaved() {
+        assertFalse(bookRepository.findByIsbn("ISBN404").isPresent());
+        assertFalse(bookRepository.findByIsbn("ISBN404").isPresent());
+        verify(backend, times(1)).findByIsbn("ISBN404");
+        assertEquals(1, bookRepository.getStats().getNegativeHitCount());
+
+        bookRepository.save(book("ISBN404"));
+
+        assertTrue(bookRepository.findByIsbn("ISBN404").isPresent());
+        verify(backend, times(2)).findByIsbn("ISBN404");
+    }
+
+    @Test
+    void findByIsbn_ShouldEvictAnEntryNotUsedSinceTheLastEviction() {
+        bookRepository.findByIsbn("A");
+        bookRepository.findByIsbn("B");
+        bookRepository.findByIsbn("A"); // B is now the eldest
+        bookRepository.findByIsbn("C");
+
+        bookRepository.findByIsbn("A");
+        bookRepository.findByIsbn("B");
+
+        verify(backend, times(1)).findByIsbn("A");
+        verify(backend, times(2)).findByIsbn("B");
+        assertEquals(2, bookRepository.getStats().getEvictionCount());
+        assertEquals(2, bookRepository.getStats().getSize());
+    }
+
+    @Test
+    void saveIfVersion_WhenItConflicts_ShouldStillInvalidate() {
+        bookRepository.save(book("ISBN001"));
+        Book cached = bookRepository.findByIsbn("ISBN001").orElseThrow();
+        Book stale = cached.copy();
+        Book fresh = cached.copy();
+        fresh.decreaseAvailableCopies();
+        backend.saveIfVersion(fresh, cached.getVersion()); // Bypasses the cache
+
+        assertThrows(VersionConflictException.class, () -> bookRepository.saveIfVersion(stale, stale.getVersion()));
+
+        assertEquals(0, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void findAllByIsbn_ShouldOnlyLoadIsbnsNotCached() {
+        backend.save(book("ISBN001"));
+        backend.save(book("ISBN002"));
+        bookRepository.findByIsbn("ISBN002");
+
+        Map<String, Book> found = bookRepository.findAllByIsbn(List.of("ISBN001", "ISBN002", "ISBN404"));
+
+        assertEquals(List.of("ISBN001", "ISBN002"), List.copyOf(found.keySet()));
+        verify(backend).findAllByIsbn(List.of("ISBN001", "ISBN404"));
+        assertFalse(bookRepository.findByIsbn("ISBN404").isPresent()); // Cached as missing by the batch
+        verify(backend, times(0)).findByIsbn("ISBN404");
+    }
+
+    @Test
+    void saveAll_WhenTheBackendFails_ShouldInvalidateEveryIsbn() {
+        backend.save(book("ISBN001"));
+        bookRepository.findByIsbn("ISBN001");
+        doThrow(new IllegalStateException("Backend down")).when(backend).saveAll(anyCollection());
+
+        assertThrows(IllegalStateException.class, () -> bookRepository.saveAll(List.of(book("ISBN001"))));
+
+        bookRepository.findByIsbn("ISBN001");
+        verify(backend, times(2)).findByIsbn("ISBN001");
+    }
+
+    // Stands in for the connection pool: active while the test says so, completion on demand
+    private static final class FakeScope implements TransactionScope {
+        private final List<Runnable> actions = new ArrayList<>();
+        private boolean active;
+
+        @Override
+        public <T> T atomically(Supplier<T> work) {
+            active = true;
+            try {
+                return work.get();
+            } finally {
+                active = false;
+                complete();
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void afterCompletion(Runnable action) {
+            if (active) {
+                actions.add(action);
+            } else {
+                action.run();
+            }
+        }
+
+        void complete() {
+            actions.forEach(Runnable::run);
+            actions.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// src/test/java/com/prpcena/library/repository/cache/CachingMemberRepositoryTest.java
+package com.prpcena.library.repository.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.prpcena.library.model.Member;
+import com.prpcena.library.repository.InMemoryMemberRepository;
+import com.prpcena.library.repository.MemberRepository;
+
+class CachingMemberRepositoryTest {
+    private MemberRepository backend;
+    private CachingMemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        backend = spy(new InMemoryMemberRepository());
+        memberRepository = new CachingMemberRepository(backend, 10);
+    }
+
+    @Test
+    void save_ShouldMakeTheNextLookupReadTheBackend() {
+        Member member = memberRepository.save(new Member("Alice", "alice@example.com"));
+        memberRepository.findById(member.getMemberId());
+        memberRepository.findById(member.getMemberId());
+
+        member.setName("Alice Smith");
+        memberRepository.save(member);
+
+        assertEquals("Alice Smith", memberRepository.findById(member.getMemberId()).orElseThrow().getName());
+        verify(backend, times(2)).findById(member.getMemberId());
+    }
+
+    @Test
+    void deleteById_ShouldCacheTheMemberAsMissing() {
+        Member member = memberRepository.save(new Member("Bob", "bob@example.com"));
+        memberRepository.findById(member.getMemberId());
+
+        memberRepository.deleteById(member.getMemberId());
+
+        assertFalse(memberRepository.findById(member.getMemberId()).isPresent());
+        assertFalse(memberRepository.findById(member.getMemberId()).isPresent());
+        verify(backend, times(2)).findById(member.getMemberId());
+        assertEquals(1, memberRepository.getStats().getNegativeHitCount());
+    }
+}
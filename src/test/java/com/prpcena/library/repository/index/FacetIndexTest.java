@@ -0,0 +1,94 @@
+// src/test/java/com/prpcena/library/repository/index/FacetIndexTest.java
+package com.prpcena.library.repository.index;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.FacetCounts;
+
+class FacetIndexTest {
+    private FacetIndex index;
+    private Book book1, book2, book3;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex();
+        Author tolkien = new Author("J.R.R.", "Tolkien");
+        book1 = new Book("The Hobbit", tolkien, "ISBN001", "Fantasy", Year.of(1937), 1);
+        book2 = new Book("The Lord of the Rings", tolkien, "ISBN002", "Fantasy", Year.of(1954), 1);
+        book3 = new Book("Dune", new Author("Frank", "Herbert"), "ISBN003", "Science Fiction", Year.of(1965), 1);
+        index.onSave(null, book1);
+        index.onSave(null, book2);
+        index.onSave(null, book3);
+    }
+
+    @Test
+    void countAll_ShouldMatchGroupingOverAllBooks() {
+        FacetCounts counts = index.countAll();
+        assertEquals(FacetCounts.of(Arrays.asList(book1, book2, book3)), counts);
+        assertEquals(2, counts.getGenreCounts().get("Fantasy"));
+        assertEquals(1, counts.getDecadeCounts().get(1930));
+        assertEquals(2, counts.getAuthorCounts().get("J.R.R. Tolkien"));
+    }
+
+    @Test
+    void count_ForSubset_ShouldOnlyCountSubset() {
+        FacetCounts counts = index.count(Arrays.asList(book2, book3));
+        assertEquals(2, counts.getTotalBooks());
+        assertEquals(1, counts.getGenreCounts().get("Fantasy"));
+        assertEquals(1, counts.getGenreCounts().get("Science Fiction"));
+        assertFalse(counts.getDecadeCounts().containsKey(1930));
+    }
+
+    @Test
+    void onSave_ReplacingBook_ShouldMoveCounts() {
+        Book retagged = new Book("The Hobbit", book1.getAuthor(), "ISBN001", "Children", Year.of(1937), 1);
+        index.onSave(book1, retagged);
+        FacetCounts counts = index.countAll();
+        assertEquals(3, counts.getTotalBooks());
+        assertEquals(1, counts.getGenreCounts().get("Fantasy"));
+        assertEquals(1, counts.getGenreCounts().get("Children"));
+    }
+
+    @Test
+    void onDelete_ShouldRemoveEmptyFacetValues() {
+        index.onDelete(book3);
+        FacetCounts counts = index.countAll();
+        assertEquals(2, counts.getTotalBooks());
+        assertFalse(counts.getGenreCounts().containsKey("Science Fiction"));
+        assertFalse(counts.getAuthorCounts().containsKey("Frank Herbert"));
+    }
+
+    @Test
+    void count_LargeCatalog_BothCountingPathsShouldAgreeWithGrouping() {
+        List<Book> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Book book = new Book("Title " + i, new Author("First", "Last" + (i % 50)), "ISBN-" + i,
+                    "Genre" + (i % 7), Year.of(1900 + i % 120), 1);
+            index.onSave(null, book);
+            all.add(book);
+        }
+        // A dense filter (every other book) and a sparse filter (every 100th book).
+        List<Book> dense = new ArrayList<>();
+        List<Book> sparse = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (i % 2 == 0) {
+                dense.add(all.get(i));
+            }
+            if (i % 100 == 0) {
+                sparse.add(all.get(i));
+            }
+        }
+        assertEquals(FacetCounts.of(dense), index.count(dense));
+        assertEquals(FacetCounts.of(sparse), index.count(sparse));
+    }
+}
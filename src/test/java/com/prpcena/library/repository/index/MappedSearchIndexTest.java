@@ -0,0 +1,137 @@
+// src/test/java/com/prpcena/library/repository/index/MappedSearchIndexTest.java
+package com.prpcena.library.repository.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.repository.InMemoryBookRepository;
+
+class MappedSearchIndexTest {
+    @TempDir
+    Path tempDir;
+
+    private InMemoryBookRepository repository;
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryBookRepository();
+        Author tolkien = new Author("J.R.R.", "Tolkien");
+        repository.save(new Book("The Hobbit", tolkien, "ISBN001", "Fantasy", Year.of(1937), 1));
+        repository.save(new Book("The Lord of the Rings", tolkien, "ISBN002", "Fantasy", Year.of(1954), 1));
+        repository.save(new Book("Crime and Punishment", new Author("Fyodor", "Dostoevsky"), "ISBN003",
+                "Fiction", Year.of(1866), 1));
+        indexFile = tempDir.resolve("search.idx");
+    }
+
+    @Test
+    void writeAndOpen_ShouldAnswerQueriesLikeTheInMemoryIndex() throws IOException {
+        repository.writeSearchIndex(indexFile);
+        MappedSearchIndex mapped = MappedSearchIndex.open(indexFile);
+
+        assertEquals(repository.getCatalogVersion(), mapped.getCatalogVersion());
+        assertEquals(3, mapped.getDocumentCount());
+        for (String query : List.of("the", "lord ring", "tolk", "crime dost", "hobbit tolkien", "missing", "t")) {
+            List<String> expected = repository.findByKeywords(query).stream()
+                    .map(Book::getIsbn).sorted().collect(Collectors.toList());
+            assertEquals(expected, mapped.findIsbnsByKeywords(query), "Query: " + query);
+        }
+    }
+
+    @Test
+    void openIfCurrent_AfterCatalogTextChange_ShouldReportStale() throws IOException {
+        repository.writeSearchIndex(indexFile);
+        long writtenVersion = repository.getCatalogVersion();
+        assertTrue(MappedSearchIndex.openIfCurrent(indexFile, writtenVersion).isPresent());
+
+        repository.deleteByIsbn("ISBN003");
+        assertNotEquals(writtenVersion, repository.getCatalogVersion());
+        assertFalse(MappedSearchIndex.openIfCurrent(indexFile, repository.getCatalogVersion()).isPresent());
+    }
+
+    @Test
+    void catalogVersion_ShouldIgnoreCopyCountChangesAndMatchAcrossRebuilds() {
+        long version = repository.getCatalogVersion();
+        Book hobbit = repository.findByIsbn("ISBN001").get();
+        hobbit.decreaseAvailableCopies();
+        repository.save(hobbit);
+        assertEquals(version, repository.getCatalogVersion());
+
+        // Same catalog loaded in a different order gives the same stamp
+        InMemoryBookRepository rebuilt = new InMemoryBookRepository();
+        List<Book> books = repository.findAll();
+        for (int i = books.size() - 1; i >= 0; i--) {
+            rebuilt.save(books.get(i));
+        }
+        assertEquals(version, rebuilt.getCatalogVersion());
+    }
+
+    @Test
+    void catalogVersion_ShouldChangeWhenTextChangesButWordsDoNot() {
+        long version = repository.getCatalogVersion();
+        Book hobbit = repository.findByIsbn("ISBN001").get().copy();
+        Book renamed = new Book("the HOBBIT!", hobbit.getAuthor(), hobbit.getIsbn(), hobbit.getGenre(),
+                hobbit.getPublicationYear(), hobbit.getAvailableCopies());
+        repository.save(renamed);
+
+        assertNotEquals(version, repository.getCatalogVersion());
+    }
+
+    @Test
+    void openSearchIndex_WithCurrentFile_ShouldMapItAndIndexLaterChanges() throws IOException {
+        repository.writeSearchIndex(indexFile);
+        InMemoryBookRepository restarted = new InMemoryBookRepository(indexFile);
+        restarted.saveAll(repository.findAll());
+
+        assertTrue(restarted.openSearchIndex());
+
+        assertEquals(List.of("ISBN001", "ISBN002"), isbns(restarted.findByKeywords("tolkien")));
+        Author tolkien = new Author("J.R.R.", "Tolkien");
+        restarted.save(new Book("The Silmarillion", tolkien, "ISBN004", "Fantasy", Year.of(1977), 1));
+        restarted.save(new Book("There and Back Again", tolkien, "ISBN001", "Fantasy", Year.of(1937), 1));
+        restarted.deleteByIsbn("ISBN002");
+        assertEquals(List.of("ISBN001", "ISBN004"), isbns(restarted.findByKeywords("tolkien")));
+        assertTrue(restarted.findByKeywords("hobbit").isEmpty());
+        assertEquals(List.of("ISBN001"), isbns(restarted.findByKeywords("back again")));
+    }
+
+    @Test
+    void openSearchIndex_WithStaleFile_ShouldRebuildAndRewriteIt() throws IOException {
+        repository.writeSearchIndex(indexFile);
+        repository.deleteByIsbn("ISBN003");
+        InMemoryBookRepository restarted = new InMemoryBookRepository(indexFile);
+        restarted.saveAll(repository.findAll());
+
+        assertFalse(restarted.openSearchIndex());
+
+        assertEquals(List.of("ISBN001", "ISBN002"), isbns(restarted.findByKeywords("tolkien")));
+        assertTrue(MappedSearchIndex.openIfCurrent(indexFile, restarted.getCatalogVersion()).isPresent());
+    }
+
+    private static List<String> isbns(List<Book> books) {
+        return books.stream().map(Book::getIsbn).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void open_CorruptFile_ShouldThrowAndOpenIfCurrentShouldReturnEmpty() throws IOException {
+        Files.write(indexFile, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> MappedSearchIndex.open(indexFile));
+        assertFalse(MappedSearchIndex.openIfCurrent(indexFile, 0L).isPresent());
+        assertFalse(MappedSearchIndex.openIfCurrent(tempDir.resolve("missing.idx"), 0L).isPresent());
+    }
+}
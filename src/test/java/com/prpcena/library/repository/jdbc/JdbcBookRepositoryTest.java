@@ -0,0 +1,134 @@
+// src/test/java/com/prpcena/library/repository/jdbc/JdbcBookRepositoryTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.VersionConflictException;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+
+class JdbcBookRepositoryTest {
+    private JdbcConnectionPool pool;
+    private JdbcBookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 2);
+        bookRepository = new JdbcBookRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private static Book book(String isbn, Year year) {
+        return new Book("Title " + isbn, new Author("Jane", "Doe"), isbn, "Fiction", year, 2);
+    }
+
+    @Test
+    void save_ShouldRoundTripEveryFieldAndBumpTheVersion() {
+        Book saved = bookRepository.save(book("ISBN1", Year.of(1999)));
+        assertEquals(1, saved.getVersion());
+
+        saved.decreaseAvailableCopies();
+        bookRepository.save(saved);
+
+        Book found = bookRepository.findByIsbn("ISBN1").orElseThrow();
+        assertNotSame(saved, found);
+        assertEquals("Title ISBN1", found.getTitle());
+        assertEquals(new Author("Jane", "Doe"), found.getAuthor());
+        assertEquals("Fiction", found.getGenre());
+        assertEquals(Year.of(1999), found.getPublicationYear());
+        assertEquals(1, found.getAvailableCopies());
+        assertEquals(2, found.getVersion());
+    }
+
+    @Test
+    void save_NoPublicationYear_ShouldStoreNull() {
+        bookRepository.save(book("ISBN1", null));
+
+        assertNull(bookRepository.findByIsbn("ISBN1").orElseThrow().getPublicationYear());
+    }
+
+    @Test
+    void saveIfVersion_StaleVersion_ShouldThrowAndKeepTheStoredBook() {
+        bookRepository.saveIfVersion(book("ISBN1", Year.of(2000)), 0);
+        Book first = bookRepository.findByIsbn("ISBN1").orElseThrow().copy();
+        Book second = first.copy();
+
+        first.decreaseAvailableCopies();
+        bookRepository.saveIfVersion(first, 1);
+        second.increaseAvailableCopies();
+
+        assertThrows(VersionConflictException.class, () -> bookRepository.saveIfVersion(second, 1));
+        assertThrows(VersionConflictException.class,
+                () -> bookRepository.saveIfVersion(book("ISBN1", Year.of(2000)), 0));
+        assertEquals(1, bookRepository.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+        assertEquals(2, bookRepository.findByIsbn("ISBN1").orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveAll_MixOfNewAndExisting_ShouldInsertAndUpdateInOneBatch() {
+        bookRepository.save(book("ISBN1", Year.of(2000)));
+        Book updated = book("ISBN1", Year.of(2001));
+        Book added = book("ISBN2", Year.of(2002));
+
+        bookRepository.saveAll(List.of(updated, added));
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(1, added.getVersion());
+        assertEquals(List.of("ISBN1", "ISBN2"), bookRepository.findAll().stream().map(Book::getIsbn).toList());
+        assertEquals(Year.of(2001), bookRepository.findByIsbn("ISBN1").orElseThrow().getPublicationYear());
+    }
+
+    @Test
+    void findAllByIsbn_ShouldKeepTheRequestedOrderAndSkipMissing() {
+        bookRepository.saveAll(List.of(book("A", Year.of(2000)), book("B", Year.of(2000))));
+
+        Map<String, Book> found = bookRepository.findAllByIsbn(List.of("B", "MISSING", "A"));
+
+        assertEquals(List.of("B", "A"), List.copyOf(found.keySet()));
+    }
+
+    @Test
+    void findByPublicationYearBetween_ShouldUseInclusiveAndOpenBounds() {
+        bookRepository.saveAll(List.of(book("A", Year.of(1990)), book("B", Year.of(2000)),
+                book("C", Year.of(2010)), book("D", null)));
+
+        assertEquals(List.of("B", "C"), isbns(bookRepository.findByPublicationYearBetween(Year.of(2000), null)));
+        assertEquals(List.of("A", "B"), isbns(bookRepository.findByPublicationYearBetween(null, Year.of(2000))));
+    }
+
+    @Test
+    void deleteByIsbn_ShouldRemoveOnlyExistingBooks() {
+        bookRepository.save(book("ISBN1", Year.of(2000)));
+
+        assertTrue(bookRepository.deleteByIsbn("ISBN1"));
+        assertFalse(bookRepository.deleteByIsbn("ISBN1"));
+        assertEquals(Optional.empty(), bookRepository.findByIsbn("ISBN1"));
+    }
+
+    @Test
+    void save_NullBook_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> bookRepository.save(null));
+    }
+
+    private static List<String> isbns(List<Book> books) {
+        return books.stream().map(Book::getIsbn).toList();
+    }
+}
@@ -0,0 +1,94 @@
+// src/test/java/com/prpcena/library/repository/jdbc/JdbcHoldRepositoryTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+
+class JdbcHoldRepositoryTest {
+    private static final LocalDateTime PLACED_AT = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+    private JdbcConnectionPool pool;
+    private JdbcHoldRepository holdRepository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 2);
+        holdRepository = new JdbcHoldRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void waitList_ShouldServeHoldsInTheOrderTheyWerePlaced() {
+        Hold first = holdRepository.save(new Hold("ISBN1", "M1", PLACED_AT));
+        Hold second = holdRepository.save(new Hold("ISBN1", "M2", PLACED_AT.plusMinutes(1)));
+        Hold third = holdRepository.save(new Hold("ISBN1", "M3", PLACED_AT.plusMinutes(2)));
+
+        assertEquals(3, holdRepository.countWaiting("ISBN1"));
+        assertEquals(first.getHoldId(), holdRepository.findNextWaiting("ISBN1").orElseThrow().getHoldId());
+        assertEquals(3, holdRepository.getQueuePosition(third));
+
+        second.setStatus(HoldStatus.CANCELLED);
+        holdRepository.save(second);
+        first.markReadyForPickup(PLACED_AT.plusDays(1));
+        holdRepository.save(first);
+
+        assertEquals(1, holdRepository.countWaiting("ISBN1"));
+        assertEquals(0, holdRepository.getQueuePosition(first));
+        assertEquals(1, holdRepository.getQueuePosition(third));
+        assertEquals(third.getHoldId(), holdRepository.findNextWaiting("ISBN1").orElseThrow().getHoldId());
+    }
+
+    @Test
+    void activeAndReadyQueries_ShouldFollowStatusChanges() {
+        Hold ready = holdRepository.save(new Hold("ISBN1", "M1", PLACED_AT));
+        Hold waiting = holdRepository.save(new Hold("ISBN2", "M1", PLACED_AT));
+        ready.markReadyForPickup(PLACED_AT.plusDays(1));
+        holdRepository.save(ready);
+
+        Hold found = holdRepository.findActiveByMemberAndBook("M1", "ISBN1").orElseThrow();
+        assertEquals(HoldStatus.READY_FOR_PICKUP, found.getStatus());
+        assertEquals(PLACED_AT, found.getPlacedDateTime());
+        assertEquals(PLACED_AT.plusDays(1), found.getReadyDateTime());
+        assertEquals(2, holdRepository.findActiveByMemberId("M1").size());
+        assertEquals(List.of(ready), holdRepository.findReadyForPickupBefore(PLACED_AT.plusDays(2)));
+        assertTrue(holdRepository.findReadyForPickupBefore(PLACED_AT.plusDays(1)).isEmpty());
+
+        ready.setStatus(HoldStatus.EXPIRED);
+        holdRepository.save(ready);
+
+        assertFalse(holdRepository.findActiveByMemberAndBook("M1", "ISBN1").isPresent());
+        assertEquals(List.of(waiting), holdRepository.findActiveByMemberId("M1"));
+        assertEquals(HoldStatus.EXPIRED, holdRepository.findById(ready.getHoldId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void fineLedgerStore_ShouldReadEntriesBackInOrder() {
+        JdbcFineLedgerStore store = new JdbcFineLedgerStore(pool);
+        FineLedgerEntry fine = new FineLedgerEntry("M1", LocalDate.of(2024, 3, 20), FineLedgerEntry.Type.FINE, 200,
+                "T1", "ISBN1");
+        FineLedgerEntry payment = new FineLedgerEntry("M1", LocalDate.of(2024, 3, 21), FineLedgerEntry.Type.PAYMENT,
+                -150, null, null);
+
+        store.append(fine);
+        store.append(payment);
+
+        assertEquals(List.of(fine, payment), new JdbcFineLedgerStore(pool).findAll());
+    }
+}
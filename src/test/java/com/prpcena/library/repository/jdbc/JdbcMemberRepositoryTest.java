@@ -0,0 +1,84 @@
+// src/test/java/com/prpcena/library/repository/jdbc/JdbcMemberRepositoryTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.VersionConflictException;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+
+class JdbcMemberRepositoryTest {
+    private JdbcConnectionPool pool;
+    private JdbcMemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 2);
+        memberRepository = new JdbcMemberRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void save_ShouldRoundTripIdDetailsAndTier() {
+        Member member = new Member("Alice Wonderland", "alice@example.com");
+        member.setTier(MemberTier.PREMIUM);
+        memberRepository.save(member);
+
+        Member found = memberRepository.findById(member.getMemberId()).orElseThrow();
+
+        assertEquals(member.getMemberId(), found.getMemberId());
+        assertEquals("Alice Wonderland", found.getName());
+        assertEquals("alice@example.com", found.getContactInfo());
+        assertEquals(MemberTier.PREMIUM, found.getTier());
+        assertEquals(1, found.getVersion());
+    }
+
+    @Test
+    void saveIfVersion_StaleVersion_ShouldThrow() {
+        Member member = memberRepository.save(new Member("Alice Wonderland", "alice@example.com"));
+        Member stale = member.copy();
+        member.setName("Alice Liddell");
+        memberRepository.saveIfVersion(member, 1);
+
+        stale.setName("Someone Else");
+
+        assertThrows(VersionConflictException.class, () -> memberRepository.saveIfVersion(stale, 1));
+        assertEquals("Alice Liddell", memberRepository.findById(member.getMemberId()).orElseThrow().getName());
+    }
+
+    @Test
+    void saveAll_ShouldKeepInsertionOrderAndSetVersions() {
+        Member alice = new Member("Alice Wonderland", "alice@example.com");
+        Member bob = new Member("Bob The Builder", "bob@example.com");
+        memberRepository.save(bob);
+
+        memberRepository.saveAll(List.of(alice, bob));
+
+        assertEquals(1, alice.getVersion());
+        assertEquals(2, bob.getVersion());
+        assertEquals(List.of(bob.getMemberId(), alice.getMemberId()),
+                memberRepository.findAll().stream().map(Member::getMemberId).toList());
+    }
+
+    @Test
+    void deleteById_ShouldRemoveOnlyExistingMembers() {
+        Member member = memberRepository.save(new Member("Alice Wonderland", "alice@example.com"));
+
+        assertTrue(memberRepository.deleteById(member.getMemberId()));
+        assertFalse(memberRepository.deleteById(member.getMemberId()));
+        assertTrue(memberRepository.findById(member.getMemberId()).isEmpty());
+    }
+}
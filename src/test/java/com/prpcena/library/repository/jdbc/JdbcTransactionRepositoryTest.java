@@ -0,0 +1,112 @@
+// src/test/java/com/prpcena/library/repository/jdbc/JdbcTransactionRepositoryTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Transaction;
+
+class JdbcTransactionRepositoryTest {
+    private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+    private JdbcConnectionPool pool;
+    private JdbcTransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 2);
+        transactionRepository = new JdbcTransactionRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private static Transaction loan(String isbn, String memberId) {
+        return new Transaction(isbn, memberId, LocalDate.of(2024, 3, 15), BORROWED_AT);
+    }
+
+    @Test
+    void save_ShouldRoundTripEveryField() {
+        Transaction loan = transactionRepository.save(loan("ISBN1", "M1"));
+        loan.setReturnDateTime(BORROWED_AT.plusDays(3));
+        transactionRepository.save(loan);
+
+        Transaction found = transactionRepository.findById(loan.getTransactionId()).orElseThrow();
+
+        assertEquals("ISBN1", found.getBookIsbn());
+        assertEquals("M1", found.getMemberId());
+        assertEquals(loan.getType(), found.getType());
+        assertEquals(BORROWED_AT, found.getTransactionDateTime());
+        assertEquals(LocalDate.of(2024, 3, 15), found.getDueDate());
+        assertEquals(BORROWED_AT.plusDays(3), found.getReturnDateTime());
+        assertEquals(1, transactionRepository.findAll().size());
+    }
+
+    @Test
+    void openLoanQueries_ShouldFollowReturns() {
+        Transaction first = loan("ISBN1", "M1");
+        Transaction second = loan("ISBN2", "M1");
+        Transaction other = loan("ISBN1", "M2");
+        transactionRepository.saveAll(List.of(first, second, other));
+
+        first.setReturnDateTime(BORROWED_AT.plusDays(1));
+        transactionRepository.save(first);
+
+        assertTrue(transactionRepository.findOpenBorrowTransactionByMemberAndBook("M1", "ISBN1").isEmpty());
+        assertEquals(second, transactionRepository.findOpenBorrowTransactionByMemberAndBook("M1", "ISBN2").get());
+        assertEquals(List.of(second), transactionRepository.findOpenBorrowTransactionsByMember("M1"));
+        assertEquals(List.of(second, other), transactionRepository.findAllOpenBorrowTransactions());
+        assertEquals(List.of(first, second), transactionRepository.findByMemberId("M1"));
+        assertEquals(List.of(first, other), transactionRepository.findByBookIsbn("ISBN1"));
+    }
+
+    @Test
+    void openLoanQueries_ShouldUseTheOpenLoanIndexes() {
+        assertTrue(explain(JdbcTransactionRepository.SELECT_OPEN_BY_MEMBER_AND_BOOK, "M1", "ISBN1")
+                .contains("IDX_TRANSACTIONS_OPEN_BY_MEMBER:"));
+        assertTrue(explain(JdbcTransactionRepository.SELECT_ALL_OPEN).contains("IDX_TRANSACTIONS_OPEN:"));
+    }
+
+    @Test
+    void repeatedQueries_ShouldReuseCachedStatements() {
+        JdbcConnectionPool single = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "", 1);
+        try {
+            JdbcTransactionRepository repository = new JdbcTransactionRepository(single);
+            for (int i = 0; i < 5; i++) {
+                repository.findAllOpenBorrowTransactions();
+                repository.findOpenBorrowTransactionByMemberAndBook("M1", "ISBN" + i);
+            }
+
+            assertEquals(2, single.withConnection(PooledConnection::getCachedStatementCount));
+        } finally {
+            single.close();
+        }
+    }
+
+    private String explain(String sql, String... parameters) {
+        return pool.withConnection(connection -> {
+            try (PreparedStatement explain = connection.getConnection().prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    explain.setString(i + 1, parameters[i]);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1).toUpperCase();
+                }
+            }
+        });
+    }
+}
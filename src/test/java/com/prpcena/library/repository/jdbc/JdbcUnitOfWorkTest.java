@@ -0,0 +1,117 @@
+// src/test/java/com/prpcena/library/repository/jdbc/JdbcUnitOfWorkTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.UnitOfWork;
+
+class JdbcUnitOfWorkTest {
+    private JdbcConnectionPool pool;
+    private JdbcBookRepository bookRepository;
+    private JdbcMemberRepository memberRepository;
+    private FailingTransactionRepository transactionRepository;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 2);
+        bookRepository = new JdbcBookRepository(pool);
+        memberRepository = new JdbcMemberRepository(pool);
+        transactionRepository = new FailingTransactionRepository(pool);
+        book = bookRepository.save(new Book("Title", new Author("Test", "Author"), "ISBN001", "Genre", Year.of(2000), 2));
+        member = memberRepository.save(new Member("Test Member", "test@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void commit_ShouldWriteEverythingInOneTransaction() {
+        Transaction loan = new Transaction(book.getIsbn(), member.getMemberId(), LocalDate.of(2024, 3, 15),
+                LocalDateTime.of(2024, 3, 1, 10, 0));
+        UnitOfWork work = new UnitOfWork(bookRepository, memberRepository, transactionRepository, pool);
+        work.changeBook(book).decreaseAvailableCopies();
+        work.addTransaction(loan);
+
+        work.commit();
+
+        assertEquals(1, bookRepository.findByIsbn("ISBN001").orElseThrow().getAvailableCopies());
+        assertEquals(1, transactionRepository.findOpenBorrowTransactionsByMember(member.getMemberId()).size());
+    }
+
+    @Test
+    void commit_WhenTransactionWriteFails_ShouldRollBackTheBookAndMember() {
+        long bookVersion = book.getVersion();
+        UnitOfWork work = new UnitOfWork(bookRepository, memberRepository, transactionRepository, pool);
+        work.changeBook(book).decreaseAvailableCopies();
+        work.changeMember(member).setTier(MemberTier.PREMIUM);
+        work.addTransaction(new Transaction(book.getIsbn(), member.getMemberId(), LocalDate.of(2024, 3, 15),
+                LocalDateTime.of(2024, 3, 1, 10, 0)));
+        transactionRepository.failNextWrite = true;
+
+        assertThrows(IllegalStateException.class, work::commit);
+
+        Book stored = bookRepository.findByIsbn("ISBN001").orElseThrow();
+        assertEquals(2, stored.getAvailableCopies());
+        assertEquals(bookVersion, stored.getVersion()); // Rolled back, not written twice
+        assertEquals(MemberTier.STANDARD, memberRepository.findById(member.getMemberId()).orElseThrow().getTier());
+        assertTrue(transactionRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void afterCompletion_ShouldRunOnceTheTransactionHasEnded() {
+        List<Boolean> activeWhenRun = new ArrayList<>();
+
+        pool.atomically(() -> {
+            assertTrue(pool.isActive());
+            pool.afterCompletion(() -> activeWhenRun.add(pool.isActive()));
+            return bookRepository.findByIsbn("ISBN001");
+        });
+        assertThrows(IllegalStateException.class, () -> pool.atomically(() -> {
+            pool.afterCompletion(() -> activeWhenRun.add(pool.isActive()));
+            throw new IllegalStateException("Simulated failure");
+        }));
+
+        assertEquals(List.of(false, false), activeWhenRun); // After the commit and after the rollback
+        assertFalse(pool.isActive());
+    }
+
+    private static final class FailingTransactionRepository extends JdbcTransactionRepository {
+        private boolean failNextWrite;
+
+        FailingTransactionRepository(JdbcConnectionPool pool) {
+            super(pool);
+        }
+
+        @Override
+        public List<Transaction> saveAll(Collection<Transaction> batch) {
+            if (failNextWrite) {
+                failNextWrite = false;
+                throw new IllegalStateException("Simulated write failure");
+            }
+            return super.saveAll(batch);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// src/test/java/com/prpcena/library/repository/jdbc/RepositoryBenchmarkTest.java
+package com.prpcena.library.repository.jdbc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.BookRepository;
+import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.InMemoryTransactionRepository;
+import com.prpcena.library.repository.TransactionRepository;
+
+/**
+ * Compares the JDBC repositories with the in-memory ones on the bulk and
+ * open-loan paths. Run with {@code mvn test -Pbenchmarks}; timings are printed,
+ * not asserted. Each comparison runs once untimed first so both sides are
+ * measured after JIT warm-up.
+ */
+@Tag("benchmark")
+class RepositoryBenchmarkTest {
+    private static final int BOOKS = 10_000;
+    private static final int MEMBERS = 1_000;
+    private static final int LOANS = 50_000;
+    private static final int LOOKUPS = 20_000;
+
+    private boolean printing;
+
+    @Test
+    void books_BulkSaveAndLookups() {
+        for (int round = 0; round < 2; round++) {
+            printing = round == 1;
+            try (JdbcConnectionPool pool = newPool()) {
+                compareBooks("in-memory", new InMemoryBookRepository());
+                compareBooks("jdbc", new JdbcBookRepository(pool));
+            }
+        }
+    }
+
+    @Test
+    void transactions_BulkSaveAndOpenLoanQueries() {
+        for (int round = 0; round < 2; round++) {
+            printing = round == 1;
+            try (JdbcConnectionPool pool = newPool()) {
+                compareTransactions("in-memory", new InMemoryTransactionRepository());
+                compareTransactions("jdbc", new JdbcTransactionRepository(pool));
+            }
+        }
+    }
+
+    private void compareBooks(String name, BookRepository repository) {
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book("Title " + i, new Author("First" + i % 100, "Last" + i % 100), "ISBN" + i,
+                    "Genre" + i % 20, Year.of(1900 + i % 120), 3));
+        }
+        time(name, "saveAll " + BOOKS + " books", () -> repository.saveAll(books).size());
+        time(name, "save " + BOOKS + " books one by one", () -> {
+            books.forEach(repository::save);
+            return books.size();
+        });
+        int found = time(name, "findByIsbn x" + LOOKUPS, () -> {
+            int hits = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                hits += repository.findByIsbn("ISBN" + (i * 7919) % BOOKS).isPresent() ? 1 : 0;
+            }
+            return hits;
+        });
+        assertEquals(LOOKUPS, found);
+        time(name, "findByPublicationYearBetween", () -> repository
+                .findByPublicationYearBetween(Year.of(1950), Year.of(1959)).size());
+    }
+
+    private void compareTransactions(String name, TransactionRepository repository) {
+        List<Transaction> loans = new ArrayList<>(LOANS);
+        LocalDateTime borrowedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        for (int i = 0; i < LOANS; i++) {
+            Transaction loan = new Transaction("ISBN" + i % BOOKS, "M" + i % MEMBERS, LocalDate.of(2024, 3, 15),
+                    borrowedAt);
+            if (i % 10 != 0) {
+                loan.setReturnDateTime(borrowedAt.plusDays(5)); // One loan in ten stays open
+            }
+            loans.add(loan);
+        }
+        time(name, "saveAll " + LOANS + " transactions", () -> repository.saveAll(loans).size());
+        int open = time(name, "findAllOpenBorrowTransactions", () -> repository.findAllOpenBorrowTransactions().size());
+        assertEquals(LOANS / 10, open);
+        time(name, "findOpenBorrowTransactionByMemberAndBook x" + LOOKUPS, () -> {
+            int hits = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                Transaction loan = loans.get((i * 7919) % LOANS);
+                hits += repository.findOpenBorrowTransactionByMemberAndBook(loan.getMemberId(), loan.getBookIsbn())
+                        .isPresent() ? 1 : 0;
+            }
+            return hits;
+        });
+    }
+
+    private static JdbcConnectionPool newPool() {
+        return new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4);
+    }
+
+    private <T> T time(String repository, String operation, Supplier<T> work) {
+        long start = System.nanoTime();
+        T result = work.get();
+        if (printing) {
+            System.out.printf("%-10s %-50s %8.1f ms%n", repository, operation, (System.nanoTime() - start) / 1e6);
+        }
+        return result;
+    }
+}
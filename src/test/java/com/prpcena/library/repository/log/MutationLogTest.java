@@ -0,0 +1,253 @@
+// src/test/java/com/prpcena/library/repository/log/MutationLogTest.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.prpcena.library.fine.FineLedgerEntry;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.model.Hold;
+import com.prpcena.library.model.HoldStatus;
+import com.prpcena.library.model.Member;
+import com.prpcena.library.model.MemberTier;
+import com.prpcena.library.model.Transaction;
+import com.prpcena.library.repository.InMemoryBookRepository;
+import com.prpcena.library.repository.InMemoryHoldRepository;
+import com.prpcena.library.repository.InMemoryMemberRepository;
+import com.prpcena.library.repository.InMemoryTransactionRepository;
+import com.prpcena.library.repository.UnitOfWork;
+
+class MutationLogTest {
+    @TempDir
+    Path tempDir;
+
+    private static Book book(String isbn, int copies) {
+        return new Book("Title " + isbn, new Author("Jane", "Doe"), isbn, "Fiction", Year.of(2000), copies);
+    }
+
+    // Writes only when flushed or closed, so each flush is one record
+    private static MutationQueue queue(MutationLog log) {
+        return new MutationQueue(log, 64, 64, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void reopening_ShouldRebuildTheLatestBooksAndLoans() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        Transaction loan = new Transaction("ISBN1", "M1", LocalDate.of(2024, 3, 15), LocalDateTime.of(2024, 3, 1, 10, 0));
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository());
+                MutationQueue queue = queue(log)) {
+            LoggedBookRepository books = new LoggedBookRepository(new InMemoryBookRepository(), queue);
+            LoggedTransactionRepository transactions = new LoggedTransactionRepository(
+                    new InMemoryTransactionRepository(), queue);
+            books.saveAll(List.of(book("ISBN1", 2), book("ISBN2", 1)));
+            queue.flush();
+            transactions.save(loan.copy());
+            queue.flush();
+            books.save(book("ISBN1", 1)); // Lent out
+            books.deleteByIsbn("ISBN2");
+            queue.flush();
+            loan.setReturnDateTime(LocalDateTime.of(2024, 3, 10, 12, 0));
+            transactions.save(loan.copy());
+        }
+
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        try (MutationLog log = MutationLog.open(file, books, transactions)) {
+            assertEquals(4, log.getRecoveredCount());
+        }
+
+        assertEquals(1, books.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+        assertFalse(books.findByIsbn("ISBN2").isPresent());
+        assertEquals(LocalDateTime.of(2024, 3, 10, 12, 0),
+                transactions.findById(loan.getTransactionId()).orElseThrow().getReturnDateTime());
+    }
+
+    @Test
+    void reopening_ShouldRebuildHoldsAndFineLedgers() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        LocalDateTime placedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        Hold first = new Hold("ISBN1", "M1", placedAt);
+        Hold second = new Hold("ISBN1", "M2", placedAt.plusMinutes(1));
+        Hold third = new Hold("ISBN1", "M3", placedAt.plusMinutes(2));
+        FineLedgerEntry fine = new FineLedgerEntry("M1", LocalDate.of(2024, 3, 20), FineLedgerEntry.Type.FINE, 75,
+                "T1", "ISBN1");
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository())) {
+            LoggedHoldRepository holds = new LoggedHoldRepository(new InMemoryHoldRepository(), log);
+            holds.save(first);
+            holds.save(second);
+            holds.save(third);
+            first.markReadyForPickup(placedAt.plusDays(1));
+            holds.save(first);
+            second.setStatus(HoldStatus.CANCELLED);
+            holds.save(second);
+            log.fineLedgerStore().append(fine);
+        }
+
+        InMemoryHoldRepository holds = new InMemoryHoldRepository();
+        List<FineLedgerEntry> entries = new ArrayList<>();
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryMemberRepository(),
+                new InMemoryTransactionRepository(), holds, entries)) {
+            assertEquals(6, log.getRecoveredCount());
+        }
+
+        assertEquals(HoldStatus.READY_FOR_PICKUP, holds.findById(first.getHoldId()).orElseThrow().getStatus());
+        assertFalse(holds.findActiveByMemberAndBook("M2", "ISBN1").isPresent());
+        assertEquals(third.getHoldId(), holds.findNextWaiting("ISBN1").orElseThrow().getHoldId());
+        assertEquals(List.of(fine), entries);
+    }
+
+    @Test
+    void reopening_ShouldRebuildTheLatestMembers() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        Member kept = new Member("Alice", "alice@example.com");
+        Member deleted = new Member("Bob", "bob@example.com");
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository())) {
+            LoggedMemberRepository members = new LoggedMemberRepository(new InMemoryMemberRepository(), log);
+            members.saveAll(List.of(kept, deleted));
+            Member upgraded = kept.copy();
+            upgraded.setTier(MemberTier.PREMIUM);
+            members.saveIfVersion(upgraded, kept.getVersion());
+            members.deleteById(deleted.getMemberId());
+        }
+
+        InMemoryMemberRepository members = new InMemoryMemberRepository();
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), members,
+                new InMemoryTransactionRepository(), new InMemoryHoldRepository(), new ArrayList<>())) {
+            assertEquals(3, log.getRecoveredCount());
+        }
+
+        assertEquals(List.of(kept.getMemberId()), members.findAll().stream().map(Member::getMemberId).toList());
+        assertEquals(MemberTier.PREMIUM, members.findById(kept.getMemberId()).orElseThrow().getTier());
+    }
+
+    @Test
+    void tornLastBatch_ShouldLeaveTheCopiesOfTheBatchBefore() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository());
+                MutationQueue queue = queue(log)) {
+            LoggedBookRepository books = new LoggedBookRepository(new InMemoryBookRepository(), queue);
+            books.save(book("ISBN1", 3));
+            queue.flush();
+            books.save(book("ISBN1", 2));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        try (MutationLog log = MutationLog.open(file, books, new InMemoryTransactionRepository())) {
+            assertTrue(log.getDiscardedBytes() > 0);
+        }
+
+        assertEquals(3, books.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void unitLargerThanARecord_ShouldBeSplitAcrossRecords() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) { // Titles make each book unique, about 50 bytes each
+            batch.add(new Book("A title that is not shared " + i, new Author("Jane", "Doe"), "ISBN" + i,
+                    "Fiction", Year.of(2000), 1));
+        }
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository());
+                MutationQueue queue = queue(log)) {
+            new LoggedBookRepository(new InMemoryBookRepository(), queue).saveAll(batch);
+        }
+
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        try (MutationLog log = MutationLog.open(file, books, new InMemoryTransactionRepository())) {
+            assertTrue(log.getRecoveredCount() > 1);
+        }
+
+        assertEquals(30_000, books.findAll().size());
+        assertTrue(Files.size(file) > RecordLog.MAX_RECORD_SIZE);
+    }
+
+    @Test
+    void borrowAndReturnCutShortAnywhere_ShouldReplayCopiesMatchingTheOpenLoans() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository());
+                MutationQueue queue = queue(log)) {
+            LoggedBookRepository books = new LoggedBookRepository(new InMemoryBookRepository(), queue);
+            LoggedTransactionRepository transactions = new LoggedTransactionRepository(
+                    new InMemoryTransactionRepository(), queue);
+            books.save(book("ISBN1", 2));
+            queue.flush();
+            Transaction loan = new Transaction("ISBN1", "M1", LocalDate.of(2024, 3, 15),
+                    LocalDateTime.of(2024, 3, 1, 10, 0));
+            UnitOfWork borrow = new UnitOfWork(books, new InMemoryMemberRepository(), transactions, queue);
+            borrow.changeBook(books.findByIsbn("ISBN1").orElseThrow()).decreaseAvailableCopies();
+            borrow.addTransaction(loan);
+            borrow.commit(); // The copy count, then the loan
+            queue.flush();
+            UnitOfWork giveBack = new UnitOfWork(books, new InMemoryMemberRepository(), transactions, queue);
+            giveBack.changeBook(books.findByIsbn("ISBN1").orElseThrow()).increaseAvailableCopies();
+            giveBack.changeTransaction(transactions.findById(loan.getTransactionId()).orElseThrow())
+                    .setReturnDateTime(LocalDateTime.of(2024, 3, 10, 12, 0));
+            giveBack.commit();
+        }
+        byte[] written = Files.readAllBytes(file);
+
+        Path damaged = tempDir.resolve("damaged.log");
+        for (int length = 0; length <= written.length; length++) { // Including between a unit's two entries
+            Files.write(damaged, Arrays.copyOf(written, length));
+            InMemoryBookRepository books = new InMemoryBookRepository();
+            InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+            try (MutationLog log = MutationLog.open(damaged, books, transactions)) {
+                if (length == written.length) {
+                    assertEquals(3, log.getRecoveredCount());
+                }
+            }
+            int openLoans = transactions.findAllOpenBorrowTransactions().size();
+            int copies = books.findByIsbn("ISBN1").map(Book::getAvailableCopies).orElse(2);
+            assertEquals(2, copies + openLoans, "copies and open loans after cutting the log to " + length);
+        }
+    }
+
+    @Test
+    void failedUnit_ShouldUndoItsWritesAndLogNothing() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        InMemoryBookRepository memoryBooks = new InMemoryBookRepository();
+        try (MutationLog log = MutationLog.open(file, new InMemoryBookRepository(), new InMemoryTransactionRepository());
+                MutationQueue queue = queue(log)) {
+            LoggedBookRepository books = new LoggedBookRepository(memoryBooks, queue);
+            Book saved = books.save(book("ISBN1", 2));
+            assertThrows(IllegalStateException.class, () -> queue.atomically(() -> {
+                Book lent = saved.copy();
+                lent.decreaseAvailableCopies();
+                books.saveIfVersion(lent, saved.getVersion());
+                books.save(book("ISBN2", 1));
+                throw new IllegalStateException("Loan could not be saved");
+            }));
+            assertFalse(queue.isActive());
+        }
+
+        assertEquals(2, memoryBooks.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+        assertFalse(memoryBooks.findByIsbn("ISBN2").isPresent());
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        try (MutationLog log = MutationLog.open(file, books, new InMemoryTransactionRepository())) {
+            assertEquals(1, log.getRecoveredCount());
+        }
+        assertEquals(2, books.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+        assertFalse(books.findByIsbn("ISBN2").isPresent());
+    }
+}
@@ -0,0 +1,66 @@
+// src/test/java/com/prpcena/library/repository/log/RecordLogBenchmarkTest.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the recovery scan of a 256 MB log with a plain sequential read of
+ * the same file. Run with {@code mvn test -Pbenchmarks}; rates are printed,
+ * not asserted, and depend on whether the file is in the page cache.
+ */
+@Tag("benchmark")
+class RecordLogBenchmarkTest {
+    private static final long LOG_SIZE = 256L << 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recoveryScan_ThroughputAgainstAPlainRead() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        Random random = new Random(1);
+        long records = 0;
+        try (RecordLog log = RecordLog.open(file, payload -> { })) {
+            byte[] payload = new byte[4096];
+            while (log.size() < LOG_SIZE) {
+                random.nextBytes(payload);
+                log.append(ByteBuffer.wrap(payload, 0, 256 + random.nextInt(3840)));
+                records++;
+            }
+        }
+        long size = Files.size(file);
+
+        for (int round = 0; round < 3; round++) { // The last round is measured after warm-up
+            long readStart = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(4 << 20);
+                while (channel.read(buffer.clear()) >= 0) {
+                    // Just reading
+                }
+            }
+            long readNanos = System.nanoTime() - readStart;
+
+            long[] replayed = new long[1];
+            long scanStart = System.nanoTime();
+            RecordLog.open(file, payload -> replayed[0]++).close();
+            long scanNanos = System.nanoTime() - scanStart;
+            assertEquals(records, replayed[0]);
+
+            if (round == 2) {
+                System.out.printf("%d records, %d MB: plain read %.0f MB/s, recovery scan %.0f MB/s%n", records,
+                        size >> 20, size * 1e3 / readNanos, size * 1e3 / scanNanos);
+            }
+        }
+    }
+}
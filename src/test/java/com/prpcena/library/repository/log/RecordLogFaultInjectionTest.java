@@ -0,0 +1,131 @@
+// src/test/java/com/prpcena/library/repository/log/RecordLogFaultInjectionTest.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Damages a log the way a crash or a bad disk would, at random offsets with
+ * fixed seeds, and checks that recovery keeps exactly the records before the
+ * damage, truncates the rest and leaves a log that can be appended to.
+ */
+class RecordLogFaultInjectionTest {
+    private static final int RECORDS = 200;
+    private static final int ROUNDS = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private Path original;
+    private final List<byte[]> written = new ArrayList<>();
+    private final List<Long> recordEnds = new ArrayList<>(); // Offset just past each record
+
+    @BeforeEach
+    void setUp() throws IOException {
+        original = tempDir.resolve("original.log");
+        Random random = new Random(42);
+        long offset = RecordLog.FILE_HEADER_SIZE;
+        try (RecordLog log = RecordLog.open(original, payload -> { })) {
+            for (int i = 0; i < RECORDS; i++) {
+                byte[] payload = new byte[random.nextInt(300)];
+                random.nextBytes(payload);
+                log.append(ByteBuffer.wrap(payload));
+                written.add(payload);
+                offset += RecordLog.RECORD_HEADER_SIZE + payload.length;
+                recordEnds.add(offset);
+            }
+        }
+        assertEquals(offset, Files.size(original));
+    }
+
+    @Test
+    void truncationAtAnyOffset_ShouldKeepEveryWholeRecordBeforeIt() throws IOException {
+        Random random = new Random(1);
+        for (int round = 0; round < ROUNDS; round++) {
+            Path file = damagedCopy(round);
+            long cut = RecordLog.FILE_HEADER_SIZE + (long) random.nextInt((int) (Files.size(file)
+                    - RecordLog.FILE_HEADER_SIZE));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(cut); // A crash while appending
+            }
+
+            assertRecoversTo(file, wholeRecordsBefore(cut), "cut at " + cut);
+        }
+    }
+
+    @Test
+    void corruptionAtAnyOffset_ShouldDropTheDamagedRecordAndEverythingAfter() throws IOException {
+        Random random = new Random(2);
+        for (int round = 0; round < ROUNDS; round++) {
+            Path file = damagedCopy(round);
+            long offset = RecordLog.FILE_HEADER_SIZE + (long) random.nextInt((int) (Files.size(file)
+                    - RecordLog.FILE_HEADER_SIZE));
+            int flips = 1 + random.nextInt(4); // A burst of up to four damaged bytes
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(flips, channel.size() - offset));
+                channel.read(bytes, offset);
+                for (int i = 0; i < bytes.limit(); i++) {
+                    bytes.put(i, (byte) (bytes.get(i) ^ (1 + random.nextInt(255))));
+                }
+                channel.write(bytes.flip(), offset);
+            }
+
+            assertRecoversTo(file, wholeRecordsBefore(offset + 1), "corrupted at " + offset);
+        }
+    }
+
+    @Test
+    void zeroFilledTail_ShouldBeTruncated() throws IOException {
+        Path file = damagedCopy(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4096), channel.size()); // Blocks allocated but never written
+        }
+
+        assertRecoversTo(file, RECORDS, "zero-filled tail");
+    }
+
+    private Path damagedCopy(int round) throws IOException {
+        return Files.copy(original, tempDir.resolve("damaged-" + round + ".log"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // The number of records that end at or before the offset
+    private int wholeRecordsBefore(long offset) {
+        int count = 0;
+        while (count < recordEnds.size() && recordEnds.get(count) <= offset) {
+            count++;
+        }
+        return count;
+    }
+
+    private void assertRecoversTo(Path file, int expected, String damage) throws IOException {
+        List<byte[]> recovered = RecordLogTest.readAll(file);
+        assertEquals(expected, recovered.size(), damage);
+        for (int i = 0; i < expected; i++) {
+            assertArrayEquals(written.get(i), recovered.get(i), damage);
+        }
+        long validEnd = expected == 0 ? RecordLog.FILE_HEADER_SIZE : recordEnds.get(expected - 1);
+        assertEquals(validEnd, Files.size(file), damage);
+
+        // The recovered log takes new records, and they survive the next recovery
+        try (RecordLog log = RecordLog.open(file, payload -> { })) {
+            log.append(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        }
+        List<byte[]> reopened = RecordLogTest.readAll(file);
+        assertEquals(expected + 1, reopened.size(), damage);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, reopened.get(expected), damage);
+    }
+}
@@ -0,0 +1,98 @@
+// src/test/java/com/prpcena/library/repository/log/RecordLogTest.java
+package com.prpcena.library.repository.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RecordLogTest {
+    @TempDir
+    Path tempDir;
+
+    static List<byte[]> readAll(Path file) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        RecordLog log = RecordLog.open(file, payload -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            records.add(bytes);
+        });
+        log.close();
+        return records;
+    }
+
+    @Test
+    void appendedRecords_ShouldBeReplayedInOrderAfterReopening() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        try (RecordLog log = RecordLog.open(file, payload -> { })) {
+            log.append(ByteBuffer.wrap("first".getBytes()));
+            log.append(ByteBuffer.allocate(0));
+            log.sync();
+            log.append(ByteBuffer.wrap("third".getBytes()));
+        } // Closing syncs the third
+
+        List<byte[]> records = readAll(file);
+
+        assertEquals(3, records.size());
+        assertArrayEquals("first".getBytes(), records.get(0));
+        assertEquals(0, records.get(1).length);
+        assertArrayEquals("third".getBytes(), records.get(2));
+    }
+
+    @Test
+    void recordsLargerThanOneRead_ShouldBeReassembledAcrossReads() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        Random random = new Random(7);
+        List<byte[]> written = new ArrayList<>();
+        try (RecordLog log = RecordLog.open(file, payload -> { })) {
+            for (int i = 0; i < 12; i++) { // About 6 MB, so records straddle the 4 MB scan buffer
+                byte[] payload = new byte[RecordLog.MAX_RECORD_SIZE / 2 + random.nextInt(1000)];
+                random.nextBytes(payload);
+                written.add(payload);
+                log.append(ByteBuffer.wrap(payload));
+            }
+        }
+
+        List<byte[]> records = readAll(file);
+
+        assertEquals(written.size(), records.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertArrayEquals(written.get(i), records.get(i));
+        }
+    }
+
+    @Test
+    void oversizedRecord_ShouldBeRejected() throws IOException {
+        try (RecordLog log = RecordLog.open(tempDir.resolve("library.log"), payload -> { })) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> log.append(ByteBuffer.allocate(RecordLog.MAX_RECORD_SIZE + 1)));
+        }
+    }
+
+    @Test
+    void tornFileHeader_ShouldStartAnEmptyLog() throws IOException {
+        Path file = tempDir.resolve("library.log");
+        Files.write(file, new byte[] { 0x4C, 0x4C });
+
+        assertEquals(0, readAll(file).size());
+        assertEquals(RecordLog.FILE_HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void foreignFile_ShouldNotBeTouched() throws IOException {
+        Path file = tempDir.resolve("notes.txt");
+        Files.write(file, "Not a log at all".getBytes());
+
+        assertThrows(IOException.class, () -> readAll(file));
+        assertEquals("Not a log at all", Files.readString(file));
+    }
+}
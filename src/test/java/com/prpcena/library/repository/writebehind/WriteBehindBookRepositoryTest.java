@@ -0,0 +1,130 @@
+// src/test/java/com/prpcena/library/repository/writebehind/WriteBehindBookRepositoryTest.java
+package com.prpcena.library.repository.writebehind;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.VersionConflictException;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.repository.InMemoryBookRepository;
+
+class WriteBehindBookRepositoryTest {
+    private InMemoryBookRepository store;
+    private WriteBehindQueue<String, Book> queue;
+    private WriteBehindBookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryBookRepository();
+        queue = new WriteBehindQueue<>("books", WriteBehindSink.of(store), 16, 100, Duration.ofMillis(200));
+        bookRepository = new WriteBehindBookRepository(new InMemoryBookRepository(), queue,
+                Acknowledgement.IN_MEMORY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+    }
+
+    private static Book book(String isbn, int copies) {
+        return new Book("Title " + isbn, new Author("Jane", "Doe"), isbn, "Fiction", Year.of(2000), copies);
+    }
+
+    @Test
+    void save_ShouldBeReadableAtOnceAndStoredLater() {
+        bookRepository.save(book("ISBN1", 1));
+
+        assertTrue(bookRepository.findByIsbn("ISBN1").isPresent());
+        assertFalse(store.findByIsbn("ISBN1").isPresent());
+
+        queue.flush();
+        assertEquals(1, store.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void laterChanges_ShouldNotAlterTheQueuedSnapshot() {
+        Book saved = bookRepository.save(book("ISBN1", 3));
+        saved.decreaseAvailableCopies(); // Not saved, so not written
+
+        queue.flush();
+
+        assertEquals(3, store.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void durableSaveAndDelete_ShouldReachTheStoreBeforeReturning() {
+        bookRepository.saveAll(List.of(book("ISBN1", 1), book("ISBN2", 1)), Acknowledgement.DURABLE);
+        assertEquals(2, store.findAll().size());
+
+        assertTrue(bookRepository.deleteByIsbn("ISBN1", Acknowledgement.DURABLE));
+        assertFalse(store.findByIsbn("ISBN1").isPresent());
+    }
+
+    @Test
+    void staleSave_ShouldFailWithoutQueuingAWrite() {
+        Book saved = bookRepository.save(book("ISBN1", 1));
+        Book stale = saved.copy();
+        bookRepository.saveIfVersion(saved.copy(), saved.getVersion());
+
+        assertThrows(VersionConflictException.class,
+                () -> bookRepository.saveIfVersion(stale, stale.getVersion()));
+        assertEquals(2, queue.getWriteCount());
+    }
+
+    @Test
+    void saveOvertakenBeforeItIsQueued_ShouldNotLeaveTheStoreBehind() throws InterruptedException {
+        PausingBookRepository fast = new PausingBookRepository();
+        bookRepository = new WriteBehindBookRepository(fast, queue, Acknowledgement.IN_MEMORY);
+        Book saved = bookRepository.save(book("ISBN1", 1));
+        Book first = saved.copy();
+        first.increaseAvailableCopies();
+        fast.pauseNext = true;
+        Thread firstWriter = new Thread(() -> bookRepository.saveIfVersion(first, saved.getVersion()));
+        firstWriter.start();
+        fast.paused.await(); // Saved to the fast repository, not yet queued
+
+        Book latest = fast.findByIsbn("ISBN1").orElseThrow().copy();
+        latest.increaseAvailableCopies();
+        bookRepository.saveIfVersion(latest, latest.getVersion());
+        firstWriter.join();
+
+        queue.flush();
+        assertEquals(3, store.findByIsbn("ISBN1").orElseThrow().getAvailableCopies());
+    }
+
+    // Pauses one save after it is applied until another save is applied, or for long enough to show it was not
+    private static final class PausingBookRepository extends InMemoryBookRepository {
+        final CountDownLatch paused = new CountDownLatch(1);
+        final CountDownLatch overtaken = new CountDownLatch(1);
+        volatile boolean pauseNext;
+
+        @Override
+        public Book saveIfVersion(Book book, long expectedVersion) {
+            Book saved = super.saveIfVersion(book, expectedVersion);
+            if (pauseNext) {
+                pauseNext = false;
+                paused.countDown();
+                try {
+                    overtaken.await(200, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                overtaken.countDown();
+            }
+            return saved;
+        }
+    }
+}
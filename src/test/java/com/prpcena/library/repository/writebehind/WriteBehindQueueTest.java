@@ -0,0 +1,201 @@
+// src/test/java/com/prpcena/library/repository/writebehind/WriteBehindQueueTest.java
+package com.prpcena.library.repository.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.prpcena.library.exception.OperationFailedException;
+
+class WriteBehindQueueTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private final List<Map<String, Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Integer> store = new ConcurrentHashMap<>();
+    private WriteBehindQueue<String, Integer> queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    private void record(Map<String, Integer> batch) {
+        batches.add(new LinkedHashMap<>(batch));
+        batch.forEach((key, value) -> {
+            if (value == null) {
+                store.remove(key);
+            } else {
+                store.put(key, value);
+            }
+        });
+    }
+
+    @Test
+    void repeatedWritesToAKey_ShouldBeCoalescedIntoOne() {
+        queue = new WriteBehindQueue<>("test", this::record, 16, 100, NEVER);
+
+        queue.submit("A", 1);
+        queue.submit("B", 1);
+        queue.submit("A", 2);
+        queue.submit("A", 3);
+        queue.submit("B", null); // Deleted
+        queue.flush();
+
+        assertEquals(1, batches.size());
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("A", 3);
+        expected.put("B", null);
+        assertEquals(expected, batches.get(0));
+        assertEquals(Map.of("A", 3), store);
+        assertEquals(5, queue.getWriteCount());
+        assertEquals(3, queue.getCoalescedCount());
+        assertEquals(0, queue.getQueuedCount());
+    }
+
+    @Test
+    void fullBatch_ShouldBeWrittenWithoutWaitingForTheLatency() throws Exception {
+        queue = new WriteBehindQueue<>("test", this::record, 16, 3, NEVER);
+
+        queue.submit("A", 1);
+        queue.submit("B", 1);
+        queue.submit("C", 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(Map.of("A", 1, "B", 1, "C", 1)), batches);
+    }
+
+    @Test
+    void partialBatch_ShouldBeWrittenAfterTheMaxLatency() throws Exception {
+        queue = new WriteBehindQueue<>("test", this::record, 16, 100, Duration.ofMillis(20));
+
+        queue.submit("A", 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Map.of("A", 1), store);
+    }
+
+    @Test
+    void durableWrite_ShouldReturnOnlyOnceStored() {
+        queue = new WriteBehindQueue<>("test", this::record, 16, 100, Duration.ofMillis(20));
+
+        queue.write("A", 1, Acknowledgement.DURABLE);
+
+        assertEquals(Map.of("A", 1), store);
+    }
+
+    @Test
+    void failedBatch_ShouldFailItsWritesAndLeaveTheQueueWorking() {
+        queue = new WriteBehindQueue<>("test", batch -> {
+            if (batch.containsKey("bad")) {
+                throw new IllegalStateException("Disk full");
+            }
+            record(batch);
+        }, 16, 1, Duration.ZERO);
+
+        OperationFailedException e = assertThrows(OperationFailedException.class,
+                () -> queue.write("bad", 1, Acknowledgement.DURABLE));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        queue.write("good", 1, Acknowledgement.DURABLE);
+        assertEquals(Map.of("good", 1), store);
+    }
+
+    @Test
+    void fullQueue_ShouldHoldWritersBackUntilThereIsRoom() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        queue = new WriteBehindQueue<>("test", batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(batch);
+        }, 2, 1, Duration.ZERO);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> first = queue.submit("A", 1);
+            while (queue.getQueuedCount() > 0) {
+                Thread.sleep(1); // Until the writer has taken A and is stuck writing it
+            }
+            queue.submit("B", 1);
+            queue.submit("C", 1); // The ring is now full
+
+            Future<?> held = executor.submit(() -> queue.submit("D", 1));
+            Thread.sleep(100);
+            assertFalse(held.isDone());
+            assertEquals(1, queue.getBackpressureCount());
+
+            release.countDown();
+            held.get(5, TimeUnit.SECONDS);
+            first.get(5, TimeUnit.SECONDS);
+            queue.flush();
+            assertEquals(Map.of("A", 1, "B", 1, "C", 1, "D", 1), store);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentWriters_ShouldLeaveEachKeyAtItsLastValue() throws Exception {
+        queue = new WriteBehindQueue<>("test", this::record, 64, 32, Duration.ofMillis(1));
+        int writers = 4;
+        int keysPerWriter = 50;
+        int writesPerWriter = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        queue.submit("w" + writer + "-k" + i % keysPerWriter, i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            queue.flush();
+
+            assertEquals(writers * keysPerWriter, store.size());
+            for (int w = 0; w < writers; w++) {
+                for (int k = 0; k < keysPerWriter; k++) {
+                    assertEquals(writesPerWriter - keysPerWriter + k, store.get("w" + w + "-k" + k));
+                }
+            }
+            assertTrue(queue.getCoalescedCount() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void close_ShouldWriteOutEverythingQueuedAndRefuseNewWrites() {
+        queue = new WriteBehindQueue<>("test", this::record, 16, 100, NEVER);
+        queue.submit("A", 1);
+        queue.submit("B", 2);
+
+        queue.close();
+
+        assertEquals(Map.of("A", 1, "B", 2), store);
+        assertThrows(IllegalStateException.class, () -> queue.submit("C", 3));
+    }
+}
@@ -0,0 +1,148 @@
+// src/test/java/com/prpcena/library/service/async/AsyncLibraryServiceImplTest.java
+package com.prpcena.library.service.async;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prpcena.library.exception.NoCopiesAvailableException;
+import com.prpcena.library.model.Author;
+import com.prpcena.library.model.Book;
+import com.prpcena.library.service.LibraryService;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncLibraryServiceImplTest {
+
+    @Mock
+    private LibraryService libraryService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = AsyncExecutors.boundedPlatformPool(8, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void findBookByIsbn_ShouldCompleteWithDelegateResult() throws Exception {
+        Book book = new Book("Dune", new Author("Frank", "Herbert"), "111", "SCIENCE_FICTION", Year.of(1965), 1);
+        when(libraryService.findBookByIsbn("111")).thenReturn(Optional.of(book));
+        AsyncLibraryService asyncService = new AsyncLibraryServiceImpl(libraryService, executor);
+
+        Optional<Book> result = asyncService.findBookByIsbn("111").get(5, TimeUnit.SECONDS);
+
+        assertSame(book, result.orElseThrow());
+    }
+
+    @Test
+    void borrowBook_WhenDelegateThrows_ShouldCompleteExceptionallyWithSameException() {
+        NoCopiesAvailableException failure = new NoCopiesAvailableException("None left");
+        doThrow(failure).when(libraryService).borrowBook("M1", "111");
+        AsyncLibraryService asyncService = new AsyncLibraryServiceImpl(libraryService, executor);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> asyncService.borrowBook("M1", "111").get(5, TimeUnit.SECONDS));
+
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void expireUncollectedHolds_ShouldRunOnTheCirculationLane() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(libraryService).returnBook("M1", "111");
+        when(libraryService.expireUncollectedHolds()).thenReturn(3);
+        AsyncLibraryServiceImpl asyncService = new AsyncLibraryServiceImpl(libraryService, executor,
+                Map.of(OperationType.CIRCULATION, new LaneLimits(1, 1)));
+
+        CompletableFuture<Void> running = asyncService.returnBook("M1", "111");
+        CompletableFuture<Integer> expired = asyncService.expireUncollectedHolds();
+
+        assertEquals(1, asyncService.getQueuedCount(OperationType.CIRCULATION)); // Waits behind the return
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(3, expired.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void lane_ShouldNotRunMoreThanMaxConcurrentOperations() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        doAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return null;
+        }).when(libraryService).returnBook("M1", "111");
+        AsyncLibraryService asyncService = new AsyncLibraryServiceImpl(libraryService, executor,
+                Map.of(OperationType.CIRCULATION, new LaneLimits(2, 100)));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(asyncService.returnBook("M1", "111"));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertTrue(peak.get() <= 2, "Peak concurrency was " + peak.get());
+    }
+
+    @Test
+    void lane_WhenQueueIsFull_ShouldRejectWithoutAffectingOtherLanes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(libraryService).searchBooksByTitle("slow");
+        when(libraryService.getAllBooks()).thenReturn(List.of());
+        AsyncLibraryServiceImpl asyncService = new AsyncLibraryServiceImpl(libraryService, executor,
+                Map.of(OperationType.SEARCH, new LaneLimits(1, 1)));
+
+        CompletableFuture<List<Book>> running = asyncService.searchBooksByTitle("slow");
+        CompletableFuture<List<Book>> queued = asyncService.searchBooksByTitle("slow");
+        CompletableFuture<List<Book>> rejected = asyncService.searchBooksByTitle("slow");
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+        assertEquals(1, asyncService.getQueuedCount(OperationType.SEARCH));
+        assertEquals(List.of(), asyncService.getAllBooks().get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        verify(libraryService, times(2)).searchBooksByTitle("slow");
+    }
+}
@@ -0,0 +1,131 @@
+// src/test/java/com/prpcena/library/util/IdempotencyTableTest.java
+package com.prpcena.library.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyTableTest {
+    private MutableClock clock;
+    private IdempotencyTable table;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        table = new IdempotencyTable(3, Duration.ofMinutes(10), clock, e -> e instanceof IllegalStateException);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void execute_SameRequestId_ShouldReturnOriginalResultWithoutRunningAgain() {
+        assertEquals(1, table.execute("r1", "op", runs::incrementAndGet));
+        assertEquals(1, table.execute("r1", "op", runs::incrementAndGet));
+        assertEquals(2, table.execute(null, "op", runs::incrementAndGet)); // No ID, no deduplication
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void execute_FailedRequest_ShouldReplayExceptionUnlessTransient() {
+        IllegalArgumentException rejected = new IllegalArgumentException("Rejected");
+        assertThrows(IllegalArgumentException.class, () -> table.execute("r1", "op", () -> {
+            runs.incrementAndGet();
+            throw rejected;
+        }));
+        assertSame(rejected, assertThrows(IllegalArgumentException.class,
+                () -> table.execute("r1", "op", runs::incrementAndGet)));
+
+        assertThrows(IllegalStateException.class, () -> table.execute("r2", "op", () -> {
+            throw new IllegalStateException("Storage unavailable");
+        }));
+        assertEquals(2, table.execute("r2", "op", runs::incrementAndGet)); // Transient failures run again
+    }
+
+    @Test
+    void execute_ReusedIdForDifferentRequest_ShouldThrow() {
+        table.execute("r1", "borrow:ISBN001", runs::incrementAndGet);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.execute("r1", "borrow:ISBN002", runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_ShouldForgetExpiredAndOldestEntries() {
+        table.execute("r1", "op", runs::incrementAndGet);
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals(0, table.size());
+        assertEquals(2, table.execute("r1", "op", runs::incrementAndGet));
+
+        table.execute("r2", "op", runs::incrementAndGet);
+        table.execute("r3", "op", runs::incrementAndGet);
+        table.execute("r4", "op", runs::incrementAndGet); // Table holds 3; r1 is dropped
+
+        assertEquals(3, table.size());
+        assertEquals(6, table.execute("r1", "op", runs::incrementAndGet));
+    }
+
+    @Test
+    void execute_RetryWhileOriginalRunning_ShouldWaitForItsResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> original = CompletableFuture.supplyAsync(() -> table.execute("r1", "op", () -> {
+            started.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        }));
+        assertEquals(true, started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> retry = CompletableFuture.supplyAsync(
+                () -> table.execute("r1", "op", runs::incrementAndGet));
+
+        release.countDown();
+
+        assertEquals(1, original.get(5, TimeUnit.SECONDS));
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2024-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
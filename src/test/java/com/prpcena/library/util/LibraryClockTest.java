@@ -0,0 +1,104 @@
+// src/test/java/com/prpcena/library/util/LibraryClockTest.java
+package com.prpcena.library.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class LibraryClockTest {
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    void today_ShouldRollOverAtMidnight() {
+        MutableClock source = new MutableClock(Instant.parse("2024-03-01T23:59:59Z"), ZoneOffset.UTC);
+        LibraryClock clock = new LibraryClock(source);
+
+        assertEquals(LocalDate.of(2024, 3, 1), clock.today());
+        source.advance(Duration.ofSeconds(1));
+        assertEquals(LocalDate.of(2024, 3, 2), clock.today());
+    }
+
+    @Test
+    void today_ClockMovedBackwards_ShouldFollowIt() {
+        MutableClock source = new MutableClock(Instant.parse("2024-03-02T08:00:00Z"), ZoneOffset.UTC);
+        LibraryClock clock = new LibraryClock(source);
+        clock.today();
+
+        source.advance(Duration.ofHours(-9));
+
+        assertEquals(LocalDate.of(2024, 3, 1), clock.today());
+    }
+
+    @Test
+    void now_ShouldFollowDaylightSavingChangeWithinTheDay() {
+        // Clocks in New York go forward from 02:00 to 03:00 on 10 March 2024
+        MutableClock source = new MutableClock(Instant.parse("2024-03-10T06:30:00Z"), NEW_YORK);
+        LibraryClock clock = new LibraryClock(source);
+
+        assertEquals(LocalDateTime.of(2024, 3, 10, 1, 30), clock.now());
+        source.advance(Duration.ofHours(1));
+        assertEquals(LocalDateTime.of(2024, 3, 10, 3, 30), clock.now());
+        assertEquals(LocalDate.of(2024, 3, 10), clock.today());
+    }
+
+    @Test
+    void now_ShouldMatchTheSourceClock() {
+        MutableClock source = new MutableClock(Instant.parse("2024-07-04T15:20:30.123Z"), NEW_YORK);
+        LibraryClock clock = new LibraryClock(source);
+
+        for (int i = 0; i < 48; i++) {
+            assertEquals(LocalDateTime.now(source), clock.now());
+            assertEquals(LocalDate.now(source), clock.today());
+            source.advance(Duration.ofMinutes(37));
+        }
+    }
+
+    @Test
+    void accelerated_ShouldRunFasterThanRealTime() throws InterruptedException {
+        Instant start = Instant.parse("2024-03-01T00:00:00Z");
+        LibraryClock clock = new LibraryClock(LibraryClock.accelerated(start, ZoneOffset.UTC, 86_400_000L));
+
+        Thread.sleep(5);
+
+        assertTrue(clock.today().isAfter(LocalDate.of(2024, 3, 1)));
+        assertThrows(IllegalArgumentException.class, () -> LibraryClock.accelerated(start, ZoneOffset.UTC, 0));
+    }
+
+    private static final class MutableClock extends Clock {
+        private final ZoneId zone;
+        private Instant instant;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
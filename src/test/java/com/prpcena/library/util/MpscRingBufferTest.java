@@ -0,0 +1,82 @@
+// src/test/java/com/prpcena/library/util/MpscRingBufferTest.java
+package com.prpcena.library.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void offerAndPoll_ShouldBeFirstInFirstOutAndBounded() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(3);
+        assertEquals(4, ring.capacity()); // Rounded up to a power of two
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4)); // The freed slot is reused on the next lap
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, ring.drainTo(drained::add, 3));
+        assertEquals(List.of(1, 2, 3), drained);
+        assertEquals(4, ring.poll());
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void concurrentProducers_ShouldDeliverEveryElementOnce() throws Exception {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base + i)) {
+                            Thread.yield(); // Full; the consumer below makes room
+                        }
+                    }
+                }));
+            }
+            Set<Integer> seen = new HashSet<>();
+            int[] lastByProducer = new int[producers];
+            Arrays.fill(lastByProducer, -1);
+            while (seen.size() < producers * perProducer) {
+                Integer element = ring.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                assertTrue(seen.add(element));
+                int producer = element / perProducer;
+                assertTrue(element > lastByProducer[producer], "Each producer's elements stay in order");
+                lastByProducer[producer] = element;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertTrue(ring.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// src/test/java/com/prpcena/library/util/PhoneticEncoderTest.java
+package com.prpcena.library.util;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class PhoneticEncoderTest {
+
+    @Test
+    void encode_SpellingVariants_ShouldProduceSameCode() {
+        assertEquals(PhoneticEncoder.encode("Dostoevsky"), PhoneticEncoder.encode("Dostoyevsky"));
+        assertEquals(PhoneticEncoder.encode("Dostoevsky"), PhoneticEncoder.encode("Dostoyevskiy"));
+        assertEquals(PhoneticEncoder.encode("Tolstoy"), PhoneticEncoder.encode("Tolstoi"));
+        assertEquals(PhoneticEncoder.encode("Tchaikovsky"), PhoneticEncoder.encode("Chaikovsky"));
+        assertEquals(PhoneticEncoder.encode("Philips"), PhoneticEncoder.encode("Phillips"));
+        assertEquals(PhoneticEncoder.encode("Bronte"), PhoneticEncoder.encode("Brontë"));
+    }
+
+    @Test
+    void encode_DifferentNames_ShouldProduceDifferentCodes() {
+        assertNotEquals(PhoneticEncoder.encode("Tolstoy"), PhoneticEncoder.encode("Dostoevsky"));
+        assertNotEquals(PhoneticEncoder.encode("Austen"), PhoneticEncoder.encode("Orwell"));
+    }
+
+    @Test
+    void encode_NullOrNoLetters_ShouldReturnEmptyCode() {
+        assertEquals("", PhoneticEncoder.encode(null));
+        assertEquals("", PhoneticEncoder.encode("  1234 "));
+    }
+
+    @Test
+    void encodeWords_ShouldEncodeEachWord() {
+        Set<String> codes = PhoneticEncoder.encodeWords("Fyodor  Dostoevsky");
+        assertEquals(2, codes.size());
+        assertTrue(codes.contains(PhoneticEncoder.encode("Dostoyevsky")));
+    }
+
+    @Test
+    void encodeName_ShouldCombineFirstAndLastNameCodes() {
+        List<String> codes = PhoneticEncoder.encodeName("Leo", "Tolstoy");
+        assertEquals(List.of(PhoneticEncoder.encode("Leo"), PhoneticEncoder.encode("Tolstoi")), codes);
+    }
+}
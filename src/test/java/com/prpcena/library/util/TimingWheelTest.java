@@ -0,0 +1,72 @@
+// src/test/java/com/prpcena/library/util/TimingWheelTest.java
+package com.prpcena.library.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_ShouldFireEachTimerOnItsDeadlineAcrossAllLevels() {
+        long start = 20_000; // Around 2024 in epoch days
+        TimingWheel<Integer, Long> wheel = new TimingWheel<>(start);
+        long[] offsets = { 1, 5, 63, 64, 65, 200, 4095, 4096, 4097, 100_000, 300_000 };
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule(i, start + offsets[i], start + offsets[i]);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long day = start + 1; day <= start + 300_000; day++) {
+            for (long deadline : wheel.advanceTo(day)) {
+                assertEquals(day, deadline, "Timer fired on the wrong tick");
+                fired.add(deadline);
+            }
+        }
+
+        assertEquals(offsets.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_LargeJump_ShouldFireEverythingDueInDeadlineOrder() {
+        TimingWheel<Integer, Long> wheel = new TimingWheel<>(0);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            long deadline = 1 + random.nextInt(10_000);
+            wheel.schedule(i, deadline, deadline);
+        }
+
+        List<Long> fired = wheel.advanceTo(5_000);
+
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i - 1) <= fired.get(i));
+        }
+        assertTrue(fired.stream().allMatch(deadline -> deadline <= 5_000));
+        assertEquals(1000 - fired.size(), wheel.size());
+    }
+
+    @Test
+    void cancelAndReschedule_ShouldReplaceTimer() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(100);
+        wheel.schedule("a", 110, "first");
+        wheel.schedule("b", 110, "cancelled");
+        wheel.schedule("a", 120, "second");
+
+        assertTrue(wheel.cancel("b"));
+        assertEquals(List.of(), wheel.advanceTo(115));
+        assertEquals(List.of("second"), wheel.advanceTo(120));
+    }
+
+    @Test
+    void schedule_DeadlineAlreadyPassed_ShouldFireOnNextAdvance() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(100);
+        wheel.schedule("late", 90, "late");
+
+        assertEquals(List.of("late"), wheel.advanceTo(100));
+    }
+}